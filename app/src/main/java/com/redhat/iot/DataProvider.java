@@ -1,18 +1,26 @@
 package com.redhat.iot;
 
+import android.content.SharedPreferences;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
+import android.os.AsyncTask;
 import android.util.Log;
 
+import com.redhat.iot.IotConstants.Prefs;
 import com.redhat.iot.R.array;
 import com.redhat.iot.concurrent.CustomerCallback;
 import com.redhat.iot.concurrent.DepartmentCallback;
+import com.redhat.iot.concurrent.GetCustomer;
 import com.redhat.iot.concurrent.GetCustomers;
+import com.redhat.iot.concurrent.GetDepartment;
 import com.redhat.iot.concurrent.GetDepartments;
 import com.redhat.iot.concurrent.GetInventory;
 import com.redhat.iot.concurrent.GetNotifications;
 import com.redhat.iot.concurrent.GetOrders;
+import com.redhat.iot.concurrent.GetProduct;
 import com.redhat.iot.concurrent.GetProducts;
+import com.redhat.iot.concurrent.GetPromotion;
 import com.redhat.iot.concurrent.GetPromotions;
 import com.redhat.iot.concurrent.GetStores;
 import com.redhat.iot.concurrent.InventoryCallback;
@@ -24,15 +32,30 @@ import com.redhat.iot.concurrent.StoreCallback;
 import com.redhat.iot.domain.Customer;
 import com.redhat.iot.domain.Department;
 import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.domain.IotNotification;
 import com.redhat.iot.domain.Order;
+import com.redhat.iot.domain.OrderDetail;
+import com.redhat.iot.domain.OrderSummary;
 import com.redhat.iot.domain.Product;
 import com.redhat.iot.domain.Promotion;
 import com.redhat.iot.domain.Store;
+import com.redhat.iot.search.PrefixTrie;
+import com.redhat.iot.search.ProductIndex;
+import com.redhat.iot.search.ProductIndex.Match;
+import com.redhat.iot.view.InventoryResults;
+import com.redhat.iot.view.InventoryRow;
+import com.redhat.iot.view.OrderRow;
+import com.redhat.iot.view.PromotionRow;
+import com.redhat.iot.view.RowCallback;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +69,19 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class DataProvider {
 
+    /**
+     * Notified on the main thread when the order of the cached inventory changes.
+     */
+    public interface InventoryListener {
+
+        /**
+         * The inventory of each product is now sorted with the preferred store first. The number of inventory rows of each
+         * product has not changed.
+         */
+        void onInventorySorted();
+
+    }
+
     private static DataProvider _shared;
 
     /**
@@ -60,70 +96,147 @@ public class DataProvider {
     }
 
     private final Map< Integer, Customer > customers = new HashMap<>();
+    private boolean customersCached; // true when all customers, not just individually fetched ones, are in the cache
     private final Lock customerLock = new ReentrantLock();
 
     private final Map< Long, Department > departments = new HashMap<>();
+    private boolean departmentsCached; // true when all departments, not just individually fetched ones, are in the cache
     private final Map< Long, Integer > deptColors = new HashMap<>();
+    private final Map< Long, Integer > deptOrders = new HashMap<>(); // key=dept ID, value=position in name order
     private final Lock departmentLock = new ReentrantLock();
 
     private final Map< Integer, Set< Inventory > > productInventory = new TreeMap<>();
     private final Map< Integer, Set< Inventory > > storeInventory = new TreeMap<>();
+    private int preferredStoreId; // the store whose inventory sorts first in product inventory
     private final Lock inventoryLock = new ReentrantLock();
+    private final List< InventoryListener > inventoryListeners = new ArrayList<>(); // only used on the main thread
+
+    private final Map< Integer, OrderSummary > orderSummaries = new HashMap<>(); // key=customer ID
+    private final Lock orderLock = new ReentrantLock();
 
     private final Map< Integer, Product > products = new HashMap<>();
+    private boolean productsCached; // true when all products, not just individually fetched ones, are in the cache
+    private final ProductIndex productIndex = new ProductIndex();
+    private final PrefixTrie suggestions = new PrefixTrie(); // product names, vendors, and department names
     private final Lock productLock = new ReentrantLock();
 
     private final Map< Integer, Promotion > promotions = new HashMap<>();
+    private boolean promotionsCached; // true when all promotions, not just individually fetched ones, are in the cache
+    private final Map< Long, List< Promotion > > deptPromotions = new HashMap<>(); // key=dept ID
     private final Lock promotionLock = new ReentrantLock();
 
     private final Map< Integer, Store > stores = new HashMap<>();
     private final Lock storeLock = new ReentrantLock();
 
+    private final OnSharedPreferenceChangeListener prefsListener;
+
     /**
      * Don't allow construction outside of this class.
      */
     private DataProvider() {
-        // nothing to do
+        this.preferredStoreId = IotApp.getStoreId();
+
+        // preferences only keeps a weak reference to the listener
+        this.prefsListener = new OnSharedPreferenceChangeListener() {
+
+            @Override
+            public void onSharedPreferenceChanged( final SharedPreferences prefs,
+                                                   final String key ) {
+                if ( Prefs.STORE_ID.equals( key ) && sortInventory( prefs.getInt( Prefs.STORE_ID, Store.NOT_IDENTIFIED ) ) ) {
+                    // copy as listeners may remove themselves
+                    for ( final InventoryListener listener : new ArrayList<>( DataProvider.this.inventoryListeners ) ) {
+                        listener.onInventorySorted();
+                    }
+                }
+            }
+        };
+
+        IotApp.getPrefs().registerOnSharedPreferenceChangeListener( this.prefsListener );
+    }
+
+    /**
+     * Must be called on the main thread.
+     *
+     * @param listener the listener being added (cannot be <code>null</code>)
+     * @see #removeInventoryListener(InventoryListener)
+     */
+    public void addInventoryListener( final InventoryListener listener ) {
+        if ( !this.inventoryListeners.contains( listener ) ) {
+            this.inventoryListeners.add( listener );
+        }
+    }
+
+    private void cacheCustomer( final Customer[] customers ) {
+        this.customerLock.lock();
+
+        try {
+            for ( final Customer cust : customers ) {
+                this.customers.put( cust.getId(), cust );
+            }
+        } finally {
+            this.customerLock.unlock();
+        }
     }
 
     private void cacheCustomers( final Customer[] customers ) {
         this.customerLock.lock();
 
         try {
-            if ( this.customers.isEmpty() ) {
+            if ( !this.customersCached ) {
                 Log.d( IotConstants.LOG_TAG, "Populating customer cache with " + customers.length + " records" );
 
                 for ( final Customer cust : customers ) {
                     this.customers.put( cust.getId(), cust );
                 }
+
+                this.customersCached = true;
             }
         } finally {
             this.customerLock.unlock();
         }
     }
 
+    private void cacheDepartment( final Department[] departments ) {
+        this.departmentLock.lock();
+
+        try {
+            for ( final Department dept : departments ) {
+                this.departments.put( dept.getId(), dept );
+            }
+        } finally {
+            this.departmentLock.unlock();
+        }
+    }
+
     private void cacheDepartments( final Department[] departments ) {
         this.departmentLock.lock();
 
         try {
-            if ( this.departments.isEmpty() ) {
+            if ( !this.departmentsCached ) {
                 Log.d( IotConstants.LOG_TAG, "Populating department cache with " + departments.length + " records" );
 
                 final Resources res = IotApp.getContext().getResources();
                 final TypedArray deptColors = res.obtainTypedArray( array.dept_colors );
+                final Department[] sorted = Arrays.copyOf( departments, departments.length );
+                Arrays.sort( sorted, Department.NAME_SORTER );
                 int i = 0;
 
-                for ( final Department dept : departments ) {
+                for ( final Department dept : sorted ) {
                     this.departments.put( dept.getId(), dept );
+                    this.deptOrders.put( dept.getId(), i );
                     final int colorId = deptColors.getColor( i++, 0 );
                     this.deptColors.put( dept.getId(), colorId );
                 }
 
                 deptColors.recycle(); // call after done with TypeArray
+                this.departmentsCached = true;
             }
         } finally {
             this.departmentLock.unlock();
         }
+
+        indexProducts();
+        indexPromotions();
     }
 
     private void cacheInventory( final Inventory[] inventories ) {
@@ -132,6 +245,7 @@ public class DataProvider {
         try {
             if ( this.storeInventory.isEmpty() ) {
                 Log.d( IotConstants.LOG_TAG, "Populating inventory cache with " + inventories.length + " records" );
+                final Comparator< Inventory > storeSorter = Inventory.createStoreSorter( this.preferredStoreId );
 
                 for ( final Inventory inventory : inventories ) {
                     final int storeId = inventory.getStoreId();
@@ -152,7 +266,7 @@ public class DataProvider {
                         Set< Inventory > items = this.productInventory.get( productId );
 
                         if ( items == null ) {
-                            items = new TreeSet<>( Inventory.STORE_SORTER );
+                            items = new TreeSet<>( storeSorter );
                             this.productInventory.put( productId, items );
                         }
 
@@ -165,36 +279,69 @@ public class DataProvider {
         }
     }
 
+    private void cacheProduct( final Product[] products ) {
+        this.productLock.lock();
+
+        try {
+            for ( final Product product : products ) {
+                this.products.put( product.getId(), product );
+            }
+        } finally {
+            this.productLock.unlock();
+        }
+    }
+
     private void cacheProducts( final Product[] products ) {
         this.productLock.lock();
 
         try {
-            if ( this.products.isEmpty() ) {
+            if ( !this.productsCached ) {
                 Log.d( IotConstants.LOG_TAG, "Populating product cache with " + products.length + " records" );
 
                 for ( final Product product : products ) {
                     this.products.put( product.getId(), product );
                 }
+
+                this.productsCached = true;
             }
         } finally {
             this.productLock.unlock();
         }
+
+        indexProducts();
+        indexPromotions();
+    }
+
+    private void cachePromotion( final Promotion[] promotions ) {
+        this.promotionLock.lock();
+
+        try {
+            for ( final Promotion promotion : promotions ) {
+                this.promotions.put( promotion.getId(), promotion );
+            }
+        } finally {
+            this.promotionLock.unlock();
+        }
     }
 
     private void cachePromotions( final Promotion[] promotions ) {
         this.promotionLock.lock();
 
         try {
-            if ( this.promotions.isEmpty() ) {
+            if ( !this.promotionsCached ) {
                 Log.d( IotConstants.LOG_TAG, "Populating promotion cache with " + promotions.length + " records" );
 
                 for ( final Promotion promotion : promotions ) {
                     this.promotions.put( promotion.getId(), promotion );
                 }
+
+                this.promotionsCached = true;
             }
         } finally {
             this.promotionLock.unlock();
         }
+
+        indexPromotions();
     }
 
     private void cacheStores( final Store[] stores ) {
@@ -213,18 +360,59 @@ public class DataProvider {
         }
     }
 
-    private Inventory[] createInventoryResults( final boolean storeOrder ) {
-        final List< Inventory > result = new ArrayList<>();
-        final Collection< Set< Inventory > > records =
-            ( storeOrder ? this.storeInventory.values() : this.productInventory.values() );
+    /**
+     * @param productIds the IDs of the products whose inventory is being requested sorted from lowest to highest (cannot be
+     *                   <code>null</code>)
+     * @return the inventory results of the products that have inventory (never <code>null</code>)
+     */
+    private InventoryResults createInventoryResults( final Collection< Integer > productIds ) {
+        final int[] ids = new int[ productIds.size() ];
+        final int[] counts = new int[ productIds.size() ];
+        int size = 0;
+        this.inventoryLock.lock();
 
-        for ( final Set< Inventory > byProduct : records ) {
-            for ( final Inventory item : byProduct ) {
-                result.add( item );
+        try {
+            for ( final Integer productId : productIds ) {
+                final Set< Inventory > items = this.productInventory.get( productId );
+
+                if ( items != null ) {
+                    ids[ size ] = productId;
+                    counts[ size ] = items.size();
+                    ++size;
+                }
             }
+        } finally {
+            this.inventoryLock.unlock();
+        }
+
+        return new InventoryResults( Arrays.copyOf( ids, size ), Arrays.copyOf( counts, size ) );
+    }
+
+    /**
+     * Assumes the product and department locks are held.
+     *
+     * @param promotion  the promotion being joined (cannot be <code>null</code>)
+     * @param withColor  <code>false</code> if the department color is not needed, such as when the departments were loaded by
+     *                   ID and colors have not been assigned
+     * @param methodName the name of the method joining the promotion (used for logging)
+     * @return the row or <code>null</code> if the promotion product was not found
+     */
+    private PromotionRow createPromotionRow( final Promotion promotion,
+                                             final boolean withColor,
+                                             final String methodName ) {
+        final Product product = this.products.get( promotion.getProductId() );
+
+        if ( product == null ) {
+            IotApp.logError( DataProvider.class,
+                             methodName,
+                             "Product " + promotion.getProductId() + " was not found for promotion " + promotion.getId(),
+                             null );
+            return null;
         }
 
-        return result.toArray( new Inventory[ result.size() ] );
+        final long deptId = product.getDepartmentId();
+        final int deptColor = ( withColor ? getDepartmentColor( deptId ) : PromotionRow.NO_COLOR );
+        return new PromotionRow( promotion, product, this.departments.get( deptId ), deptColor );
     }
 
     /**
@@ -235,8 +423,11 @@ public class DataProvider {
      */
     public void findCustomer( final int custId,
                               final CustomerCallback callback ) {
-        if ( this.customers.isEmpty() ) {
-            getCustomers( new CustomerCallback() {
+        if ( this.customersCached || this.customers.containsKey( custId ) ) {
+            callback.onSuccess( getCustomer( custId ) );
+        } else {
+            // only fetch the one record instead of loading them all
+            new GetCustomer( custId, new CustomerCallback() {
 
                 @Override
                 public void onFailure( final Exception error ) {
@@ -250,11 +441,10 @@ public class DataProvider {
 
                 @Override
                 public void onSuccess( final Customer[] results ) {
-                    callback.onSuccess( getCustomer( custId ) );
+                    cacheCustomer( results );
+                    callback.onSuccess( results );
                 }
-            } );
-        } else {
-            callback.onSuccess( getCustomer( custId ) );
+            } ).execute();
         }
     }
 
@@ -266,7 +456,7 @@ public class DataProvider {
      */
     public void findDepartment( final long deptId,
                                 final DepartmentCallback callback ) {
-        if ( this.departments.isEmpty() ) {
+        if ( !this.departmentsCached ) {
             getDepartments( new DepartmentCallback() {
 
                 @Override
@@ -297,8 +487,11 @@ public class DataProvider {
      */
     public void findProduct( final int productId,
                              final ProductCallback callback ) {
-        if ( this.products.isEmpty() ) {
-            getProducts( new ProductCallback() {
+        if ( this.productsCached || this.products.containsKey( productId ) ) {
+            callback.onSuccess( getProduct( productId ) );
+        } else {
+            // only fetch the one record instead of loading them all
+            new GetProduct( productId, new ProductCallback() {
 
                 @Override
                 public void onFailure( final Exception error ) {
@@ -312,11 +505,10 @@ public class DataProvider {
 
                 @Override
                 public void onSuccess( final Product[] results ) {
-                    callback.onSuccess( getProduct( productId ) );
+                    cacheProduct( results );
+                    callback.onSuccess( results );
                 }
-            } );
-        } else {
-            callback.onSuccess( getProduct( productId ) );
+            } ).execute();
         }
     }
 
@@ -328,8 +520,11 @@ public class DataProvider {
      */
     public void findPromotion( final int promoId,
                                final PromotionCallback callback ) {
-        if ( this.promotions.isEmpty() ) {
-            getPromotions( new PromotionCallback() {
+        if ( this.promotionsCached || this.promotions.containsKey( promoId ) ) {
+            callback.onSuccess( getPromotion( promoId ) );
+        } else {
+            // only fetch the one record instead of loading them all
+            new GetPromotion( promoId, new PromotionCallback() {
 
                 @Override
                 public void onFailure( final Exception error ) {
@@ -343,11 +538,10 @@ public class DataProvider {
 
                 @Override
                 public void onSuccess( final Promotion[] results ) {
-                    callback.onSuccess( getPromotion( promoId ) );
+                    cachePromotion( results );
+                    callback.onSuccess( results );
                 }
-            } );
-        } else {
-            callback.onSuccess( getPromotion( promoId ) );
+            } ).execute();
         }
     }
 
@@ -363,7 +557,7 @@ public class DataProvider {
         }
 
         // make sure products are loaded since product department is needed
-        if ( this.products.isEmpty() ) {
+        if ( !this.productsCached ) {
             getProducts( new ProductCallback() {
 
                 @Override
@@ -378,7 +572,7 @@ public class DataProvider {
 
                 @Override
                 public void onSuccess( final Product[] results ) {
-                    if ( DataProvider.this.promotions.isEmpty() ) {
+                    if ( !DataProvider.this.promotionsCached ) {
                         getPromotions( new PromotionCallback() {
 
                             @Override
@@ -403,7 +597,7 @@ public class DataProvider {
             } );
         } else {
             // products are loaded so make sure promotions are
-            if ( DataProvider.this.promotions.isEmpty() ) {
+            if ( !DataProvider.this.promotionsCached ) {
                 getPromotions( new PromotionCallback() {
 
                     @Override
@@ -436,7 +630,7 @@ public class DataProvider {
      * @param callback the handler of the {@link Customer} results (cannot be <code>null</code>)
      */
     private void getCustomers( final CustomerCallback callback ) {
-        if ( this.customers.isEmpty() ) {
+        if ( !this.customersCached ) {
             new GetCustomers( new CustomerCallback() {
 
                 @Override
@@ -466,19 +660,26 @@ public class DataProvider {
     }
 
     /**
-     * Assumes departments have been loaded since you have an ID.
+     * Assumes the department has been loaded since you have an ID.
      *
      * @param deptId the ID of the department whose color is being requested (cannot be <code>null</code>)
      * @return the ID of the color
      */
     public int getDepartmentColor( final long deptId ) {
-        final Department dept = this.departments.get( deptId );
+        final Integer colorId = this.deptColors.get( deptId );
+
+        if ( colorId != null ) {
+            return colorId;
+        }
 
-        if ( dept != null ) {
-            return this.deptColors.get( deptId );
+        // colors are assigned once all departments are loaded
+        if ( !this.departments.containsKey( deptId ) ) {
+            IotApp.logError( DataProvider.class,
+                             "getDepartmentColor",
+                             "No department found for deptId '" + deptId + '\'',
+                             null );
         }
 
-        IotApp.logError( DataProvider.class, "getDepartmentColor", "No department found for deptId '" + deptId + '\'', null );
         return -1;
     }
 
@@ -514,7 +715,7 @@ public class DataProvider {
      * @param callback the handler of the {@link Department} results (cannot be <code>null</code>)
      */
     public void getDepartments( final DepartmentCallback callback ) {
-        if ( this.departments.isEmpty() ) {
+        if ( !this.departmentsCached ) {
             new GetDepartments( new DepartmentCallback() {
 
                 @Override
@@ -541,34 +742,112 @@ public class DataProvider {
         }
     }
 
+    private Inventory[] getInventoryPage( final InventoryResults results,
+                                          final int start,
+                                          final int count ) {
+        final List< Inventory > page = new ArrayList<>( count );
+        this.inventoryLock.lock();
+
+        try {
+            int index = results.getIndex( start );
+            int skip = ( start - results.getStart( index ) );
+
+            // walk the inventory of each product starting with the product containing the first row
+            while ( ( page.size() < count ) && ( index < results.getProductCount() ) ) {
+                final Set< Inventory > items = this.productInventory.get( results.getProductId( index ) );
+
+                if ( items != null ) {
+                    for ( final Inventory item : items ) {
+                        if ( skip > 0 ) {
+                            --skip;
+                        } else if ( page.size() < count ) {
+                            page.add( item );
+                        } else {
+                            break;
+                        }
+                    }
+                }
+
+                ++index;
+            }
+        } finally {
+            this.inventoryLock.unlock();
+        }
+
+        return page.toArray( new Inventory[ page.size() ] );
+    }
+
     /**
+     * Obtains what is needed to display the inventory a page at a time. When keywords are provided, only inventory of products
+     * whose name, description, vendor, or department contains a word starting with one of the keywords is found.
+     *
      * @param queryKeywords the keywords to search for in the inventory product name and description (can be <code>null</code> or
      *                      empty)
-     * @param callback      the handler of the {@link Inventory} results (cannot be <code>null</code>)
+     * @param callback      the handler of the results (cannot be <code>null</code>)
+     * @see #getInventoryRows(InventoryResults, int, int, RowCallback)
      */
-    public void getInventories( final String[] queryKeywords,
-                                final InventoryCallback callback ) {
-        if ( this.storeInventory.isEmpty() ) {
-            new GetInventory( queryKeywords, new InventoryCallback() {
+    public void getInventoryResults( final String[] queryKeywords,
+                                     final InventoryResults.Callback callback ) {
+        if ( ( queryKeywords == null ) || ( queryKeywords.length == 0 ) ) {
+            loadInventories( queryKeywords, callback );
+            return;
+        }
 
-                @Override
-                public void onFailure( final Exception error ) {
-                    callback.onFailure( error );
-                }
+        prepareSearch( new DepartmentCallback() {
 
-                @Override
-                public void onFailure( final String errorMsg ) {
-                    callback.onFailure( errorMsg );
+            @Override
+            public void onSuccess( final Department[] results ) {
+                loadInventories( queryKeywords, new InventoryResults.Callback() {
+
+                    @Override
+                    public void onSuccess( final InventoryResults results ) {
+                        callback.onSuccess( searchInventories( queryKeywords ) );
+                    }
+                } );
+            }
+        } );
+    }
+
+    /**
+     * Looks up a page of inventory in the cache. Products and departments are loaded and joined with the inventory off the main
+     * thread.
+     *
+     * @param results  the results the page is taken from (cannot be <code>null</code>)
+     * @param start    the position of the first row of the page
+     * @param count    the number of rows in the page
+     * @param callback the handler of the rows (cannot be <code>null</code>)
+     * @see #getInventoryResults(String[], InventoryResults.Callback)
+     */
+    public void getInventoryRows( final InventoryResults results,
+                                  final int start,
+                                  final int count,
+                                  final RowCallback< InventoryRow > callback ) {
+        final Inventory[] inventories = getInventoryPage( results, start, count );
+        final JoinTask< Inventory, InventoryRow > task = new JoinTask< Inventory, InventoryRow >( inventories, callback ) {
+
+            @Override
+            InventoryRow join( final Inventory inventory ) {
+                final Product product = DataProvider.this.products.get( inventory.getProductId() );
+
+                if ( product == null ) {
+                    return new InventoryRow( inventory, null, -1 );
                 }
 
+                return new InventoryRow( inventory, product, getDepartmentColor( product.getDepartmentId() ) );
+            }
+        };
+
+        if ( this.productsCached && this.departmentsCached ) {
+            task.execute();
+        } else {
+            // products and departments are needed to join
+            prepareSearch( new DepartmentCallback() {
+
                 @Override
-                public void onSuccess( final Inventory[] results ) {
-                    cacheInventory( results );
-                    callback.onSuccess( createInventoryResults( false ) );
+                public void onSuccess( final Department[] results ) {
+                    task.execute();
                 }
-            } ).execute();
-        } else {
-            callback.onSuccess( createInventoryResults( false ) );
+            } );
         }
     }
 
@@ -581,13 +860,132 @@ public class DataProvider {
         new GetNotifications( customerId, callback ).execute();
     }
 
+    /**
+     * Only the promotions, products, and departments the notifications refer to that are not cached are loaded, with at most
+     * one request each, and joined with the notifications off the main thread. A promotion is only joined once no matter how
+     * many of the notifications are for it. Notifications whose promotion is not found are dropped. Failures are logged as
+     * notifications are sent in the background.
+     *
+     * @param notifications the notifications being joined (cannot be <code>null</code>)
+     * @param callback      the handler of the rows in notification order (cannot be <code>null</code>)
+     */
+    public void getNotificationRows( final IotNotification[] notifications,
+                                     final RowCallback< PromotionRow > callback ) {
+        final Set< Integer > promoIds = new LinkedHashSet<>();
+
+        for ( final IotNotification notification : notifications ) {
+            promoIds.add( notification.getPromoId() );
+        }
+
+        if ( promoIds.isEmpty() ) {
+            callback.onSuccess( Collections.< PromotionRow >emptyList() );
+            return;
+        }
+
+        loadPromotions( promoIds, new DepartmentCallback() {
+
+            @Override
+            public void onFailure( final Exception error ) {
+                IotApp.logError( DataProvider.class, "getNotificationRows", null, error );
+            }
+
+            @Override
+            public void onFailure( final String errorMsg ) {
+                IotApp.logError( DataProvider.class, "getNotificationRows", errorMsg, null );
+            }
+
+            @Override
+            public void onSuccess( final Department[] results ) {
+                new JoinTask< Promotion, PromotionRow >( resolvePromotions( promoIds ), callback ) {
+
+                    @Override
+                    PromotionRow join( final Promotion promotion ) {
+                        // notifications do not show the department color
+                        return createPromotionRow( promotion, false, "getNotificationRows" );
+                    }
+                }.execute();
+            }
+        } );
+    }
+
+    /**
+     * Products are loaded and joined with the orders off the main thread.
+     *
+     * @param customerId the ID of the customer whose orders are being requested
+     * @param callback   the handler of the rows (cannot be <code>null</code>)
+     */
+    public void getOrderRows( final int customerId,
+                              final RowCallback< OrderRow > callback ) {
+        getProducts( new ProductCallback() {
+
+            @Override
+            public void onSuccess( final Product[] results ) {
+                getOrders( customerId, new OrderCallback() {
+
+                    @Override
+                    public void onSuccess( final Order[] results ) {
+                        new JoinTask< Order, OrderRow >( results, callback ) {
+
+                            @Override
+                            OrderRow join( final Order order ) {
+                                final OrderDetail[] details = order.getDetails();
+
+                                if ( details.length == 0 ) {
+                                    IotApp.logError( DataProvider.class,
+                                                     "getOrderRows",
+                                                     "Order " + order.getId() + " does not have any order details",
+                                                     null );
+                                    return new OrderRow( order, null );
+                                }
+
+                                return new OrderRow( order, DataProvider.this.products.get( details[ 0 ].getProductId() ) );
+                            }
+                        }.execute();
+                    }
+                } );
+            }
+        } );
+    }
+
     /**
      * @param customerId the ID of the customer whose orders are being requested
      * @param callback   the handler of the {@link Order} results (cannot be <code>null</code>)
      */
     public void getOrders( final int customerId,
                            final OrderCallback callback ) {
-        new GetOrders( customerId, callback ).execute();
+        new GetOrders( customerId, new OrderCallback() {
+
+            @Override
+            public void onFailure( final Exception error ) {
+                callback.onFailure( error );
+            }
+
+            @Override
+            public void onFailure( final String errorMsg ) {
+                callback.onFailure( errorMsg );
+            }
+
+            @Override
+            public void onSuccess( final Order[] results ) {
+                summarizeOrders( customerId, results );
+                callback.onSuccess( results );
+            }
+        } ).execute();
+    }
+
+    /**
+     * @param customerId the ID of the customer whose order totals are being requested
+     * @return the totals of the customer's orders loaded so far (never <code>null</code>)
+     */
+    public OrderSummary getOrderSummary( final int customerId ) {
+        this.orderLock.lock();
+
+        try {
+            final OrderSummary summary = this.orderSummaries.get( customerId );
+            return ( ( summary == null ) ? new OrderSummary( customerId ) : summary );
+        } finally {
+            this.orderLock.unlock();
+        }
     }
 
     private Product[] getProduct( final int productId ) {
@@ -599,7 +997,7 @@ public class DataProvider {
      * @param callback the handler of the {@link Product} results (cannot be <code>null</code>)
      */
     private void getProducts( final ProductCallback callback ) {
-        if ( this.products.isEmpty() ) {
+        if ( !this.productsCached ) {
             new GetProducts( new ProductCallback() {
 
                 @Override
@@ -629,28 +1027,30 @@ public class DataProvider {
     }
 
     private Promotion[] getPromotions( final Long... deptIds ) {
-        final List< Long > requestedDepts = Arrays.asList( deptIds );
-        final List< Promotion > result = new ArrayList<>();
+        this.promotionLock.lock();
 
-        for ( final Promotion promo : this.promotions.values() ) {
-            final int productId = promo.getProductId();
-            final Product[] product = getProduct( productId );
+        try {
+            final List< Promotion > result = new ArrayList<>();
+
+            for ( final Long deptId : new HashSet<>( Arrays.asList( deptIds ) ) ) {
+                final List< Promotion > promos = this.deptPromotions.get( deptId );
 
-            if ( ( product == null ) || ( product.length == 0 ) ) {
-                IotApp.logError( DataProvider.class, "getPromotions", "product '" + productId + "' was not found", null );
-            } else if ( requestedDepts.contains( product[ 0 ].getDepartmentId() ) ) {
-                result.add( promo );
+                if ( promos != null ) {
+                    result.addAll( promos );
+                }
             }
-        }
 
-        return result.toArray( new Promotion[ result.size() ] );
+            return result.toArray( new Promotion[ result.size() ] );
+        } finally {
+            this.promotionLock.unlock();
+        }
     }
 
     /**
      * @param callback the handler of the {@link Promotion} results (cannot be <code>null</code>)
      */
     private void getPromotions( final PromotionCallback callback ) {
-        if ( this.promotions.isEmpty() ) {
+        if ( !this.promotionsCached ) {
             new GetPromotions( new PromotionCallback() {
 
                 @Override
@@ -666,17 +1066,54 @@ public class DataProvider {
                 @Override
                 public void onSuccess( final Promotion[] results ) {
                     cachePromotions( results );
-                    Arrays.sort( results, Promotion.DEPT__NAME_SORTER );
+                    sortByDeptName( results );
                     callback.onSuccess( results );
                 }
             } ).execute();
         } else {
             final Promotion[] results = this.promotions.values().toArray( new Promotion[ this.promotions.size() ] );
-            Arrays.sort( results, Promotion.DEPT__NAME_SORTER );
+            sortByDeptName( results );
             callback.onSuccess( results );
         }
     }
 
+    /**
+     * Products and departments are loaded and joined with the promotions off the main thread. Rows are sorted by department
+     * name.
+     *
+     * @param callback the handler of the rows (cannot be <code>null</code>)
+     * @param deptIds  the IDs of the departments whose promotions are being requested
+     * @see #findPromotions(PromotionCallback, Long...)
+     */
+    public void getPromotionRows( final RowCallback< PromotionRow > callback,
+                                  final Long... deptIds ) {
+        // departments are needed to join
+        getDepartments( new DepartmentCallback() {
+
+            @Override
+            public void onSuccess( final Department[] results ) {
+                findPromotions( new PromotionCallback() {
+
+                    @Override
+                    public void onSuccess( final Promotion[] results ) {
+                        new JoinTask< Promotion, PromotionRow >( results, callback ) {
+
+                            @Override
+                            PromotionRow join( final Promotion promotion ) {
+                                return createPromotionRow( promotion, true, "getPromotionRows" );
+                            }
+
+                            @Override
+                            void sort( final Promotion[] promotions ) {
+                                sortByDeptName( promotions );
+                            }
+                        }.execute();
+                    }
+                }, deptIds );
+            }
+        } );
+    }
+
     /**
      * @param callback the handler of the {@link Store} results (cannot be <code>null</code>)
      */
@@ -705,4 +1142,539 @@ public class DataProvider {
         }
     }
 
+    /**
+     * Assumes products and departments have already been loaded (see {@link #prepareSearch(DepartmentCallback)}).
+     *
+     * @param prefix the search text typed so far (can be <code>null</code> or empty)
+     * @param limit  the maximum number of suggestions
+     * @return the product names, vendors, and department names that complete the prefix (never <code>null</code>)
+     */
+    public String[] getSuggestions( final String prefix,
+                                    final int limit ) {
+        this.productLock.lock();
+
+        try {
+            return this.suggestions.suggest( prefix, limit );
+        } finally {
+            this.productLock.unlock();
+        }
+    }
+
+    /**
+     * Builds the product search index and search suggestions once both products and departments have been fully loaded.
+     */
+    private void indexProducts() {
+        if ( !this.productsCached || !this.departmentsCached ) {
+            return;
+        }
+
+        this.productLock.lock();
+
+        try {
+            this.productIndex.clear();
+            this.suggestions.clear();
+
+            for ( final Product product : this.products.values() ) {
+                final Department dept = this.departments.get( product.getDepartmentId() );
+                final String deptName = ( ( dept == null ) ? null : dept.getName() );
+                this.productIndex.add( product, deptName );
+
+                this.suggestions.add( product.getName() );
+                this.suggestions.add( product.getVendor() );
+                this.suggestions.add( deptName );
+            }
+        } finally {
+            this.productLock.unlock();
+        }
+    }
+
+    /**
+     * Builds the department promotion index once both products and promotions have been fully loaded.
+     */
+    private void indexPromotions() {
+        if ( !this.productsCached || !this.promotionsCached ) {
+            return;
+        }
+
+        this.promotionLock.lock();
+
+        try {
+            this.deptPromotions.clear();
+
+            for ( final Promotion promo : this.promotions.values() ) {
+                final int productId = promo.getProductId();
+                final Product product = this.products.get( productId );
+
+                if ( product == null ) {
+                    IotApp.logError( DataProvider.class, "indexPromotions", "product '" + productId + "' was not found", null );
+                    continue;
+                }
+
+                List< Promotion > promos = this.deptPromotions.get( product.getDepartmentId() );
+
+                if ( promos == null ) {
+                    promos = new ArrayList<>();
+                    this.deptPromotions.put( product.getDepartmentId(), promos );
+                }
+
+                promos.add( promo );
+            }
+        } finally {
+            this.promotionLock.unlock();
+        }
+    }
+
+    /**
+     * Loads the departments that are not cached with one request.
+     *
+     * @param deptIds  the IDs of the departments being requested (cannot be <code>null</code>)
+     * @param callback the handler of the departments that were found (cannot be <code>null</code>)
+     */
+    private void loadDepartments( final Collection< Long > deptIds,
+                                  final DepartmentCallback callback ) {
+        final List< Long > missing = new ArrayList<>();
+        this.departmentLock.lock();
+
+        try {
+            for ( final Long deptId : deptIds ) {
+                if ( !this.departments.containsKey( deptId ) ) {
+                    missing.add( deptId );
+                }
+            }
+        } finally {
+            this.departmentLock.unlock();
+        }
+
+        if ( missing.isEmpty() ) {
+            callback.onSuccess( resolveDepartments( deptIds ) );
+            return;
+        }
+
+        new GetDepartment( missing, new DepartmentCallback() {
+
+            @Override
+            public void onFailure( final Exception error ) {
+                callback.onFailure( error );
+            }
+
+            @Override
+            public void onFailure( final String errorMsg ) {
+                callback.onFailure( errorMsg );
+            }
+
+            @Override
+            public void onSuccess( final Department[] results ) {
+                cacheDepartment( results );
+                callback.onSuccess( resolveDepartments( deptIds ) );
+            }
+        } ).execute();
+    }
+
+    private void loadInventories( final String[] queryKeywords,
+                                  final InventoryResults.Callback callback ) {
+        if ( this.storeInventory.isEmpty() ) {
+            new GetInventory( queryKeywords, new InventoryCallback() {
+
+                @Override
+                public void onSuccess( final Inventory[] results ) {
+                    cacheInventory( results );
+                    callback.onSuccess( createInventoryResults( DataProvider.this.productInventory.keySet() ) );
+                }
+            } ).execute();
+        } else {
+            callback.onSuccess( createInventoryResults( this.productInventory.keySet() ) );
+        }
+    }
+
+    /**
+     * Loads the products that are not cached with one request and then the departments of the products.
+     *
+     * @param productIds the IDs of the products being requested (cannot be <code>null</code>)
+     * @param callback   the handler of the departments of the products that were found (cannot be <code>null</code>)
+     */
+    private void loadProducts( final Collection< Integer > productIds,
+                               final DepartmentCallback callback ) {
+        final List< Integer > missing = new ArrayList<>();
+        this.productLock.lock();
+
+        try {
+            if ( !this.productsCached ) {
+                for ( final Integer productId : productIds ) {
+                    if ( !this.products.containsKey( productId ) ) {
+                        missing.add( productId );
+                    }
+                }
+            }
+        } finally {
+            this.productLock.unlock();
+        }
+
+        if ( missing.isEmpty() ) {
+            loadDepartments( resolveDepartmentIds( productIds ), callback );
+            return;
+        }
+
+        new GetProduct( missing, new ProductCallback() {
+
+            @Override
+            public void onFailure( final Exception error ) {
+                callback.onFailure( error );
+            }
+
+            @Override
+            public void onFailure( final String errorMsg ) {
+                callback.onFailure( errorMsg );
+            }
+
+            @Override
+            public void onSuccess( final Product[] results ) {
+                cacheProduct( results );
+                loadDepartments( resolveDepartmentIds( productIds ), callback );
+            }
+        } ).execute();
+    }
+
+    /**
+     * Loads the promotions that are not cached with one request and then the products and departments of the promotions.
+     *
+     * @param promoIds the IDs of the promotions being requested (cannot be <code>null</code>)
+     * @param callback the handler of the departments of the promotions that were found (cannot be <code>null</code>)
+     */
+    private void loadPromotions( final Collection< Integer > promoIds,
+                                 final DepartmentCallback callback ) {
+        final List< Integer > missing = new ArrayList<>();
+        this.promotionLock.lock();
+
+        try {
+            if ( !this.promotionsCached ) {
+                for ( final Integer promoId : promoIds ) {
+                    if ( !this.promotions.containsKey( promoId ) ) {
+                        missing.add( promoId );
+                    }
+                }
+            }
+        } finally {
+            this.promotionLock.unlock();
+        }
+
+        if ( missing.isEmpty() ) {
+            loadProducts( resolveProductIds( promoIds ), callback );
+            return;
+        }
+
+        new GetPromotion( missing, new PromotionCallback() {
+
+            @Override
+            public void onFailure( final Exception error ) {
+                callback.onFailure( error );
+            }
+
+            @Override
+            public void onFailure( final String errorMsg ) {
+                callback.onFailure( errorMsg );
+            }
+
+            @Override
+            public void onSuccess( final Promotion[] results ) {
+                cachePromotion( results );
+                loadProducts( resolveProductIds( promoIds ), callback );
+            }
+        } ).execute();
+    }
+
+    /**
+     * Makes sure the products and departments needed to search and make search suggestions are loaded.
+     *
+     * @param callback the handler of the {@link Department} results (cannot be <code>null</code>)
+     */
+    public void prepareSearch( final DepartmentCallback callback ) {
+        getProducts( new ProductCallback() {
+
+            @Override
+            public void onFailure( final Exception error ) {
+                callback.onFailure( error );
+            }
+
+            @Override
+            public void onFailure( final String errorMsg ) {
+                callback.onFailure( errorMsg );
+            }
+
+            @Override
+            public void onSuccess( final Product[] results ) {
+                getDepartments( callback );
+            }
+        } );
+    }
+
+    /**
+     * @param productIds the IDs of the products whose departments are being requested (cannot be <code>null</code>)
+     * @return the IDs of the departments of the products that are cached (never <code>null</code> but can be empty)
+     */
+    /**
+     * Must be called on the main thread.
+     *
+     * @param listener the listener being removed (cannot be <code>null</code>)
+     */
+    public void removeInventoryListener( final InventoryListener listener ) {
+        this.inventoryListeners.remove( listener );
+    }
+
+    private Set< Long > resolveDepartmentIds( final Collection< Integer > productIds ) {
+        final Set< Long > result = new HashSet<>();
+        this.productLock.lock();
+
+        try {
+            for ( final Integer productId : productIds ) {
+                final Product product = this.products.get( productId );
+
+                if ( product != null ) {
+                    result.add( product.getDepartmentId() );
+                }
+            }
+        } finally {
+            this.productLock.unlock();
+        }
+
+        return result;
+    }
+
+    /**
+     * @param deptIds the IDs of the departments being requested (cannot be <code>null</code>)
+     * @return the departments that are cached (never <code>null</code> but can be empty)
+     */
+    private Department[] resolveDepartments( final Collection< Long > deptIds ) {
+        final List< Department > result = new ArrayList<>( deptIds.size() );
+        this.departmentLock.lock();
+
+        try {
+            for ( final Long deptId : deptIds ) {
+                final Department dept = this.departments.get( deptId );
+
+                if ( dept != null ) {
+                    result.add( dept );
+                }
+            }
+        } finally {
+            this.departmentLock.unlock();
+        }
+
+        return result.toArray( new Department[ result.size() ] );
+    }
+
+    /**
+     * @param promoIds the IDs of the promotions whose products are being requested (cannot be <code>null</code>)
+     * @return the IDs of the products of the promotions that are cached (never <code>null</code> but can be empty)
+     */
+    private Set< Integer > resolveProductIds( final Collection< Integer > promoIds ) {
+        final Set< Integer > result = new HashSet<>();
+        this.promotionLock.lock();
+
+        try {
+            for ( final Integer promoId : promoIds ) {
+                final Promotion promotion = this.promotions.get( promoId );
+
+                if ( promotion != null ) {
+                    result.add( promotion.getProductId() );
+                }
+            }
+        } finally {
+            this.promotionLock.unlock();
+        }
+
+        return result;
+    }
+
+    /**
+     * @param promoIds the IDs of the promotions being requested (cannot be <code>null</code>)
+     * @return the promotions that are cached in ID order (never <code>null</code> but can be empty)
+     */
+    private Promotion[] resolvePromotions( final Collection< Integer > promoIds ) {
+        this.promotionLock.lock();
+
+        try {
+            final List< Promotion > result = new ArrayList<>( promoIds.size() );
+
+            for ( final Integer promoId : promoIds ) {
+                final Promotion promotion = this.promotions.get( promoId );
+
+                if ( promotion == null ) {
+                    IotApp.logError( DataProvider.class,
+                                     "resolvePromotions",
+                                     ( "Promotion " + promoId + " was not found" ),
+                                     null );
+                } else {
+                    result.add( promotion );
+                }
+            }
+
+            return result.toArray( new Promotion[ result.size() ] );
+        } finally {
+            this.promotionLock.unlock();
+        }
+    }
+
+    /**
+     * Assumes products, departments, and inventory have already been loaded.
+     *
+     * @param queryKeywords the keywords being searched for (cannot be <code>null</code>)
+     * @return the inventory results of the matching products (never <code>null</code> but can be empty)
+     */
+    private InventoryResults searchInventories( final String[] queryKeywords ) {
+        final Set< Integer > productIds;
+        this.productLock.lock();
+
+        try {
+            productIds = this.productIndex.search( Match.ANY, queryKeywords );
+        } finally {
+            this.productLock.unlock();
+        }
+
+        return createInventoryResults( productIds );
+    }
+
+    /**
+     * The department of each promotion is looked up once, before sorting, so that the sort only compares primitive keys.
+     *
+     * @param promotions the promotions being sorted in place (cannot be <code>null</code>)
+     */
+    private void sortByDeptName( final Promotion[] promotions ) {
+        final int[] orders = new int[ promotions.length ];
+        this.productLock.lock();
+        this.departmentLock.lock();
+
+        try {
+            for ( int i = 0;
+                  i < promotions.length;
+                  ++i ) {
+                final Product product = this.products.get( promotions[ i ].getProductId() );
+                final Integer deptOrder = ( ( product == null ) ? null : this.deptOrders.get( product.getDepartmentId() ) );
+                orders[ i ] = ( ( deptOrder == null ) ? Promotion.NO_DEPT_ORDER : deptOrder );
+            }
+        } finally {
+            this.departmentLock.unlock();
+            this.productLock.unlock();
+        }
+
+        Promotion.sortByDeptOrder( promotions, orders );
+    }
+
+    /**
+     * Re-sorts the product inventory so that the inventory of the specified store is first. Called when the preferred store
+     * changes so that the comparisons done when caching and sorting inventory do not need to read the preferences.
+     *
+     * @param storeId the ID of the preferred {@link Store} or {@link Store#NOT_IDENTIFIED}
+     * @return <code>true</code> if cached inventory was re-sorted
+     */
+    private boolean sortInventory( final int storeId ) {
+        this.inventoryLock.lock();
+
+        try {
+            if ( storeId == this.preferredStoreId ) {
+                return false;
+            }
+
+            this.preferredStoreId = storeId;
+            final Comparator< Inventory > storeSorter = Inventory.createStoreSorter( storeId );
+
+            for ( final Map.Entry< Integer, Set< Inventory > > entry : this.productInventory.entrySet() ) {
+                final Set< Inventory > items = new TreeSet<>( storeSorter );
+                items.addAll( entry.getValue() );
+                entry.setValue( items );
+            }
+
+            return !this.productInventory.isEmpty();
+        } finally {
+            this.inventoryLock.unlock();
+        }
+    }
+
+    private void summarizeOrders( final int customerId,
+                                  final Order[] orders ) {
+        this.orderLock.lock();
+
+        try {
+            OrderSummary summary = this.orderSummaries.get( customerId );
+
+            if ( summary == null ) {
+                summary = new OrderSummary( customerId );
+                this.orderSummaries.put( customerId, summary );
+            }
+
+            for ( final Order order : orders ) {
+                summary.add( order );
+            }
+        } finally {
+            this.orderLock.unlock();
+        }
+    }
+
+    /**
+     * Joins items with the cached data needed to display them off the main thread. The product and department locks are held
+     * while joining. The rows are delivered on the main thread.
+     *
+     * @param <T> the type of item being joined
+     * @param <R> the row type
+     */
+    private abstract class JoinTask< T, R > extends AsyncTask< Void, Void, List< R > > {
+
+        private final RowCallback< R > callback;
+        private final T[] items;
+
+        /**
+         * @param items    the items being joined (cannot be <code>null</code> and must not be used by anyone else)
+         * @param callback the handler of the rows (cannot be <code>null</code>)
+         */
+        JoinTask( final T[] items,
+                  final RowCallback< R > callback ) {
+            this.items = items;
+            this.callback = callback;
+        }
+
+        @Override
+        protected List< R > doInBackground( final Void... params ) {
+            sort( this.items );
+            final List< R > rows = new ArrayList<>( this.items.length );
+
+            DataProvider.this.productLock.lock();
+            DataProvider.this.departmentLock.lock();
+
+            try {
+                for ( final T item : this.items ) {
+                    final R row = join( item );
+
+                    if ( row != null ) {
+                        rows.add( row );
+                    }
+                }
+            } finally {
+                DataProvider.this.departmentLock.unlock();
+                DataProvider.this.productLock.unlock();
+            }
+
+            return rows;
+        }
+
+        /**
+         * @param item the item being joined (never <code>null</code>)
+         * @return the row or <code>null</code> if the item should not be displayed
+         */
+        abstract R join( final T item );
+
+        @Override
+        protected void onPostExecute( final List< R > rows ) {
+            this.callback.onSuccess( rows );
+        }
+
+        /**
+         * Called before joining. Sorts the rows by sorting the items. Default is to not sort.
+         *
+         * @param items the items being joined (never <code>null</code>)
+         */
+        void sort( final T[] items ) {
+            // nothing to do
+        }
+
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.redhat.iot;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * Formats dates using the {@link IotConstants#DATE_FORMAT app date format}. Date formats are not thread-safe so each thread
+ * gets its own formatter. As the format only shows the day, formatted days are cached by epoch day and formatting a day that is
+ * cached does not allocate.
+ */
+public final class DayFormatter {
+
+    /**
+     * The number of formatted days cached. Must be a power of 2.
+     */
+    static final int CACHE_SIZE = 64;
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long NO_DAY = Long.MIN_VALUE;
+
+    private static final ThreadLocal< DayFormatter > _formatters = new ThreadLocal< DayFormatter >() {
+
+        @Override
+        protected DayFormatter initialValue() {
+            return new DayFormatter( Locale.getDefault(), TimeZone.getDefault() );
+        }
+    };
+
+    /**
+     * @return the formatter of the current thread (never <code>null</code>)
+     */
+    public static DayFormatter get() {
+        return _formatters.get();
+    }
+
+    private final long[] days = new long[ CACHE_SIZE ];
+    private final SimpleDateFormat formatter;
+    private final String[] formatted = new String[ CACHE_SIZE ];
+    private final TimeZone timeZone;
+
+    /**
+     * @param locale   the locale of the formatted dates (cannot be <code>null</code>)
+     * @param timeZone the time zone the days are in (cannot be <code>null</code>)
+     */
+    DayFormatter( final Locale locale,
+                  final TimeZone timeZone ) {
+        this.timeZone = timeZone;
+        this.formatter = new SimpleDateFormat( IotConstants.DATE_FORMAT, locale );
+        this.formatter.setTimeZone( timeZone );
+
+        for ( int i = 0;
+              i < CACHE_SIZE;
+              ++i ) {
+            this.days[ i ] = NO_DAY;
+        }
+    }
+
+    /**
+     * @param millis the date being formatted in milliseconds since the epoch
+     * @return the formatted day (never empty)
+     */
+    public String format( final long millis ) {
+        final long day = getEpochDay( millis );
+        final int index = ( int )( day & ( CACHE_SIZE - 1 ) );
+
+        if ( this.days[ index ] != day ) {
+            this.formatted[ index ] = this.formatter.format( new Date( millis ) );
+            this.days[ index ] = day;
+        }
+
+        return this.formatted[ index ];
+    }
+
+    /**
+     * @param millis a date in milliseconds since the epoch
+     * @return the number of days since the epoch in this formatter's time zone
+     */
+    long getEpochDay( final long millis ) {
+        final long local = ( millis + this.timeZone.getOffset( millis ) );
+        final long day = ( local / DAY_MILLIS );
+
+        // round down for dates before the epoch
+        return ( ( ( local % DAY_MILLIS ) < 0 ) ? ( day - 1 ) : day );
+    }
+
+}
@@ -5,17 +5,15 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.content.SharedPreferences.Editor;
 import android.content.pm.PackageInfo;
-import android.content.res.Resources;
+import android.content.res.TypedArray;
 import android.util.Log;
 
 import com.redhat.iot.IotConstants.Prefs;
+import com.redhat.iot.R.array;
 import com.redhat.iot.R.string;
 import com.redhat.iot.domain.Customer;
 import com.redhat.iot.domain.Store;
-
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import com.redhat.iot.notification.Notifier;
 
 /**
  * The IoT Mobile App.
@@ -24,31 +22,33 @@ public class IotApp extends Application {
 
     private static final String LOG_MSG = ( "%s: %s: %s" );
 
-    private static final AtomicInteger IMAGE_COUNT = new AtomicInteger( 1 );
-    private static final Map< Long, Integer > IMAGE_MAP = new HashMap<>();
-    private static final int NUM_IMAGES = 50;
-
+    private static Context _application;
     private static Context _context;
+    private static volatile int[] _imageIds; // drawable resource IDs of the product images
+    private static Notifier _notifier;
 
     /**
      * @return the app's version and build number (never empty)
      */
     public static String getAppVersion() {
+        final Context context = getContext();
+
         try {
-            final PackageInfo pkgInfo = _context.getPackageManager().getPackageInfo( _context.getPackageName(), 0 );
+            final PackageInfo pkgInfo = context.getPackageManager().getPackageInfo( context.getPackageName(), 0 );
             final String version = pkgInfo.versionName;
             final int build = pkgInfo.versionCode;
-            return _context.getString( string.app_version, version, build );
+            return context.getString( string.app_version, version, build );
         } catch ( final Exception e ) {
-            return _context.getString( string.app_version, "?.?.?", 0 );
+            return context.getString( string.app_version, "?.?.?", 0 );
         }
     }
 
     /**
-     * @return the app context (never <code>null</code>)
+     * @return the main activity or, if the app was started in the background and there is no main activity, the application
+     * context (never <code>null</code>)
      */
     public static Context getContext() {
-        return _context;
+        return ( ( _context == null ) ? _application : _context );
     }
 
     /**
@@ -60,33 +60,46 @@ public class IotApp extends Application {
     }
 
     /**
-     * @param o the object whose image resource identifier is being requested (cannot be <code>null</code>)
+     * The same image is always returned for the same ID. Safe to call from any thread.
+     *
+     * @param id the ID of the object whose image resource identifier is being requested
      * @return the image resource ID
      */
-    public static int getImageId( final Object o ) {
-        final long id = o.hashCode();
-        Integer imageId = IMAGE_MAP.get( id );
+    public static int getImageId( final int id ) {
+        final int[] imageIds = getImageIds();
+        final int index = ( id - 1 ) % imageIds.length; // ID 1 uses the first image
+        return imageIds[ ( index < 0 ) ? ( index + imageIds.length ) : index ];
+    }
 
-        if ( imageId == null ) {
-            final Resources resources = getContext().getResources();
-            imageId = resources.getIdentifier( "com.redhat.iot:drawable/item_" + IMAGE_COUNT.get(), null, null );
-            IMAGE_MAP.put( id, imageId );
+    private static int[] getImageIds() {
+        int[] imageIds = _imageIds;
 
-            if ( IMAGE_COUNT.intValue() > NUM_IMAGES ) {
-                IMAGE_COUNT.set( 1 );
-            } else {
-                IMAGE_COUNT.incrementAndGet();
+        if ( imageIds == null ) {
+            synchronized ( IotApp.class ) {
+                imageIds = _imageIds;
+
+                if ( imageIds == null ) {
+                    imageIds = loadImageIds();
+                    _imageIds = imageIds;
+                }
             }
         }
 
-        return imageId;
+        return imageIds;
+    }
+
+    /**
+     * @return the app-wide sender of promotion notifications (never <code>null</code>)
+     */
+    public static Notifier getNotifier() {
+        return _notifier;
     }
 
     /**
      * @return the app preferences (never <code>null</code>)
      */
     public static SharedPreferences getPrefs() {
-        return _context.getSharedPreferences( Prefs.PREFS_NAME, 0 );
+        return getContext().getSharedPreferences( Prefs.PREFS_NAME, 0 );
     }
 
     /**
@@ -123,6 +136,32 @@ public class IotApp extends Application {
         Log.e( IotConstants.LOG_TAG, String.format( LOG_MSG, clazz.getSimpleName(), methodContext, errorMsg ), e );
     }
 
+    private static int[] loadImageIds() {
+        final TypedArray images = getContext().getResources().obtainTypedArray( array.product_images );
+
+        try {
+            final int[] imageIds = new int[ images.length() ];
+
+            for ( int i = 0;
+                  i < imageIds.length;
+                  ++i ) {
+                imageIds[ i ] = images.getResourceId( i, 0 );
+            }
+
+            return imageIds;
+        } finally {
+            images.recycle(); // call after done with TypeArray
+        }
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        _application = this;
+        _notifier = new Notifier( this );
+        _notifier.init();
+    }
+
     /**
      * @param hostIpAddress the IP address of the host that is being checked (cannot be empty)
      * @return <code>true</code> if host is reachable
@@ -160,6 +199,7 @@ public class IotApp extends Application {
     public static void setContext( final Context mainActivity ) {
         if ( _context == null ) {
             _context = mainActivity;
+            getImageIds(); // so that binds never have to load the image table
         } else {
             logError( IotApp.class, "setContext", "setting context more than once", null );
         }
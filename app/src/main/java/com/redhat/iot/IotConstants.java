@@ -2,9 +2,6 @@ package com.redhat.iot;
 
 import com.redhat.iot.R.string;
 
-import java.text.SimpleDateFormat;
-import java.util.Locale;
-
 /**
  * Constants used in the IoT mobile app.
  */
@@ -63,11 +60,6 @@ public interface IotConstants {
      */
     String DATE_FORMAT = "MMM dd, yyyy";
 
-    /**
-     * The shared date formatter.
-     */
-    SimpleDateFormat DATE_FORMATTER = new SimpleDateFormat( DATE_FORMAT, Locale.getDefault() );
-
     /**
      * The first customer ID in the actual demo data.
      */
@@ -2,27 +2,29 @@ package com.redhat.iot;
 
 import android.app.Fragment;
 import android.app.FragmentManager;
-import android.app.Notification;
-import android.app.NotificationManager;
 import android.app.SearchManager;
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
+import android.database.Cursor;
+import android.database.MatrixCursor;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.os.Handler;
-import android.support.v4.app.NotificationCompat.Builder;
+import android.provider.BaseColumns;
 import android.support.v4.view.GravityCompat;
+import android.support.v4.widget.CursorAdapter;
 import android.support.v4.widget.DrawerLayout;
+import android.support.v4.widget.SimpleCursorAdapter;
 import android.support.v7.app.ActionBarDrawerToggle;
 import android.support.v7.app.AppCompatActivity;
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.RecyclerView.Adapter;
 import android.support.v7.widget.RecyclerView.LayoutManager;
+import android.support.v7.widget.RecyclerView.RecycledViewPool;
 import android.support.v7.widget.RecyclerView.ViewHolder;
 import android.support.v7.widget.SearchView;
 import android.support.v7.widget.SearchView.OnQueryTextListener;
+import android.support.v7.widget.SearchView.OnSuggestionListener;
 import android.support.v7.widget.Toolbar;
 import android.util.Log;
 import android.view.LayoutInflater;
@@ -35,35 +37,18 @@ import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.TextView;
 
-import com.redhat.iot.IotConstants.Prefs;
 import com.redhat.iot.R.drawable;
 import com.redhat.iot.R.id;
 import com.redhat.iot.R.layout;
 import com.redhat.iot.R.menu;
 import com.redhat.iot.R.string;
 import com.redhat.iot.concurrent.DepartmentCallback;
-import com.redhat.iot.concurrent.NotificationCallback;
-import com.redhat.iot.concurrent.ProductCallback;
-import com.redhat.iot.concurrent.PromotionCallback;
 import com.redhat.iot.domain.Customer;
-import com.redhat.iot.domain.Department;
-import com.redhat.iot.domain.IotNotification;
-import com.redhat.iot.domain.Product;
-import com.redhat.iot.domain.Promotion;
 import com.redhat.iot.inventory.InventoryFragment;
 import com.redhat.iot.order.OrdersFragment;
 import com.redhat.iot.promotion.PromotionsFragment;
 
-import java.text.MessageFormat;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.atomic.AtomicInteger;
-
-public class MainActivity extends AppCompatActivity implements OnSharedPreferenceChangeListener {
+public class MainActivity extends AppCompatActivity {
 
     private static final int ICON_INDEX = 0;
     private static final int INVERTED_ICON_INDEX = 1;
@@ -88,43 +73,49 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
     private static final int ABOUT_SCREEN_INDEX = 7;
     private static final int INVENTORY_SCREEN_INDEX = 8;
 
-    private Timer notifierTimer;
-    private final AtomicInteger notificationId = new AtomicInteger();
-
-    // customer should get notified once for each promotion
-    private final Map< Integer, List< Integer > > notifications = new HashMap<>(); // key=customer ID, value=list of promo IDs
+    private static final String[] SUGGESTION_COLUMNS = { BaseColumns._ID, SearchManager.SUGGEST_COLUMN_TEXT_1 };
+    private static final int SUGGESTION_DELAY = 150; // milliseconds to wait for typing to pause
+    private static final int SUGGESTION_LIMIT = 8;
 
+    private Handler handler;
     private View previousSelectedDrawerItem;
     private String[] queryKeywords; // search keywords
     private SearchView searchView;
+    private final Runnable suggestionTask = new Runnable() {
+
+        @Override
+        public void run() {
+            showSuggestions();
+        }
+    };
+    private final RecycledViewPool viewPool = new RecycledViewPool(); // shared by the card lists of the screens
 
     private SearchView getSearchView() {
         return this.searchView;
     }
 
-    private void handleFoundPromotion( final Promotion promotion ) {
-        DataProvider.get().findProduct( promotion.getProductId(), new ProductCallback() {
-
-            @Override
-            public void onSuccess( final Product[] products ) {
-                handleFoundProduct( promotion, products[ 0 ] );
-            }
-        } );
+    /**
+     * @return the view pool shared by the card lists of the screens (never <code>null</code>)
+     */
+    public RecycledViewPool getViewPool() {
+        return this.viewPool;
     }
 
-    private void handleFoundProduct( final Promotion promotion,
-                                     final Product product ) {
-        DataProvider.get().findDepartment( product.getDepartmentId(), new DepartmentCallback() {
+    private void handleSearchQuery( final String query ) {
+        final String[] keywords = ( ( query == null ) ? null : query.split( " " ) );
+        final Fragment current = getFragmentManager().findFragmentById( id.content_frame );
 
-            @Override
-            public void onSuccess( final Department[] results ) {
-                publishNotification( promotion, product, results[ 0 ] );
+        // keep the inventory screen so that only the rows that changed are updated
+        if ( current instanceof InventoryFragment ) {
+            if ( getSearchView() != null ) {
+                getSearchView().setIconified( true );
             }
-        } );
-    }
 
-    private void handleSearchQuery( final String query ) {
-        this.queryKeywords = ( ( query == null ) ? null : query.split( " " ) );
+            ( ( InventoryFragment )current ).search( keywords );
+            return;
+        }
+
+        this.queryKeywords = keywords;
         showScreen( INVENTORY_SCREEN_INDEX, null );
     }
 
@@ -177,11 +168,8 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
         drawerLayout.addDrawerListener( drawerToggle );
         drawerToggle.syncState();
 
-        // register to receive preference changes
-        IotApp.getPrefs().registerOnSharedPreferenceChangeListener( this );
-
         { // post to UI thread first fragment selection
-            final Handler handler = new Handler( getMainLooper() );
+            this.handler = new Handler( getMainLooper() );
             final Runnable myRunnable = new Runnable() {
 
                 @Override
@@ -190,7 +178,7 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
                 }
             };
 
-            handler.post( myRunnable );
+            this.handler.post( myRunnable );
         }
     }
 
@@ -204,6 +192,39 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
         this.searchView.setSearchableInfo( searchManager.getSearchableInfo( getComponentName() ) );
         this.searchView.setQueryHint( getString( string.search_hint ) );
         this.searchView.setIconified( true );
+        this.searchView.setSuggestionsAdapter( new SimpleCursorAdapter( this,
+                                                                         android.R.layout.simple_list_item_1,
+                                                                         null,
+                                                                         new String[]{ SearchManager.SUGGEST_COLUMN_TEXT_1 },
+                                                                         new int[]{ android.R.id.text1 },
+                                                                         CursorAdapter.FLAG_REGISTER_CONTENT_OBSERVER ) );
+        this.searchView.setOnSearchClickListener( new OnClickListener() {
+
+            @Override
+            public void onClick( final View view ) {
+                // load what is needed for suggestions before the user starts typing
+                DataProvider.get().prepareSearch( new DepartmentCallback() );
+            }
+        } );
+        this.searchView.setOnSuggestionListener( new OnSuggestionListener() {
+
+            @Override
+            public boolean onSuggestionClick( final int position ) {
+                final Cursor cursor = MainActivity.this.searchView.getSuggestionsAdapter().getCursor();
+
+                if ( ( cursor != null ) && cursor.moveToPosition( position ) ) {
+                    final String suggestion = cursor.getString( cursor.getColumnIndex( SearchManager.SUGGEST_COLUMN_TEXT_1 ) );
+                    MainActivity.this.searchView.setQuery( suggestion, true );
+                }
+
+                return true; // handled here
+            }
+
+            @Override
+            public boolean onSuggestionSelect( final int position ) {
+                return false;
+            }
+        } );
         this.searchView.setOnQueryTextListener( new OnQueryTextListener() {
 
             // needed because onQueryTextSubmit gets called twice (key down, key up)
@@ -211,6 +232,8 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
 
             @Override
             public boolean onQueryTextSubmit( final String query ) {
+                MainActivity.this.handler.removeCallbacks( MainActivity.this.suggestionTask );
+
                 if ( this.changed ) {
                     handleSearchQuery( query );
                     MainActivity.this.searchView.setIconified( true );
@@ -223,7 +246,12 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
             @Override
             public boolean onQueryTextChange( final String newText ) {
                 this.changed = true;
-                return true; // do nothing and don't propogate
+
+                // only look up suggestions once typing pauses
+                MainActivity.this.handler.removeCallbacks( MainActivity.this.suggestionTask );
+                MainActivity.this.handler.postDelayed( MainActivity.this.suggestionTask, SUGGESTION_DELAY );
+
+                return true; // handled here
             }
         } );
 
@@ -251,7 +279,6 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
     @Override
     protected void onPause() {
         Log.d( IotConstants.LOG_TAG, "onPause" );
-        stopNotificationThread();
         super.onPause();
     }
 
@@ -259,29 +286,6 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
     protected void onRestart() {
         Log.d( IotConstants.LOG_TAG, "onRestart" );
         super.onRestart();
-
-        // start notifications if pref is set
-        onSharedPreferenceChanged( IotApp.getPrefs(), Prefs.ENABLE_NOTIFICATIONS );
-    }
-
-    @Override
-    public void onSharedPreferenceChanged( final SharedPreferences sharedPreferences,
-                                           final String key ) {
-        if ( Prefs.ENABLE_NOTIFICATIONS.equals( key ) ) {
-            Log.d( IotConstants.LOG_TAG, ( "Enable notifications preference changed" ) );
-            final boolean enable = IotApp.getPrefs().getBoolean( Prefs.ENABLE_NOTIFICATIONS,
-                                                                 Prefs.DEFAULT_ENABLE_NOTIFICATIONS );
-
-            if ( enable ) {
-                startNotificationThread();
-            } else {
-                stopNotificationThread();
-            }
-        } else if ( Prefs.NOTIFICATION_INTERVAL.equals( key ) ) {
-            Log.d( IotConstants.LOG_TAG, ( "Notifications interval preference changed" ) );
-            stopNotificationThread();
-            startNotificationThread();
-        }
     }
 
     @Override
@@ -295,84 +299,30 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
         if ( userId == Customer.UNKNOWN_USER ) {
             IotApp.setUserId( IotConstants.FIRST_CUST_ID );
         }
-
-        // start notifications if pref is set
-        onSharedPreferenceChanged( IotApp.getPrefs(), Prefs.ENABLE_NOTIFICATIONS );
     }
 
     @Override
     protected void onStop() {
         Log.d( IotConstants.LOG_TAG, "onStop" );
-        stopNotificationThread();
         super.onStop();
     }
 
-    private void publishNotification( final Promotion promotion,
-                                      final Product product,
-                                      final Department department ) {
-        // don't send if a customer is not logged in
-        final int custId = IotApp.getCustomerId();
-
-        if ( custId == Customer.UNKNOWN_USER ) {
-            IotApp.logError( MainActivity.class, "sendNotifications", "No customer logged in", null );
+    private void showSuggestions() {
+        if ( this.searchView == null ) {
             return;
         }
 
-        // create
-        final Builder builder = new Builder( this );
-        builder.setSmallIcon( product.getImageId() );
-        builder.setContentTitle( getString( string.notification_title, department.getName() ) );
-        builder.setContentText( getString( string.notification_message, product.getName(), promotion.getDiscount() ) );
-        builder.setGroup( IotConstants.NOTIFIER_GROUP );
-        final Notification alert = builder.build();
-
-        // send
-        final NotificationManager mgr = ( NotificationManager )getSystemService( Context.NOTIFICATION_SERVICE );
-        final int alertId = this.notificationId.getAndIncrement();
-        Log.d( IotConstants.LOG_TAG,
-               MessageFormat.format( "Sending IoT Notification {0} to customer {1} for promotion {2}",
-                                     alertId,
-                                     custId,
-                                     promotion.getId() ) );
-        mgr.notify( alertId, alert );
-
-        // remember the promotions each customer received
-        List< Integer > received = this.notifications.get( custId );
-
-        if ( received == null ) {
-            received = new ArrayList<>();
-            this.notifications.put( custId, received );
-        }
-
-        received.add( promotion.getId() );
-    }
+        final String prefix = this.searchView.getQuery().toString();
+        final String[] suggestions = DataProvider.get().getSuggestions( prefix, SUGGESTION_LIMIT );
+        final MatrixCursor cursor = new MatrixCursor( SUGGESTION_COLUMNS, suggestions.length );
 
-    private void sendNotifications( final IotNotification[] results ) {
-        if ( ( results == null ) || ( results.length == 0 ) ) {
-            return;
+        for ( int i = 0;
+              i < suggestions.length;
+              ++i ) {
+            cursor.addRow( new Object[]{ i, suggestions[ i ] } );
         }
 
-        // just looking at first
-        final int promoId = results[ 0 ].getPromoId();
-
-        // don't send if already received the promotion
-        final int custId = IotApp.getCustomerId();
-        final List< Integer > received = this.notifications.get( custId );
-        final boolean send = ( ( received == null ) || !received.contains( promoId ) );
-
-        if ( send ) {
-            // need to find the promotion, product, and product department to send the notification
-            DataProvider.get().findPromotion( promoId, new PromotionCallback() {
-
-                @Override
-                public void onSuccess( final Promotion[] results ) {
-                    handleFoundPromotion( results[ 0 ] );
-                }
-            } );
-        } else {
-            Log.d( IotConstants.LOG_TAG, "Not sending IoT Notification for promotion " + promoId
-                + " because customer " + custId + " has already received it" );
-        }
+        this.searchView.getSuggestionsAdapter().changeCursor( cursor );
     }
 
     void showScreen( final int index,
@@ -439,22 +389,6 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
         }
     }
 
-    private void startNotificationThread() {
-        stopNotificationThread();
-        Log.d( IotConstants.LOG_TAG, "starting notification timer" );
-        final int interval = IotApp.getPrefs().getInt( Prefs.NOTIFICATION_INTERVAL,
-                                                       Prefs.DEFAULT_NOTIFICATION_INTERVAL );
-        this.notifierTimer = new Timer( true );
-        this.notifierTimer.schedule( new NotificationTask(), 0, interval );
-    }
-
-    private void stopNotificationThread() {
-        if ( this.notifierTimer != null ) {
-            Log.d( IotConstants.LOG_TAG, "stopping notification timer" );
-            this.notifierTimer.cancel();
-        }
-    }
-
     /**
      * !!! The entire path to DrawerAdapter.Holder needs to be here in order for the build to work correctly !!!
      */
@@ -464,6 +398,7 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
 
         DrawerAdapter( final Context context ) {
             this.inflater = LayoutInflater.from( context );
+            setHasStableIds( true );
         }
 
         @Override
@@ -473,7 +408,8 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
 
         @Override
         public long getItemId( final int position ) {
-            return position;
+            // the screen name uniquely identifies a drawer item
+            return ( ( position == 0 ) ? layout.nav_header_main : DRAWER_CONFIG[ position - 1 ][ NAME_INDEX ] );
         }
 
         @Override
@@ -534,31 +470,4 @@ public class MainActivity extends AppCompatActivity implements OnSharedPreferenc
 
     }
 
-    class NotificationHandler extends NotificationCallback {
-
-        @Override
-        public void onSuccess( final IotNotification[] results ) {
-            if ( results.length != 0 ) {
-                sendNotifications( results );
-            }
-        }
-
-    }
-
-    /**
-     * A task to check for notifications.
-     */
-    private class NotificationTask extends TimerTask {
-
-        @Override
-        public void run() {
-            final int custId = IotApp.getCustomerId();
-
-            if ( custId != Customer.UNKNOWN_USER ) {
-                DataProvider.get().getNotifications( custId, new NotificationHandler() );
-            }
-        }
-
-    }
-
 }
@@ -0,0 +1,106 @@
+package com.redhat.iot.concurrent;
+
+/**
+ * Parses the lines of a server-sent event stream (<code>text/event-stream</code>). Event types are ignored as the notification
+ * stream only sends one kind of event.
+ */
+class EventStreamParser {
+
+    private final StringBuilder data = new StringBuilder();
+    private boolean hasData;
+    private String lastEventId;
+    private int retryMillis;
+
+    /**
+     * @param retryMillis the milliseconds to wait before reconnecting if the server does not say otherwise
+     */
+    EventStreamParser( final int retryMillis ) {
+        this.retryMillis = retryMillis;
+    }
+
+    /**
+     * @param line a line of the stream without its line terminator (cannot be <code>null</code>)
+     * @return the data of the event the line completes or <code>null</code> if the line does not complete an event
+     */
+    String feed( final String line ) {
+        if ( line.isEmpty() ) {
+            if ( !this.hasData ) {
+                return null;
+            }
+
+            final String event = this.data.toString();
+            this.data.setLength( 0 );
+            this.hasData = false;
+            return event;
+        }
+
+        final int colon = line.indexOf( ':' );
+
+        if ( colon == 0 ) {
+            return null; // comment (servers send these to keep the connection open)
+        }
+
+        final String field = ( ( colon == -1 ) ? line : line.substring( 0, colon ) );
+        String value = ( ( colon == -1 ) ? "" : line.substring( colon + 1 ) );
+
+        if ( value.startsWith( " " ) ) {
+            value = value.substring( 1 );
+        }
+
+        switch ( field ) {
+            case "data":
+                if ( this.hasData ) {
+                    this.data.append( '\n' );
+                }
+
+                this.data.append( value );
+                this.hasData = true;
+                break;
+            case "id":
+                if ( value.indexOf( '\0' ) == -1 ) {
+                    this.lastEventId = value;
+                }
+
+                break;
+            case "retry":
+                try {
+                    final int retry = Integer.parseInt( value );
+
+                    if ( retry >= 0 ) {
+                        this.retryMillis = retry;
+                    }
+                } catch ( final NumberFormatException e ) {
+                    // ignore field
+                }
+
+                break;
+            default:
+                break; // ignore unknown fields
+        }
+
+        return null;
+    }
+
+    /**
+     * @return the ID of the last event sent by the server or <code>null</code> if the server has not sent one
+     */
+    String getLastEventId() {
+        return this.lastEventId;
+    }
+
+    /**
+     * @return the milliseconds to wait before reconnecting
+     */
+    int getRetryMillis() {
+        return this.retryMillis;
+    }
+
+    /**
+     * Discards the data of a partially received event. Should be called when the connection is lost.
+     */
+    void reset() {
+        this.data.setLength( 0 );
+        this.hasData = false;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.IotException;
+import com.redhat.iot.domain.Customer;
+import com.redhat.iot.json.CustomerMarshaller;
+import com.redhat.iot.json.CustomerMarshaller.Name;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Task to retrieve one {@link Customer} by its ID.
+ */
+public class GetCustomer extends GetData< Customer > {
+
+    /**
+     * The OData URL used to obtain one {@link Customer}.
+     */
+    private static final String URL = ( String.format( GetData.URL_PATTERN, "Customer" ) + GetData.ID_FILTER_FORMAT );
+
+    private final int customerId;
+
+    /**
+     * @param customerId the ID of the {@link Customer} being requested
+     * @param callback   the callback (cannot be <code>null</code>)
+     */
+    public GetCustomer( final int customerId,
+                        final CustomerCallback callback ) {
+        super( String.format( URL, customerId ), callback, -1 );
+        this.customerId = customerId;
+    }
+
+    @Override
+    protected String getTestData() throws IotException {
+        final JSONArray jcustomers = CustomerMarshaller.get().parseJsonArray( GetCustomers.readTestData() );
+
+        for ( int i = 0;
+              i < jcustomers.length();
+              ++i ) {
+            final JSONObject jcustomer = jcustomers.optJSONObject( i );
+
+            if ( ( jcustomer != null ) && ( jcustomer.optInt( Name.ID ) == this.customerId ) ) {
+                return GetData.toResults( jcustomer.toString() );
+            }
+        }
+
+        return null;
+    }
+
+}
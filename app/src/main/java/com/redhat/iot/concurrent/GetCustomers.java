@@ -24,11 +24,14 @@ public class GetCustomers extends GetData< Customer > {
      * @param callback the callback (cannot be <code>null</code>)
      */
     public GetCustomers( final CustomerCallback callback ) {
-        super( URL, callback, Customer.class, string.load_customers );
+        super( URL, callback, string.load_customers );
     }
 
-    @Override
-    protected String getTestData() throws IotException {
+    /**
+     * @return the JSON of all the test {@link Customer}s (never empty)
+     * @throws IotException if an error occurs reading the test data
+     */
+    static String readTestData() throws IotException {
         try {
             final InputStream is = IotApp.getContext().getResources().openRawResource( raw.customer );
             final BufferedReader streamReader = new BufferedReader( new InputStreamReader( is, "UTF-8" ) );
@@ -45,4 +48,9 @@ public class GetCustomers extends GetData< Customer > {
         }
     }
 
+    @Override
+    protected String getTestData() throws IotException {
+        return readTestData();
+    }
+
 }
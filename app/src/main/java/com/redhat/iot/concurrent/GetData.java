@@ -1,5 +1,6 @@
 package com.redhat.iot.concurrent;
 
+import android.app.Activity;
 import android.app.ProgressDialog;
 import android.os.AsyncTask;
 import android.util.Base64;
@@ -10,19 +11,18 @@ import com.redhat.iot.IotConstants;
 import com.redhat.iot.IotException;
 import com.redhat.iot.R.string;
 import com.redhat.iot.domain.IotObject;
+import com.redhat.iot.json.BinaryMarshaller;
+import com.redhat.iot.json.BinaryResults;
 import com.redhat.iot.json.IotMarshaller;
-
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.redhat.iot.json.JsonUtils;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.lang.reflect.Array;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
 
 /**
  * An asynchronous task whose result is a collection of {@link IotObject}s.
@@ -36,35 +36,147 @@ abstract class GetData< T extends IotObject > extends AsyncTask< Void, Void, T[]
     private static final String PSWD = ( I_AM_TED ? "TbJ01221991$" : "4teiid$admin" );
     private static final String USER = "teiidUser";
 
+    /**
+     * The <code>Accept</code> header sent when the binary format can be read. JSON is accepted at a lower quality.
+     */
+    static final String BINARY_ACCEPT = ( BinaryResults.CONTENT_TYPE + ", application/json;q=0.5" );
+
     static final String JSONS_FORMAT = "?$format=json";
+    static final String ID_FILTER_FORMAT = "?$filter=id%%20eq%%20%s&$format=json"; // must be used with String.format
     static final String URL_PATTERN = ( "http://" + HOST + ':' + PORT + "/odata/customer_iot/%s" );
 
+    /**
+     * @return the value of the authorization header sent to the server (never empty)
+     */
+    static String getAuthorization() {
+        final String userCredentials = ( USER + ':' + PSWD );
+        final String encoding =
+            new String( Base64.encode( userCredentials.getBytes(), Base64.DEFAULT ) ).replaceAll( "\\s+", "" );
+        return ( "Basic " + encoding );
+    }
+
+    /**
+     * @return <code>true</code> if data is obtained from the server rather than from test data
+     */
+    static boolean isServerAvailable() {
+        return USE_REAL_DATA;
+    }
+
+    /**
+     * Asks for the binary format when the marshaller can read it. A server that cannot write it sends JSON instead.
+     *
+     * @param url           the URL of the data (cannot be <code>null</code>)
+     * @param authorization the value of the authorization header (cannot be empty)
+     * @param marshaller    the marshaller of the results (cannot be <code>null</code>)
+     * @return the connection before it is connected (never <code>null</code>)
+     * @throws IOException if the connection cannot be opened
+     * @see #getAuthorization()
+     */
+    static HttpURLConnection openConnection( final URL url,
+                                             final String authorization,
+                                             final IotMarshaller< ? > marshaller ) throws IOException {
+        final HttpURLConnection urlConnection = ( HttpURLConnection )url.openConnection();
+        urlConnection.setRequestProperty( "Authorization", authorization );
+        urlConnection.setRequestMethod( "GET" );
+        urlConnection.setRequestProperty( "ACCEPT-LANGUAGE", "en-US,en;0.5" );
+
+        if ( marshaller instanceof BinaryMarshaller ) {
+            urlConnection.setRequestProperty( "Accept", BINARY_ACCEPT );
+        }
+
+        return urlConnection;
+    }
+
+    /**
+     * Decodes the response in the format the server chose.
+     *
+     * @param urlConnection the connection whose response was OK (cannot be <code>null</code>)
+     * @param marshaller    the marshaller of the results (cannot be <code>null</code>)
+     * @param <T>           the {@link IotObject} type
+     * @return the results (never <code>null</code>)
+     * @throws IOException  if the response cannot be read
+     * @throws IotException if the response is not valid
+     */
+    @SuppressWarnings( "unchecked" )
+    static < T extends IotObject > T[] readResults( final HttpURLConnection urlConnection,
+                                                    final IotMarshaller< T > marshaller ) throws IOException, IotException {
+        final String contentType = urlConnection.getContentType();
+
+        try ( final InputStream is = urlConnection.getInputStream() ) {
+            if ( ( marshaller instanceof BinaryMarshaller )
+                 && ( contentType != null )
+                 && contentType.startsWith( BinaryResults.CONTENT_TYPE ) ) {
+                return BinaryResults.read( is, ( BinaryMarshaller< T > )marshaller );
+            }
+
+            return readResults( readText( is ), marshaller );
+        }
+    }
+
+    private static < T extends IotObject > T[] readResults( final String json,
+                                                            final IotMarshaller< T > marshaller ) throws IotException {
+        if ( ( json == null ) || json.isEmpty() ) {
+            return marshaller.newArray( 0 );
+        }
+
+        // objects are created as the JSON is scanned and collected into an array of their type
+        return JsonUtils.readResults( json, marshaller );
+    }
+
+    private static String readText( final InputStream is ) throws IOException {
+        try ( final BufferedReader reader = new BufferedReader( new InputStreamReader( is ) ) ) {
+            final StringBuilder builder = new StringBuilder();
+            String line;
+
+            while ( ( line = reader.readLine() ) != null ) {
+                builder.append( line ).append( "\n" );
+            }
+
+            return builder.toString();
+        }
+    }
+
+    /**
+     * @param name the name of the ID property (cannot be empty)
+     * @param ids  the IDs of the objects being requested (cannot be empty)
+     * @return the query that obtains all the objects with one request (never empty)
+     */
+    static String toIdFilter( final String name,
+                              final Collection< ? extends Number > ids ) {
+        final StringBuilder filter = new StringBuilder( "?$filter=" );
+        boolean first = true;
+
+        for ( final Number id : ids ) {
+            if ( !first ) {
+                filter.append( "%20or%20" );
+            }
+
+            filter.append( name ).append( "%20eq%20" ).append( id );
+            first = false;
+        }
+
+        return filter.append( "&$format=json" ).toString();
+    }
+
     private final IotCallback< T > callback;
-    private final Class< T > clazz;
     private ProgressDialog dialog;
     Exception error;
     private String errorMsg;
-    private final String pswd;
     private final String urlAsString;
-    private final String user;
 
     /**
      * @param url                     the string representation of the {@link URL} being used to fetch data (cannot be empty)
      * @param callback                the callback that is notified after task is finished  (cannot be <code>null</code>)
-     * @param clazz                   the {@link Class} of the result objects (cannot be <code>null</code>)
      * @param progressDialogMessageId the resource ID of the progress dialog message or -1 if no progress dialog should be shown
      */
     GetData( final String url,
              final IotCallback< T > callback,
-             final Class< T > clazz,
              final int progressDialogMessageId ) {
         this.urlAsString = url;
-        this.user = USER;
-        this.pswd = PSWD;
         this.callback = callback;
-        this.clazz = clazz;
 
-        if ( progressDialogMessageId != -1 ) {
+        // there is no window to show a progress dialog in when the app is running in the background
+        if ( ( progressDialogMessageId != -1 ) && ( IotApp.getContext() instanceof Activity ) ) {
             this.dialog = new ProgressDialog( IotApp.getContext() );
             this.dialog.setTitle( string.app_load_data_progress_title );
             this.dialog.setMessage( IotApp.getContext().getString( progressDialogMessageId ) );
@@ -82,7 +194,7 @@ abstract class GetData< T extends IotObject > extends AsyncTask< Void, Void, T[]
         final long start = System.currentTimeMillis();
 
         try {
-            return executeHttpGet( this.urlAsString, this.user, this.pswd );
+            return executeHttpGet( this.urlAsString );
         } catch ( final Exception e ) {
             IotApp.logError( GetData.class, "doInBackground", "url = '" + this.urlAsString + '\'', e );
             this.error = e;
@@ -92,87 +204,28 @@ abstract class GetData< T extends IotObject > extends AsyncTask< Void, Void, T[]
         }
     }
 
-    @SuppressWarnings( "unchecked" )
-    private T[] executeHttpGet( final String urlAsString,
-                                final String user,
-                                final String pswd ) {
-        boolean ok;
-        String json;
+    private T[] executeHttpGet( final String urlAsString ) {
         HttpURLConnection urlConnection = null;
 
         try {
-            if ( isUsingRealData() ) {
-                final URL url = new URL( urlAsString );
-                final String userCredentials = ( user + ':' + pswd );
-                final String encoding =
-                    new String( Base64.encode( userCredentials.getBytes(), Base64.DEFAULT ) ).replaceAll( "\\s+", "" );
-
-                urlConnection = ( HttpURLConnection )url.openConnection();
-                urlConnection.setRequestProperty( "Authorization", "Basic " + encoding );
-                urlConnection.setRequestMethod( "GET" );
-                urlConnection.setRequestProperty( "ACCEPT-LANGUAGE", "en-US,en;0.5" );
+            final IotMarshaller< T > marshaller = this.callback.getMarshaller();
 
+            if ( isUsingRealData() ) {
+                urlConnection = openConnection( new URL( urlAsString ), getAuthorization(), marshaller );
                 final int code = urlConnection.getResponseCode();
-                ok = ( code == HttpURLConnection.HTTP_OK );
-                InputStream is;
-
-                if ( ok ) {
-                    Log.d( IotConstants.LOG_TAG, ( "HTTP GET SUCCESS for URL: " + urlAsString ) );
-                    is = urlConnection.getInputStream();
-                } else {
-                    is = urlConnection.getErrorStream();
-                }
-
-                final BufferedReader reader = new BufferedReader( new InputStreamReader( is ) );
-                final StringBuilder builder = new StringBuilder();
-                String line;
 
-                while ( ( line = reader.readLine() ) != null ) {
-                    builder.append( line ).append( "\n" );
+                if ( code != HttpURLConnection.HTTP_OK ) {
+                    final InputStream errorStream = urlConnection.getErrorStream();
+                    this.errorMsg = ( ( errorStream == null ) ? ( "HTTP " + code ) : readText( errorStream ) );
+                    return null;
                 }
 
-                reader.close();
-                json = builder.toString();
-            } else {
-                ok = true;
-                json = getTestData();
+                Log.d( IotConstants.LOG_TAG,
+                       ( "HTTP GET SUCCESS for URL: " + urlAsString + " (" + urlConnection.getContentType() + ')' ) );
+                return readResults( urlConnection, marshaller );
             }
 
-            if ( ok ) {
-                T[] iotObjs;
-
-                if ( ( json == null ) || json.isEmpty() ) {
-                    //noinspection unchecked
-                    iotObjs = ( T[] )Array.newInstance( this.clazz, 0 );
-                } else {
-                    final IotMarshaller< T > marshaller = this.callback.getMarshaller();
-                    final JSONArray jarray = marshaller.parseJsonArray( json );
-
-                    final List< T > result = new ArrayList<>( jarray.length() );
-
-                    for ( int i = 0;
-                          i < jarray.length();
-                          ++i ) {
-                        final JSONObject jIot = jarray.getJSONObject( i );
-                        final T iot = marshaller.toIot( jIot.toString() );
-                        result.add( iot );
-                    }
-
-                    //noinspection unchecked
-                    iotObjs = ( T[] )Array.newInstance( this.clazz, result.size() );
-
-                    for ( int i = 0;
-                          i < result.size();
-                          ++i ) {
-                        iotObjs[ i ] = result.get( i );
-                    }
-                }
-
-                return iotObjs;
-            }
-
-            // Not HTTP OK
-            this.errorMsg = json;
+            return readResults( getTestData(), marshaller );
         } catch ( final Exception e ) {
             IotApp.logError( GetData.class, "executeHttpGet", "url = '" + urlAsString + '\'', e );
             this.error = e;
@@ -199,6 +252,32 @@ abstract class GetData< T extends IotObject > extends AsyncTask< Void, Void, T[]
         return this.errorMsg;
     }
 
+    /**
+     * @param json the JSON representation of one {@link IotObject} (can be <code>null</code>)
+     * @return the JSON wrapped as an OData result collection or <code>null</code> if the input is <code>null</code>
+     */
+    static String toResults( final String json ) {
+        return ( ( json == null ) ? null : ( "{ d: { \"results\": [ " + json + " ] } }" ) );
+    }
+
+    /**
+     * @param jsons the JSON representations of {@link IotObject}s (cannot be <code>null</code> but can be empty)
+     * @return the JSON wrapped as an OData result collection (never empty)
+     */
+    static String toResults( final Collection< String > jsons ) {
+        final StringBuilder results = new StringBuilder();
+
+        for ( final String json : jsons ) {
+            if ( results.length() != 0 ) {
+                results.append( ", " );
+            }
+
+            results.append( json );
+        }
+
+        return toResults( results.toString() );
+    }
+
     /**
      * @return a JSON string of objects (cannot be empty)
      * @throws IotException if an error occurs
@@ -0,0 +1,82 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.IotConstants.TestData;
+import com.redhat.iot.domain.Department;
+import com.redhat.iot.json.DepartmentMarshaller;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Task to retrieve {@link Department}s by their IDs with one request.
+ */
+public class GetDepartment extends GetData< Department > {
+
+    /**
+     * The OData URL used to obtain {@link Department}s.
+     */
+    private static final String URL = String.format( GetData.URL_PATTERN, "FUSE.Department" );
+
+    private static String getTestData( final long deptId ) {
+        if ( deptId == TestData.DEPT_1_ID ) {
+            return TestData.DEPT_1_JSON;
+        }
+
+        if ( deptId == TestData.DEPT_2_ID ) {
+            return TestData.DEPT_2_JSON;
+        }
+
+        if ( deptId == TestData.DEPT_3_ID ) {
+            return TestData.DEPT_3_JSON;
+        }
+
+        if ( deptId == TestData.DEPT_4_ID ) {
+            return TestData.DEPT_4_JSON;
+        }
+
+        if ( deptId == TestData.DEPT_5_ID ) {
+            return TestData.DEPT_5_JSON;
+        }
+
+        if ( deptId == TestData.DEPT_6_ID ) {
+            return TestData.DEPT_6_JSON;
+        }
+
+        return null;
+    }
+
+    private final Collection< Long > deptIds;
+
+    /**
+     * @param deptIds  the IDs of the {@link Department}s being requested (cannot be <code>null</code> or empty)
+     * @param callback the callback (cannot be <code>null</code>)
+     */
+    public GetDepartment( final Collection< Long > deptIds,
+                          final DepartmentCallback callback ) {
+        super( ( URL + GetData.toIdFilter( DepartmentMarshaller.Name.ID, deptIds ) ), callback, -1 );
+        this.deptIds = deptIds;
+    }
+
+    @Override
+    protected String getTestData() {
+        final List< String > results = new ArrayList<>( this.deptIds.size() );
+
+        for ( final Long deptId : this.deptIds ) {
+            final String json = getTestData( deptId );
+
+            if ( json != null ) {
+                results.add( json );
+            }
+        }
+
+        return GetData.toResults( results );
+    }
+
+    @Override
+    protected boolean isUsingRealData() {
+        // only if HANA is running, like when all departments are obtained
+        return ( super.isUsingRealData() && GetDepartments.isHanaRunning() );
+    }
+
+}
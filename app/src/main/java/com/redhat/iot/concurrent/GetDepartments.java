@@ -22,7 +22,7 @@ public class GetDepartments extends GetData< Department > {
      * @param callback the callback (cannot be <code>null</code>)
      */
     public GetDepartments( final DepartmentCallback callback ) {
-        super( URL, callback, Department.class, string.load_departments );
+        super( URL, callback, string.load_departments );
     }
 
     @Override
@@ -30,7 +30,10 @@ public class GetDepartments extends GetData< Department > {
         return TestData.DEPARTMENTS_JSON;
     }
 
-    private boolean isHanaRunning() {
+    /**
+     * @return <code>true</code> if the server departments are obtained from can be reached
+     */
+    static boolean isHanaRunning() {
         final boolean reachable = IotApp.ping( IotConstants.HANA_IP_ADDRESS );
 
         if ( reachable ) {
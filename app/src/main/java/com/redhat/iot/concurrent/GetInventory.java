@@ -54,7 +54,7 @@ public class GetInventory extends GetData< Inventory > {
                          final int storeId,
                          final int productId,
                          final InventoryCallback callback ) {
-        super( String.format( URL, storeId ), callback, Inventory.class, string.load_inventory );
+        super( String.format( URL, storeId ), callback, string.load_inventory );
         this.queryKeywords = queryKeywords;
         this.storeId = storeId;
         this.productId = productId;
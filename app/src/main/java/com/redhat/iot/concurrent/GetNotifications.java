@@ -21,7 +21,7 @@ public class GetNotifications extends GetData< IotNotification > {
      */
     public GetNotifications( final int customerId,
                              final NotificationCallback callback ) {
-        super( String.format( URL, customerId ), callback, IotNotification.class, -1 );
+        super( String.format( URL, customerId ), callback, -1 );
     }
 
     @Override
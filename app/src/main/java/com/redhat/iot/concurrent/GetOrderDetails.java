@@ -17,13 +17,23 @@ public class GetOrderDetails extends GetData< OrderDetail > {
 
     private final int orderId;
 
+    /**
+     * Used to load the details on the thread loading their order so no progress dialog is shown.
+     *
+     * @param orderId the ID of the {@link com.redhat.iot.domain.Order} whose {@link OrderDetail}s are being requested
+     */
+    GetOrderDetails( final int orderId ) {
+        super( String.format( URL, orderId ), new OrderDetailCallback(), -1 );
+        this.orderId = orderId;
+    }
+
     /**
      * @param orderId  the ID of the {@link com.redhat.iot.domain.Order} whose {@link OrderDetail}s are being requested
      * @param callback the callback (cannot be <code>null</code>)
      */
     public GetOrderDetails( final int orderId,
                             final OrderDetailCallback callback ) {
-        super( String.format( URL, orderId ), callback, OrderDetail.class, string.load_order_details );
+        super( String.format( URL, orderId ), callback, string.load_order_details );
         this.orderId = orderId;
     }
 
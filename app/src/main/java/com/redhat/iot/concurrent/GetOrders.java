@@ -1,7 +1,7 @@
 package com.redhat.iot.concurrent;
 
-import com.redhat.iot.IotApp;
 import com.redhat.iot.IotConstants.TestData;
+import com.redhat.iot.IotException;
 import com.redhat.iot.R.string;
 import com.redhat.iot.domain.Order;
 import com.redhat.iot.domain.OrderDetail;
@@ -25,10 +25,37 @@ public class GetOrders extends GetData< Order > {
      */
     public GetOrders( final int customerId,
                       final OrderCallback callback ) {
-        super( String.format( URL, customerId ), callback, Order.class, string.load_orders );
+        super( String.format( URL, customerId ), callback, string.load_orders );
         this.customerId = customerId;
     }
 
+    @Override
+    protected Order[] doInBackground( final Void... params ) {
+        final Order[] orders = super.doInBackground( params );
+
+        if ( ( orders != null ) && ( orders.length != 0 ) ) {
+            // add the order details now so that the order totals are computed while decoding
+            for ( final Order order : orders ) {
+                final GetOrderDetails detailsTask = new GetOrderDetails( order.getId() );
+                final OrderDetail[] details = detailsTask.doInBackground( params );
+
+                if ( details == null ) {
+                    this.error = detailsTask.getError();
+
+                    if ( this.error == null ) {
+                        this.error = new IotException( detailsTask.getErrorMessage() );
+                    }
+
+                    return null;
+                }
+
+                order.setDetails( details );
+            }
+        }
+
+        return orders;
+    }
+
     @Override
     protected String getTestData() {
         switch ( this.customerId ) {
@@ -43,23 +70,4 @@ public class GetOrders extends GetData< Order > {
         }
     }
 
-    @Override
-    protected void onPostExecute( final Order[] orders ) {
-        if ( orders.length != 0 ) {
-            try {
-                // for each order add in the order details
-                for ( final Order order : orders ) {
-                    final OrderDetail[] details =
-                        new GetOrderDetails( order.getId(), new OrderDetailCallback() ).execute().get(); // block
-                    order.setDetails( details );
-                }
-            } catch ( final Exception e ) {
-                IotApp.logError( GetOrders.class, "doInBackground", "", e );
-                this.error = e;
-            }
-        }
-
-        super.onPostExecute( orders );
-    }
-
 }
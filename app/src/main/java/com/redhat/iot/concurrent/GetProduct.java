@@ -0,0 +1,100 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.IotConstants.TestData;
+import com.redhat.iot.domain.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Task to retrieve {@link Product}s by their IDs with one request.
+ */
+public class GetProduct extends GetData< Product > {
+
+    /**
+     * The OData URL used to obtain {@link Product}s.
+     */
+    private static final String URL = String.format( GetData.URL_PATTERN, "PostgreSQL_Sales_Promotions.Product" );
+
+    private static String getTestData( final int productId ) {
+        switch ( productId ) {
+            case 100:
+                return TestData.PRODUCT_100_JSON;
+            case 101:
+                return TestData.PRODUCT_101_JSON;
+            case 102:
+                return TestData.PRODUCT_102_JSON;
+            case 200:
+                return TestData.PRODUCT_200_JSON;
+            case 201:
+                return TestData.PRODUCT_201_JSON;
+            case 202:
+                return TestData.PRODUCT_202_JSON;
+            case 300:
+                return TestData.PRODUCT_300_JSON;
+            case 301:
+                return TestData.PRODUCT_301_JSON;
+            case 302:
+                return TestData.PRODUCT_302_JSON;
+            case 400:
+                return TestData.PRODUCT_400_JSON;
+            case 401:
+                return TestData.PRODUCT_401_JSON;
+            case 402:
+                return TestData.PRODUCT_402_JSON;
+            case 500:
+                return TestData.PRODUCT_500_JSON;
+            case 501:
+                return TestData.PRODUCT_501_JSON;
+            case 502:
+                return TestData.PRODUCT_502_JSON;
+            case 600:
+                return TestData.PRODUCT_600_JSON;
+            case 601:
+                return TestData.PRODUCT_601_JSON;
+            case 602:
+                return TestData.PRODUCT_602_JSON;
+            default:
+                return null;
+        }
+    }
+
+    private final Collection< Integer > productIds;
+
+    /**
+     * @param productId the ID of the {@link Product} being requested
+     * @param callback  the callback (cannot be <code>null</code>)
+     */
+    public GetProduct( final int productId,
+                       final ProductCallback callback ) {
+        this( Collections.singleton( productId ), callback );
+    }
+
+    /**
+     * @param productIds the IDs of the {@link Product}s being requested (cannot be <code>null</code> or empty)
+     * @param callback   the callback (cannot be <code>null</code>)
+     */
+    public GetProduct( final Collection< Integer > productIds,
+                       final ProductCallback callback ) {
+        super( ( URL + GetData.toIdFilter( "id", productIds ) ), callback, -1 );
+        this.productIds = productIds;
+    }
+
+    @Override
+    protected String getTestData() {
+        final List< String > results = new ArrayList<>( this.productIds.size() );
+
+        for ( final Integer productId : this.productIds ) {
+            final String json = getTestData( productId );
+
+            if ( json != null ) {
+                results.add( json );
+            }
+        }
+
+        return GetData.toResults( results );
+    }
+
+}
@@ -19,7 +19,7 @@ public class GetProducts extends GetData< Product > {
      * @param callback the callback (cannot be <code>null</code>)
      */
     public GetProducts( final ProductCallback callback ) {
-        super( URL, callback, Product.class, string.load_products );
+        super( URL, callback, string.load_products );
     }
 
     @Override
@@ -0,0 +1,88 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.IotConstants.TestData;
+import com.redhat.iot.domain.Promotion;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Task to retrieve {@link Promotion}s by their IDs with one request.
+ */
+public class GetPromotion extends GetData< Promotion > {
+
+    /**
+     * The OData URL used to obtain {@link Promotion}s.
+     */
+    private static final String URL = String.format( GetData.URL_PATTERN, "PostgreSQL_Sales_Promotions.Promotion" );
+
+    private static String getTestData( final int promoId ) {
+        switch ( promoId ) {
+            case 1:
+                return TestData.PROMO_1_JSON;
+            case 2:
+                return TestData.PROMO_2_JSON;
+            case 3:
+                return TestData.PROMO_3_JSON;
+            case 4:
+                return TestData.PROMO_4_JSON;
+            case 5:
+                return TestData.PROMO_5_JSON;
+            case 6:
+                return TestData.PROMO_6_JSON;
+            case 7:
+                return TestData.PROMO_7_JSON;
+            case 8:
+                return TestData.PROMO_8_JSON;
+            case 9:
+                return TestData.PROMO_9_JSON;
+            case 10:
+                return TestData.PROMO_10_JSON;
+            case 11:
+                return TestData.PROMO_11_JSON;
+            case 12:
+                return TestData.PROMO_12_JSON;
+            default:
+                return null;
+        }
+    }
+
+    private final Collection< Integer > promoIds;
+
+    /**
+     * @param promoId  the ID of the {@link Promotion} being requested
+     * @param callback the callback (cannot be <code>null</code>)
+     */
+    public GetPromotion( final int promoId,
+                         final PromotionCallback callback ) {
+        this( Collections.singleton( promoId ), callback );
+    }
+
+    /**
+     * @param promoIds the IDs of the {@link Promotion}s being requested (cannot be <code>null</code> or empty)
+     * @param callback the callback (cannot be <code>null</code>)
+     */
+    public GetPromotion( final Collection< Integer > promoIds,
+                         final PromotionCallback callback ) {
+        super( ( URL + GetData.toIdFilter( "id", promoIds ) ), callback, -1 );
+        this.promoIds = promoIds;
+    }
+
+    @Override
+    protected String getTestData() {
+        final List< String > results = new ArrayList<>( this.promoIds.size() );
+
+        for ( final Integer promoId : this.promoIds ) {
+            final String json = getTestData( promoId );
+
+            if ( json != null ) {
+                results.add( json );
+            }
+        }
+
+        return GetData.toResults( results );
+    }
+
+}
@@ -19,7 +19,7 @@ public class GetPromotions extends GetData< Promotion > {
      * @param callback the callback (cannot be <code>null</code>)
      */
     public GetPromotions( final PromotionCallback callback ) {
-        super( URL, callback, Promotion.class, string.load_promotions );
+        super( URL, callback, string.load_promotions );
     }
 
     @Override
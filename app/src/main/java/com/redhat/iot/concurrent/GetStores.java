@@ -19,7 +19,7 @@ public class GetStores extends GetData< Store > {
      * @param callback the callback (cannot be <code>null</code>)
      */
     public GetStores( final StoreCallback callback ) {
-        super( URL, callback, Store.class, string.load_stores );
+        super( URL, callback, string.load_stores );
     }
 
     @Override
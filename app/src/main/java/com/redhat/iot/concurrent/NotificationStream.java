@@ -0,0 +1,271 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.IotException;
+import com.redhat.iot.domain.IotNotification;
+import com.redhat.iot.json.JsonUtils;
+import com.redhat.iot.json.NotificationMarshaller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.concurrent.Executor;
+
+/**
+ * Receives the notifications of a customer as the server pushes them over one long-lived server-sent event connection. Each
+ * event contains the same JSON as a {@link GetNotifications} response. When the connection is lost the stream reconnects and
+ * tells the server the last event received. If the server cannot push notifications the listener is told so it can poll
+ * instead.
+ */
+public class NotificationStream implements Runnable {
+
+    /**
+     * Receives the notifications from a {@link NotificationStream}. Methods are called using the stream's callback executor
+     * and are not called after the stream has been stopped.
+     */
+    public interface Listener {
+
+        /**
+         * @param notifications the notifications pushed by the server (never <code>null</code> or empty)
+         */
+        void onNotifications( final IotNotification[] notifications );
+
+        /**
+         * The server cannot push notifications. The stream has stopped.
+         *
+         * @param error the error of the last connection attempt (never <code>null</code>)
+         */
+        void onUnavailable( final Exception error );
+
+    }
+
+    static final String CONTENT_TYPE = "text/event-stream";
+    static final int DEFAULT_RETRY_MILLIS = 3000;
+
+    /**
+     * The number of consecutive failed connection attempts before the server is considered unable to push notifications.
+     */
+    static final int MAX_FAILURES = 3;
+
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = ( 5 * 60 * 1000 ); // server sends comments more often than this to keep it open
+    private static final String URL = ( GetData.URL_PATTERN + "notificationStream?CustomerID=%s" );
+    private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+
+    /**
+     * @param customerId       the ID of the customer whose notifications are being pushed
+     * @param callbackExecutor the executor used to call the listener (cannot be <code>null</code>)
+     * @param listener         the listener notified of pushed notifications (cannot be <code>null</code>)
+     * @return the stream or <code>null</code> if the app is using test data and there is no server to push notifications
+     */
+    public static NotificationStream create( final int customerId,
+                                             final Executor callbackExecutor,
+                                             final Listener listener ) {
+        if ( !GetData.isServerAvailable() ) {
+            return null;
+        }
+
+        try {
+            final URL url = new URL( String.format( URL, customerId ) );
+            return new NotificationStream( url, GetData.getAuthorization(), callbackExecutor, listener, DEFAULT_RETRY_MILLIS );
+        } catch ( final MalformedURLException e ) {
+            throw new IllegalStateException( e ); // URL pattern is a constant
+        }
+    }
+
+    private final String authorization;
+    private final Executor callbackExecutor;
+    private HttpURLConnection connection; // guarded by this
+    private int failures; // consecutive failed connection attempts (only used by stream thread)
+    private final Listener listener;
+    private final int retryMillis;
+    private volatile boolean stopped;
+    private Thread thread;
+    private final URL url;
+
+    /**
+     * @param url              the URL of the event stream (cannot be <code>null</code>)
+     * @param authorization    the value of the authorization header or <code>null</code> if none should be sent
+     * @param callbackExecutor the executor used to call the listener (cannot be <code>null</code>)
+     * @param listener         the listener notified of pushed notifications (cannot be <code>null</code>)
+     * @param retryMillis      the milliseconds to wait before reconnecting if the server does not say otherwise
+     */
+    NotificationStream( final URL url,
+                        final String authorization,
+                        final Executor callbackExecutor,
+                        final Listener listener,
+                        final int retryMillis ) {
+        this.url = url;
+        this.authorization = authorization;
+        this.callbackExecutor = callbackExecutor;
+        this.listener = listener;
+        this.retryMillis = retryMillis;
+    }
+
+    private void deliver( final IotNotification[] notifications ) {
+        this.callbackExecutor.execute( new Runnable() {
+
+            @Override
+            public void run() {
+                if ( !NotificationStream.this.stopped ) {
+                    NotificationStream.this.listener.onNotifications( notifications );
+                }
+            }
+        } );
+    }
+
+    private void deliverUnavailable( final Exception error ) {
+        this.callbackExecutor.execute( new Runnable() {
+
+            @Override
+            public void run() {
+                if ( !NotificationStream.this.stopped ) {
+                    NotificationStream.this.stopped = true;
+                    NotificationStream.this.listener.onUnavailable( error );
+                }
+            }
+        } );
+    }
+
+    /**
+     * @param data the data of one event (cannot be <code>null</code>)
+     * @return the notifications in the event (never <code>null</code>)
+     * @throws IotException if the event is not a notifications response
+     */
+    static IotNotification[] parse( final String data ) throws IotException {
+        return JsonUtils.readResults( data, NotificationMarshaller.get() );
+    }
+
+    /**
+     * Connects and reads events until the connection is lost or the stream is stopped.
+     *
+     * @param parser the parser of the stream (cannot be <code>null</code>)
+     * @throws IOException  if the connection could not be made or was lost
+     * @throws IotException if the server cannot push notifications or sends an invalid event
+     */
+    private void read( final EventStreamParser parser ) throws IOException, IotException {
+        final HttpURLConnection urlConnection = ( HttpURLConnection )this.url.openConnection();
+
+        synchronized ( this ) {
+            if ( this.stopped ) {
+                return;
+            }
+
+            this.connection = urlConnection;
+        }
+
+        try {
+            urlConnection.setConnectTimeout( CONNECT_TIMEOUT );
+            urlConnection.setReadTimeout( READ_TIMEOUT );
+            urlConnection.setUseCaches( false );
+            urlConnection.setRequestProperty( "Accept", CONTENT_TYPE );
+            urlConnection.setRequestProperty( "Cache-Control", "no-cache" );
+
+            if ( this.authorization != null ) {
+                urlConnection.setRequestProperty( "Authorization", this.authorization );
+            }
+
+            if ( parser.getLastEventId() != null ) {
+                urlConnection.setRequestProperty( "Last-Event-ID", parser.getLastEventId() );
+            }
+
+            final int code = urlConnection.getResponseCode();
+
+            if ( code != HttpURLConnection.HTTP_OK ) {
+                throw new IotException( "Notification stream HTTP response code " + code );
+            }
+
+            final String contentType = urlConnection.getContentType();
+
+            if ( ( contentType == null ) || !contentType.startsWith( CONTENT_TYPE ) ) {
+                throw new IotException( "Notification stream content type " + contentType );
+            }
+
+            this.failures = 0; // connected so losing the connection later is not a failed attempt
+
+            final BufferedReader reader = new BufferedReader( new InputStreamReader( urlConnection.getInputStream(), UTF_8 ) );
+
+            try {
+                String line;
+
+                while ( !this.stopped && ( ( line = reader.readLine() ) != null ) ) {
+                    final String data = parser.feed( line );
+
+                    if ( data != null ) {
+                        final IotNotification[] notifications = parse( data );
+
+                        if ( notifications.length != 0 ) {
+                            deliver( notifications );
+                        }
+                    }
+                }
+            } finally {
+                parser.reset();
+                reader.close();
+            }
+        } finally {
+            synchronized ( this ) {
+                this.connection = null;
+            }
+
+            urlConnection.disconnect();
+        }
+    }
+
+    @Override
+    public void run() {
+        final EventStreamParser parser = new EventStreamParser( this.retryMillis );
+
+        while ( !this.stopped ) {
+            try {
+                read( parser );
+            } catch ( final IOException | IotException e ) {
+                if ( this.stopped ) {
+                    return;
+                }
+
+                if ( ++this.failures == MAX_FAILURES ) {
+                    deliverUnavailable( e );
+                    return;
+                }
+            }
+
+            try {
+                Thread.sleep( parser.getRetryMillis() );
+            } catch ( final InterruptedException e ) {
+                return; // stopped
+            }
+        }
+    }
+
+    /**
+     * Starts receiving notifications on a background thread. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if ( ( this.thread == null ) && !this.stopped ) {
+            this.thread = new Thread( this, "NotificationStream" );
+            this.thread.setDaemon( true );
+            this.thread.start();
+        }
+    }
+
+    /**
+     * Stops receiving notifications and closes the connection. The listener is not called after this returns when the
+     * callback executor runs tasks on the calling thread. A stopped stream cannot be restarted.
+     */
+    public synchronized void stop() {
+        this.stopped = true;
+
+        if ( this.connection != null ) {
+            this.connection.disconnect();
+        }
+
+        if ( this.thread != null ) {
+            this.thread.interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.redhat.iot.concurrent;
+
+/**
+ * The time to wait between checks for notifications when the server cannot push them. The interval is halved after a check
+ * finds notifications, as more tend to follow, and doubled after a check finds none or fails so an idle or unreachable server
+ * is not checked at a fixed rate. The interval never exceeds its bound. Also keeps the counts of checks and notifications.
+ */
+public class PollingInterval {
+
+    /**
+     * The shortest interval is the bound divided by this. Value is {@value}.
+     */
+    static final int MIN_DIVISOR = 8;
+
+    /**
+     * The shortest interval in milliseconds unless the bound is shorter. Value is {@value}.
+     */
+    static final long MIN_MILLIS = 5000;
+
+    private int errorCount;
+    private int hitCount;
+    private final long maxMillis;
+    private long millis;
+    private final long minMillis;
+    private int notificationCount;
+    private int pollCount;
+
+    /**
+     * @param maxMillis the longest interval in milliseconds (must be positive)
+     */
+    public PollingInterval( final long maxMillis ) {
+        this.maxMillis = maxMillis;
+        this.minMillis = Math.max( Math.min( MIN_MILLIS, maxMillis ), ( maxMillis / MIN_DIVISOR ) );
+        this.millis = maxMillis;
+    }
+
+    private long backOff() {
+        this.millis = Math.min( this.maxMillis, ( this.millis * 2 ) );
+        return this.millis;
+    }
+
+    /**
+     * @return the number of checks that failed
+     */
+    public int getErrorCount() {
+        return this.errorCount;
+    }
+
+    /**
+     * @return the number of checks that found notifications
+     */
+    public int getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * @return the milliseconds to wait before the next check
+     */
+    public long getMillis() {
+        return this.millis;
+    }
+
+    /**
+     * @return the number of notifications found
+     */
+    public int getNotificationCount() {
+        return this.notificationCount;
+    }
+
+    /**
+     * @return the number of checks made
+     */
+    public int getPollCount() {
+        return this.pollCount;
+    }
+
+    /**
+     * @return the number of checks made for each notification found or {@link Double#POSITIVE_INFINITY} if checks were made but
+     * no notifications were found
+     */
+    public double getPollsPerNotification() {
+        if ( this.notificationCount == 0 ) {
+            return ( ( this.pollCount == 0 ) ? 0 : Double.POSITIVE_INFINITY );
+        }
+
+        return ( ( double )this.pollCount / this.notificationCount );
+    }
+
+    /**
+     * @return the milliseconds to wait before the next check
+     */
+    public long onError() {
+        ++this.pollCount;
+        ++this.errorCount;
+        return backOff();
+    }
+
+    /**
+     * @param count the number of notifications the check found
+     * @return the milliseconds to wait before the next check
+     */
+    public long onNotifications( final int count ) {
+        ++this.pollCount;
+
+        if ( count == 0 ) {
+            return backOff();
+        }
+
+        ++this.hitCount;
+        this.notificationCount += count;
+        this.millis = Math.max( this.minMillis, ( this.millis / 2 ) );
+        return this.millis;
+    }
+
+    @Override
+    public String toString() {
+        return ( "PollingInterval: millis = " + this.millis + ", polls = " + this.pollCount + ", hits = " + this.hitCount
+            + ", errors = " + this.errorCount + ", notifications = " + this.notificationCount + ", pollsPerNotification = "
+            + getPollsPerNotification() );
+    }
+
+}
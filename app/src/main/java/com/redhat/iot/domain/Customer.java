@@ -17,20 +17,36 @@ public class Customer implements IotObject {
      */
     public static final int UNKNOWN_USER = -1;
 
-    private final String addressLine1;
-    private final String addressLine2;
-    private final String city;
-    private final String country;
-    private final int creditLimit;
-    private final String email;
+    private String addressLine1;
+    private String addressLine2;
+    private String city;
+    private String country;
+    private int creditLimit;
+    private String email;
     private final int id;
+    private volatile FieldLoader< Customer > loader; // null once all fields are decoded
     private final String name;
-    private final String phone;
-    private final String postalCode;
-    private final String pswd;
-    private final String state;
+    private String phone;
+    private String postalCode;
+    private String pswd;
+    private String state;
     private int storeId = Store.NOT_IDENTIFIED;
 
+    /**
+     * Creates a customer whose other fields are decoded when one of them is first requested.
+     *
+     * @param id     the unique ID of the customer
+     * @param name   the customer name (cannot be empty)
+     * @param loader decodes the other fields of the customer (cannot be <code>null</code>)
+     */
+    public Customer( final int id,
+                     final String name,
+                     final FieldLoader< Customer > loader ) {
+        this.id = id;
+        this.name = name;
+        this.loader = loader;
+    }
+
     /**
      * @param id           the unique ID of the customer
      * @param email        the customer email (can be empty)
@@ -82,6 +98,8 @@ public class Customer implements IotObject {
         }
 
         final Customer that = ( Customer )o;
+        loadFields();
+        that.loadFields();
         return ( ( this.creditLimit == that.creditLimit )
             && ( this.id == that.id )
             && ( this.storeId == that.storeId )
@@ -101,6 +119,7 @@ public class Customer implements IotObject {
      * @return the address line 1 (can be empty)
      */
     public String getAddressLine1() {
+        loadFields();
         return this.addressLine1;
     }
 
@@ -108,6 +127,7 @@ public class Customer implements IotObject {
      * @return the address line 2 (can be empty)
      */
     public String getAddressLine2() {
+        loadFields();
         return this.addressLine2;
     }
 
@@ -115,6 +135,7 @@ public class Customer implements IotObject {
      * @return the address city (can be empty)
      */
     public String getCity() {
+        loadFields();
         return this.city;
     }
 
@@ -122,6 +143,7 @@ public class Customer implements IotObject {
      * @return the address country (can be empty)
      */
     public String getCountry() {
+        loadFields();
         return this.country;
     }
 
@@ -129,6 +151,7 @@ public class Customer implements IotObject {
      * @return the credit limit or -1 if not set
      */
     public int getCreditLimit() {
+        loadFields();
         return this.creditLimit;
     }
 
@@ -136,6 +159,7 @@ public class Customer implements IotObject {
      * @return the user email (can be empty)
      */
     public String getEmail() {
+        loadFields();
         return this.email;
     }
 
@@ -157,6 +181,7 @@ public class Customer implements IotObject {
      * @return the password (can be empty)
      */
     public String getPswd() {
+        loadFields();
         return this.pswd;
     }
 
@@ -164,6 +189,7 @@ public class Customer implements IotObject {
      * @return the customer phone number (can be empty)
      */
     public String getPhone() {
+        loadFields();
         return this.phone;
     }
 
@@ -171,6 +197,7 @@ public class Customer implements IotObject {
      * @return the address postal code (can be empty)
      */
     public String getPostalCode() {
+        loadFields();
         return this.postalCode;
     }
 
@@ -178,6 +205,7 @@ public class Customer implements IotObject {
      * @return the address state (can be empty)
      */
     public String getState() {
+        loadFields();
         return this.state;
     }
 
@@ -190,6 +218,7 @@ public class Customer implements IotObject {
 
     @Override
     public int hashCode() {
+        loadFields();
         return Objects.hash( this.addressLine1,
                              this.addressLine2,
                              this.city,
@@ -205,6 +234,29 @@ public class Customer implements IotObject {
                              this.storeId );
     }
 
+    private void loadFields() {
+        if ( this.loader == null ) {
+            return;
+        }
+
+        synchronized ( this ) {
+            if ( this.loader != null ) {
+                final Customer loaded = this.loader.load();
+                this.addressLine1 = loaded.addressLine1;
+                this.addressLine2 = loaded.addressLine2;
+                this.city = loaded.city;
+                this.country = loaded.country;
+                this.creditLimit = loaded.creditLimit;
+                this.email = loaded.email;
+                this.phone = loaded.phone;
+                this.postalCode = loaded.postalCode;
+                this.pswd = loaded.pswd;
+                this.state = loaded.state;
+                this.loader = null; // publishes the fields
+            }
+        }
+    }
+
     /**
      * @param newStoreId the ID of the new {@link Store} chosen by the customer
      */
@@ -0,0 +1,19 @@
+package com.redhat.iot.domain;
+
+/**
+ * Decodes all the fields of an {@link IotObject} that was created with only the fields needed to list it. Used to put off
+ * decoding fields that are rarely used until one of them is first requested.
+ *
+ * @param <T> the {@link IotObject} type
+ */
+public interface FieldLoader< T extends IotObject > {
+
+    /**
+     * Called at most once.
+     *
+     * @return the object with all its fields decoded (never <code>null</code>)
+     * @throws IllegalStateException if the fields cannot be decoded
+     */
+    T load();
+
+}
@@ -1,7 +1,5 @@
 package com.redhat.iot.domain;
 
-import com.redhat.iot.IotApp;
-
 import java.util.Comparator;
 import java.util.Objects;
 
@@ -17,52 +15,89 @@ public class Inventory implements IotObject {
 
     /**
      * Sorts an {@link Inventory inventory} by {@link Product product ID} and then by {@link Store store ID}.
+     *
+     * @see #createProductSorter(int)
      */
-    public static final Comparator< Inventory > PRODUCT_SORTER = new Comparator< Inventory >() {
-
-        @Override
-        public int compare( final Inventory thisInventory,
-                            final Inventory thatInventory ) {
-            final int result = Integer.compare( thisInventory.getProductId(), thatInventory.getProductId() );
-
-            if ( result == 0 ) {
-                return Integer.compare( thisInventory.getStoreId(), thatInventory.getStoreId() );
-            }
-
-            return result;
-        }
-    };
+    public static final Comparator< Inventory > PRODUCT_SORTER = createProductSorter( Store.NOT_IDENTIFIED );
 
     /**
      * Sorts an {@link Inventory inventory} by {@link Store store ID} and then by {@link Product product ID}.
+     *
+     * @see #createStoreSorter(int)
      */
-    public static final Comparator< Inventory > STORE_SORTER = new Comparator< Inventory >() {
+    public static final Comparator< Inventory > STORE_SORTER = createStoreSorter( Store.NOT_IDENTIFIED );
+
+    /**
+     * @param preferredStoreId the ID of the {@link Store store} whose inventory should sort first for each product or
+     *                         {@link Store#NOT_IDENTIFIED} if there is no preferred store
+     * @return a sorter that sorts an {@link Inventory inventory} by {@link Product product ID}, then with the preferred store
+     * first, and then by store ID (never <code>null</code>)
+     */
+    public static Comparator< Inventory > createProductSorter( final int preferredStoreId ) {
+        return new Comparator< Inventory >() {
+
+            @Override
+            public int compare( final Inventory thisInventory,
+                                final Inventory thatInventory ) {
+                final int result = Integer.compare( thisInventory.getProductId(), thatInventory.getProductId() );
+
+                if ( result != 0 ) {
+                    return result;
+                }
 
-        @Override
-        public int compare( final Inventory thisInventory,
-                            final Inventory thatInventory ) {
-            final int result = Integer.compare( thisInventory.getStoreId(), thatInventory.getStoreId() );
+                final int thisStoreId = thisInventory.getStoreId();
+                final int thatStoreId = thatInventory.getStoreId();
 
-            if ( result == 0 ) {
-                return Integer.compare( thisInventory.getProductId(), thatInventory.getProductId() );
+                // the chosen store should sort first
+                if ( ( preferredStoreId != Store.NOT_IDENTIFIED ) && ( thisStoreId != thatStoreId ) ) {
+                    if ( thisStoreId == preferredStoreId ) {
+                        return -1;
+                    }
+
+                    if ( thatStoreId == preferredStoreId ) {
+                        return 1;
+                    }
+                }
+
+                return Integer.compare( thisStoreId, thatStoreId );
             }
+        };
+    }
+
+    /**
+     * @param preferredStoreId the ID of the {@link Store store} whose inventory should sort first or
+     *                         {@link Store#NOT_IDENTIFIED} if there is no preferred store
+     * @return a sorter that sorts an {@link Inventory inventory} of the preferred store first, then by store ID, and then
+     * by {@link Product product ID} (never <code>null</code>)
+     */
+    public static Comparator< Inventory > createStoreSorter( final int preferredStoreId ) {
+        return new Comparator< Inventory >() {
 
-            // the chosen store should sort first
-            final int storeId = IotApp.getStoreId();
+            @Override
+            public int compare( final Inventory thisInventory,
+                                final Inventory thatInventory ) {
+                final int thisStoreId = thisInventory.getStoreId();
+                final int thatStoreId = thatInventory.getStoreId();
 
-            if ( storeId != Store.NOT_IDENTIFIED ) {
-                if ( thisInventory.getStoreId() == storeId ) {
-                    return -1;
+                if ( thisStoreId == thatStoreId ) {
+                    return Integer.compare( thisInventory.getProductId(), thatInventory.getProductId() );
                 }
 
-                if ( thatInventory.getStoreId() == storeId ) {
-                    return 1;
+                // the chosen store should sort first
+                if ( preferredStoreId != Store.NOT_IDENTIFIED ) {
+                    if ( thisStoreId == preferredStoreId ) {
+                        return -1;
+                    }
+
+                    if ( thatStoreId == preferredStoreId ) {
+                        return 1;
+                    }
                 }
-            }
 
-            return Integer.compare( thisInventory.getStoreId(), thatInventory.getStoreId() );
-        }
-    };
+                return Integer.compare( thisStoreId, thatStoreId );
+            }
+        };
+    }
 
     private final int productId;
     private final int quantity;
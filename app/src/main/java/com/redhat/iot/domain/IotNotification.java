@@ -1,6 +1,6 @@
 package com.redhat.iot.domain;
 
-import com.redhat.iot.IotConstants;
+import com.redhat.iot.DayFormatter;
 
 import java.util.Objects;
 
@@ -9,6 +9,11 @@ import java.util.Objects;
  */
 public class IotNotification implements IotObject {
 
+    /**
+     * An empty collection of {@link IotNotification}s.
+     */
+    public static final IotNotification[] NO_NOTIFICATIONS = new IotNotification[ 0 ];
+
     private final int promoId;
     private final long timestamp;
 
@@ -56,7 +61,7 @@ public class IotNotification implements IotObject {
 
     @Override
     public String toString() {
-        return ( "IotNotification: promoId = " + this.promoId + ", timestamp = " + IotConstants.DATE_FORMATTER.format( this.timestamp ) );
+        return ( "IotNotification: promoId = " + this.promoId + ", timestamp = " + DayFormatter.get().format( this.timestamp ) );
     }
 
 }
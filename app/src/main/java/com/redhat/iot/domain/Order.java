@@ -1,7 +1,6 @@
 package com.redhat.iot.domain;
 
 import java.util.Arrays;
-import java.util.Calendar;
 import java.util.Objects;
 
 /**
@@ -14,31 +13,36 @@ public class Order implements IotObject {
      */
     public static final Order[] NO_ORDERS = new Order[ 0 ];
 
+    /**
+     * Indicates an optional date is not set.
+     */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
     private final String comments;
     private final int customerId;
     private OrderDetail[] details = OrderDetail.NO_DETAILS;
     private final int id;
-    private final Calendar orderDate;
-    private double price;
-    private final Calendar requiredDate;
-    private final Calendar shippedDate;
+    private final long orderDate; // epoch millis
+    private long totalCents;
+    private final long requiredDate; // epoch millis
+    private final long shippedDate; // epoch millis
     private final String status;
 
     /**
      * @param id           the unique ID of this order
      * @param comments     the order comments (can be empty)
      * @param custId       the ID of the customer that this order applies
-     * @param orderDate    the date of the order (can be <code>null</code>)
-     * @param requiredDate the required delivery date of this order (can be <code>null</code>)
-     * @param shippedDate  the shipped date of the order (can be <code>null</code>)
+     * @param orderDate    the date of the order in milliseconds since the epoch
+     * @param requiredDate the required delivery date of this order in milliseconds since the epoch or {@link #NO_DATE}
+     * @param shippedDate  the shipped date of the order in milliseconds since the epoch or {@link #NO_DATE}
      * @param status       the order status (can be empty)
      */
     public Order( final int id,
                   final String comments,
                   final int custId,
-                  final Calendar orderDate,
-                  final Calendar requiredDate,
-                  final Calendar shippedDate,
+                  final long orderDate,
+                  final long requiredDate,
+                  final long shippedDate,
                   final String status
                 ) {
         this.id = id;
@@ -63,12 +67,12 @@ public class Order implements IotObject {
         final Order that = ( Order )o;
         return ( ( this.customerId == that.customerId )
             && ( this.id == that.id )
-            && ( Double.compare( that.price, this.price ) == 0 )
+            && ( this.totalCents == that.totalCents )
             && Objects.equals( this.comments, that.comments )
             && Arrays.equals( this.details, that.details )
-            && Objects.equals( this.orderDate, that.orderDate )
-            && Objects.equals( this.requiredDate, that.requiredDate )
-            && Objects.equals( this.shippedDate, that.shippedDate )
+            && ( this.orderDate == that.orderDate )
+            && ( this.requiredDate == that.requiredDate )
+            && ( this.shippedDate == that.shippedDate )
             && Objects.equals( this.status, that.status ) );
     }
 
@@ -101,33 +105,41 @@ public class Order implements IotObject {
     }
 
     /**
-     * @return the date of the order (never <code>null</code>)
+     * @return the date of the order in milliseconds since the epoch
      */
-    public Calendar getOrderDate() {
+    public long getOrderDate() {
         return this.orderDate;
     }
 
     /**
      * @return the order price
+     * @see #getTotalCents()
      */
     public double getPrice() {
-        return this.price;
+        return ( this.totalCents / 100.0 );
     }
 
     /**
-     * @return the required date of the order (never <code>null</code>)
+     * @return the required date of the order in milliseconds since the epoch or {@link #NO_DATE}
      */
-    public Calendar getRequiredDate() {
+    public long getRequiredDate() {
         return this.requiredDate;
     }
 
     /**
-     * @return the shipped date of the order (never <code>null</code>)
+     * @return the shipped date of the order in milliseconds since the epoch or {@link #NO_DATE}
      */
-    public Calendar getShippedDate() {
+    public long getShippedDate() {
         return this.shippedDate;
     }
 
+    /**
+     * @return the order price in cents
+     */
+    public long getTotalCents() {
+        return this.totalCents;
+    }
+
     /**
      * @return the order status (never empty)
      */
@@ -142,24 +154,26 @@ public class Order implements IotObject {
                              this.details,
                              this.id,
                              this.orderDate,
-                             this.price,
+                             this.totalCents,
                              this.requiredDate,
                              this.shippedDate,
                              this.status );
     }
 
     /**
-     * @param details the order details (can be <code>null</code>) sorted by line number
+     * Sorts the details and computes the order total. Should be called once when the order is loaded.
+     *
+     * @param details the order details (can be <code>null</code>)
      */
     public void setDetails( final OrderDetail[] details ) {
         this.details = ( ( details == null ) ? OrderDetail.NO_DETAILS : details );
-        this.price = 0;
+        this.totalCents = 0;
 
         if ( this.details.length != 0 ) {
             Arrays.sort( this.details, OrderDetail.SORTER );
 
             for ( final OrderDetail detail : this.details ) {
-                this.price += ( ( detail.getMsrp() - ( detail.getMsrp() * detail.getDiscount() / 100 ) ) * detail.getQuantity() );
+                this.totalCents += detail.getTotalCents();
             }
         }
     }
@@ -32,28 +32,33 @@ public class OrderDetail implements IotObject {
     public static final OrderDetail[] NO_DETAILS = new OrderDetail[ 0 ];
 
     private final int discount; // percentage
-    private final double msrp;
+    private final long msrpCents;
     private final int orderId;
     private final int productId;
     private final int quantity;
+    private final long totalCents; // discounted price of all products ordered
 
     /**
      * @param orderId   the ID of the order
      * @param productId the ID of the product
      * @param quantity  the number of the products ordered
-     * @param msrp      the price for each product
+     * @param msrpCents the price in cents for each product
      * @param discount  the percentage of discount off the MSRP that the product was purchased
      */
     public OrderDetail( final int orderId,
                         final int productId,
                         final int quantity,
-                        final double msrp,
+                        final long msrpCents,
                         final int discount ) {
         this.orderId = orderId;
         this.productId = productId;
         this.quantity = quantity;
-        this.msrp = msrp;
+        this.msrpCents = msrpCents;
         this.discount = discount;
+
+        // round to the nearest cent
+        final long hundredths = ( msrpCents * quantity * ( 100 - discount ) );
+        this.totalCents = ( ( hundredths < 0 ) ? -( ( 50 - hundredths ) / 100 ) : ( ( hundredths + 50 ) / 100 ) );
     }
 
     @Override
@@ -69,7 +74,7 @@ public class OrderDetail implements IotObject {
         final OrderDetail that = ( OrderDetail )o;
         return ( ( this.orderId == that.orderId )
             && ( this.quantity == that.quantity )
-            && ( Double.compare( that.msrp, this.msrp ) == 0 )
+            && ( this.msrpCents == that.msrpCents )
             && ( this.discount == that.discount )
             && ( this.productId == that.productId ) );
 
@@ -84,9 +89,17 @@ public class OrderDetail implements IotObject {
 
     /**
      * @return the price of each product ordered
+     * @see #getMsrpCents()
      */
     public double getMsrp() {
-        return this.msrp;
+        return ( this.msrpCents / 100.0 );
+    }
+
+    /**
+     * @return the price in cents of each product ordered
+     */
+    public long getMsrpCents() {
+        return this.msrpCents;
     }
 
     /**
@@ -110,9 +123,16 @@ public class OrderDetail implements IotObject {
         return this.quantity;
     }
 
+    /**
+     * @return the discounted price in cents of all the products ordered
+     */
+    public long getTotalCents() {
+        return this.totalCents;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash( this.discount, this.msrp, this.orderId, this.productId, this.quantity );
+        return Objects.hash( this.discount, this.msrpCents, this.orderId, this.productId, this.quantity );
     }
 
     @Override
@@ -0,0 +1,58 @@
+package com.redhat.iot.domain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The order history totals of a {@link Customer}. The totals are updated as orders are loaded. Loading an order again only
+ * changes the totals by the difference in the order total.
+ */
+public class OrderSummary {
+
+    private final int customerId;
+    private final Map< Integer, Long > orderTotals = new HashMap<>(); // key=order ID, value=order total in cents
+    private long spendCents;
+
+    /**
+     * @param customerId the ID of the customer whose orders are being summarized
+     */
+    public OrderSummary( final int customerId ) {
+        this.customerId = customerId;
+    }
+
+    /**
+     * @param order the order being added or updated (cannot be <code>null</code>)
+     */
+    public void add( final Order order ) {
+        final Long previous = this.orderTotals.put( order.getId(), order.getTotalCents() );
+        this.spendCents += ( order.getTotalCents() - ( ( previous == null ) ? 0 : previous ) );
+    }
+
+    /**
+     * @return the ID of the customer whose orders are summarized
+     */
+    public int getCustomerId() {
+        return this.customerId;
+    }
+
+    /**
+     * @return the total in cents of all the customer's orders that have been loaded
+     */
+    public long getLifetimeSpendCents() {
+        return this.spendCents;
+    }
+
+    /**
+     * @return the number of the customer's orders that have been loaded
+     */
+    public int getOrderCount() {
+        return this.orderTotals.size();
+    }
+
+    @Override
+    public String toString() {
+        return ( "OrderSummary: custId = " + this.customerId + ", orders = " + getOrderCount() + ", spendCents = "
+            + this.spendCents );
+    }
+
+}
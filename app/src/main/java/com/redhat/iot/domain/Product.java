@@ -11,14 +11,33 @@ public class Product implements IotObject {
 
     public static final Product[] NO_PRODUCTS = new Product[ 0 ];
 
-    private final double buyPrice;
+    private double buyPrice;
     private final long departmentId;
-    private final String description;
+    private String description;
     private final int id;
-    private final double msrp;
+    private volatile FieldLoader< Product > loader; // null once all fields are decoded
+    private double msrp;
     private final String name;
-    private final String size;
-    private final String vendor;
+    private String size;
+    private String vendor;
+
+    /**
+     * Creates a product whose other fields are decoded when one of them is first requested.
+     *
+     * @param id           the product's unique ID
+     * @param departmentId the ID of the product's department
+     * @param name         the product name
+     * @param loader       decodes the other fields of the product (cannot be <code>null</code>)
+     */
+    public Product( final int id,
+                    final long departmentId,
+                    final String name,
+                    final FieldLoader< Product > loader ) {
+        this.id = id;
+        this.departmentId = departmentId;
+        this.name = name;
+        this.loader = loader;
+    }
 
     /**
      * @param id           the product's unique ID
@@ -59,6 +78,8 @@ public class Product implements IotObject {
         }
 
         final Product that = ( Product )o;
+        loadFields();
+        that.loadFields();
         return ( ( Double.compare( that.buyPrice, this.buyPrice ) == 0 )
             && ( this.departmentId == that.departmentId )
             && ( this.id == that.id )
@@ -73,6 +94,7 @@ public class Product implements IotObject {
      * @return the buy price
      */
     public double getBuyPrice() {
+        loadFields();
         return this.buyPrice;
     }
 
@@ -87,6 +109,7 @@ public class Product implements IotObject {
      * @return the product description
      */
     public String getDescription() {
+        loadFields();
         return this.description;
     }
 
@@ -101,13 +124,14 @@ public class Product implements IotObject {
      * @return the product's image identifier
      */
     public int getImageId() {
-        return IotApp.getImageId( this );
+        return IotApp.getImageId( this.id );
     }
 
     /**
      * @return the product msrp
      */
     public double getMsrp() {
+        loadFields();
         return this.msrp;
     }
 
@@ -122,6 +146,7 @@ public class Product implements IotObject {
      * @return the product size
      */
     public String getSize() {
+        loadFields();
         return this.size;
     }
 
@@ -129,11 +154,13 @@ public class Product implements IotObject {
      * @return the product vendor
      */
     public String getVendor() {
+        loadFields();
         return this.vendor;
     }
 
     @Override
     public int hashCode() {
+        loadFields();
         return Objects.hash( this.buyPrice,
                              this.departmentId,
                              this.description,
@@ -144,6 +171,24 @@ public class Product implements IotObject {
                              this.vendor );
     }
 
+    private void loadFields() {
+        if ( this.loader == null ) {
+            return;
+        }
+
+        synchronized ( this ) {
+            if ( this.loader != null ) {
+                final Product loaded = this.loader.load();
+                this.buyPrice = loaded.buyPrice;
+                this.description = loaded.description;
+                this.msrp = loaded.msrp;
+                this.size = loaded.size;
+                this.vendor = loaded.vendor;
+                this.loader = null; // publishes the fields
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return ( "Product: id = " + this.id + ", name = " + this.name );
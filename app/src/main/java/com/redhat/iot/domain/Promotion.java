@@ -1,8 +1,6 @@
 package com.redhat.iot.domain;
 
-import com.redhat.iot.DataProvider;
-
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -16,35 +14,49 @@ public class Promotion implements IotObject {
     public static final Promotion[] NO_PROMOTIONS = new Promotion[ 0 ];
 
     /**
-     * Sorts {@link Promotion promotions} be {@link Department department} name.
+     * The department position of a promotion whose department is not known. These promotions are sorted first.
+     *
+     * @see #sortByDeptOrder(Promotion[], int[])
      */
-    public static final Comparator< Promotion > DEPT__NAME_SORTER = new Comparator< Promotion >() {
-
-        @Override
-        public int compare( final Promotion thisPromo,
-                            final Promotion thatPromo ) {
-            final String thisDeptName = DataProvider.get().getDepartmentName( thisPromo.getProductId() );
-            final String thatDeptName = DataProvider.get().getDepartmentName( thatPromo.getProductId() );
+    public static final int NO_DEPT_ORDER = -1;
 
-            if ( Objects.equals( thisDeptName, thatDeptName ) ) {
-                return 0;
-            }
+    /**
+     * The end date of a promotion that does not end.
+     */
+    public static final long NO_END_DATE = Long.MAX_VALUE;
 
-            // should not happen
-            if ( thisDeptName == null ) {
-                return -1;
-            }
+    /**
+     * Sorts {@link Promotion promotions} by {@link Department department} name using the position of each promotion's
+     * department when departments are sorted by name. Promotions with the same department keep their order. The positions are
+     * sorted as primitives so no comparator, boxing, or lookups are needed.
+     *
+     * @param promotions the promotions being sorted in place (cannot be <code>null</code>)
+     * @param deptOrders the department position of each promotion, in the same order as the promotions, or
+     *                   {@link #NO_DEPT_ORDER} (cannot be <code>null</code> and must be the same length as the promotions)
+     */
+    public static void sortByDeptOrder( final Promotion[] promotions,
+                                        final int[] deptOrders ) {
+        final long[] keys = new long[ promotions.length ];
+
+        for ( int i = 0;
+              i < promotions.length;
+              ++i ) {
+            // department position in the high bits and index in the low bits so equal positions keep their order
+            keys[ i ] = ( ( ( long )( deptOrders[ i ] - NO_DEPT_ORDER ) << 32 ) | i );
+        }
 
-            // should not happen
-            if ( thatDeptName == null ) {
-                return 1;
-            }
+        Arrays.sort( keys );
+        final Promotion[] unsorted = Arrays.copyOf( promotions, promotions.length );
 
-            return thisDeptName.compareTo( thatDeptName );
+        for ( int i = 0;
+              i < keys.length;
+              ++i ) {
+            promotions[ i ] = unsorted[ ( int )keys[ i ] ];
         }
-    };
+    }
 
     private final double discount;
+    private final long endDate;
     private final int id;
     private final int productId;
 
@@ -56,9 +68,23 @@ public class Promotion implements IotObject {
     public Promotion( final int id,
                       final int productId,
                       final double discount ) {
+        this( id, productId, discount, NO_END_DATE );
+    }
+
+    /**
+     * @param id        the unique ID of this promotion
+     * @param productId the ID of the product that is on sale
+     * @param discount  the percentage discount
+     * @param endDate   the last moment of the promotion in milliseconds since the epoch or {@link #NO_END_DATE}
+     */
+    public Promotion( final int id,
+                      final int productId,
+                      final double discount,
+                      final long endDate ) {
         this.id = id;
         this.productId = productId;
         this.discount = discount;
+        this.endDate = endDate;
     }
 
     @Override
@@ -74,7 +100,8 @@ public class Promotion implements IotObject {
         final Promotion that = ( Promotion )o;
         return ( ( Double.compare( that.discount, this.discount ) == 0 )
             && ( this.productId == that.productId )
-            && ( this.id == that.id ) );
+            && ( this.id == that.id )
+            && ( this.endDate == that.endDate ) );
     }
 
     /**
@@ -84,6 +111,13 @@ public class Promotion implements IotObject {
         return this.discount;
     }
 
+    /**
+     * @return the last moment of the promotion in milliseconds since the epoch or {@link #NO_END_DATE}
+     */
+    public long getEndDate() {
+        return this.endDate;
+    }
+
     /**
      * @return the ID of the promotion
      */
@@ -100,7 +134,7 @@ public class Promotion implements IotObject {
 
     @Override
     public int hashCode() {
-        return Objects.hash( this.discount, this.id, this.productId );
+        return Objects.hash( this.discount, this.id, this.productId, this.endDate );
     }
 
     @Override
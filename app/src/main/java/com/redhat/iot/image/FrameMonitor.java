@@ -0,0 +1,164 @@
+package com.redhat.iot.image;
+
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.RecyclerView.OnScrollListener;
+import android.view.Choreographer;
+import android.view.Choreographer.FrameCallback;
+
+import com.redhat.iot.BuildConfig;
+import com.redhat.iot.IotApp;
+
+/**
+ * Measures frame times and the number of rows bound while a {@link RecyclerView} is scrolling. In debug builds the frame, bind,
+ * and image loading metrics are logged when scrolling stops. Must be used from the main thread.
+ */
+public class FrameMonitor extends OnScrollListener implements FrameCallback {
+
+    /**
+     * Frames that take longer than this are considered janky (60 frames a second).
+     */
+    static final long JANK_NANOS = 16666667L;
+
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private long binds;
+    private long frames;
+    private long jankyFrames;
+    private long lastFrameNanos;
+    private long maxFrameNanos;
+    private final String name;
+    private boolean running;
+    private long totalFrameNanos;
+
+    /**
+     * @param name the name used when logging the metrics (cannot be empty)
+     */
+    public FrameMonitor( final String name ) {
+        this.name = name;
+    }
+
+    @Override
+    public void doFrame( final long frameTimeNanos ) {
+        if ( !this.running ) {
+            return;
+        }
+
+        if ( this.lastFrameNanos != 0 ) {
+            record( frameTimeNanos - this.lastFrameNanos );
+        }
+
+        this.lastFrameNanos = frameTimeNanos;
+        Choreographer.getInstance().postFrameCallback( this );
+    }
+
+    /**
+     * @return the number of rows bound
+     */
+    public long getBindCount() {
+        return this.binds;
+    }
+
+    /**
+     * @return the average frame time in microseconds or zero if no frames have been measured
+     */
+    public long getAverageFrameMicros() {
+        return ( ( this.frames == 0 ) ? 0 : ( this.totalFrameNanos / this.frames / NANOS_PER_MICRO ) );
+    }
+
+    /**
+     * @return the number of frames measured
+     */
+    public long getFrameCount() {
+        return this.frames;
+    }
+
+    /**
+     * @return the number of frames that took longer than a frame interval
+     */
+    public long getJankyFrameCount() {
+        return this.jankyFrames;
+    }
+
+    /**
+     * @return the longest frame time in microseconds
+     */
+    public long getMaxFrameMicros() {
+        return ( this.maxFrameNanos / NANOS_PER_MICRO );
+    }
+
+    @Override
+    public void onScrollStateChanged( final RecyclerView recyclerView,
+                                      final int newState ) {
+        if ( newState == RecyclerView.SCROLL_STATE_IDLE ) {
+            stop();
+        } else {
+            start();
+        }
+    }
+
+    /**
+     * Called each time the adapter binds a row.
+     */
+    public void recordBind() {
+        ++this.binds;
+    }
+
+    /**
+     * @param frameNanos the time between two consecutive frames
+     */
+    void record( final long frameNanos ) {
+        ++this.frames;
+        this.totalFrameNanos += frameNanos;
+
+        if ( frameNanos > this.maxFrameNanos ) {
+            this.maxFrameNanos = frameNanos;
+        }
+
+        if ( frameNanos > JANK_NANOS ) {
+            ++this.jankyFrames;
+        }
+    }
+
+    /**
+     * Sets all counters back to zero.
+     */
+    public void reset() {
+        this.binds = 0;
+        this.frames = 0;
+        this.jankyFrames = 0;
+        this.maxFrameNanos = 0;
+        this.totalFrameNanos = 0;
+    }
+
+    /**
+     * Starts measuring frame times. Does nothing if already started.
+     */
+    public void start() {
+        if ( !this.running ) {
+            this.running = true;
+            this.lastFrameNanos = 0;
+            Choreographer.getInstance().postFrameCallback( this );
+        }
+    }
+
+    /**
+     * Stops measuring frame times and, in debug builds, logs the metrics. Does nothing if not started.
+     */
+    public void stop() {
+        if ( this.running ) {
+            this.running = false;
+            Choreographer.getInstance().removeFrameCallback( this );
+
+            if ( BuildConfig.DEBUG ) {
+                IotApp.logDebug( FrameMonitor.class, "stop", toString() + "; " + ImageLoader.get().getMetrics() );
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return ( this.name + " frames: count = " + getFrameCount() + ", janky = " + getJankyFrameCount() + ", avg = "
+            + getAverageFrameMicros() + "us, max = " + getMaxFrameMicros() + "us, binds = " + getBindCount() );
+    }
+
+}
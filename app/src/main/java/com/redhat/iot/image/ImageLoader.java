@@ -0,0 +1,361 @@
+package com.redhat.iot.image;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapFactory.Options;
+import android.os.AsyncTask;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import com.redhat.iot.IotApp;
+import com.redhat.iot.R.dimen;
+
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Loads image resources into {@link ImageView}s. Images are decoded off the main thread, downsampled to the product image size,
+ * and kept in a memory cache sized to a fraction of the heap. The memory of bitmaps evicted from the cache is reused by later
+ * decodes once no view is displaying them. Views are only weakly referenced so a view that is never cleared, such as one
+ * whose fragment is destroyed, does not keep its bitmap from being reused. Except where noted, methods must be called from the
+ * main thread.
+ */
+public class ImageLoader {
+
+    private static final int CACHE_HEAP_FRACTION = 8; // use 1/8th of the heap
+    private static final int MAX_REUSABLE = 8;
+
+    private static ImageLoader _shared;
+
+    /**
+     * @return the shared loader (never <code>null</code>)
+     */
+    public static ImageLoader get() {
+        if ( _shared == null ) {
+            _shared = new ImageLoader();
+        }
+
+        return _shared;
+    }
+
+    /**
+     * @param config the bitmap configuration (can be <code>null</code>)
+     * @return the number of bytes used by each pixel
+     */
+    private static int getBytesPerPixel( final Bitmap.Config config ) {
+        if ( config == Bitmap.Config.ARGB_8888 ) {
+            return 4;
+        }
+
+        if ( config == Bitmap.Config.RGB_565 ) {
+            return 2;
+        }
+
+        if ( config == Bitmap.Config.ALPHA_8 ) {
+            return 1;
+        }
+
+        return 4;
+    }
+
+    /**
+     * @param width        the width of the source image
+     * @param height       the height of the source image
+     * @param targetWidth  the width the image will be displayed at
+     * @param targetHeight the height the image will be displayed at
+     * @return the largest power of 2 sample size that keeps both dimensions at least as large as the target
+     */
+    static int calculateSampleSize( final int width,
+                                    final int height,
+                                    final int targetWidth,
+                                    final int targetHeight ) {
+        int sampleSize = 1;
+
+        if ( ( targetWidth <= 0 ) || ( targetHeight <= 0 ) ) {
+            return sampleSize;
+        }
+
+        while ( ( ( width / ( sampleSize * 2 ) ) >= targetWidth ) && ( ( height / ( sampleSize * 2 ) ) >= targetHeight ) ) {
+            sampleSize *= 2;
+        }
+
+        return sampleSize;
+    }
+
+    /**
+     * @param allocationByteCount the size of the memory of the bitmap that might be reused
+     * @param width               the width of the source image
+     * @param height              the height of the source image
+     * @param sampleSize          the sample size the image will be decoded with
+     * @param bytesPerPixel       the number of bytes used by each pixel of the decoded image
+     * @return <code>true</code> if the decoded image fits in the memory of the bitmap
+     */
+    static boolean canReuse( final int allocationByteCount,
+                             final int width,
+                             final int height,
+                             final int sampleSize,
+                             final int bytesPerPixel ) {
+        final long decodedWidth = ( ( width + sampleSize - 1 ) / sampleSize );
+        final long decodedHeight = ( ( height + sampleSize - 1 ) / sampleSize );
+        return ( ( decodedWidth * decodedHeight * bytesPerPixel ) <= allocationByteCount );
+    }
+
+    private final LruCache< Integer, Bitmap > cache; // key=resource ID
+    private final Map< ImageView, Bitmap > displayed = new WeakHashMap<>(); // collected views drop out
+    private final Set< Bitmap > evictedWhileDisplayed = new HashSet<>(); // reused once no view is displaying them
+    private final int imageSize;
+    private final ImageMetrics metrics = new ImageMetrics();
+    private final Map< ImageView, DecodeTask > pending = new WeakHashMap<>();
+    private final Resources resources;
+    private final Set< Bitmap > reusable = new HashSet<>(); // guarded by itself as decode threads take from it
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private ImageLoader() {
+        this.resources = IotApp.getContext().getResources();
+        this.imageSize = this.resources.getDimensionPixelSize( dimen.product_image_size );
+
+        final int maxKb = ( int )( Runtime.getRuntime().maxMemory() / 1024 / CACHE_HEAP_FRACTION );
+        this.cache = new LruCache< Integer, Bitmap >( maxKb ) {
+
+            @Override
+            protected void entryRemoved( final boolean evicted,
+                                         final Integer resId,
+                                         final Bitmap oldBitmap,
+                                         final Bitmap newBitmap ) {
+                if ( oldBitmap != newBitmap ) {
+                    handleRemoved( oldBitmap );
+                }
+            }
+
+            @Override
+            protected int sizeOf( final Integer resId,
+                                  final Bitmap bitmap ) {
+                return ( bitmap.getAllocationByteCount() / 1024 );
+            }
+        };
+    }
+
+    private void addReusable( final Bitmap bitmap ) {
+        if ( bitmap.isMutable() && !bitmap.isRecycled() ) {
+            synchronized ( this.reusable ) {
+                if ( this.reusable.size() < MAX_REUSABLE ) {
+                    this.reusable.add( bitmap );
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops loading an image into the view and releases the image it is displaying. Call when the view is recycled.
+     *
+     * @param view the view being cleared (cannot be <code>null</code>)
+     */
+    public void clear( final ImageView view ) {
+        final DecodeTask task = this.pending.remove( view );
+
+        if ( task != null ) {
+            task.cancel( false );
+        }
+
+        final Bitmap bitmap = this.displayed.remove( view );
+
+        if ( ( bitmap != null ) && this.evictedWhileDisplayed.contains( bitmap ) ) {
+            releaseEvicted();
+        }
+    }
+
+    /**
+     * Called from a decode thread.
+     *
+     * @param resId the ID of the image resource being decoded
+     * @return the bitmap or <code>null</code> if the resource could not be decoded
+     */
+    Bitmap decode( final int resId ) {
+        final long start = System.nanoTime();
+
+        final Options options = new Options();
+        options.inJustDecodeBounds = true;
+        options.inScaled = false; // the view scales the image to its size
+        BitmapFactory.decodeResource( this.resources, resId, options );
+
+        options.inJustDecodeBounds = false;
+        options.inMutable = true;
+        options.inPreferredConfig = Bitmap.Config.ARGB_8888; // product images have transparent backgrounds
+        options.inSampleSize = calculateSampleSize( options.outWidth, options.outHeight, this.imageSize, this.imageSize );
+        options.inBitmap = takeReusable( options );
+
+        Bitmap bitmap;
+
+        try {
+            bitmap = BitmapFactory.decodeResource( this.resources, resId, options );
+        } catch ( final IllegalArgumentException e ) {
+            // reused bitmap was not compatible
+            options.inBitmap = null;
+            bitmap = BitmapFactory.decodeResource( this.resources, resId, options );
+        }
+
+        this.metrics.recordDecode( ( System.nanoTime() - start ), ( options.inBitmap != null ) );
+        return bitmap;
+    }
+
+    private void display( final ImageView view,
+                          final Bitmap bitmap ) {
+        view.setImageBitmap( bitmap );
+        this.displayed.put( view, bitmap );
+    }
+
+    /**
+     * @return the image loading metrics (never <code>null</code>)
+     */
+    public ImageMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    private void handleRemoved( final Bitmap bitmap ) {
+        this.evictedWhileDisplayed.add( bitmap ); // reuse after no longer displayed
+        releaseEvicted(); // also picks up bitmaps whose views were collected without being cleared
+    }
+
+    /**
+     * @param bitmap the bitmap being checked (cannot be <code>null</code>)
+     * @return <code>true</code> if a view that has not been collected is displaying the bitmap
+     */
+    private boolean isDisplayed( final Bitmap bitmap ) {
+        for ( final Bitmap displayedBitmap : this.displayed.values() ) {
+            if ( displayedBitmap == bitmap ) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Displays the image resource in the view. If the image is not cached, the view is cleared and the image is decoded in the
+     * background.
+     *
+     * @param resId the ID of the image resource being loaded
+     * @param view  the view that will display the image (cannot be <code>null</code>)
+     */
+    public void load( final int resId,
+                      final ImageView view ) {
+        clear( view );
+        final Bitmap bitmap = this.cache.get( resId );
+
+        if ( bitmap == null ) {
+            this.metrics.recordMiss();
+            view.setImageDrawable( null );
+
+            final DecodeTask task = new DecodeTask( resId, view );
+            this.pending.put( view, task );
+            task.executeOnExecutor( AsyncTask.THREAD_POOL_EXECUTOR );
+        } else {
+            this.metrics.recordHit();
+            display( view, bitmap );
+        }
+    }
+
+    /**
+     * Makes the evicted bitmaps no longer displayed by any view available for reuse.
+     */
+    private void releaseEvicted() {
+        final Iterator< Bitmap > itr = this.evictedWhileDisplayed.iterator();
+
+        while ( itr.hasNext() ) {
+            final Bitmap bitmap = itr.next();
+
+            if ( !isDisplayed( bitmap ) ) {
+                itr.remove();
+                addReusable( bitmap );
+            }
+        }
+    }
+
+    /**
+     * Called from a decode thread.
+     *
+     * @param options the options containing the source dimensions and sample size (cannot be <code>null</code>)
+     * @return a bitmap whose memory can be reused or <code>null</code> if none are big enough
+     */
+    private Bitmap takeReusable( final Options options ) {
+        synchronized ( this.reusable ) {
+            final Iterator< Bitmap > itr = this.reusable.iterator();
+
+            while ( itr.hasNext() ) {
+                final Bitmap candidate = itr.next();
+
+                if ( candidate.isRecycled() ) {
+                    itr.remove();
+                } else if ( canReuse( candidate.getAllocationByteCount(),
+                                      options.outWidth,
+                                      options.outHeight,
+                                      options.inSampleSize,
+                                      getBytesPerPixel( candidate.getConfig() ) ) ) {
+                    itr.remove();
+                    return candidate;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private class DecodeTask extends AsyncTask< Void, Void, Bitmap > {
+
+        private final int resId;
+        private final WeakReference< ImageView > viewRef;
+
+        DecodeTask( final int resId,
+                    final ImageView view ) {
+            this.resId = resId;
+            this.viewRef = new WeakReference<>( view );
+        }
+
+        @Override
+        protected Bitmap doInBackground( final Void... params ) {
+            return decode( this.resId );
+        }
+
+        @Override
+        protected void onCancelled( final Bitmap bitmap ) {
+            // still worth keeping as the view will likely ask for it again
+            if ( ( bitmap != null ) && ( ImageLoader.this.cache.get( this.resId ) == null ) ) {
+                ImageLoader.this.cache.put( this.resId, bitmap );
+            }
+        }
+
+        @Override
+        protected void onPostExecute( final Bitmap bitmap ) {
+            if ( bitmap == null ) {
+                IotApp.logError( ImageLoader.class, "onPostExecute", "Unable to decode image '" + this.resId + '\'', null );
+                return;
+            }
+
+            // another task may have decoded the same image
+            Bitmap cached = ImageLoader.this.cache.get( this.resId );
+
+            if ( cached == null ) {
+                ImageLoader.this.cache.put( this.resId, bitmap );
+                cached = bitmap;
+            } else {
+                addReusable( bitmap );
+            }
+
+            final ImageView view = this.viewRef.get();
+
+            if ( ( view != null ) && ( ImageLoader.this.pending.get( view ) == this ) ) {
+                ImageLoader.this.pending.remove( view );
+                display( view, cached );
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.redhat.iot.image;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing how images are being loaded. Safe to update from any thread.
+ */
+public class ImageMetrics {
+
+    private static final long NANOS_PER_MICRO = 1000;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong decodeNanos = new AtomicLong();
+    private final AtomicLong decodes = new AtomicLong();
+    private final AtomicLong reuses = new AtomicLong();
+
+    /**
+     * @return the average time to decode an image in microseconds or zero if nothing has been decoded
+     */
+    public long getAverageDecodeMicros() {
+        final long count = this.decodes.get();
+        return ( ( count == 0 ) ? 0 : ( this.decodeNanos.get() / count / NANOS_PER_MICRO ) );
+    }
+
+    /**
+     * @return the number of images found in the memory cache
+     */
+    public long getCacheHits() {
+        return this.cacheHits.get();
+    }
+
+    /**
+     * @return the number of images not found in the memory cache
+     */
+    public long getCacheMisses() {
+        return this.cacheMisses.get();
+    }
+
+    /**
+     * @return the number of images decoded
+     */
+    public long getDecodeCount() {
+        return this.decodes.get();
+    }
+
+    /**
+     * @return the number of decodes that reused the memory of an evicted bitmap
+     */
+    public long getReuseCount() {
+        return this.reuses.get();
+    }
+
+    /**
+     * @param nanos  the time it took to decode the image
+     * @param reused <code>true</code> if the memory of an evicted bitmap was reused
+     */
+    void recordDecode( final long nanos,
+                       final boolean reused ) {
+        this.decodes.incrementAndGet();
+        this.decodeNanos.addAndGet( nanos );
+
+        if ( reused ) {
+            this.reuses.incrementAndGet();
+        }
+    }
+
+    void recordHit() {
+        this.cacheHits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        this.cacheMisses.incrementAndGet();
+    }
+
+    /**
+     * Sets all counters back to zero.
+     */
+    public void reset() {
+        this.cacheHits.set( 0 );
+        this.cacheMisses.set( 0 );
+        this.decodeNanos.set( 0 );
+        this.decodes.set( 0 );
+        this.reuses.set( 0 );
+    }
+
+    @Override
+    public String toString() {
+        return ( "Images: hits = " + getCacheHits() + ", misses = " + getCacheMisses() + ", decodes = " + getDecodeCount()
+            + ", reused = " + getReuseCount() + ", avg decode = " + getAverageDecodeMicros() + "us" );
+    }
+
+}
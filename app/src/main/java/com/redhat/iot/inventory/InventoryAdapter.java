@@ -1,6 +1,7 @@
 package com.redhat.iot.inventory;
 
 import android.content.Context;
+import android.support.v7.widget.CardView;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.RecyclerView.Adapter;
 import android.support.v7.widget.RecyclerView.ViewHolder;
@@ -12,68 +13,111 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
+import com.redhat.iot.DataProvider;
+import com.redhat.iot.R.color;
 import com.redhat.iot.R.id;
 import com.redhat.iot.R.layout;
 import com.redhat.iot.R.string;
-import com.redhat.iot.concurrent.GetInventoryDetail;
 import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.image.FrameMonitor;
+import com.redhat.iot.image.ImageLoader;
+import com.redhat.iot.view.InventoryResults;
+import com.redhat.iot.view.InventoryRow;
+import com.redhat.iot.view.RowCallback;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
- * An adapter for displaying collections of {@link Inventory inventories}.
+ * An adapter for displaying collections of {@link Inventory inventories}. The adapter only holds the {@link InventoryResults
+ * results} of a search and looks up the inventories, joined with their products, a page at a time as the user scrolls. Rows
+ * whose page has not been loaded are shown as placeholders.
  */
 class InventoryAdapter extends Adapter {
 
+    /**
+     * The maximum number of pages of rows kept in memory.
+     */
+    static final int MAX_PAGES = 8;
+
+    /**
+     * The number of rows loaded at a time.
+     */
+    static final int PAGE_SIZE = 40;
+
+    /**
+     * How many rows before or after a bound row must be loaded so that they are ready before being scrolled to.
+     */
+    static final int PREFETCH_DISTANCE = 20;
+
+    private final OnClickListener clickListener = new OnClickListener() {
+
+        @Override
+        public void onClick( final View inventoryView ) {
+            handleInventoryClicked( inventoryView );
+        }
+
+    };
+
     private final Context context;
+    private final FrameMonitor frameMonitor = new FrameMonitor( "Inventory" );
     private final LayoutInflater inflater;
-    private final List< Inventory > inventories;
     private RecyclerView recyclerView;
+    private final InventoryRows rows = new InventoryRows( PAGE_SIZE, MAX_PAGES );
 
-    public InventoryAdapter( final Context c,
-                             final Inventory[] inventories ) {
-        this.context = c;
-        this.inflater = LayoutInflater.from( this.context );
-        this.inventories = new ArrayList<>();
+    private final DataProvider.InventoryListener inventoryListener = new DataProvider.InventoryListener() {
 
-        if ( ( inventories != null ) && ( inventories.length != 0 ) ) {
-            this.inventories.addAll( Arrays.asList( inventories ) );
+        @Override
+        public void onInventorySorted() {
+            // same rows per product but the stores are in a different order
+            InventoryAdapter.this.rows.clear();
+            notifyItemRangeChanged( 0, getItemCount() );
         }
-    }
+    };
 
-    void add( final Inventory inventoryBeingAdded ) {
-        int index = 0;
+    private final InventoryDiff.Callback notifier = new InventoryDiff.Callback() {
 
-        if ( this.inventories.isEmpty() ) {
-            this.inventories.add( inventoryBeingAdded );
-        } else {
-            // add in sorted by product ID
-            for ( final Inventory current : this.inventories ) {
-                final int result = Integer.compare( current.getProductId(), inventoryBeingAdded.getProductId() );
-
-                if (result < 0) {
-                    ++index;
-                } else {
-                    break;
-                }
-            }
+        @Override
+        public void onChanged( final int position,
+                               final int count ) {
+            notifyItemRangeChanged( position, count );
+        }
+
+        @Override
+        public void onInserted( final int position,
+                                final int count ) {
+            notifyItemRangeInserted( position, count );
+        }
 
-            this.inventories.add( index, inventoryBeingAdded );
+        @Override
+        public void onRemoved( final int position,
+                               final int count ) {
+            notifyItemRangeRemoved( position, count );
         }
+    };
 
-        notifyItemInserted( index );
+    /**
+     * @param c a context for use within this adapter (cannot be <code>null</code>)
+     */
+    public InventoryAdapter( final Context c ) {
+        this.context = c;
+        this.inflater = LayoutInflater.from( this.context );
+        setHasStableIds( true );
     }
 
     @Override
     public int getItemCount() {
-        return this.inventories.size();
+        return this.rows.getResults().size();
     }
 
     @Override
     public long getItemId( final int position ) {
-        return position;
+        // the same whether or not the row's page is loaded
+        return this.rows.getResults().getRowId( position );
+    }
+
+    @Override
+    public int getItemViewType( final int position ) {
+        return layout.inventory_item;
     }
 
     private String getString( final int resId,
@@ -83,31 +127,91 @@ class InventoryAdapter extends Adapter {
 
     private void handleInventoryClicked( final View inventoryView ) {
         final int index = this.recyclerView.getChildLayoutPosition( inventoryView );
-        final Inventory inventory = this.inventories.get( index );
+        final InventoryRow row = this.rows.get( index );
+
+        if ( row == null ) {
+            return; // placeholder
+        }
+
+        final Inventory inventory = row.getInventory();
         Toast.makeText( this.context, "Inventory store ID: " + inventory.getStoreId()
                             + ", product ID: " + inventory.getProductId(),
                         Toast.LENGTH_SHORT ).show();
     }
 
+    private void loadPage( final int page ) {
+        if ( !this.rows.startLoading( page ) ) {
+            return;
+        }
+
+        final int start = this.rows.getPageStart( page );
+        final int count = this.rows.getPageSize( page );
+        final int pageGeneration = this.rows.getGeneration();
+
+        DataProvider.get().getInventoryRows( this.rows.getResults(), start, count, new RowCallback< InventoryRow >() {
+
+            @Override
+            public void onSuccess( final List< InventoryRow > pageRows ) {
+                // ignore if results changed while loading
+                if ( InventoryAdapter.this.rows.put( page, pageGeneration, pageRows ) ) {
+                    notifyItemRangeChanged( start, pageRows.size() );
+                }
+            }
+        } );
+    }
+
     @Override
     public void onAttachedToRecyclerView( final RecyclerView recyclerView ) {
         super.onAttachedToRecyclerView( recyclerView );
         this.recyclerView = recyclerView;
+        this.recyclerView.addOnScrollListener( this.frameMonitor );
+        DataProvider.get().addInventoryListener( this.inventoryListener );
     }
 
     @Override
     public void onBindViewHolder( final ViewHolder viewHolder,
                                   final int position ) {
         final InventoryViewHolder holder = ( InventoryViewHolder )viewHolder;
-        final Inventory inventory = this.inventories.get( position );
+        this.frameMonitor.recordBind();
+        holder.itemView.setOnClickListener( this.clickListener );
+
+        final InventoryRow row = this.rows.get( position );
 
-        holder.tvProductId.setText( getString( string.inventory_product_id, inventory.getProductId() ) );
-        holder.tvQuantity.setText( getString( string.inventory_quantity, inventory.getQuantity() ) );
-        holder.tvStoreId.setText( getString( string.inventory_store_id, inventory.getStoreId() ) );
+        if ( row == null ) {
+            // placeholder until page is loaded but the product is known from the results
+            final InventoryResults results = this.rows.getResults();
+            final int productId = results.getProductId( results.getIndex( position ) );
+            holder.tvProductId.setText( getString( string.inventory_product_id, productId ) );
+            holder.tvQuantity.setText( "" );
+            holder.tvStoreId.setText( "" );
+            ImageLoader.get().clear( holder.ivProduct );
+            holder.ivProduct.setImageDrawable( null );
+            holder.view.setCardBackgroundColor( this.context.getColor( color.placeholderBackground ) );
+            holder.tvProductName.setText( string.inventory_loading );
+            holder.tvProductDescription.setText( "" );
+            loadPage( this.rows.getPage( position ) );
+        } else {
+            final Inventory inventory = row.getInventory();
+            holder.tvProductId.setText( getString( string.inventory_product_id, inventory.getProductId() ) );
+            holder.tvQuantity.setText( getString( string.inventory_quantity, inventory.getQuantity() ) );
+            holder.tvStoreId.setText( getString( string.inventory_store_id, inventory.getStoreId() ) );
+            holder.view.setCardBackgroundColor( row.getDeptColor() );
 
-        if ( holder.tvProductName.getText().length() == 0 ) {
-            new GetInventoryDetail( inventory, holder.ivProduct, holder.tvProductName, holder.tvProductDescription );
+            if ( row.isProductFound() ) {
+                ImageLoader.get().load( row.getImageId(), holder.ivProduct );
+                holder.tvProductName.setText( row.getProductName() );
+                holder.tvProductDescription.setText( row.getProductDescription() );
+            } else {
+                ImageLoader.get().clear( holder.ivProduct );
+                holder.ivProduct.setImageDrawable( null );
+                holder.tvProductName.setText( getString( string.product_not_found, inventory.getProductId() ) );
+                holder.tvProductDescription.setText( "" );
+            }
         }
+
+        // load the pages near this row so they are ready when scrolled to
+        loadPage( this.rows.getPage( position + PREFETCH_DISTANCE ) );
+        loadPage( this.rows.getPage( Math.max( 0, ( position - PREFETCH_DISTANCE ) ) ) );
     }
 
     @Override
@@ -117,7 +221,30 @@ class InventoryAdapter extends Adapter {
         return new InventoryViewHolder( view );
     }
 
-    private class InventoryViewHolder extends ViewHolder {
+    @Override
+    public void onDetachedFromRecyclerView( final RecyclerView recyclerView ) {
+        recyclerView.removeOnScrollListener( this.frameMonitor );
+        DataProvider.get().removeInventoryListener( this.inventoryListener );
+        this.frameMonitor.stop();
+        super.onDetachedFromRecyclerView( recyclerView );
+    }
+
+    @Override
+    public void onViewRecycled( final ViewHolder viewHolder ) {
+        ImageLoader.get().clear( ( ( InventoryViewHolder )viewHolder ).ivProduct );
+        super.onViewRecycled( viewHolder );
+    }
+
+    /**
+     * Replaces the current results. Only the rows that changed are updated.
+     *
+     * @param newResults the new results (cannot be <code>null</code>)
+     */
+    void setResults( final InventoryResults newResults ) {
+        this.rows.setResults( newResults, this.notifier );
+    }
+
+    private static class InventoryViewHolder extends ViewHolder {
 
         private final ImageView ivProduct;
         private final TextView tvProductDescription;
@@ -125,25 +252,18 @@ class InventoryAdapter extends Adapter {
         private final TextView tvProductName;
         private final TextView tvQuantity;
         private final TextView tvStoreId;
+        private final CardView view;
 
         public InventoryViewHolder( final View inventoryView ) {
             super( inventoryView );
 
+            this.view = ( CardView )inventoryView;
             this.ivProduct = ( ImageView )inventoryView.findViewById( id.iv_inventory_product_image );
             this.tvProductDescription = ( TextView )inventoryView.findViewById( id.tv_inventory_product_description );
             this.tvProductId = ( TextView )inventoryView.findViewById( id.tv_inventory_product_id );
             this.tvProductName = ( TextView )inventoryView.findViewById( id.tv_inventory_product_name );
             this.tvQuantity = ( TextView )inventoryView.findViewById( id.tv_inventory_quantity );
             this.tvStoreId = ( TextView )inventoryView.findViewById( id.tv_inventory_store_id );
-
-            inventoryView.setOnClickListener( new OnClickListener() {
-
-                @Override
-                public void onClick( final View inventoryView ) {
-                    handleInventoryClicked( inventoryView );
-                }
-
-            } );
         }
 
     }
@@ -0,0 +1,156 @@
+package com.redhat.iot.inventory;
+
+import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.view.InventoryResults;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The changes that turn one {@link InventoryResults inventory result} into another. Both results are sorted by product, so
+ * they are merged one product at a time and rows never move. The {@link Inventory inventory} rows of a product whose number of
+ * rows changed are changed. Consecutive changes of the same kind are combined into ranges.
+ */
+class InventoryDiff {
+
+    /**
+     * Receives the changes in the order they must be applied.
+     */
+    interface Callback {
+
+        /**
+         * @param position the position of the first changed item
+         * @param count    the number of changed items
+         */
+        void onChanged( final int position,
+                        final int count );
+
+        /**
+         * @param position the position of the first inserted item
+         * @param count    the number of inserted items
+         */
+        void onInserted( final int position,
+                         final int count );
+
+        /**
+         * @param position the position of the first removed item
+         * @param count    the number of removed items
+         */
+        void onRemoved( final int position,
+                        final int count );
+
+    }
+
+    private static final int CHANGE = 0;
+    private static final int INSERT = 1;
+    private static final int REMOVE = 2;
+
+    /**
+     * @param oldResults the current results (cannot be <code>null</code>)
+     * @param newResults the results replacing the current results (cannot be <code>null</code>)
+     * @return the changes (never <code>null</code>)
+     */
+    static InventoryDiff calculate( final InventoryResults oldResults,
+                                    final InventoryResults newResults ) {
+        final InventoryDiff diff = new InventoryDiff();
+        final int oldCount = oldResults.getProductCount();
+        final int newCount = newResults.getProductCount();
+        int oldIndex = 0;
+        int newIndex = 0;
+
+        while ( ( oldIndex < oldCount ) || ( newIndex < newCount ) ) {
+            final int result;
+
+            if ( oldIndex == oldCount ) {
+                result = 1;
+            } else if ( newIndex == newCount ) {
+                result = -1;
+            } else {
+                result = Integer.compare( oldResults.getProductId( oldIndex ), newResults.getProductId( newIndex ) );
+            }
+
+            // positions are in the list as it is after applying the earlier changes
+            final int position = newResults.getStart( newIndex );
+
+            if ( result < 0 ) {
+                diff.add( REMOVE, position, oldResults.getCount( oldIndex ) );
+                ++oldIndex;
+            } else if ( result > 0 ) {
+                diff.add( INSERT, position, newResults.getCount( newIndex ) );
+                ++newIndex;
+            } else {
+                final int oldRows = oldResults.getCount( oldIndex );
+                final int newRows = newResults.getCount( newIndex );
+
+                // the cached inventory of a product does not change so the same number of rows are the same rows
+                if ( oldRows != newRows ) {
+                    final int common = Math.min( oldRows, newRows );
+                    diff.add( CHANGE, position, common );
+
+                    if ( newRows > oldRows ) {
+                        diff.add( INSERT, ( position + common ), ( newRows - oldRows ) );
+                    } else {
+                        diff.add( REMOVE, ( position + common ), ( oldRows - newRows ) );
+                    }
+                }
+
+                ++oldIndex;
+                ++newIndex;
+            }
+        }
+
+        return diff;
+    }
+
+    private final List< int[] > ops = new ArrayList<>(); // each is kind, position, count
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private InventoryDiff() {
+        // nothing to do
+    }
+
+    private void add( final int kind,
+                      final int position,
+                      final int count ) {
+        if ( !this.ops.isEmpty() ) {
+            final int[] last = this.ops.get( this.ops.size() - 1 );
+
+            if ( last[ 0 ] == kind ) {
+                // removes all happen at the same position while inserts and changes are consecutive
+                final int next = ( ( kind == REMOVE ) ? last[ 1 ] : ( last[ 1 ] + last[ 2 ] ) );
+
+                if ( position == next ) {
+                    last[ 2 ] += count;
+                    return;
+                }
+            }
+        }
+
+        this.ops.add( new int[]{ kind, position, count } );
+    }
+
+    /**
+     * @param callback the callback receiving the changes (cannot be <code>null</code>)
+     */
+    void dispatch( final Callback callback ) {
+        for ( final int[] op : this.ops ) {
+            if ( op[ 0 ] == CHANGE ) {
+                callback.onChanged( op[ 1 ], op[ 2 ] );
+            } else if ( op[ 0 ] == INSERT ) {
+                callback.onInserted( op[ 1 ], op[ 2 ] );
+            } else {
+                callback.onRemoved( op[ 1 ], op[ 2 ] );
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the lists are the same
+     */
+    boolean isEmpty() {
+        return this.ops.isEmpty();
+    }
+
+}
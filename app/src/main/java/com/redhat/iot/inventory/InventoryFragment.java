@@ -3,7 +3,6 @@ package com.redhat.iot.inventory;
 import android.app.Activity;
 import android.app.Fragment;
 import android.os.Bundle;
-import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -11,13 +10,11 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import com.redhat.iot.DataProvider;
+import com.redhat.iot.MainActivity;
 import com.redhat.iot.R.id;
 import com.redhat.iot.R.layout;
-import com.redhat.iot.R.string;
-import com.redhat.iot.concurrent.InventoryCallback;
-import com.redhat.iot.concurrent.ProductCallback;
-import com.redhat.iot.domain.Inventory;
-import com.redhat.iot.domain.Product;
+import com.redhat.iot.view.InventoryResults;
+import com.redhat.iot.view.ListViews;
 
 /**
  * A billing screen.
@@ -36,40 +33,21 @@ public class InventoryFragment extends Fragment {
         // Required empty public constructor
     }
 
-    private void handleInventoryDetail( final Inventory inventory,
-                                        final Product[] results ) {
-        if ( results.length == 1 ) {
-            final String name = results[ 0 ].getName();
-            final String description = results[ 0 ].getDescription();
-
-            for ( final String keyword : this.keywords ) {
-                if ( name.contains( keyword ) || description.contains( keyword ) ) {
-                    this.adapter.add( inventory );
-
-                    // make sure the inventories show
-                    if (this.adapter.getItemCount() == 1) {
-                        this.inventoriesView.setVisibility( View.VISIBLE );
-                        this.emptyView.setVisibility( View.GONE );
-                    }
+    private void loadResults() {
+        // obtain inventory based on query
+        DataProvider.get().getInventoryResults( this.keywords, new InventoryResults.Callback() {
 
-                    break;
-                }
+            @Override
+            public void onSuccess( final InventoryResults results ) {
+                onResultsDelivered( results );
             }
-        }
+        } );
     }
 
     @Override
     public void onActivityCreated( final Bundle savedInstanceState ) {
         super.onActivityCreated( savedInstanceState );
-
-        // obtain inventory based on query
-        DataProvider.get().getInventories( this.keywords, new InventoryCallback() {
-
-            @Override
-            public void onSuccess( final Inventory[] results ) {
-                onInventoriesDelivered( results );
-            }
-        } );
+        loadResults();
     }
 
     @Override
@@ -82,41 +60,33 @@ public class InventoryFragment extends Fragment {
         this.emptyView = ( TextView )view.findViewById( id.tv_no_inventory );
         this.inventoriesView = ( RecyclerView )view.findViewById( id.inventory_results );
 
-        this.adapter = new InventoryAdapter( this.activity, Inventory.NO_INVENTORIES );
-        this.inventoriesView.setAdapter( this.adapter );
-        this.inventoriesView.setLayoutManager( new GridLayoutManager( this.activity, 1 ) );
+        this.adapter = new InventoryAdapter( this.activity );
+        ListViews.setUp( this.inventoriesView,
+                         this.adapter,
+                         ( ( MainActivity )this.activity ).getViewPool(),
+                         layout.inventory_item );
 
         return view;
     }
 
-    private void onInventoriesDelivered( final Inventory[] inventories ) {
-        this.inventoriesView.setVisibility( View.GONE );
-        this.emptyView.setVisibility( View.VISIBLE );
-
-        // if no keywords show all
-        if ( this.keywords == NO_KEYWORDS ) {
-            this.adapter = new InventoryAdapter( this.activity, inventories );
-            this.inventoriesView.setAdapter( this.adapter );
-            this.adapter.notifyDataSetChanged();
-        } else {
-            this.emptyView.setText( string.inventory_running_query );
-
-            // filter results by keywords
-            for ( final Inventory inventory : inventories ) {
-                // find product
-                DataProvider.get().findProduct( inventory.getProductId(), new ProductCallback() {
-
-                    @Override
-                    public void onSuccess( final Product[] results ) {
-                        handleInventoryDetail( inventory, results );
-                    }
-                } );
-            }
+    private void onResultsDelivered( final InventoryResults results ) {
+        // results have already been filtered by the keywords
+        final boolean noInventories = ( results.size() == 0 );
+        this.inventoriesView.setVisibility( noInventories ? View.GONE : View.VISIBLE );
+        this.emptyView.setVisibility( noInventories ? View.VISIBLE : View.GONE );
 
-            if (this.adapter.getItemCount()==0) {
-                this.emptyView.setText( string.inventory_no_matches );
-            }
-        }
+        // only the rows that changed are updated and inventories are looked up a page at a time while scrolling
+        this.adapter.setResults( results );
+    }
+
+    /**
+     * Searches again using this screen so that only the rows that changed are updated.
+     *
+     * @param keywords the search keywords (can be <code>null</code> or empty)
+     */
+    public void search( final String[] keywords ) {
+        setQuery( keywords );
+        loadResults();
     }
 
     /**
@@ -0,0 +1,130 @@
+package com.redhat.iot.inventory;
+
+import com.redhat.iot.view.InventoryResults;
+import com.redhat.iot.view.InventoryRow;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The rows of the inventory screen. Holds the {@link InventoryResults results} of the current search and the pages of rows
+ * loaded for them. Kept across searches so that a new search only updates the rows that changed.
+ */
+class InventoryRows {
+
+    private int generation; // incremented each time the loaded pages are discarded
+    private final Set< Integer > loadingPages = new HashSet<>();
+    private final PagedRows< InventoryRow > pages;
+    private InventoryResults results = InventoryResults.NONE;
+
+    /**
+     * @param pageSize the number of rows in a page (must be positive)
+     * @param maxPages the maximum number of pages kept (must be positive)
+     */
+    InventoryRows( final int pageSize,
+                   final int maxPages ) {
+        this.pages = new PagedRows<>( pageSize, maxPages );
+    }
+
+    /**
+     * Discards the loaded rows. Pages being loaded are ignored when they arrive.
+     */
+    void clear() {
+        ++this.generation;
+        this.pages.clear();
+        this.loadingPages.clear();
+    }
+
+    /**
+     * @param position the position of the row being requested
+     * @return the row or <code>null</code> if its page is not loaded
+     */
+    InventoryRow get( final int position ) {
+        return this.pages.get( position );
+    }
+
+    /**
+     * @return the generation a page being loaded must belong to when it arrives
+     */
+    int getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * @param position the position of a row
+     * @return the index of the page containing the row
+     */
+    int getPage( final int position ) {
+        return this.pages.getPage( position );
+    }
+
+    /**
+     * @param page the page index
+     * @return the number of rows in the page
+     */
+    int getPageSize( final int page ) {
+        return this.pages.getPageSize( page, this.results.size() );
+    }
+
+    /**
+     * @param page the page index
+     * @return the position of the first row of the page
+     */
+    int getPageStart( final int page ) {
+        return this.pages.getPageStart( page );
+    }
+
+    /**
+     * @return the results of the current search (never <code>null</code>)
+     */
+    InventoryResults getResults() {
+        return this.results;
+    }
+
+    /**
+     * @param page           the page index
+     * @param pageGeneration the generation when the page started loading
+     * @param rows           the rows of the page (cannot be <code>null</code>)
+     * @return <code>true</code> if the rows were kept or <code>false</code> if the rows were discarded while loading
+     */
+    boolean put( final int page,
+                 final int pageGeneration,
+                 final List< InventoryRow > rows ) {
+        if ( pageGeneration != this.generation ) {
+            return false;
+        }
+
+        this.loadingPages.remove( page );
+        this.pages.put( page, rows );
+        return true;
+    }
+
+    /**
+     * Replaces the results of the current search. Only the rows that changed are sent to the callback.
+     *
+     * @param newResults the new results (cannot be <code>null</code>)
+     * @param callback   the callback receiving the changes (cannot be <code>null</code>)
+     */
+    void setResults( final InventoryResults newResults,
+                     final InventoryDiff.Callback callback ) {
+        final InventoryDiff diff = InventoryDiff.calculate( this.results, newResults );
+
+        if ( diff.isEmpty() ) {
+            return;
+        }
+
+        this.results = newResults;
+        clear(); // positions have changed
+        diff.dispatch( callback );
+    }
+
+    /**
+     * @param page the page index
+     * @return <code>true</code> if the page has rows and is neither loaded nor already being loaded
+     */
+    boolean startLoading( final int page ) {
+        return ( ( getPageSize( page ) != 0 ) && !this.pages.isLoaded( page ) && this.loadingPages.add( page ) );
+    }
+
+}
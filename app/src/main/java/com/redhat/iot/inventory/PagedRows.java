@@ -0,0 +1,110 @@
+package com.redhat.iot.inventory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pages of rows loaded for a list. Positions whose page has not been loaded are placeholders. Only the most recently used pages
+ * are kept so that memory does not grow with the size of the list.
+ *
+ * @param <R> the row type
+ */
+class PagedRows< R > {
+
+    private final int maxPages;
+    private final int pageSize;
+    private final Map< Integer, List< R > > pages; // key=page index, in least recently used order
+
+    /**
+     * @param pageSize the number of rows in a page (must be positive)
+     * @param maxPages the maximum number of pages kept (must be positive)
+     */
+    PagedRows( final int pageSize,
+               final int maxPages ) {
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.pages = new LinkedHashMap< Integer, List< R > >( maxPages, 0.75f, true ) {
+
+            @Override
+            protected boolean removeEldestEntry( final Map.Entry< Integer, List< R > > eldest ) {
+                return ( size() > PagedRows.this.maxPages );
+            }
+        };
+    }
+
+    /**
+     * Removes all pages.
+     */
+    void clear() {
+        this.pages.clear();
+    }
+
+    /**
+     * @param position the position of the row being requested
+     * @return the row or <code>null</code> if its page is not loaded
+     */
+    R get( final int position ) {
+        final List< R > rows = this.pages.get( getPage( position ) );
+
+        if ( rows == null ) {
+            return null;
+        }
+
+        final int index = ( position % this.pageSize );
+        return ( ( index < rows.size() ) ? rows.get( index ) : null );
+    }
+
+    /**
+     * @param position the position of a row
+     * @return the index of the page containing the row
+     */
+    int getPage( final int position ) {
+        return ( position / this.pageSize );
+    }
+
+    /**
+     * @param page      the page index
+     * @param itemCount the total number of rows
+     * @return the number of rows in the page
+     */
+    int getPageSize( final int page,
+                     final int itemCount ) {
+        return Math.max( 0, Math.min( this.pageSize, ( itemCount - getPageStart( page ) ) ) );
+    }
+
+    /**
+     * @param page the page index
+     * @return the position of the first row of the page
+     */
+    int getPageStart( final int page ) {
+        return ( page * this.pageSize );
+    }
+
+    /**
+     * Does not change how recently the page was used.
+     *
+     * @param page the page index
+     * @return <code>true</code> if the page is loaded
+     */
+    boolean isLoaded( final int page ) {
+        return this.pages.containsKey( page );
+    }
+
+    /**
+     * @param page the page index
+     * @param rows the rows of the page (cannot be <code>null</code>)
+     */
+    void put( final int page,
+              final List< R > rows ) {
+        this.pages.put( page, rows );
+    }
+
+    /**
+     * @return the number of loaded pages
+     */
+    int size() {
+        return this.pages.size();
+    }
+
+}
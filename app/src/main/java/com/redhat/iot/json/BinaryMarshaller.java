@@ -0,0 +1,34 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.domain.IotObject;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A marshaller that can also convert to/from a {@link IotObject} and a compact binary record. A record is the object's values
+ * written in a fixed order with no names, numbers in binary, and strings prefixed by their length. Only types whose results
+ * are large enough for text parsing to matter implement this.
+ *
+ * @param <T> the {@link IotObject} type
+ * @see BinaryResults
+ */
+public interface BinaryMarshaller< T extends IotObject > extends IotMarshaller< T > {
+
+    /**
+     * @param in the input positioned at the start of a record (cannot be <code>null</code>)
+     * @return the {@link IotObject IoT object} (never <code>null</code>)
+     * @throws IOException if an error occurs reading or the input ends before the record does
+     */
+    T readBinary( final DataInput in ) throws IOException;
+
+    /**
+     * @param iotObj the {@link IotObject} being written as a record (cannot be <code>null</code>)
+     * @param out    the output the record is written to (cannot be <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    void writeBinary( final T iotObj,
+                      final DataOutput out ) throws IOException;
+
+}
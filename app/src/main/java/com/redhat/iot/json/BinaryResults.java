@@ -0,0 +1,116 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.IotException;
+import com.redhat.iot.domain.IotObject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reads and writes a result collection in the binary format. The format is a version byte, the number of results, and then a
+ * {@link BinaryMarshaller record} for each result. A server only sends it when asked to by the <code>Accept</code> header, so
+ * the version is part of the content type and a new version is a new content type.
+ */
+public final class BinaryResults {
+
+    /**
+     * The content type of the binary format. Value is {@value}.
+     */
+    public static final String CONTENT_TYPE = "application/x-iot-binary";
+
+    /**
+     * The most results a response is allowed to have. Value is {@value}.
+     */
+    static final int MAX_RESULTS = ( 1 << 20 );
+
+    /**
+     * The version of the format. Value is {@value}.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * @param in         the stream the results are read from (cannot be <code>null</code> and is not closed)
+     * @param marshaller the marshaller of the results (cannot be <code>null</code>)
+     * @param <T>        the {@link IotObject} type
+     * @return the results (never <code>null</code>)
+     * @throws IotException if the stream is not the binary format or cannot be read
+     */
+    public static < T extends IotObject > T[] read( final InputStream in,
+                                                    final BinaryMarshaller< T > marshaller ) throws IotException {
+        try {
+            final DataInputStream data = new DataInputStream( new BufferedInputStream( in ) );
+            final int version = data.readUnsignedByte();
+
+            if ( version != VERSION ) {
+                throw new IotException( "Unsupported binary format version " + version );
+            }
+
+            final int count = data.readInt();
+
+            if ( ( count < 0 ) || ( count > MAX_RESULTS ) ) {
+                throw new IotException( "Invalid number of binary results " + count );
+            }
+
+            final T[] results = marshaller.newArray( count );
+
+            for ( int i = 0;
+                  i < count;
+                  ++i ) {
+                results[ i ] = marshaller.readBinary( data );
+            }
+
+            return results;
+        } catch ( final IOException e ) {
+            throw new IotException( e );
+        }
+    }
+
+    /**
+     * @param iotObjs    the results being written (cannot be <code>null</code>)
+     * @param out        the stream the results are written to (cannot be <code>null</code> and is flushed but not closed)
+     * @param marshaller the marshaller of the results (cannot be <code>null</code>)
+     * @param <T>        the {@link IotObject} type
+     * @throws IotException if an error occurs writing
+     */
+    public static < T extends IotObject > void write( final T[] iotObjs,
+                                                      final OutputStream out,
+                                                      final BinaryMarshaller< T > marshaller ) throws IotException {
+        try {
+            final DataOutputStream data = new DataOutputStream( new BufferedOutputStream( out ) );
+            data.writeByte( VERSION );
+            data.writeInt( iotObjs.length );
+
+            for ( final T iotObj : iotObjs ) {
+                marshaller.writeBinary( iotObj, data );
+            }
+
+            data.flush();
+        } catch ( final IOException e ) {
+            throw new IotException( e );
+        }
+    }
+
+    /**
+     * @param out   the output the string is written to (cannot be <code>null</code>)
+     * @param value the string being written (can be <code>null</code> which is written as empty like a missing JSON value)
+     * @throws IOException if an error occurs writing
+     */
+    static void writeString( final DataOutput out,
+                             final String value ) throws IOException {
+        out.writeUTF( ( value == null ) ? "" : value );
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private BinaryResults() {
+        // nothing to do
+    }
+
+}
@@ -2,17 +2,20 @@ package com.redhat.iot.json;
 
 import com.redhat.iot.IotException;
 import com.redhat.iot.domain.Customer;
+import com.redhat.iot.domain.FieldLoader;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
- * Converts to/from a JSON string and a {@link Customer} object.
+ * Converts to/from a JSON string or a binary record and a {@link Customer} object.
  */
-public class CustomerMarshaller implements IotMarshaller< Customer > {
+public class CustomerMarshaller implements BinaryMarshaller< Customer > {
 
     /**
      * The JSON names that may have mappings.
@@ -54,6 +57,11 @@ public class CustomerMarshaller implements IotMarshaller< Customer > {
         // nothing to do
     }
 
+    @Override
+    public Customer[] newArray( final int size ) {
+        return ( ( size == 0 ) ? Customer.NO_CUSTOMERS : new Customer[ size ] );
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -65,92 +73,280 @@ public class CustomerMarshaller implements IotMarshaller< Customer > {
         }
     }
 
+    /**
+     * Only the fields needed to list the customer are decoded. The other fields are checked so that invalid JSON fails here, but
+     * their values are only created when one of them is first requested.
+     *
+     * @see FieldLoader
+     */
     @Override
-    public Customer toIot( final String json ) throws IotException {
-        try {
-            final JSONObject cust = new JSONObject( json );
-
-            // required
-            final int id = cust.getInt( Name.ID );
-            final String name = cust.getString( Name.NAME );
-
-            // optional
-            final String addressLine1 = ( cust.has( Name.ADDRESS_LINE_1 ) ? cust.getString( Name.ADDRESS_LINE_1 ) : "" );
-            final String addressLine2 = ( cust.has( Name.ADDRESS_LINE_2 ) ? cust.getString( Name.ADDRESS_LINE_2 ) : "" );
-            final String city = ( cust.has( Name.CITY ) ? cust.getString( Name.CITY ) : "" );
-            final String country = ( cust.has( Name.COUNTRY ) ? cust.getString( Name.COUNTRY ) : "" );
-            final int creditLimit = ( cust.has( Name.CREDIT_LIMIT ) ? cust.getInt( Name.CREDIT_LIMIT ) : -1 );
-            final String email = ( cust.has( Name.EMAIL ) ? cust.getString( Name.EMAIL ) : "" );
-            final String phone = ( cust.has( Name.PHONE ) ? cust.getString( Name.PHONE ) : "" );
-            final String postalCode = ( cust.has( Name.POSTAL_CODE ) ? cust.getString( Name.POSTAL_CODE ) : "" );
-            final String pswd = ( cust.has( Name.PASSWORD ) ? cust.getString( Name.PASSWORD ) : "" );
-            final String state = ( cust.has( Name.STATE ) ? cust.getString( Name.STATE ) : "" );
-
-            return new Customer( id,
-                                 email,
-                                 pswd,
-                                 name,
-                                 addressLine1,
-                                 addressLine2,
-                                 city,
-                                 state,
-                                 postalCode,
-                                 country,
-                                 phone,
-                                 creditLimit );
-        } catch ( final Exception e ) {
-            throw new IotException( e );
+    public Customer read( final JsonScanner scanner ) throws IotException {
+        final JsonScanner fields = scanner.fork();
+        boolean hasId = false;
+        int id = 0;
+        String name = null;
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.ID:
+                    id = scanner.nextInt();
+                    hasId = true;
+                    break;
+                case Name.NAME:
+                    name = scanner.nextString();
+                    break;
+                case Name.ADDRESS_LINE_1:
+                case Name.ADDRESS_LINE_2:
+                case Name.CITY:
+                case Name.COUNTRY:
+                case Name.EMAIL:
+                case Name.PHONE:
+                case Name.POSTAL_CODE:
+                case Name.PASSWORD:
+                case Name.STATE:
+                    scanner.skipString();
+                    break;
+                case Name.CREDIT_LIMIT:
+                    scanner.nextInt();
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
+        }
+
+        scanner.endObject();
+
+        // required
+        JsonUtils.requireValue( hasId, Name.ID );
+        JsonUtils.requireValue( ( name != null ), Name.NAME );
+
+        return new Customer( id, name, new Loader( fields ) );
+    }
+
+    @Override
+    public Customer readBinary( final DataInput in ) throws IOException {
+        return new Customer( in.readInt(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readUTF(),
+                             in.readInt() );
+    }
+
+    private static Customer readFields( final JsonScanner scanner ) throws IotException {
+        boolean hasId = false;
+        int id = 0;
+        String name = null;
+        String addressLine1 = "";
+        String addressLine2 = "";
+        String city = "";
+        String country = "";
+        int creditLimit = -1;
+        String email = "";
+        String phone = "";
+        String postalCode = "";
+        String pswd = "";
+        String state = "";
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.ID:
+                    id = scanner.nextInt();
+                    hasId = true;
+                    break;
+                case Name.NAME:
+                    name = scanner.nextString();
+                    break;
+                case Name.ADDRESS_LINE_1:
+                    addressLine1 = scanner.nextString();
+                    break;
+                case Name.ADDRESS_LINE_2:
+                    addressLine2 = scanner.nextString();
+                    break;
+                case Name.CITY:
+                    city = scanner.nextSharedString();
+                    break;
+                case Name.COUNTRY:
+                    country = scanner.nextSharedString();
+                    break;
+                case Name.CREDIT_LIMIT:
+                    creditLimit = scanner.nextInt();
+                    break;
+                case Name.EMAIL:
+                    email = scanner.nextString();
+                    break;
+                case Name.PHONE:
+                    phone = scanner.nextString();
+                    break;
+                case Name.POSTAL_CODE:
+                    postalCode = scanner.nextString();
+                    break;
+                case Name.PASSWORD:
+                    pswd = scanner.nextString();
+                    break;
+                case Name.STATE:
+                    state = scanner.nextSharedString();
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
         }
+
+        scanner.endObject();
+
+        // required
+        JsonUtils.requireValue( hasId, Name.ID );
+        JsonUtils.requireValue( ( name != null ), Name.NAME );
+
+        return new Customer( id,
+                             email,
+                             pswd,
+                             name,
+                             addressLine1,
+                             addressLine2,
+                             city,
+                             state,
+                             postalCode,
+                             country,
+                             phone,
+                             creditLimit );
+    }
+
+    @Override
+    public Customer toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
     }
 
     @Override
     public String toJson( final Customer customer ) throws IotException {
-        final Map< String, Object > map = new HashMap<>();
-        map.put( Name.ID, customer.getId() );
-        map.put( Name.NAME, customer.getName() );
+        return JsonUtils.toJson( customer, this );
+    }
+
+    @Override
+    public void toJson( final Customer customer,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( customer, writer, this );
+    }
+
+    @Override
+    public void toJsonArray( final Customer[] customers,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( customers, writer, this );
+    }
+
+    @Override
+    public void write( final Customer customer,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.ID ).value( customer.getId() );
+        writer.name( Name.NAME ).value( customer.getName() );
 
         if ( customer.getAddressLine1() != null ) {
-            map.put( Name.ADDRESS_LINE_1, customer.getAddressLine1() );
+            writer.name( Name.ADDRESS_LINE_1 ).value( customer.getAddressLine1() );
         }
 
         if ( customer.getAddressLine2() != null ) {
-            map.put( Name.ADDRESS_LINE_2, customer.getAddressLine2() );
+            writer.name( Name.ADDRESS_LINE_2 ).value( customer.getAddressLine2() );
         }
 
         if ( customer.getCity() != null ) {
-            map.put( Name.CITY, customer.getCity() );
+            writer.name( Name.CITY ).value( customer.getCity() );
         }
 
         if ( customer.getCountry() != null ) {
-            map.put( Name.COUNTRY, customer.getCountry() );
+            writer.name( Name.COUNTRY ).value( customer.getCountry() );
         }
 
         if ( customer.getCreditLimit() != -1 ) {
-            map.put( Name.CREDIT_LIMIT, customer.getCreditLimit() );
+            writer.name( Name.CREDIT_LIMIT ).value( customer.getCreditLimit() );
         }
 
         if ( customer.getEmail() != null ) {
-            map.put( Name.EMAIL, customer.getEmail() );
+            writer.name( Name.EMAIL ).value( customer.getEmail() );
         }
 
         if ( customer.getPhone() != null ) {
-            map.put( Name.PHONE, customer.getPhone() );
+            writer.name( Name.PHONE ).value( customer.getPhone() );
         }
 
         if ( customer.getPostalCode() != null ) {
-            map.put( Name.POSTAL_CODE, customer.getPostalCode() );
+            writer.name( Name.POSTAL_CODE ).value( customer.getPostalCode() );
         }
 
         if ( customer.getPswd() != null ) {
-            map.put( Name.PASSWORD, customer.getPswd() );
+            writer.name( Name.PASSWORD ).value( customer.getPswd() );
         }
 
         if ( customer.getState() != null ) {
-            map.put( Name.STATE, customer.getState() );
+            writer.name( Name.STATE ).value( customer.getState() );
+        }
+
+        writer.endObject();
+    }
+
+    @Override
+    public void writeBinary( final Customer customer,
+                             final DataOutput out ) throws IOException {
+        // same order as the constructor
+        out.writeInt( customer.getId() );
+        BinaryResults.writeString( out, customer.getEmail() );
+        BinaryResults.writeString( out, customer.getPswd() );
+        BinaryResults.writeString( out, customer.getName() );
+        BinaryResults.writeString( out, customer.getAddressLine1() );
+        BinaryResults.writeString( out, customer.getAddressLine2() );
+        BinaryResults.writeString( out, customer.getCity() );
+        BinaryResults.writeString( out, customer.getState() );
+        BinaryResults.writeString( out, customer.getPostalCode() );
+        BinaryResults.writeString( out, customer.getCountry() );
+        BinaryResults.writeString( out, customer.getPhone() );
+        out.writeInt( customer.getCreditLimit() );
+    }
+
+
+    /**
+     * Decodes all the fields of a customer from where it starts in the JSON it was read from.
+     */
+    private static final class Loader implements FieldLoader< Customer > {
+
+        private final JsonScanner scanner;
+
+        Loader( final JsonScanner scanner ) {
+            this.scanner = scanner;
+        }
+
+        @Override
+        public Customer load() {
+            try {
+                return readFields( this.scanner );
+            } catch ( final IotException e ) {
+                throw new IllegalStateException( e ); // not expected as the fields were checked when first read
+            }
         }
 
-        final JSONObject jCust = new JSONObject( map );
-        return jCust.toString();
     }
 
 }
@@ -6,8 +6,8 @@ import com.redhat.iot.domain.Department;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
  * Converts to/from a JSON string and a {@link Department} object.
@@ -45,6 +45,11 @@ public class DepartmentMarshaller implements IotMarshaller< Department > {
         // nothing to do
     }
 
+    @Override
+    public Department[] newArray( final int size ) {
+        return ( ( size == 0 ) ? Department.NO_DEPARTMENTS : new Department[ size ] );
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -57,37 +62,81 @@ public class DepartmentMarshaller implements IotMarshaller< Department > {
     }
 
     @Override
-    public Department toIot( final String json ) throws IotException {
-        try {
-            final JSONObject dept = new JSONObject( json );
+    public Department read( final JsonScanner scanner ) throws IotException {
+        boolean hasId = false;
+        long id = 0;
+        String name = null;
+        String description = "";
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.ID:
+                    id = scanner.nextLong();
+                    hasId = true;
+                    break;
+                case Name.NAME:
+                    name = scanner.nextString();
+                    break;
+                case Name.DESCRIPTION:
+                    description = scanner.nextString();
+                    break;
+                default:
+                    scanner.skipValue(); // TODO what about dimension
+                    break;
+            }
+        }
 
-            // required
-            final long id = dept.getLong( Name.ID );
-            final String name = dept.getString( Name.NAME );
+        scanner.endObject();
 
-            // optional
-            final String description = ( dept.has( Name.DESCRIPTION ) ? dept.getString( Name.DESCRIPTION ) : "" );
+        // required
+        JsonUtils.requireValue( hasId, Name.ID );
+        JsonUtils.requireValue( ( name != null ), Name.NAME );
 
-            // TODO what about dimension
+        return new Department( id, name, description );
+    }
 
-            return new Department( id, name, description );
-        } catch ( final Exception e ) {
-            throw new IotException( e );
-        }
+    @Override
+    public Department toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
     }
 
     @Override
     public String toJson( final Department department ) throws IotException {
-        final Map< String, Object > map = new HashMap<>();
-        map.put( Name.ID, department.getId() );
-        map.put( Name.NAME, department.getName() );
+        return JsonUtils.toJson( department, this );
+    }
+
+    @Override
+    public void toJson( final Department department,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( department, writer, this );
+    }
+
+    @Override
+    public void toJsonArray( final Department[] departments,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( departments, writer, this );
+    }
+
+    @Override
+    public void write( final Department department,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.ID ).value( department.getId() );
+        writer.name( Name.NAME ).value( department.getName() );
 
         if ( department.getDescription() != null ) {
-            map.put( Name.DESCRIPTION, department.getDescription() );
+            writer.name( Name.DESCRIPTION ).value( department.getDescription() );
         }
 
-        final JSONObject jDept = new JSONObject( map );
-        return jDept.toString();
+        writer.endObject();
     }
 
 }
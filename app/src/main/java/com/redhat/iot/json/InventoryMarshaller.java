@@ -6,13 +6,15 @@ import com.redhat.iot.domain.Inventory;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
- * Converts to/from a JSON string and an {@link Inventory} object.
+ * Converts to/from a JSON string or a binary record and an {@link Inventory} object.
  */
-public class InventoryMarshaller implements IotMarshaller< Inventory > {
+public class InventoryMarshaller implements BinaryMarshaller< Inventory > {
 
     /**
      * The JSON names that may have mappings.
@@ -45,6 +47,11 @@ public class InventoryMarshaller implements IotMarshaller< Inventory > {
         // nothing to do
     }
 
+    @Override
+    public Inventory[] newArray( final int size ) {
+        return ( ( size == 0 ) ? Inventory.NO_INVENTORIES : new Inventory[ size ] );
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -57,30 +64,96 @@ public class InventoryMarshaller implements IotMarshaller< Inventory > {
     }
 
     @Override
-    public Inventory toIot( final String json ) throws IotException {
-        try {
-            final JSONObject cust = new JSONObject( json );
+    public Inventory read( final JsonScanner scanner ) throws IotException {
+        boolean hasStoreId = false;
+        boolean hasProductId = false;
+        boolean hasQuantity = false;
+        int storeId = 0;
+        int productId = 0;
+        int quantity = 0;
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.STORE_ID:
+                    storeId = scanner.nextInt();
+                    hasStoreId = true;
+                    break;
+                case Name.PRODUCT_ID:
+                    productId = scanner.nextInt();
+                    hasProductId = true;
+                    break;
+                case Name.QUANTITY:
+                    quantity = scanner.nextInt();
+                    hasQuantity = true;
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
+        }
 
-            // required
-            final int storeId = cust.getInt( Name.STORE_ID );
-            final int productId = cust.getInt( Name.PRODUCT_ID );
-            final int quantity = cust.getInt( Name.QUANTITY );
+        scanner.endObject();
 
-            return new Inventory( storeId, productId, quantity );
-        } catch ( final Exception e ) {
-            throw new IotException( e );
-        }
+        // required
+        JsonUtils.requireValue( hasStoreId, Name.STORE_ID );
+        JsonUtils.requireValue( hasProductId, Name.PRODUCT_ID );
+        JsonUtils.requireValue( hasQuantity, Name.QUANTITY );
+
+        return new Inventory( storeId, productId, quantity );
+    }
+
+    @Override
+    public Inventory readBinary( final DataInput in ) throws IOException {
+        return new Inventory( in.readInt(), in.readInt(), in.readInt() );
+    }
+
+    @Override
+    public Inventory toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
     }
 
     @Override
     public String toJson( final Inventory inventory ) throws IotException {
-        final Map< String, Object > map = new HashMap<>();
-        map.put( Name.STORE_ID, inventory.getStoreId() );
-        map.put( Name.PRODUCT_ID, inventory.getProductId() );
-        map.put( Name.QUANTITY, inventory.getQuantity() );
+        return JsonUtils.toJson( inventory, this );
+    }
+
+    @Override
+    public void toJson( final Inventory inventory,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( inventory, writer, this );
+    }
 
-        final JSONObject jInventory = new JSONObject( map );
-        return jInventory.toString();
+    @Override
+    public void toJsonArray( final Inventory[] inventories,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( inventories, writer, this );
+    }
+
+    @Override
+    public void write( final Inventory inventory,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.STORE_ID ).value( inventory.getStoreId() );
+        writer.name( Name.PRODUCT_ID ).value( inventory.getProductId() );
+        writer.name( Name.QUANTITY ).value( inventory.getQuantity() );
+        writer.endObject();
+    }
+
+    @Override
+    public void writeBinary( final Inventory inventory,
+                             final DataOutput out ) throws IOException {
+        // same order as the constructor
+        out.writeInt( inventory.getStoreId() );
+        out.writeInt( inventory.getProductId() );
+        out.writeInt( inventory.getQuantity() );
     }
 
 }
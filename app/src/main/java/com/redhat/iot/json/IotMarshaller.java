@@ -5,6 +5,9 @@ import com.redhat.iot.domain.IotObject;
 
 import org.json.JSONArray;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Converts to/from a {@link IotObject} and a JSON string.
  *
@@ -19,6 +22,23 @@ public interface IotMarshaller< T extends IotObject > {
      */
     JSONArray parseJsonArray( final String json ) throws IotException;
 
+    /**
+     * @param size the size of the array being requested
+     * @return an array of the {@link IotObject} type (never <code>null</code>)
+     */
+    T[] newArray( final int size );
+
+    /**
+     * Reads the next object of the scanner. Members are matched by a switch on their names so each name is hashed once and
+     * members without a mapping are skipped. A <code>null</code> value is treated like a missing member.
+     *
+     * @param scanner the scanner positioned at the start of an object (cannot be <code>null</code>)
+     * @return the {@link IotObject IoT object} (never <code>null</code>)
+     * @throws IotException if the object is not valid or a required member is missing
+     * @see JsonUtils#readResults(String, IotMarshaller)
+     */
+    T read( final JsonScanner scanner ) throws IotException;
+
     /**
      * @param json the JSON being converted into one {@link IotObject} (cannot be empty)
      * @return the {@link IotObject IoT object}
@@ -33,4 +53,32 @@ public interface IotMarshaller< T extends IotObject > {
      */
     String toJson( final T iotObj ) throws IotException;
 
+    /**
+     * Writes the JSON representation without building a string or a {@link org.json.JSONObject} first.
+     *
+     * @param iotObj the {@link IotObject} being written (cannot be <code>null</code>)
+     * @param writer the writer the JSON is written to (cannot be <code>null</code> and is not flushed or closed)
+     * @throws IotException if an error occurs
+     */
+    void toJson( final T iotObj,
+                 final Writer writer ) throws IotException;
+
+    /**
+     * Writes a JSON array of the JSON representations one object at a time. Used to export or upload large collections.
+     *
+     * @param iotObjs the {@link IotObject}s being written (cannot be <code>null</code>)
+     * @param writer  the writer the JSON is written to (cannot be <code>null</code> and is not flushed or closed)
+     * @throws IotException if an error occurs
+     */
+    void toJsonArray( final T[] iotObjs,
+                      final Writer writer ) throws IotException;
+
+    /**
+     * @param iotObj the {@link IotObject} being written as a JSON object (cannot be <code>null</code>)
+     * @param writer the writer the JSON is written to (cannot be <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    void write( final T iotObj,
+                final JsonWriter writer ) throws IOException;
+
 }
@@ -0,0 +1,506 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.IotException;
+
+/**
+ * Reads JSON one token at a time straight from its characters so {@link com.redhat.iot.domain.IotObject}s can be built
+ * without first building {@link org.json.JSONObject}s. Like {@link org.json.JSONObject} names and strings can be unquoted or
+ * single quoted, and numbers can be written as strings, which is how OData writes decimals. Commas between members and
+ * elements are optional.
+ */
+public final class JsonScanner {
+
+    private static final int MAX_DIGITS = 18;
+    private static final String NULL = "null";
+
+    private static boolean isLiteralEnd( final char c ) {
+        return ( ( c == ',' ) || ( c == ':' ) || ( c == '}' ) || ( c == ']' ) || Character.isWhitespace( c ) );
+    }
+
+    private final String json;
+    private int pos;
+    private StringTable strings; // created when a shared string is first read
+
+    /**
+     * @param json the JSON being read (cannot be <code>null</code>)
+     */
+    public JsonScanner( final String json ) {
+        this.json = json;
+    }
+
+    private JsonScanner( final String json,
+                         final int pos,
+                         final StringTable strings ) {
+        this.json = json;
+        this.pos = pos;
+        this.strings = strings;
+    }
+
+    /**
+     * Consumes the start of an array.
+     *
+     * @throws IotException if the next token does not start an array
+     */
+    public void beginArray() throws IotException {
+        expect( '[' );
+    }
+
+    /**
+     * Consumes the start of an object.
+     *
+     * @throws IotException if the next token does not start an object
+     */
+    public void beginObject() throws IotException {
+        expect( '{' );
+    }
+
+    /**
+     * Consumes the end of an array.
+     *
+     * @throws IotException if the next token does not end an array
+     */
+    public void endArray() throws IotException {
+        expect( ']' );
+    }
+
+    /**
+     * Consumes the end of an object.
+     *
+     * @throws IotException if the next token does not end an object
+     */
+    public void endObject() throws IotException {
+        expect( '}' );
+    }
+
+    private void expect( final char c ) throws IotException {
+        if ( peek() != c ) {
+            throw syntaxError( "Expected '" + c + '\'' );
+        }
+
+        ++this.pos;
+    }
+
+    /**
+     * Used to read a value again later, for instance to decode fields when first needed. The new scanner keeps a reference to
+     * all the JSON and shares the string table of this one.
+     *
+     * @return a scanner positioned at the next value of this one (never <code>null</code>)
+     * @throws IotException if the JSON has ended
+     */
+    JsonScanner fork() throws IotException {
+        peek();
+
+        if ( this.strings == null ) {
+            this.strings = new StringTable();
+        }
+
+        return new JsonScanner( this.json, this.pos, this.strings );
+    }
+
+    /**
+     * Consumes the comma before the next member or element if there is one.
+     *
+     * @return <code>true</code> if the current object or array has another member or element
+     * @throws IotException if the JSON ends before the object or array does
+     */
+    public boolean hasNext() throws IotException {
+        char c = peek();
+
+        if ( c == ',' ) {
+            ++this.pos;
+            c = peek();
+        }
+
+        return ( ( c != '}' ) && ( c != ']' ) );
+    }
+
+    /**
+     * @return <code>true</code> if the next value is an array
+     * @throws IotException if the JSON has ended
+     */
+    public boolean isArrayNext() throws IotException {
+        return ( peek() == '[' );
+    }
+
+    /**
+     * @return the name of the next member (never <code>null</code>)
+     * @throws IotException if the next token is not a name
+     */
+    public String nextName() throws IotException {
+        final char c = peek();
+        final String name;
+
+        if ( ( c == '"' ) || ( c == '\'' ) ) {
+            name = readQuoted( c, false );
+        } else {
+            name = readLiteral();
+        }
+
+        expect( ':' );
+        return name;
+    }
+
+    /**
+     * @return the value of the next number or the number in the next string
+     * @throws IotException if the next value is not a number
+     */
+    public double nextDouble() throws IotException {
+        final String number = nextNumber();
+
+        try {
+            return Double.parseDouble( number );
+        } catch ( final NumberFormatException e ) {
+            throw syntaxError( "Invalid number '" + number + '\'' );
+        }
+    }
+
+    /**
+     * @return the value of the next number or the number in the next string
+     * @throws IotException if the next value is not a number or is out of the <code>int</code> range
+     */
+    public int nextInt() throws IotException {
+        final long value = nextLong();
+
+        if ( ( value < Integer.MIN_VALUE ) || ( value > Integer.MAX_VALUE ) ) {
+            throw syntaxError( "Number out of range " + value );
+        }
+
+        return ( int )value;
+    }
+
+    /**
+     * @return the value of the next number or the number in the next string (a fraction is dropped)
+     * @throws IotException if the next value is not a number
+     */
+    public long nextLong() throws IotException {
+        final char c = peek();
+        final boolean quoted = ( ( c == '"' ) || ( c == '\'' ) );
+        final int start = ( quoted ? ( this.pos + 1 ) : this.pos );
+        int i = start;
+        final boolean negative = ( ( i < this.json.length() ) && ( this.json.charAt( i ) == '-' ) );
+
+        if ( negative ) {
+            ++i;
+        }
+
+        // parse up to 18 digits directly as that many cannot overflow
+        final int digitsStart = i;
+        long value = 0;
+
+        while ( ( i < this.json.length() ) && ( ( i - digitsStart ) < MAX_DIGITS ) ) {
+            final char digit = this.json.charAt( i );
+
+            if ( ( digit < '0' ) || ( digit > '9' ) ) {
+                break;
+            }
+
+            value = ( ( value * 10 ) + ( digit - '0' ) );
+            ++i;
+        }
+
+        final boolean integer = ( ( i != digitsStart )
+                                  && ( i < this.json.length() )
+                                  && ( quoted ? ( this.json.charAt( i ) == c ) : isLiteralEnd( this.json.charAt( i ) ) ) );
+
+        if ( integer ) {
+            this.pos = ( quoted ? ( i + 1 ) : i );
+            return ( negative ? -value : value );
+        }
+
+        // a fraction, an exponent, or too many digits
+        return ( long )nextDouble();
+    }
+
+    /**
+     * Consumes the next value if it is <code>null</code>.
+     *
+     * @return <code>true</code> if the next value was <code>null</code>
+     * @throws IotException if the JSON has ended
+     */
+    public boolean nextNull() throws IotException {
+        peek();
+        final int end = ( this.pos + NULL.length() );
+
+        if ( this.json.startsWith( NULL, this.pos )
+             && ( ( end == this.json.length() ) || isLiteralEnd( this.json.charAt( end ) ) ) ) {
+            this.pos = end;
+            return true;
+        }
+
+        return false;
+    }
+
+    private String nextNumber() throws IotException {
+        final char c = peek();
+        return ( ( ( c == '"' ) || ( c == '\'' ) ) ? readQuoted( c, false ) : readLiteral() );
+    }
+
+    /**
+     * Like {@link #nextString()} but equal values read by this scanner are the same instance. Should be used for values that
+     * repeat across results, like cities and vendors.
+     *
+     * @return the next string or the text of the next number or literal (never <code>null</code>)
+     * @throws IotException if the next value is an object or an array
+     * @see #nextNull()
+     */
+    public String nextSharedString() throws IotException {
+        if ( this.strings == null ) {
+            this.strings = new StringTable();
+        }
+
+        return nextString( true );
+    }
+
+    /**
+     * @return the next string or the text of the next number or literal (never <code>null</code>)
+     * @throws IotException if the next value is an object or an array
+     * @see #nextNull()
+     * @see #nextSharedString()
+     */
+    public String nextString() throws IotException {
+        return nextString( false );
+    }
+
+    private String nextString( final boolean shared ) throws IotException {
+        final char c = peek();
+
+        if ( ( c == '"' ) || ( c == '\'' ) ) {
+            return readQuoted( c, shared );
+        }
+
+        if ( ( c == '{' ) || ( c == '[' ) ) {
+            throw syntaxError( "Expected a string" );
+        }
+
+        return readLiteral();
+    }
+
+    /**
+     * Skips whitespace.
+     *
+     * @return the next character
+     * @throws IotException if the JSON has ended
+     */
+    private char peek() throws IotException {
+        while ( this.pos < this.json.length() ) {
+            final char c = this.json.charAt( this.pos );
+
+            if ( !Character.isWhitespace( c ) ) {
+                return c;
+            }
+
+            ++this.pos;
+        }
+
+        throw syntaxError( "Unexpected end of JSON" );
+    }
+
+    private String readLiteral() throws IotException {
+        final int start = this.pos;
+        skipLiteral();
+        return this.json.substring( start, this.pos );
+    }
+
+    /**
+     * @param quote  the character the string starts and ends with
+     * @param shared <code>true</code> if the string should be taken from the string table
+     * @return the unescaped string (never <code>null</code>)
+     * @throws IotException if the string is not terminated or has an invalid escape
+     */
+    private String readQuoted( final char quote,
+                               final boolean shared ) throws IotException {
+        final int start = ( this.pos + 1 );
+        int i = start;
+
+        // most strings have no escapes so they are a substring
+        while ( i < this.json.length() ) {
+            final char c = this.json.charAt( i );
+
+            if ( c == quote ) {
+                this.pos = ( i + 1 );
+                return ( shared ? this.strings.get( this.json, start, i ) : this.json.substring( start, i ) );
+            }
+
+            if ( c == '\\' ) {
+                break;
+            }
+
+            ++i;
+        }
+
+        final StringBuilder builder = new StringBuilder( ( i - start ) + 16 );
+        builder.append( this.json, start, i );
+
+        while ( i < this.json.length() ) {
+            char c = this.json.charAt( i++ );
+
+            if ( c == quote ) {
+                this.pos = i;
+                return ( shared ? this.strings.get( builder.toString() ) : builder.toString() );
+            }
+
+            if ( c == '\\' ) {
+                if ( i == this.json.length() ) {
+                    break;
+                }
+
+                c = this.json.charAt( i++ );
+
+                switch ( c ) {
+                    case 'b':
+                        c = '\b';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'u':
+                        c = readUnicodeEscape( i );
+                        i += 4;
+                        break;
+                    default:
+                        break; // quotes, slashes, and anything else stand for themselves
+                }
+            }
+
+            builder.append( c );
+        }
+
+        throw syntaxError( "Unterminated string" );
+    }
+
+    /**
+     * @param start the index of the first of the four hex digits
+     * @return the character
+     * @throws IotException if there are not four hex digits
+     */
+    private char readUnicodeEscape( final int start ) throws IotException {
+        if ( ( start + 4 ) > this.json.length() ) {
+            throw syntaxError( "Invalid unicode escape" );
+        }
+
+        int c = 0;
+
+        for ( int i = start;
+              i < ( start + 4 );
+              ++i ) {
+            final int digit = Character.digit( this.json.charAt( i ), 16 );
+
+            if ( digit == -1 ) {
+                throw syntaxError( "Invalid unicode escape" );
+            }
+
+            c = ( ( c << 4 ) | digit );
+        }
+
+        return ( char )c;
+    }
+
+    private void skipLiteral() throws IotException {
+        final int start = this.pos;
+
+        while ( ( this.pos < this.json.length() ) && !isLiteralEnd( this.json.charAt( this.pos ) ) ) {
+            ++this.pos;
+        }
+
+        if ( this.pos == start ) {
+            throw syntaxError( "Expected a value" );
+        }
+    }
+
+    /**
+     * Checks the string like {@link #readQuoted(char, boolean)} does without creating it.
+     *
+     * @param quote the character the string starts and ends with
+     * @throws IotException if the string is not terminated or has an invalid escape
+     */
+    private void skipQuoted( final char quote ) throws IotException {
+        int i = ( this.pos + 1 );
+
+        while ( i < this.json.length() ) {
+            final char c = this.json.charAt( i++ );
+
+            if ( c == quote ) {
+                this.pos = i;
+                return;
+            }
+
+            if ( c == '\\' ) {
+                if ( i == this.json.length() ) {
+                    break;
+                }
+
+                if ( this.json.charAt( i++ ) == 'u' ) {
+                    readUnicodeEscape( i );
+                    i += 4;
+                }
+            }
+        }
+
+        throw syntaxError( "Unterminated string" );
+    }
+
+    /**
+     * Checks the next value is one {@link #nextString()} can read without creating the string. Used when a string is read
+     * again later.
+     *
+     * @throws IotException if the next value is an object or an array or is not a valid string
+     * @see #fork()
+     */
+    void skipString() throws IotException {
+        final char c = peek();
+
+        if ( ( c == '"' ) || ( c == '\'' ) ) {
+            skipQuoted( c );
+        } else if ( ( c == '{' ) || ( c == '[' ) ) {
+            throw syntaxError( "Expected a string" );
+        } else {
+            skipLiteral();
+        }
+    }
+
+    /**
+     * Skips the next value including all the members or elements of an object or array.
+     *
+     * @throws IotException if the value is not valid
+     */
+    public void skipValue() throws IotException {
+        final char c = peek();
+
+        if ( c == '{' ) {
+            beginObject();
+
+            while ( hasNext() ) {
+                nextName();
+                skipValue();
+            }
+
+            endObject();
+        } else if ( c == '[' ) {
+            beginArray();
+
+            while ( hasNext() ) {
+                skipValue();
+            }
+
+            endArray();
+        } else if ( ( c == '"' ) || ( c == '\'' ) ) {
+            skipQuoted( c );
+        } else {
+            skipLiteral();
+        }
+    }
+
+    private IotException syntaxError( final String message ) {
+        return new IotException( message + " at character " + this.pos );
+    }
+
+}
@@ -1,13 +1,23 @@
 package com.redhat.iot.json;
 
-import java.util.Calendar;
-import java.util.Date;
+import com.redhat.iot.IotException;
+import com.redhat.iot.domain.IotObject;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utilities used during marshalling of JSON strings to/from {@link com.redhat.iot.domain.IotObject}s.
  */
 public final class JsonUtils {
 
+    private static final String DATE_PREFIX = "/Date(";
+    private static final String DATE_SUFFIX = ")/";
+    private static final int MAX_OFFSET_DIGITS = 4;
+
     /**
      * The name of the JSON array that will be converted into {@link com.redhat.iot.domain.IotObject}s.
      */
@@ -18,25 +28,239 @@ public final class JsonUtils {
      */
     static final String RESULTS_ARRAY_PARENT = "d";
 
+    private static boolean isDigit( final char c ) {
+        return ( ( c >= '0' ) && ( c <= '9' ) );
+    }
+
     /**
+     * Parses an OData date like <code>/Date(1463360426000)/</code> without allocating. The milliseconds are UTC so a time zone
+     * offset, like the <code>+0100</code> in <code>/Date(1463360426000+0100)/</code>, is validated but does not change the date.
+     *
      * @param dateString the JSON representation of a date (cannot be <code>null</code>)
-     * @return the {@link Calendar} representation (never <code>null</code>)
+     * @return the date in milliseconds since the epoch
+     * @throws NumberFormatException if the date is not valid
+     */
+    static long parseDate( final CharSequence dateString ) {
+        final int end = ( dateString.length() - DATE_SUFFIX.length() ); // index of the suffix
+
+        if ( ( end <= DATE_PREFIX.length() )
+             || !regionMatches( dateString, 0, DATE_PREFIX )
+             || !regionMatches( dateString, end, DATE_SUFFIX ) ) {
+            throw new NumberFormatException( "Invalid date '" + dateString + '\'' );
+        }
+
+        int i = DATE_PREFIX.length();
+        final boolean negative = ( dateString.charAt( i ) == '-' );
+
+        if ( negative ) {
+            ++i;
+        }
+
+        // accumulate as a negative number so that Long.MIN_VALUE can be parsed
+        final int digitsStart = i;
+        long millis = 0;
+
+        while ( ( i < end ) && isDigit( dateString.charAt( i ) ) ) {
+            final int digit = ( dateString.charAt( i ) - '0' );
+
+            if ( millis < ( ( Long.MIN_VALUE + digit ) / 10 ) ) {
+                throw new NumberFormatException( "Date out of range '" + dateString + '\'' );
+            }
+
+            millis = ( ( millis * 10 ) - digit );
+            ++i;
+        }
+
+        if ( i == digitsStart ) {
+            throw new NumberFormatException( "Invalid date '" + dateString + '\'' );
+        }
+
+        // optional time zone offset
+        if ( i < end ) {
+            final char sign = dateString.charAt( i++ );
+            final int offsetStart = i;
+
+            while ( ( i < end ) && isDigit( dateString.charAt( i ) ) ) {
+                ++i;
+            }
+
+            if ( ( ( sign != '+' ) && ( sign != '-' ) )
+                 || ( i != end )
+                 || ( i == offsetStart )
+                 || ( ( i - offsetStart ) > MAX_OFFSET_DIGITS ) ) {
+                throw new NumberFormatException( "Invalid date '" + dateString + '\'' );
+            }
+        }
+
+        if ( negative ) {
+            return millis;
+        }
+
+        if ( millis == Long.MIN_VALUE ) {
+            throw new NumberFormatException( "Date out of range '" + dateString + '\'' );
+        }
+
+        return -millis;
+    }
+
+    /**
+     * Reads the objects of an OData result collection like <code>{ "d": { "results": [ ... ] } }</code>, or
+     * <code>{ "d": [ ... ] }</code>, as they are scanned. Other members are skipped.
+     *
+     * @param json       the JSON of the result collection (cannot be empty)
+     * @param marshaller the marshaller of the result objects (cannot be <code>null</code>)
+     * @param <T>        the {@link IotObject} type
+     * @return the result objects (never <code>null</code>)
+     * @throws IotException if the JSON is not a result collection or a result object is not valid
+     */
+    public static < T extends IotObject > T[] readResults( final String json,
+                                                           final IotMarshaller< T > marshaller ) throws IotException {
+        final JsonScanner scanner = new JsonScanner( json );
+        List< T > results = null;
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            if ( !RESULTS_ARRAY_PARENT.equals( scanner.nextName() ) ) {
+                scanner.skipValue();
+                continue;
+            }
+
+            // notifications are not wrapped in a results object
+            if ( scanner.isArrayNext() ) {
+                results = readArray( scanner, marshaller );
+                continue;
+            }
+
+            scanner.beginObject();
+
+            while ( scanner.hasNext() ) {
+                if ( RESULTS_ARRAY.equals( scanner.nextName() ) ) {
+                    results = readArray( scanner, marshaller );
+                } else {
+                    scanner.skipValue();
+                }
+            }
+
+            scanner.endObject();
+        }
+
+        scanner.endObject();
+
+        if ( results == null ) {
+            throw new IotException( "JSON does not have a result array" );
+        }
+
+        return results.toArray( marshaller.newArray( results.size() ) );
+    }
+
+    private static < T extends IotObject > List< T > readArray( final JsonScanner scanner,
+                                                               final IotMarshaller< T > marshaller ) throws IotException {
+        final List< T > results = new ArrayList<>();
+        scanner.beginArray();
+
+        while ( scanner.hasNext() ) {
+            results.add( marshaller.read( scanner ) );
+        }
+
+        scanner.endArray();
+        return results;
+    }
+
+    private static boolean regionMatches( final CharSequence text,
+                                          final int offset,
+                                          final String expected ) {
+        for ( int i = 0;
+              i < expected.length();
+              ++i ) {
+            if ( text.charAt( offset + i ) != expected.charAt( i ) ) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param found <code>true</code> if the JSON had a value for the name
+     * @param name  the JSON name of the required value (cannot be empty)
+     * @throws IotException if the value was not found
+     */
+    static void requireValue( final boolean found,
+                              final String name ) throws IotException {
+        if ( !found ) {
+            throw new IotException( "JSON does not have a value for '" + name + '\'' );
+        }
+    }
+
+    /**
+     * @param amount a currency amount with at most 2 decimal places
+     * @return the amount in cents
      */
-    static Calendar parseDate( final String dateString ) {
-        // need to strip off "/Date(" from beginning and ")/" from end
-        final String temp = dateString.substring( 6, dateString.length() - 2 );
-        final long orderDate = Long.parseLong( temp );
-        final Calendar cal = Calendar.getInstance();
-        cal.setTime( new Date( orderDate ) );
-        return cal;
+    static long toCents( final double amount ) {
+        return Math.round( amount * 100 );
     }
 
     /**
-     * @param calendar the date being converted to JSON (cannot be empty)
+     * @param millis the date being converted to JSON in milliseconds since the epoch
      * @return the JSON representation (never empty)
      */
-    public static String toJson( final Calendar calendar ) {
-        return ( "/Date(" + calendar.getTimeInMillis() + ")" );
+    public static String toJson( final long millis ) {
+        return ( DATE_PREFIX + millis + DATE_SUFFIX );
+    }
+
+    /**
+     * @param iotObj     the {@link IotObject} whose JSON representation is being requested (cannot be <code>null</code>)
+     * @param marshaller the marshaller of the object (cannot be <code>null</code>)
+     * @param <T>        the {@link IotObject} type
+     * @return the JSON representation (never empty)
+     * @throws IotException if an error occurs
+     */
+    static < T extends IotObject > String toJson( final T iotObj,
+                                                  final IotMarshaller< T > marshaller ) throws IotException {
+        final StringWriter writer = new StringWriter();
+        writeJson( iotObj, writer, marshaller );
+        return writer.toString();
+    }
+
+    /**
+     * @param iotObj     the {@link IotObject} being written (cannot be <code>null</code>)
+     * @param writer     the writer the JSON is written to (cannot be <code>null</code>)
+     * @param marshaller the marshaller of the object (cannot be <code>null</code>)
+     * @param <T>        the {@link IotObject} type
+     * @throws IotException if an error occurs writing
+     */
+    static < T extends IotObject > void writeJson( final T iotObj,
+                                                   final Writer writer,
+                                                   final IotMarshaller< T > marshaller ) throws IotException {
+        try {
+            marshaller.write( iotObj, new JsonWriter( writer ) );
+        } catch ( final IOException e ) {
+            throw new IotException( e );
+        }
+    }
+
+    /**
+     * @param iotObjs    the {@link IotObject}s being written as a JSON array (cannot be <code>null</code>)
+     * @param writer     the writer the JSON is written to (cannot be <code>null</code>)
+     * @param marshaller the marshaller of the objects (cannot be <code>null</code>)
+     * @param <T>        the {@link IotObject} type
+     * @throws IotException if an error occurs writing
+     */
+    static < T extends IotObject > void writeJsonArray( final T[] iotObjs,
+                                                        final Writer writer,
+                                                        final IotMarshaller< T > marshaller ) throws IotException {
+        try {
+            final JsonWriter jsonWriter = new JsonWriter( writer );
+            jsonWriter.beginArray();
+
+            for ( final T iotObj : iotObjs ) {
+                marshaller.write( iotObj, jsonWriter );
+            }
+
+            jsonWriter.endArray();
+        } catch ( final IOException e ) {
+            throw new IotException( e );
+        }
     }
 
     /**
@@ -0,0 +1,205 @@
+package com.redhat.iot.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes JSON one token at a time straight to a {@link Writer} so {@link com.redhat.iot.domain.IotObject}s can be written
+ * without first building {@link org.json.JSONObject}s. Commas and colons are written as needed. The writer is not flushed or
+ * closed, and as most tokens are small it should be buffered.
+ */
+public final class JsonWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private boolean afterName; // the next value is a member value
+    private boolean needsComma; // the next member or element follows another one
+    private final Writer writer;
+
+    /**
+     * @param writer the writer the JSON is written to (cannot be <code>null</code>)
+     */
+    public JsonWriter( final Writer writer ) {
+        this.writer = writer;
+    }
+
+    private void beforeValue() throws IOException {
+        if ( this.afterName ) {
+            this.afterName = false;
+        } else if ( this.needsComma ) {
+            this.writer.write( ',' );
+        }
+    }
+
+    /**
+     * @return this writer (never <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    public JsonWriter beginArray() throws IOException {
+        return begin( '[' );
+    }
+
+    /**
+     * @return this writer (never <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    public JsonWriter beginObject() throws IOException {
+        return begin( '{' );
+    }
+
+    private JsonWriter begin( final char c ) throws IOException {
+        beforeValue();
+        this.writer.write( c );
+        this.needsComma = false;
+        return this;
+    }
+
+    /**
+     * @return this writer (never <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    public JsonWriter endArray() throws IOException {
+        return end( ']' );
+    }
+
+    /**
+     * @return this writer (never <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    public JsonWriter endObject() throws IOException {
+        return end( '}' );
+    }
+
+    private JsonWriter end( final char c ) throws IOException {
+        this.writer.write( c );
+        this.needsComma = true;
+        return this;
+    }
+
+    /**
+     * @param name the name of the next member (cannot be <code>null</code>)
+     * @return this writer (never <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    public JsonWriter name( final String name ) throws IOException {
+        if ( this.needsComma ) {
+            this.writer.write( ',' );
+        }
+
+        writeQuoted( name );
+        this.writer.write( ':' );
+        this.afterName = true;
+        return this;
+    }
+
+    /**
+     * Integral numbers are written without a fraction.
+     *
+     * @param value the number being written (must be finite)
+     * @return this writer (never <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    public JsonWriter value( final double value ) throws IOException {
+        if ( Double.isNaN( value ) || Double.isInfinite( value ) ) {
+            throw new IllegalArgumentException( "JSON numbers must be finite: " + value );
+        }
+
+        final long integral = ( long )value;
+
+        if ( integral == value ) {
+            return value( integral );
+        }
+
+        beforeValue();
+        this.writer.write( Double.toString( value ) );
+        this.needsComma = true;
+        return this;
+    }
+
+    /**
+     * @param value the number being written
+     * @return this writer (never <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    public JsonWriter value( final long value ) throws IOException {
+        beforeValue();
+        this.writer.write( Long.toString( value ) );
+        this.needsComma = true;
+        return this;
+    }
+
+    /**
+     * @param value the string being written (can be <code>null</code>)
+     * @return this writer (never <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    public JsonWriter value( final String value ) throws IOException {
+        beforeValue();
+
+        if ( value == null ) {
+            this.writer.write( "null" );
+        } else {
+            writeQuoted( value );
+        }
+
+        this.needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes runs of characters that do not need escaping at once.
+     */
+    private void writeQuoted( final String value ) throws IOException {
+        this.writer.write( '"' );
+        int start = 0;
+
+        for ( int i = 0, length = value.length();
+              i < length;
+              ++i ) {
+            final char c = value.charAt( i );
+
+            if ( ( c >= ' ' ) && ( c != '"' ) && ( c != '\\' ) && ( c != '\u2028' ) && ( c != '\u2029' ) ) {
+                continue;
+            }
+
+            this.writer.write( value, start, ( i - start ) );
+            start = ( i + 1 );
+
+            switch ( c ) {
+                case '"':
+                    this.writer.write( "\\\"" );
+                    break;
+                case '\\':
+                    this.writer.write( "\\\\" );
+                    break;
+                case '\b':
+                    this.writer.write( "\\b" );
+                    break;
+                case '\f':
+                    this.writer.write( "\\f" );
+                    break;
+                case '\n':
+                    this.writer.write( "\\n" );
+                    break;
+                case '\r':
+                    this.writer.write( "\\r" );
+                    break;
+                case '\t':
+                    this.writer.write( "\\t" );
+                    break;
+                default:
+                    // other control characters and the line separators JavaScript does not allow in strings
+                    this.writer.write( "\\u" );
+                    this.writer.write( HEX_DIGITS[ ( c >> 12 ) & 0xF ] );
+                    this.writer.write( HEX_DIGITS[ ( c >> 8 ) & 0xF ] );
+                    this.writer.write( HEX_DIGITS[ ( c >> 4 ) & 0xF ] );
+                    this.writer.write( HEX_DIGITS[ c & 0xF ] );
+                    break;
+            }
+        }
+
+        this.writer.write( value, start, ( value.length() - start ) );
+        this.writer.write( '"' );
+    }
+
+}
@@ -6,6 +6,9 @@ import com.redhat.iot.domain.IotNotification;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Converts to/from a JSON string and a {@link IotNotification} object.
  */
@@ -40,6 +43,11 @@ public class NotificationMarshaller implements IotMarshaller< IotNotification >
         // nothing to do
     }
 
+    @Override
+    public IotNotification[] newArray( final int size ) {
+        return ( ( size == 0 ) ? IotNotification.NO_NOTIFICATIONS : new IotNotification[ size ] );
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -51,20 +59,63 @@ public class NotificationMarshaller implements IotMarshaller< IotNotification >
     }
 
     @Override
-    public IotNotification toIot( final String json ) throws IotException {
-        try {
-            final JSONObject jnotification = new JSONObject( json );
-            final int promoId = jnotification.getInt( Name.ID );
-            return new IotNotification( promoId );
-        } catch ( final Exception e ) {
-            throw new IotException( e );
+    public IotNotification read( final JsonScanner scanner ) throws IotException {
+        boolean hasPromoId = false;
+        int promoId = 0;
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            if ( Name.ID.equals( jsonName ) ) {
+                promoId = scanner.nextInt();
+                hasPromoId = true;
+            } else {
+                scanner.skipValue();
+            }
         }
+
+        scanner.endObject();
+
+        // required
+        JsonUtils.requireValue( hasPromoId, Name.ID );
+
+        return new IotNotification( promoId );
+    }
+
+    @Override
+    public IotNotification toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
     }
 
     @Override
     public String toJson( final IotNotification notification ) throws IotException {
-        // TODO implement toJson
-        return null;
+        return JsonUtils.toJson( notification, this );
+    }
+
+    @Override
+    public void toJson( final IotNotification notification,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( notification, writer, this );
+    }
+
+    @Override
+    public void toJsonArray( final IotNotification[] notifications,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( notifications, writer, this );
+    }
+
+    @Override
+    public void write( final IotNotification notification,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.ID ).value( notification.getPromoId() );
+        writer.endObject();
     }
 
 }
@@ -6,8 +6,8 @@ import com.redhat.iot.domain.OrderDetail;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
  * Converts to/from a JSON string and a {@link OrderDetail} object.
@@ -47,6 +47,11 @@ public class OrderDetailMarshaller implements IotMarshaller< OrderDetail > {
         // nothing to do
     }
 
+    @Override
+    public OrderDetail[] newArray( final int size ) {
+        return ( ( size == 0 ) ? OrderDetail.NO_DETAILS : new OrderDetail[ size ] );
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -59,36 +64,95 @@ public class OrderDetailMarshaller implements IotMarshaller< OrderDetail > {
     }
 
     @Override
-    public OrderDetail toIot( final String json ) throws IotException {
-        try {
-            final JSONObject orderDetail = new JSONObject( json );
+    public OrderDetail read( final JsonScanner scanner ) throws IotException {
+        boolean hasOrderId = false;
+        boolean hasProductId = false;
+        boolean hasMsrp = false;
+        boolean hasDiscount = false;
+        int orderId = 0;
+        int productId = 0;
+        long msrpCents = 0;
+        int discount = 0;
+        int quantity = 1;
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.ORDER_ID:
+                    orderId = scanner.nextInt();
+                    hasOrderId = true;
+                    break;
+                case Name.PRODUCT_ID:
+                    productId = scanner.nextInt();
+                    hasProductId = true;
+                    break;
+                case Name.MSRP:
+                    msrpCents = JsonUtils.toCents( scanner.nextDouble() );
+                    hasMsrp = true;
+                    break;
+                case Name.DISCOUNT:
+                    discount = scanner.nextInt();
+                    hasDiscount = true;
+                    break;
+                case Name.QUANTITY:
+                    quantity = scanner.nextInt();
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
+        }
 
-            // required
-            final int orderId = orderDetail.getInt( Name.ORDER_ID );
-            final int productId = orderDetail.getInt( Name.PRODUCT_ID );
-            final double msrp = orderDetail.getDouble( Name.MSRP );
-            final int discount = orderDetail.getInt( Name.DISCOUNT );
+        scanner.endObject();
 
-            // optional
-            final int quantity = ( orderDetail.has( Name.QUANTITY ) ? orderDetail.getInt( Name.QUANTITY ) : 1 );
+        // required
+        JsonUtils.requireValue( hasOrderId, Name.ORDER_ID );
+        JsonUtils.requireValue( hasProductId, Name.PRODUCT_ID );
+        JsonUtils.requireValue( hasMsrp, Name.MSRP );
+        JsonUtils.requireValue( hasDiscount, Name.DISCOUNT );
 
-            return new OrderDetail( orderId, productId, quantity, msrp, discount );
-        } catch ( final Exception e ) {
-            throw new IotException( e );
-        }
+        return new OrderDetail( orderId, productId, quantity, msrpCents, discount );
+    }
+
+    @Override
+    public OrderDetail toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
     }
 
     @Override
     public String toJson( final OrderDetail detail ) throws IotException {
-        final Map< String, Object > map = new HashMap<>();
-        map.put( Name.ORDER_ID, detail.getOrderId() );
-        map.put( Name.PRODUCT_ID, detail.getProductId() );
-        map.put( Name.MSRP, detail.getMsrp() );
-        map.put( Name.DISCOUNT, detail.getDiscount() );
-        map.put( Name.QUANTITY, detail.getQuantity() );
-
-        final JSONObject jDetail = new JSONObject( map );
-        return jDetail.toString();
+        return JsonUtils.toJson( detail, this );
+    }
+
+    @Override
+    public void toJson( final OrderDetail detail,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( detail, writer, this );
+    }
+
+    @Override
+    public void toJsonArray( final OrderDetail[] details,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( details, writer, this );
+    }
+
+    @Override
+    public void write( final OrderDetail detail,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.ORDER_ID ).value( detail.getOrderId() );
+        writer.name( Name.PRODUCT_ID ).value( detail.getProductId() );
+        writer.name( Name.MSRP ).value( detail.getMsrp() );
+        writer.name( Name.DISCOUNT ).value( detail.getDiscount() );
+        writer.name( Name.QUANTITY ).value( detail.getQuantity() );
+        writer.endObject();
     }
 
 }
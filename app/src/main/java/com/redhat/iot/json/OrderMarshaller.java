@@ -6,9 +6,8 @@ import com.redhat.iot.domain.Order;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.Calendar;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
  * Converts to/from a JSON string and a {@link Order} object.
@@ -50,6 +49,11 @@ public class OrderMarshaller implements IotMarshaller< Order > {
         // nothing to do
     }
 
+    @Override
+    public Order[] newArray( final int size ) {
+        return ( ( size == 0 ) ? Order.NO_ORDERS : new Order[ size ] );
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -62,66 +66,123 @@ public class OrderMarshaller implements IotMarshaller< Order > {
     }
 
     @Override
-    public Order toIot( final String json ) throws IotException {
-        try {
-            final JSONObject order = new JSONObject( json );
-
-            // required
-            final int id = order.getInt( Name.ID );
-            final int customerId = order.getInt( Name.CUSTOMER_ID );
-            final Calendar orderDate = JsonUtils.parseDate( order.getString( Name.ORDER_DATE ) );
-
-            // optional
-            final String comments = ( order.has( Name.COMMENTS ) ? order.getString( Name.COMMENTS ) : "" );
-            final String status = ( order.has( Name.STATUS ) ? order.getString( Name.STATUS ) : "" );
-
-            final Calendar requiredDate;
+    public Order read( final JsonScanner scanner ) throws IotException {
+        boolean hasId = false;
+        boolean hasCustomerId = false;
+        int id = 0;
+        int customerId = 0;
+        String orderDate = null;
+        String comments = "";
+        String status = "";
+        String requiredDate = null;
+        String shippedDate = null;
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
 
-            if ( order.has( Name.REQUIRED_DATE ) ) {
-                requiredDate = JsonUtils.parseDate( order.getString( Name.REQUIRED_DATE ) );
-            } else {
-                requiredDate = null;
+            switch ( jsonName ) {
+                case Name.ID:
+                    id = scanner.nextInt();
+                    hasId = true;
+                    break;
+                case Name.CUSTOMER_ID:
+                    customerId = scanner.nextInt();
+                    hasCustomerId = true;
+                    break;
+                case Name.ORDER_DATE:
+                    orderDate = scanner.nextString();
+                    break;
+                case Name.COMMENTS:
+                    comments = scanner.nextString();
+                    break;
+                case Name.STATUS:
+                    status = scanner.nextString();
+                    break;
+                case Name.REQUIRED_DATE:
+                    requiredDate = scanner.nextString();
+                    break;
+                case Name.SHIPPED_DATE:
+                    shippedDate = scanner.nextString();
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
             }
+        }
 
-            final Calendar shippedDate;
+        scanner.endObject();
 
-            if ( order.has( Name.SHIPPED_DATE ) ) {
-                shippedDate = JsonUtils.parseDate( order.getString( Name.SHIPPED_DATE ) );
-            } else {
-                shippedDate = null;
-            }
+        // required
+        JsonUtils.requireValue( hasId, Name.ID );
+        JsonUtils.requireValue( hasCustomerId, Name.CUSTOMER_ID );
+        JsonUtils.requireValue( ( orderDate != null ), Name.ORDER_DATE );
 
-            return new Order( id, comments, customerId, orderDate, requiredDate, shippedDate, status );
-        } catch ( final Exception e ) {
+        try {
+            return new Order( id,
+                              comments,
+                              customerId,
+                              JsonUtils.parseDate( orderDate ),
+                              ( ( requiredDate == null ) ? Order.NO_DATE : JsonUtils.parseDate( requiredDate ) ),
+                              ( ( shippedDate == null ) ? Order.NO_DATE : JsonUtils.parseDate( shippedDate ) ),
+                              status );
+        } catch ( final NumberFormatException e ) {
             throw new IotException( e );
         }
     }
 
+    @Override
+    public Order toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
+    }
+
     @Override
     public String toJson( final Order order ) throws IotException {
-        final Map< String, Object > map = new HashMap<>();
-        map.put( Name.ID, order.getId() );
-        map.put( Name.CUSTOMER_ID, order.getCustomerId() );
-        map.put( Name.ORDER_DATE, JsonUtils.toJson( order.getOrderDate() ) );
+        return JsonUtils.toJson( order, this );
+    }
+
+    @Override
+    public void toJson( final Order order,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( order, writer, this );
+    }
+
+    @Override
+    public void toJsonArray( final Order[] orders,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( orders, writer, this );
+    }
+
+    @Override
+    public void write( final Order order,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.ID ).value( order.getId() );
+        writer.name( Name.CUSTOMER_ID ).value( order.getCustomerId() );
+        writer.name( Name.ORDER_DATE ).value( JsonUtils.toJson( order.getOrderDate() ) );
 
         if ( order.getComments() != null ) {
-            map.put( Name.COMMENTS, order.getComments() );
+            writer.name( Name.COMMENTS ).value( order.getComments() );
         }
 
         if ( order.getStatus() != null ) {
-            map.put( Name.STATUS, order.getStatus() );
+            writer.name( Name.STATUS ).value( order.getStatus() );
         }
 
-        if ( order.getRequiredDate() != null ) {
-            map.put( Name.REQUIRED_DATE, JsonUtils.toJson( order.getRequiredDate() ) );
+        if ( order.getRequiredDate() != Order.NO_DATE ) {
+            writer.name( Name.REQUIRED_DATE ).value( JsonUtils.toJson( order.getRequiredDate() ) );
         }
 
-        if ( order.getShippedDate() != null ) {
-            map.put( Name.SHIPPED_DATE, JsonUtils.toJson( order.getShippedDate() ) );
+        if ( order.getShippedDate() != Order.NO_DATE ) {
+            writer.name( Name.SHIPPED_DATE ).value( JsonUtils.toJson( order.getShippedDate() ) );
         }
 
-        final JSONObject jProduct = new JSONObject( map );
-        return jProduct.toString();
+        writer.endObject();
     }
 
 }
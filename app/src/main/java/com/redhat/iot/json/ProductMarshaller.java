@@ -1,18 +1,21 @@
 package com.redhat.iot.json;
 
 import com.redhat.iot.IotException;
+import com.redhat.iot.domain.FieldLoader;
 import com.redhat.iot.domain.Product;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
- * Converts to/from a JSON string and a {@link Product} object.
+ * Converts to/from a JSON string or a binary record and a {@link Product} object.
  */
-public class ProductMarshaller implements IotMarshaller< Product > {
+public class ProductMarshaller implements BinaryMarshaller< Product > {
 
     /**
      * The JSON names that may have mappings.
@@ -50,6 +53,11 @@ public class ProductMarshaller implements IotMarshaller< Product > {
         // nothing to do
     }
 
+    @Override
+    public Product[] newArray( final int size ) {
+        return ( ( size == 0 ) ? Product.NO_PRODUCTS : new Product[ size ] );
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -61,55 +69,226 @@ public class ProductMarshaller implements IotMarshaller< Product > {
         }
     }
 
+    /**
+     * Only the fields needed to list the product are decoded. The other fields are checked so that invalid JSON fails here, but
+     * their values are only created when one of them is first requested.
+     *
+     * @see FieldLoader
+     */
     @Override
-    public Product toIot( final String json ) throws IotException {
-        try {
-            final JSONObject product = new JSONObject( json );
+    public Product read( final JsonScanner scanner ) throws IotException {
+        final JsonScanner fields = scanner.fork();
+        boolean hasId = false;
+        boolean hasDepartmentId = false;
+        int id = 0;
+        int departmentId = 0;
+        String name = "";
 
-            // required
-            final int id = product.getInt( Name.ID ); // must have an ID
-            final int departmentId = product.getInt( Name.DEPARTMENT_ID ); // must have a department ID
+        scanner.beginObject();
 
-            // optional
-            final String description = ( product.has( Name.DESCRIPTION ) ? product.getString( Name.DESCRIPTION ) : "" );
-            final String size = ( product.has( Name.SIZE ) ? product.getString( Name.SIZE ) : "" );
-            final String name = ( product.has( Name.NAME ) ? product.getString( Name.NAME ) : "" );
-            final String vendor = ( product.has( Name.VENDOR ) ? product.getString( Name.VENDOR ) : "" );
-            final double buyPrice = ( product.has( Name.BUY_PRICE ) ? product.getDouble( Name.BUY_PRICE ) : -1 );
-            final double msrp = ( product.has( Name.MSRP ) ? product.getDouble( Name.MSRP ) : -1 );
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
 
-            return new Product( id, departmentId, description, msrp, buyPrice, size, name, vendor );
-        } catch ( final Exception e ) {
-            throw new IotException( e );
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.ID:
+                    id = scanner.nextInt();
+                    hasId = true;
+                    break;
+                case Name.DEPARTMENT_ID:
+                    departmentId = scanner.nextInt();
+                    hasDepartmentId = true;
+                    break;
+                case Name.NAME:
+                    name = scanner.nextString();
+                    break;
+                case Name.DESCRIPTION:
+                case Name.SIZE:
+                case Name.VENDOR:
+                    scanner.skipString();
+                    break;
+                case Name.BUY_PRICE:
+                case Name.MSRP:
+                    scanner.nextDouble();
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
         }
+
+        scanner.endObject();
+
+        // required
+        JsonUtils.requireValue( hasId, Name.ID );
+        JsonUtils.requireValue( hasDepartmentId, Name.DEPARTMENT_ID );
+
+        return new Product( id, departmentId, name, new Loader( fields ) );
+    }
+
+    @Override
+    public Product readBinary( final DataInput in ) throws IOException {
+        return new Product( in.readInt(),
+                            in.readLong(),
+                            in.readUTF(),
+                            in.readDouble(),
+                            in.readDouble(),
+                            in.readUTF(),
+                            in.readUTF(),
+                            in.readUTF() );
+    }
+
+    private static Product readFields( final JsonScanner scanner ) throws IotException {
+        boolean hasId = false;
+        boolean hasDepartmentId = false;
+        int id = 0;
+        int departmentId = 0;
+        String description = "";
+        String size = "";
+        String name = "";
+        String vendor = "";
+        double buyPrice = -1;
+        double msrp = -1;
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.ID:
+                    id = scanner.nextInt();
+                    hasId = true;
+                    break;
+                case Name.DEPARTMENT_ID:
+                    departmentId = scanner.nextInt();
+                    hasDepartmentId = true;
+                    break;
+                case Name.DESCRIPTION:
+                    description = scanner.nextString();
+                    break;
+                case Name.SIZE:
+                    size = scanner.nextSharedString();
+                    break;
+                case Name.NAME:
+                    name = scanner.nextString();
+                    break;
+                case Name.VENDOR:
+                    vendor = scanner.nextSharedString();
+                    break;
+                case Name.BUY_PRICE:
+                    buyPrice = scanner.nextDouble();
+                    break;
+                case Name.MSRP:
+                    msrp = scanner.nextDouble();
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
+        }
+
+        scanner.endObject();
+
+        // required
+        JsonUtils.requireValue( hasId, Name.ID );
+        JsonUtils.requireValue( hasDepartmentId, Name.DEPARTMENT_ID );
+
+        return new Product( id, departmentId, description, msrp, buyPrice, size, name, vendor );
+    }
+
+    @Override
+    public Product toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
     }
 
     @Override
     public String toJson( final Product product ) throws IotException {
-        final Map< String, Object > map = new HashMap<>();
-        map.put( Name.ID, product.getId() );
-        map.put( Name.DEPARTMENT_ID, product.getDepartmentId() );
-        map.put( Name.BUY_PRICE, product.getBuyPrice() );
-        map.put( Name.MSRP, product.getMsrp() );
+        return JsonUtils.toJson( product, this );
+    }
+
+    @Override
+    public void toJson( final Product product,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( product, writer, this );
+    }
+
+    @Override
+    public void toJsonArray( final Product[] products,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( products, writer, this );
+    }
+
+    @Override
+    public void write( final Product product,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.ID ).value( product.getId() );
+        writer.name( Name.DEPARTMENT_ID ).value( product.getDepartmentId() );
+        writer.name( Name.BUY_PRICE ).value( product.getBuyPrice() );
+        writer.name( Name.MSRP ).value( product.getMsrp() );
 
         if ( product.getDescription() != null ) {
-            map.put( Name.DESCRIPTION, product.getDescription() );
+            writer.name( Name.DESCRIPTION ).value( product.getDescription() );
         }
 
         if ( product.getSize() != null ) {
-            map.put( Name.SIZE, product.getSize() );
+            writer.name( Name.SIZE ).value( product.getSize() );
         }
 
         if ( product.getName() != null ) {
-            map.put( Name.NAME, product.getName() );
+            writer.name( Name.NAME ).value( product.getName() );
         }
 
         if ( product.getVendor() != null ) {
-            map.put( Name.VENDOR, product.getVendor() );
+            writer.name( Name.VENDOR ).value( product.getVendor() );
+        }
+
+        writer.endObject();
+    }
+
+    @Override
+    public void writeBinary( final Product product,
+                             final DataOutput out ) throws IOException {
+        // same order as the constructor
+        out.writeInt( product.getId() );
+        out.writeLong( product.getDepartmentId() );
+        BinaryResults.writeString( out, product.getDescription() );
+        out.writeDouble( product.getMsrp() );
+        out.writeDouble( product.getBuyPrice() );
+        BinaryResults.writeString( out, product.getSize() );
+        BinaryResults.writeString( out, product.getName() );
+        BinaryResults.writeString( out, product.getVendor() );
+    }
+
+
+    /**
+     * Decodes all the fields of a product from where it starts in the JSON it was read from.
+     */
+    private static final class Loader implements FieldLoader< Product > {
+
+        private final JsonScanner scanner;
+
+        Loader( final JsonScanner scanner ) {
+            this.scanner = scanner;
+        }
+
+        @Override
+        public Product load() {
+            try {
+                return readFields( this.scanner );
+            } catch ( final IotException e ) {
+                throw new IllegalStateException( e ); // not expected as the fields were checked when first read
+            }
         }
 
-        final JSONObject jProduct = new JSONObject( map );
-        return jProduct.toString();
     }
 
 }
@@ -6,8 +6,8 @@ import com.redhat.iot.domain.Promotion;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
  * Converts to/from a JSON string and a {@link Promotion} object.
@@ -20,6 +20,7 @@ public class PromotionMarshaller implements IotMarshaller< Promotion > {
     public interface Name {
 
         String DISCOUNT = "discount";
+        String END_DATE = "endDate";
         String ID = "id";
         String PRODUCT_ID = "productId";
 
@@ -45,6 +46,11 @@ public class PromotionMarshaller implements IotMarshaller< Promotion > {
         // nothing to do
     }
 
+    @Override
+    public Promotion[] newArray( final int size ) {
+        return ( ( size == 0 ) ? Promotion.NO_PROMOTIONS : new Promotion[ size ] );
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -57,30 +63,98 @@ public class PromotionMarshaller implements IotMarshaller< Promotion > {
     }
 
     @Override
-    public Promotion toIot( final String json ) throws IotException {
-        try {
-            final JSONObject cust = new JSONObject( json );
+    public Promotion read( final JsonScanner scanner ) throws IotException {
+        boolean hasId = false;
+        boolean hasProductId = false;
+        boolean hasDiscount = false;
+        int id = 0;
+        int productId = 0;
+        double discount = 0;
+        String endDate = null;
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.ID:
+                    id = scanner.nextInt();
+                    hasId = true;
+                    break;
+                case Name.PRODUCT_ID:
+                    productId = scanner.nextInt();
+                    hasProductId = true;
+                    break;
+                case Name.DISCOUNT:
+                    discount = scanner.nextDouble();
+                    hasDiscount = true;
+                    break;
+                case Name.END_DATE:
+                    endDate = scanner.nextString();
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
+        }
 
-            // required
-            final int id = cust.getInt( Name.ID );
-            final int productId = cust.getInt( Name.PRODUCT_ID );
-            final double discount = cust.getDouble( Name.DISCOUNT );
+        scanner.endObject();
 
-            return new Promotion( id, productId, discount );
-        } catch ( final Exception e ) {
+        // required
+        JsonUtils.requireValue( hasId, Name.ID );
+        JsonUtils.requireValue( hasProductId, Name.PRODUCT_ID );
+        JsonUtils.requireValue( hasDiscount, Name.DISCOUNT );
+
+        try {
+            return new Promotion( id,
+                                  productId,
+                                  discount,
+                                  ( ( endDate == null ) ? Promotion.NO_END_DATE : JsonUtils.parseDate( endDate ) ) );
+        } catch ( final NumberFormatException e ) {
             throw new IotException( e );
         }
     }
 
+    @Override
+    public Promotion toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
+    }
+
     @Override
     public String toJson( final Promotion promotion ) throws IotException {
-        final Map< String, Object > map = new HashMap<>();
-        map.put( Name.ID, promotion.getId() );
-        map.put( Name.PRODUCT_ID, promotion.getProductId() );
-        map.put( Name.DISCOUNT, promotion.getDiscount() );
+        return JsonUtils.toJson( promotion, this );
+    }
+
+    @Override
+    public void toJson( final Promotion promotion,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( promotion, writer, this );
+    }
+
+    @Override
+    public void toJsonArray( final Promotion[] promotions,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( promotions, writer, this );
+    }
+
+    @Override
+    public void write( final Promotion promotion,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.ID ).value( promotion.getId() );
+        writer.name( Name.PRODUCT_ID ).value( promotion.getProductId() );
+        writer.name( Name.DISCOUNT ).value( promotion.getDiscount() );
+
+        if ( promotion.getEndDate() != Promotion.NO_END_DATE ) {
+            writer.name( Name.END_DATE ).value( JsonUtils.toJson( promotion.getEndDate() ) );
+        }
 
-        final JSONObject jPromo = new JSONObject( map );
-        return jPromo.toString();
+        writer.endObject();
     }
 
 }
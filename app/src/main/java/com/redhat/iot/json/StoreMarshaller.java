@@ -6,8 +6,8 @@ import com.redhat.iot.domain.Store;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
 
 /**
  * Converts to/from a JSON string and a {@link Store} object.
@@ -50,6 +50,11 @@ public class StoreMarshaller implements IotMarshaller< Store > {
         // nothing to do
     }
 
+    @Override
+    public Store[] newArray( final int size ) {
+        return new Store[ size ];
+    }
+
     @Override
     public JSONArray parseJsonArray( final String json ) throws IotException {
         try {
@@ -62,70 +67,130 @@ public class StoreMarshaller implements IotMarshaller< Store > {
     }
 
     @Override
-    public Store toIot( final String json ) throws IotException {
-        try {
-            final JSONObject store = new JSONObject( json );
-
-            // required
-            final int id = store.getInt( Name.ID );
-
-            // optional
-            final String addressLine1 = ( store.has( Name.ADDRESS_LINE_1 ) ? store.getString( Name.ADDRESS_LINE_1 ) : "" );
-            final String addressLine2 = ( store.has( Name.ADDRESS_LINE_2 ) ? store.getString( Name.ADDRESS_LINE_2 ) : "" );
-            final String city = ( store.has( Name.CITY ) ? store.getString( Name.CITY ) : "" );
-            final String country = ( store.has( Name.COUNTRY ) ? store.getString( Name.COUNTRY ) : "" );
-            final String phone = ( store.has( Name.PHONE ) ? store.getString( Name.PHONE ) : "" );
-            final String postalCode = ( store.has( Name.POSTAL_CODE ) ? store.getString( Name.POSTAL_CODE ) : "" );
-            final String state = ( store.has( Name.STATE ) ? store.getString( Name.STATE ) : "" );
-
-            return new Store( id,
-                              addressLine1,
-                              addressLine2,
-                              city,
-                              state,
-                              postalCode,
-                              country,
-                              phone );
-        } catch ( final Exception e ) {
-            throw new IotException( e );
+    public Store read( final JsonScanner scanner ) throws IotException {
+        boolean hasId = false;
+        int id = 0;
+        String addressLine1 = "";
+        String addressLine2 = "";
+        String city = "";
+        String country = "";
+        String phone = "";
+        String postalCode = "";
+        String state = "";
+
+        scanner.beginObject();
+
+        while ( scanner.hasNext() ) {
+            final String jsonName = scanner.nextName();
+
+            if ( scanner.nextNull() ) {
+                continue;
+            }
+
+            switch ( jsonName ) {
+                case Name.ID:
+                    id = scanner.nextInt();
+                    hasId = true;
+                    break;
+                case Name.ADDRESS_LINE_1:
+                    addressLine1 = scanner.nextString();
+                    break;
+                case Name.ADDRESS_LINE_2:
+                    addressLine2 = scanner.nextString();
+                    break;
+                case Name.CITY:
+                    city = scanner.nextSharedString();
+                    break;
+                case Name.COUNTRY:
+                    country = scanner.nextSharedString();
+                    break;
+                case Name.PHONE:
+                    phone = scanner.nextString();
+                    break;
+                case Name.POSTAL_CODE:
+                    postalCode = scanner.nextString();
+                    break;
+                case Name.STATE:
+                    state = scanner.nextSharedString();
+                    break;
+                default:
+                    scanner.skipValue();
+                    break;
+            }
         }
+
+        scanner.endObject();
+
+        // required
+        JsonUtils.requireValue( hasId, Name.ID );
+
+        return new Store( id,
+                          addressLine1,
+                          addressLine2,
+                          city,
+                          state,
+                          postalCode,
+                          country,
+                          phone );
+    }
+
+    @Override
+    public Store toIot( final String json ) throws IotException {
+        return read( new JsonScanner( json ) );
     }
 
     @Override
     public String toJson( final Store store ) throws IotException {
-        final Map< String, Object > map = new HashMap<>();
-        map.put( Name.ID, store.getId() );
+        return JsonUtils.toJson( store, this );
+    }
+
+    @Override
+    public void toJson( final Store store,
+                        final Writer writer ) throws IotException {
+        JsonUtils.writeJson( store, writer, this );
+    }
+
+    @Override
+    public void toJsonArray( final Store[] stores,
+                             final Writer writer ) throws IotException {
+        JsonUtils.writeJsonArray( stores, writer, this );
+    }
+
+    @Override
+    public void write( final Store store,
+                       final JsonWriter writer ) throws IOException {
+        writer.beginObject();
+        writer.name( Name.ID ).value( store.getId() );
 
         if ( store.getAddressLine1() != null ) {
-            map.put( Name.ADDRESS_LINE_1, store.getAddressLine1() );
+            writer.name( Name.ADDRESS_LINE_1 ).value( store.getAddressLine1() );
         }
 
         if ( store.getAddressLine2() != null ) {
-            map.put( Name.ADDRESS_LINE_2, store.getAddressLine2() );
+            writer.name( Name.ADDRESS_LINE_2 ).value( store.getAddressLine2() );
         }
 
         if ( store.getCity() != null ) {
-            map.put( Name.CITY, store.getCity() );
+            writer.name( Name.CITY ).value( store.getCity() );
         }
 
         if ( store.getCountry() != null ) {
-            map.put( Name.COUNTRY, store.getCountry() );
+            writer.name( Name.COUNTRY ).value( store.getCountry() );
         }
 
         if ( store.getPhone() != null ) {
-            map.put( Name.PHONE, store.getPhone() );
+            writer.name( Name.PHONE ).value( store.getPhone() );
         }
 
         if ( store.getPostalCode() != null ) {
-            map.put( Name.POSTAL_CODE, store.getPostalCode() );
+            writer.name( Name.POSTAL_CODE ).value( store.getPostalCode() );
         }
 
         if ( store.getState() != null ) {
-            map.put( Name.STATE, store.getState() );
+            writer.name( Name.STATE ).value( store.getState() );
         }
 
-        final JSONObject jCust = new JSONObject( map );
-        return jCust.toString();
+        writer.endObject();
     }
 
 }
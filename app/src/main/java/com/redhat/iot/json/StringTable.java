@@ -0,0 +1,60 @@
+package com.redhat.iot.json;
+
+/**
+ * Shares one {@link String} instance between equal values read during a decode so that text repeated across thousands of
+ * results, like cities and vendors, is kept in memory once. Values are looked up by their characters before a string is
+ * created so a repeated value costs no allocation. The table is a fixed size cache where a value replaces the one it
+ * collides with, and long values, which rarely repeat, are not shared. As the entries are immutable, using a table from
+ * more than one thread, as fields decoded when first needed may, can only lose sharing.
+ */
+final class StringTable {
+
+    static final int MAX_LENGTH = 32;
+    static final int SIZE = 512; // must be a power of 2
+
+    private final String[] entries = new String[ SIZE ];
+
+    /**
+     * @param source the characters the value is taken from (cannot be <code>null</code>)
+     * @param start  the index of the first character of the value
+     * @param end    the index after the last character of the value
+     * @return the shared instance of the value (never <code>null</code>)
+     */
+    String get( final String source,
+                final int start,
+                final int end ) {
+        final int length = ( end - start );
+
+        if ( length > MAX_LENGTH ) {
+            return source.substring( start, end );
+        }
+
+        int hash = 0;
+
+        for ( int i = start;
+              i < end;
+              ++i ) {
+            hash = ( ( 31 * hash ) + source.charAt( i ) );
+        }
+
+        final int index = ( ( hash ^ ( hash >>> 16 ) ) & ( SIZE - 1 ) );
+        final String entry = this.entries[ index ];
+
+        if ( ( entry != null ) && ( entry.length() == length ) && entry.regionMatches( 0, source, start, length ) ) {
+            return entry;
+        }
+
+        final String value = ( ( ( start == 0 ) && ( end == source.length() ) ) ? source : source.substring( start, end ) );
+        this.entries[ index ] = value;
+        return value;
+    }
+
+    /**
+     * @param value the value whose shared instance is being requested (cannot be <code>null</code>)
+     * @return the shared instance of the value (never <code>null</code>)
+     */
+    String get( final String value ) {
+        return get( value, 0, value.length() );
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.redhat.iot.notification;
+
+/**
+ * Wakes up a {@link NotificationPoller} when its next check for notifications is due.
+ */
+public interface CheckScheduler {
+
+    /**
+     * Cancels the scheduled check if there is one.
+     */
+    void cancel();
+
+    /**
+     * Replaces the scheduled check if there is one so there is never more than one wakeup pending.
+     *
+     * @param delayMillis the milliseconds to wait before calling {@link NotificationPoller#runCheck(Runnable)}
+     */
+    void schedule( final long delayMillis );
+
+}
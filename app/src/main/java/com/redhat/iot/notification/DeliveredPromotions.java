@@ -0,0 +1,265 @@
+package com.redhat.iot.notification;
+
+import com.redhat.iot.IotApp;
+import com.redhat.iot.domain.IotNotification;
+import com.redhat.iot.domain.Promotion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The promotions a customer has been notified of. Each delivered promotion is appended to a log file of fixed size records so
+ * the customer is not notified again after the app is restarted. A promotion is kept until it ends. The log is rewritten with
+ * only the promotions being kept when most of its records are for expired or repeated promotions. After the log is opened it
+ * is only written by a writer executor so adding a promotion does not wait on the file.
+ */
+public class DeliveredPromotions {
+
+    /**
+     * The number of records that can be dropped before the log is compacted even if most of its records are still used.
+     * Value is {@value}.
+     */
+    static final int COMPACT_THRESHOLD = 64;
+
+    /**
+     * The milliseconds a promotion without an end date is kept. Value is {@value}.
+     */
+    static final long DEFAULT_RETENTION = ( 30L * 24 * 60 * 60 * 1000 );
+
+    /**
+     * The name of the directory where the logs are stored. Value is {@value}.
+     */
+    static final String DIR_NAME = "delivered";
+
+    /**
+     * The bytes in a record (promotion ID then expiration). Value is {@value}.
+     */
+    static final int RECORD_SIZE = ( 4 + 8 );
+
+    /**
+     * @param promotion the promotion whose expiration is being requested (cannot be <code>null</code>)
+     * @param now       the current time
+     * @return the time the promotion can be forgotten
+     */
+    public static long getExpiration( final Promotion promotion,
+                                      final long now ) {
+        final long endDate = promotion.getEndDate();
+        return ( ( endDate == Promotion.NO_END_DATE ) ? ( now + DEFAULT_RETENTION ) : endDate );
+    }
+
+    /**
+     * Waits for the writes of previously opened logs to finish so that none of their records are missed.
+     *
+     * @param filesDir   the app files directory (cannot be <code>null</code>)
+     * @param customerId the ID of the customer whose delivered promotions are being requested
+     * @param now        the current time
+     * @param writer     the executor that writes the log (cannot be <code>null</code> and should run one task at a time)
+     * @return the customer's delivered promotions (never <code>null</code>)
+     * @throws IOException if the log cannot be read
+     */
+    public static DeliveredPromotions open( final File filesDir,
+                                            final int customerId,
+                                            final long now,
+                                            final ExecutorService writer ) throws IOException {
+        final File dir = new File( filesDir, DIR_NAME );
+
+        if ( !dir.isDirectory() && !dir.mkdirs() ) {
+            throw new IOException( "Unable to create directory " + dir );
+        }
+
+        try {
+            writer.submit( new Runnable() {
+
+                @Override
+                public void run() {
+                    // nothing to do as only waiting for earlier writes
+                }
+            } ).get();
+        } catch ( final InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IOException( "Interrupted waiting for delivered promotions to be written", e );
+        } catch ( final ExecutionException e ) {
+            throw new IOException( e );
+        }
+
+        return new DeliveredPromotions( new File( dir, ( "customer_" + customerId + ".log" ) ), now, writer );
+    }
+
+    private static void rewrite( final File file,
+                                 final ExpiringIntSet kept ) throws IOException {
+        final File temp = new File( file.getPath() + ".tmp" );
+
+        try ( final DataOutputStream out = new DataOutputStream( new BufferedOutputStream( new FileOutputStream( temp ) ) ) ) {
+            kept.writeTo( out );
+        }
+
+        if ( !temp.renameTo( file ) ) {
+            throw new IOException( "Unable to replace " + file );
+        }
+    }
+
+    private final File file;
+    private int records; // the number of records in the log once the writer is done
+    private final ExpiringIntSet promoIds;
+    private final Executor writer;
+
+    /**
+     * @param file   the log file (cannot be <code>null</code> but does not have to exist)
+     * @param now    the current time
+     * @param writer the executor that writes the log (cannot be <code>null</code> and must run one task at a time in order)
+     * @throws IOException if the log cannot be read
+     */
+    DeliveredPromotions( final File file,
+                         final long now,
+                         final Executor writer ) throws IOException {
+        this.file = file;
+        this.writer = writer;
+        this.records = ( int )( file.length() / RECORD_SIZE );
+        this.promoIds = new ExpiringIntSet( this.records );
+
+        if ( this.records != 0 ) {
+            read();
+        }
+
+        // a partial record is left if the app was stopped while writing
+        if ( ( ( file.length() % RECORD_SIZE ) != 0 ) || needsCompacting( now ) ) {
+            rewrite( file, this.promoIds ); // not left to the writer so that later records are not appended to a partial one
+            this.records = this.promoIds.size();
+        }
+    }
+
+    /**
+     * The record is written by the writer. A failed write is logged and the promotion is still remembered until the app is
+     * restarted.
+     *
+     * @param promoId   the ID of the promotion the customer was notified of
+     * @param expiresAt the time the promotion can be forgotten
+     * @param now       the current time
+     * @return <code>false</code> if the customer has already been notified of the promotion
+     * @see #getExpiration(Promotion, long)
+     */
+    public boolean add( final int promoId,
+                        final long expiresAt,
+                        final long now ) {
+        if ( this.promoIds.contains( promoId, now ) ) {
+            return false;
+        }
+
+        this.promoIds.add( promoId, expiresAt );
+        ++this.records;
+
+        if ( needsCompacting( now ) ) {
+            this.records = this.promoIds.size();
+            compact( this.promoIds.copy() ); // the writer cannot share the set with the caller
+        } else {
+            this.writer.execute( new Runnable() {
+
+                @Override
+                public void run() {
+                    try ( final DataOutputStream out = new DataOutputStream( new FileOutputStream( DeliveredPromotions.this.file,
+                                                                                                   true ) ) ) {
+                        out.writeInt( promoId );
+                        out.writeLong( expiresAt );
+                    } catch ( final IOException e ) {
+                        IotApp.logError( DeliveredPromotions.class, "add", "Unable to save delivered promotion", e );
+                    }
+                }
+            } );
+        }
+
+        return true;
+    }
+
+    /**
+     * Has the writer rewrite the log with only the promotions being kept.
+     *
+     * @param kept the promotions being kept (cannot be <code>null</code> and is not changed after this call)
+     */
+    private void compact( final ExpiringIntSet kept ) {
+        this.writer.execute( new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    rewrite( DeliveredPromotions.this.file, kept );
+                } catch ( final IOException e ) {
+                    IotApp.logError( DeliveredPromotions.class, "compact", "Unable to compact delivered promotions", e );
+                }
+            }
+        } );
+    }
+
+    /**
+     * @param promoId the ID of the promotion being checked
+     * @param now     the current time
+     * @return <code>true</code> if the customer has been notified of the promotion
+     */
+    public boolean contains( final int promoId,
+                             final long now ) {
+        return this.promoIds.contains( promoId, now );
+    }
+
+    /**
+     * @return the number of records in the log once the writer is done
+     */
+    int getRecordCount() {
+        return this.records;
+    }
+
+    /**
+     * @param now the current time
+     * @return <code>true</code> if most of the records are for expired or repeated promotions
+     */
+    private boolean needsCompacting( final long now ) {
+        this.promoIds.removeExpired( now ); // only scans once a promotion has expired
+        final int unused = ( this.records - this.promoIds.size() ); // expired or repeated
+        return ( unused >= Math.max( COMPACT_THRESHOLD, this.promoIds.size() ) );
+    }
+
+    /**
+     * @param notifications the notifications being checked (cannot be <code>null</code>)
+     * @param now           the current time
+     * @return the notifications whose promotions the customer has not been notified of (never <code>null</code>)
+     */
+    public List< IotNotification > getUndelivered( final IotNotification[] notifications,
+                                                   final long now ) {
+        final List< IotNotification > undelivered = new ArrayList<>( notifications.length );
+
+        for ( final IotNotification notification : notifications ) {
+            if ( !this.promoIds.contains( notification.getPromoId(), now ) ) {
+                undelivered.add( notification );
+            }
+        }
+
+        return undelivered;
+    }
+
+    private void read() throws IOException {
+        try ( final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( this.file ) ) ) ) {
+            for ( int i = 0;
+                  i < this.records;
+                  ++i ) {
+                this.promoIds.add( in.readInt(), in.readLong() ); // later records replace earlier ones
+            }
+        }
+    }
+
+    /**
+     * @return the number of promotions remembered including expired ones that have not been removed
+     */
+    public int size() {
+        return this.promoIds.size();
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.redhat.iot.notification;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules notification checks using an executor. Used when the platform job scheduler is not available, for instance when
+ * running on a JVM.
+ */
+public class ExecutorCheckScheduler implements CheckScheduler {
+
+    private static final Runnable NO_OP = new Runnable() {
+
+        @Override
+        public void run() {
+            // nothing to do
+        }
+    };
+
+    private final ScheduledExecutorService executor;
+    private ScheduledFuture< ? > pending; // guarded by this
+    private NotificationPoller poller;
+
+    /**
+     * @param executor the executor that runs the checks (cannot be <code>null</code>)
+     */
+    public ExecutorCheckScheduler( final ScheduledExecutorService executor ) {
+        this.executor = executor;
+    }
+
+    @Override
+    public synchronized void cancel() {
+        if ( this.pending != null ) {
+            this.pending.cancel( false );
+            this.pending = null;
+        }
+    }
+
+    @Override
+    public synchronized void schedule( final long delayMillis ) {
+        cancel();
+        this.pending = this.executor.schedule( new Runnable() {
+
+            @Override
+            public void run() {
+                ExecutorCheckScheduler.this.poller.runCheck( NO_OP );
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS );
+    }
+
+    /**
+     * Must be called before checks are scheduled.
+     *
+     * @param poller the poller whose checks are scheduled (cannot be <code>null</code>)
+     */
+    public void setPoller( final NotificationPoller poller ) {
+        this.poller = poller;
+    }
+
+}
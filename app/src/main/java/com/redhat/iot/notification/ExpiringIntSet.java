@@ -0,0 +1,215 @@
+package com.redhat.iot.notification;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A set of <code>int</code>s where each member expires at a given time. Members are kept in primitive arrays using open
+ * addressing so adding and finding members does not box or allocate. Expired members are not found but are only removed by
+ * {@link #removeExpired(long)}, which only scans the members once the earliest expiration has passed.
+ */
+public class ExpiringIntSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long FREE = Long.MIN_VALUE; // expiration of an empty slot
+
+    private static int getCapacity( final int expectedSize ) {
+        int capacity = DEFAULT_CAPACITY;
+
+        // keep at least half the slots empty
+        while ( capacity < ( expectedSize * 2 ) ) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    private static int hash( final int key ) {
+        final int h = ( key * 0x9E3779B9 );
+        return ( h ^ ( h >>> 16 ) );
+    }
+
+    private long[] expirations;
+    private int[] keys;
+    private long nextExpiration = Long.MAX_VALUE; // no member expires before this time
+    private int size;
+
+    /**
+     * Constructs an empty set.
+     */
+    public ExpiringIntSet() {
+        this( 0 );
+    }
+
+    /**
+     * @param expectedSize the number of members expected to be added
+     */
+    public ExpiringIntSet( final int expectedSize ) {
+        allocate( getCapacity( expectedSize ) );
+    }
+
+    /**
+     * If the key is already a member its expiration is replaced.
+     *
+     * @param key       the member being added
+     * @param expiresAt the time the member expires (must be greater than {@link Long#MIN_VALUE})
+     * @return <code>true</code> if the key was not a member
+     */
+    public boolean add( final int key,
+                        final long expiresAt ) {
+        final int index = find( key );
+        this.nextExpiration = Math.min( this.nextExpiration, expiresAt ); // a replaced expiration only causes an early scan
+
+        if ( this.expirations[ index ] != FREE ) {
+            this.expirations[ index ] = expiresAt;
+            return false;
+        }
+
+        this.keys[ index ] = key;
+        this.expirations[ index ] = expiresAt;
+
+        if ( ( ++this.size * 2 ) > this.keys.length ) {
+            rehash( ( this.keys.length << 1 ), FREE );
+        }
+
+        return true;
+    }
+
+    private void allocate( final int capacity ) {
+        this.keys = new int[ capacity ];
+        this.expirations = new long[ capacity ];
+
+        for ( int i = 0;
+              i < capacity;
+              ++i ) {
+            this.expirations[ i ] = FREE;
+        }
+    }
+
+    /**
+     * @return a copy of this set
+     */
+    ExpiringIntSet copy() {
+        final ExpiringIntSet copy = new ExpiringIntSet();
+        copy.keys = this.keys.clone();
+        copy.expirations = this.expirations.clone();
+        copy.nextExpiration = this.nextExpiration;
+        copy.size = this.size;
+        return copy;
+    }
+
+    /**
+     * @param key the key being checked
+     * @param now the current time
+     * @return <code>true</code> if the key is a member that has not expired
+     */
+    public boolean contains( final int key,
+                             final long now ) {
+        final long expiresAt = this.expirations[ find( key ) ];
+        return ( ( expiresAt != FREE ) && ( expiresAt > now ) );
+    }
+
+    /**
+     * @param key the key being found
+     * @return the index of the slot of the key or of the empty slot where it would be added
+     */
+    private int find( final int key ) {
+        final int mask = ( this.keys.length - 1 );
+        int index = ( hash( key ) & mask );
+
+        while ( ( this.expirations[ index ] != FREE ) && ( this.keys[ index ] != key ) ) {
+            index = ( ( index + 1 ) & mask );
+        }
+
+        return index;
+    }
+
+    /**
+     * @return no member expires before this time ({@link Long#MAX_VALUE} if empty)
+     */
+    long getNextExpiration() {
+        return this.nextExpiration;
+    }
+
+    /**
+     * @param capacity the new number of slots (must be a power of 2 and more than twice the number of members kept)
+     * @param now      members expiring at or before this time are dropped ({@link #FREE} keeps them all)
+     */
+    private void rehash( final int capacity,
+                         final long now ) {
+        final int[] oldKeys = this.keys;
+        final long[] oldExpirations = this.expirations;
+        allocate( capacity );
+        this.nextExpiration = Long.MAX_VALUE;
+        this.size = 0;
+
+        for ( int i = 0;
+              i < oldKeys.length;
+              ++i ) {
+            if ( oldExpirations[ i ] > now ) {
+                final int index = find( oldKeys[ i ] );
+                this.keys[ index ] = oldKeys[ i ];
+                this.expirations[ index ] = oldExpirations[ i ];
+                this.nextExpiration = Math.min( this.nextExpiration, oldExpirations[ i ] );
+                ++this.size;
+            }
+        }
+    }
+
+    /**
+     * Does not scan the members unless one has expired so it is cheap to call each time a member is added.
+     *
+     * @param now the current time
+     * @return the number of expired members removed
+     */
+    public int removeExpired( final long now ) {
+        if ( now < this.nextExpiration ) {
+            return 0; // nothing has expired
+        }
+
+        int live = 0;
+        long next = Long.MAX_VALUE;
+
+        for ( final long expiresAt : this.expirations ) {
+            if ( expiresAt > now ) {
+                ++live;
+                next = Math.min( next, expiresAt );
+            }
+        }
+
+        final int removed = ( this.size - live );
+
+        if ( removed == 0 ) {
+            this.nextExpiration = next; // was for a replaced expiration
+        } else {
+            rehash( getCapacity( live ), now );
+        }
+
+        return removed;
+    }
+
+    /**
+     * @return the number of members including the ones that have expired but have not been removed
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Writes each member as its key followed by its expiration.
+     *
+     * @param out the output being written to (cannot be <code>null</code>)
+     * @throws IOException if an error occurs writing
+     */
+    void writeTo( final DataOutput out ) throws IOException {
+        for ( int i = 0;
+              i < this.keys.length;
+              ++i ) {
+            if ( this.expirations[ i ] != FREE ) {
+                out.writeInt( this.keys[ i ] );
+                out.writeLong( this.expirations[ i ] );
+            }
+        }
+    }
+
+}
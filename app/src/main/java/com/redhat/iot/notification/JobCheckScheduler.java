@@ -0,0 +1,53 @@
+package com.redhat.iot.notification;
+
+import android.app.job.JobInfo;
+import android.app.job.JobScheduler;
+import android.content.ComponentName;
+import android.content.Context;
+
+/**
+ * Schedules notification checks as a platform job so they run when the app is in the background. The job may run a little
+ * late so the system can run it in the same wakeup as the jobs of other apps. Checks wait for a network connection until the
+ * latest time they can run.
+ */
+public class JobCheckScheduler implements CheckScheduler {
+
+    /**
+     * The ID of the notification check job. Value is {@value}.
+     */
+    static final int JOB_ID = 1001;
+
+    /**
+     * The delay is divided by this to get how late a check may run. Value is {@value}.
+     */
+    private static final int FLEX_DIVISOR = 4;
+
+    private final Context context;
+
+    /**
+     * @param context the application context (cannot be <code>null</code>)
+     */
+    public JobCheckScheduler( final Context context ) {
+        this.context = context;
+    }
+
+    @Override
+    public void cancel() {
+        getJobScheduler().cancel( JOB_ID );
+    }
+
+    private JobScheduler getJobScheduler() {
+        return ( JobScheduler )this.context.getSystemService( Context.JOB_SCHEDULER_SERVICE );
+    }
+
+    @Override
+    public void schedule( final long delayMillis ) {
+        final ComponentName service = new ComponentName( this.context, NotificationJobService.class );
+        final JobInfo.Builder builder = new JobInfo.Builder( JOB_ID, service );
+        builder.setMinimumLatency( delayMillis );
+        builder.setOverrideDeadline( delayMillis + ( delayMillis / FLEX_DIVISOR ) );
+        builder.setRequiredNetworkType( JobInfo.NETWORK_TYPE_ANY );
+        getJobScheduler().schedule( builder.build() ); // replaces the job if already scheduled
+    }
+
+}
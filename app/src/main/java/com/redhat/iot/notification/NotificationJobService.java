@@ -0,0 +1,29 @@
+package com.redhat.iot.notification;
+
+import android.app.job.JobParameters;
+import android.app.job.JobService;
+
+import com.redhat.iot.IotApp;
+
+/**
+ * Runs the notification checks scheduled by the {@link JobCheckScheduler}.
+ */
+public class NotificationJobService extends JobService {
+
+    @Override
+    public boolean onStartJob( final JobParameters params ) {
+        return IotApp.getNotifier().getPoller().runCheck( new Runnable() {
+
+            @Override
+            public void run() {
+                jobFinished( params, false );
+            }
+        } );
+    }
+
+    @Override
+    public boolean onStopJob( final JobParameters params ) {
+        return false; // the poller schedules the next check when the running one is done
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.redhat.iot.notification;
+
+import com.redhat.iot.concurrent.PollingInterval;
+
+/**
+ * Checks for notifications at a {@link PollingInterval adaptive interval}. A {@link CheckScheduler} wakes the poller when a
+ * check is due. Only one check runs at a time and only one wakeup is ever scheduled so requests for a check while one is
+ * running or scheduled are coalesced.
+ */
+public class NotificationPoller {
+
+    /**
+     * Checks for notifications.
+     */
+    public interface Check {
+
+        /**
+         * Starts a check. When done the check must call either {@link NotificationPoller#onChecked(int)} or
+         * {@link NotificationPoller#onFailed()}.
+         */
+        void check();
+
+    }
+
+    private final Check check;
+    private boolean checking;
+    private Runnable finished; // called when the running check is done
+    private PollingInterval interval;
+    private final CheckScheduler scheduler;
+
+    /**
+     * @param check     the check for notifications (cannot be <code>null</code>)
+     * @param scheduler the scheduler of the checks (cannot be <code>null</code>)
+     */
+    public NotificationPoller( final Check check,
+                               final CheckScheduler scheduler ) {
+        this.check = check;
+        this.scheduler = scheduler;
+    }
+
+    private void done( final long delay ) {
+        this.checking = false;
+
+        // let the wakeup end before scheduling the next one
+        final Runnable callback = this.finished;
+        this.finished = null;
+        callback.run();
+
+        if ( this.interval != null ) {
+            this.scheduler.schedule( delay );
+        }
+    }
+
+    /**
+     * @return the interval of the running poller or <code>null</code> if not running
+     */
+    public synchronized PollingInterval getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * @return <code>true</code> if checks are being scheduled
+     */
+    public synchronized boolean isRunning() {
+        return ( this.interval != null );
+    }
+
+    /**
+     * @param count the number of notifications the check found
+     */
+    public synchronized void onChecked( final int count ) {
+        if ( this.checking ) {
+            done( ( this.interval == null ) ? 0 : this.interval.onNotifications( count ) );
+        }
+    }
+
+    /**
+     * Called when a check fails.
+     */
+    public synchronized void onFailed() {
+        if ( this.checking ) {
+            done( ( this.interval == null ) ? 0 : this.interval.onError() );
+        }
+    }
+
+    /**
+     * Called by the scheduler when a check is due.
+     *
+     * @param whenFinished called when the check is done and not called if a check is not started (cannot be
+     *                     <code>null</code>)
+     * @return <code>true</code> if a check was started
+     */
+    public synchronized boolean runCheck( final Runnable whenFinished ) {
+        if ( ( this.interval == null ) || this.checking ) {
+            return false; // stopped or coalesced with the running check
+        }
+
+        this.checking = true;
+        this.finished = whenFinished;
+        this.check.check();
+        return true;
+    }
+
+    /**
+     * Checks right away and then at an interval that adapts to how often notifications are found. If already running the
+     * interval starts over.
+     *
+     * @param maxMillis the longest interval in milliseconds (must be positive)
+     */
+    public synchronized void start( final long maxMillis ) {
+        this.interval = new PollingInterval( maxMillis );
+
+        if ( !this.checking ) {
+            this.scheduler.schedule( 0 );
+        }
+    }
+
+    /**
+     * Stops scheduling checks. A running check is allowed to finish.
+     *
+     * @return the interval of the stopped poller or <code>null</code> if it was not running
+     */
+    public synchronized PollingInterval stop() {
+        final PollingInterval stopped = this.interval;
+        this.interval = null;
+        this.scheduler.cancel();
+        return stopped;
+    }
+
+}
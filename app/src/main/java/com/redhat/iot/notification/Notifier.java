@@ -0,0 +1,324 @@
+package com.redhat.iot.notification;
+
+import android.app.Notification;
+import android.app.NotificationManager;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.SharedPreferences.OnSharedPreferenceChangeListener;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.v4.app.NotificationCompat.Builder;
+import android.support.v4.app.NotificationCompat.InboxStyle;
+import android.util.Log;
+
+import com.redhat.iot.DataProvider;
+import com.redhat.iot.IotApp;
+import com.redhat.iot.IotConstants;
+import com.redhat.iot.IotConstants.Prefs;
+import com.redhat.iot.R.string;
+import com.redhat.iot.concurrent.NotificationCallback;
+import com.redhat.iot.concurrent.NotificationStream;
+import com.redhat.iot.concurrent.PollingInterval;
+import com.redhat.iot.domain.Customer;
+import com.redhat.iot.domain.IotNotification;
+import com.redhat.iot.domain.Promotion;
+import com.redhat.iot.view.PromotionRow;
+import com.redhat.iot.view.RowCallback;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the logged in customer a notification when a promotion they may be interested in is available. Lives as long as the
+ * app so notifications keep coming when the app is in the background and when activities are recreated. Notifications are
+ * pushed by the server when it can and otherwise checked for by a {@link NotificationPoller poller} whose checks are run by
+ * the platform job scheduler. All methods are called on the main thread.
+ */
+public class Notifier implements NotificationPoller.Check, NotificationStream.Listener, OnSharedPreferenceChangeListener {
+
+    private final Context context;
+    private DeliveredPromotions delivered; // of the customer notifications are started for
+    private final ExecutorService deliveredWriter = Executors.newSingleThreadExecutor(); // writes delivered promotions
+    private final Handler handler = new Handler( Looper.getMainLooper() );
+    private final Executor mainExecutor = new Executor() {
+
+        @Override
+        public void execute( final Runnable task ) {
+            Notifier.this.handler.post( task );
+        }
+    };
+    private final AtomicInteger notificationId = new AtomicInteger();
+    private NotificationStream notificationStream;
+    private final NotificationPoller poller;
+
+    /**
+     * @param context the application context (cannot be <code>null</code>)
+     */
+    public Notifier( final Context context ) {
+        this.context = context;
+        this.poller = new NotificationPoller( this, new JobCheckScheduler( context ) );
+    }
+
+    @Override
+    public void check() {
+        final int custId = IotApp.getCustomerId();
+
+        if ( custId == Customer.UNKNOWN_USER ) {
+            // paused until a customer logs in and notifications are restarted
+            Log.d( IotConstants.LOG_TAG, "pausing notification polling as no customer is logged in" );
+            stopPolling();
+            this.poller.onChecked( 0 );
+            return;
+        }
+
+        DataProvider.get().getNotifications( custId, new NotificationHandler() );
+    }
+
+    private String getMessage( final PromotionRow row ) {
+        return this.context.getString( string.notification_message,
+                                       row.getProductName(),
+                                       row.getPromotion().getDiscount() );
+    }
+
+    /**
+     * @return the poller used when the server cannot push notifications (never <code>null</code>)
+     */
+    public NotificationPoller getPoller() {
+        return this.poller;
+    }
+
+    /**
+     * Starts sending notifications to the logged in customer if notifications are enabled. Should be called once when the app
+     * is created. Preference changes start, restart, and stop notifications after that.
+     */
+    public void init() {
+        final SharedPreferences prefs = IotApp.getPrefs();
+        prefs.registerOnSharedPreferenceChangeListener( this );
+        onSharedPreferenceChanged( prefs, Prefs.ENABLE_NOTIFICATIONS );
+    }
+
+    @Override
+    public void onNotifications( final IotNotification[] notifications ) {
+        sendNotifications( notifications );
+    }
+
+    @Override
+    public void onSharedPreferenceChanged( final SharedPreferences sharedPreferences,
+                                           final String key ) {
+        if ( Prefs.ENABLE_NOTIFICATIONS.equals( key ) ) {
+            Log.d( IotConstants.LOG_TAG, ( "Enable notifications preference changed" ) );
+            final boolean enable = sharedPreferences.getBoolean( Prefs.ENABLE_NOTIFICATIONS,
+                                                                 Prefs.DEFAULT_ENABLE_NOTIFICATIONS );
+
+            if ( enable ) {
+                start();
+            } else {
+                stop();
+            }
+        } else if ( Prefs.NOTIFICATION_INTERVAL.equals( key ) ) {
+            Log.d( IotConstants.LOG_TAG, ( "Notifications interval preference changed" ) );
+
+            if ( this.poller.isRunning() ) {
+                startPolling();
+            }
+        } else if ( Prefs.CUSTOMER_ID.equals( key ) ) {
+            Log.d( IotConstants.LOG_TAG, ( "Customer preference changed" ) );
+
+            // stream and delivered promotions are for one customer so start over
+            onSharedPreferenceChanged( sharedPreferences, Prefs.ENABLE_NOTIFICATIONS );
+        }
+    }
+
+    @Override
+    public void onUnavailable( final Exception error ) {
+        IotApp.logError( Notifier.class, "onUnavailable", "Notification stream unavailable so polling", error );
+        this.notificationStream = null;
+        startPolling();
+    }
+
+    private void publishNotifications( final List< PromotionRow > rows ) {
+        // don't send if a customer is not logged in
+        final int custId = IotApp.getCustomerId();
+
+        if ( ( custId == Customer.UNKNOWN_USER ) || ( this.delivered == null ) ) {
+            IotApp.logError( Notifier.class, "publishNotifications", "No customer logged in", null );
+            return;
+        }
+
+        // remember the promotions the customer received (another check may have sent some of them already)
+        final long now = System.currentTimeMillis();
+        final List< PromotionRow > unsent = new ArrayList<>( rows.size() );
+
+        for ( final PromotionRow row : rows ) {
+            final Promotion promotion = row.getPromotion();
+
+            if ( this.delivered.add( promotion.getId(), DeliveredPromotions.getExpiration( promotion, now ), now ) ) {
+                unsent.add( row );
+            }
+        }
+
+        if ( unsent.isEmpty() ) {
+            return;
+        }
+
+        // create one notification for all the promotions
+        final PromotionRow first = unsent.get( 0 );
+        final Builder builder = new Builder( this.context );
+        builder.setSmallIcon( first.getImageId() );
+        builder.setGroup( IotConstants.NOTIFIER_GROUP );
+
+        if ( unsent.size() == 1 ) {
+            builder.setContentTitle( this.context.getString( string.notification_title, first.getDeptName() ) );
+            builder.setContentText( getMessage( first ) );
+        } else {
+            final String title = this.context.getString( string.notification_summary_title, unsent.size() );
+            final InboxStyle style = new InboxStyle();
+            style.setBigContentTitle( title );
+
+            for ( final PromotionRow row : unsent ) {
+                style.addLine( getMessage( row ) );
+            }
+
+            builder.setContentTitle( title );
+            builder.setContentText( getMessage( first ) );
+            builder.setNumber( unsent.size() );
+            builder.setGroupSummary( true );
+            builder.setStyle( style );
+        }
+
+        final Notification alert = builder.build();
+
+        // send
+        final NotificationManager mgr = ( NotificationManager )this.context.getSystemService( Context.NOTIFICATION_SERVICE );
+        final int alertId = this.notificationId.getAndIncrement();
+        Log.d( IotConstants.LOG_TAG,
+               MessageFormat.format( "Sending IoT Notification {0} to customer {1} for {2} promotion(s)",
+                                     alertId,
+                                     custId,
+                                     unsent.size() ) );
+        mgr.notify( alertId, alert );
+    }
+
+    /**
+     * @param results the notifications found (can be <code>null</code> or empty)
+     * @return the number of notifications sent which does not include those whose promotions were already delivered
+     */
+    private int sendNotifications( final IotNotification[] results ) {
+        if ( ( results == null ) || ( results.length == 0 ) ) {
+            return 0;
+        }
+
+        if ( this.delivered == null ) {
+            return 0; // notifications were stopped
+        }
+
+        // don't send if already received the promotion
+        final int custId = IotApp.getCustomerId();
+        final List< IotNotification > unsent = this.delivered.getUndelivered( results, System.currentTimeMillis() );
+
+        if ( unsent.isEmpty() ) {
+            Log.d( IotConstants.LOG_TAG, "Not sending IoT Notifications because customer " + custId
+                + " has already received all " + results.length + " promotion(s)" );
+            return 0;
+        }
+
+        // need to find the promotions, products, and product departments to send the notification
+        final RowCallback< PromotionRow > callback = new RowCallback< PromotionRow >() {
+
+            @Override
+            public void onSuccess( final List< PromotionRow > rows ) {
+                publishNotifications( rows );
+            }
+        };
+
+        DataProvider.get().getNotificationRows( unsent.toArray( new IotNotification[ unsent.size() ] ), callback );
+        return unsent.size();
+    }
+
+    private void start() {
+        stop();
+        final int custId = IotApp.getCustomerId();
+
+        if ( custId == Customer.UNKNOWN_USER ) {
+            return; // started again when a customer logs in
+        }
+
+        try {
+            this.delivered = DeliveredPromotions.open( this.context.getFilesDir(),
+                                                        custId,
+                                                        System.currentTimeMillis(),
+                                                        this.deliveredWriter );
+        } catch ( final IOException e ) {
+            // without knowing what was delivered the customer would be notified again so don't notify
+            IotApp.logError( Notifier.class, "start", "Unable to load delivered promotions", e );
+            return;
+        }
+
+        this.notificationStream = NotificationStream.create( custId, this.mainExecutor, this );
+
+        if ( this.notificationStream == null ) {
+            startPolling();
+        } else {
+            Log.d( IotConstants.LOG_TAG, "starting notification stream" );
+            this.notificationStream.start();
+        }
+    }
+
+    private void startPolling() {
+        Log.d( IotConstants.LOG_TAG, "starting notification polling" );
+        final int interval = IotApp.getPrefs().getInt( Prefs.NOTIFICATION_INTERVAL,
+                                                       Prefs.DEFAULT_NOTIFICATION_INTERVAL );
+        this.poller.start( interval );
+    }
+
+    private void stop() {
+        if ( this.notificationStream != null ) {
+            Log.d( IotConstants.LOG_TAG, "stopping notification stream" );
+            this.notificationStream.stop();
+            this.notificationStream = null;
+        }
+
+        stopPolling();
+        this.delivered = null;
+    }
+
+    private void stopPolling() {
+        final PollingInterval interval = this.poller.stop();
+
+        if ( interval != null ) {
+            Log.d( IotConstants.LOG_TAG, ( "stopping notification polling: " + interval ) );
+        }
+    }
+
+    /**
+     * Sends the notifications found by a check and tells the poller the check is done.
+     */
+    private class NotificationHandler extends NotificationCallback {
+
+        @Override
+        public void onFailure( final Exception error ) {
+            IotApp.logError( Notifier.class, "onFailure", "Notification check failed", error );
+            Notifier.this.poller.onFailed();
+        }
+
+        @Override
+        public void onFailure( final String errorMsg ) {
+            IotApp.logError( Notifier.class, "onFailure", errorMsg, null );
+            Notifier.this.poller.onFailed();
+        }
+
+        @Override
+        public void onSuccess( final IotNotification[] results ) {
+            // promotions still active are found again by each check so only count the ones not already delivered
+            Notifier.this.poller.onChecked( sendNotifications( results ) );
+        }
+
+    }
+
+}
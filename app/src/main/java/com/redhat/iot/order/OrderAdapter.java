@@ -4,7 +4,6 @@ import android.content.Context;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.RecyclerView.Adapter;
 import android.support.v7.widget.RecyclerView.ViewHolder;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.View.OnClickListener;
@@ -13,48 +12,68 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import android.widget.Toast;
 
-import com.redhat.iot.DataProvider;
-import com.redhat.iot.IotConstants;
+import com.redhat.iot.DayFormatter;
 import com.redhat.iot.R.id;
 import com.redhat.iot.R.layout;
 import com.redhat.iot.R.string;
-import com.redhat.iot.concurrent.ProductCallback;
 import com.redhat.iot.domain.Order;
 import com.redhat.iot.domain.OrderDetail;
-import com.redhat.iot.domain.Product;
+import com.redhat.iot.image.FrameMonitor;
+import com.redhat.iot.image.ImageLoader;
+import com.redhat.iot.view.OrderRow;
 
-import java.util.Calendar;
+import java.util.List;
 
 /**
  * An adapter for displaying collections of {@link Order}s.
  */
 class OrderAdapter extends Adapter {
 
+    private final OnClickListener clickListener = new OnClickListener() {
+
+        @Override
+        public void onClick( final View orderView ) {
+            handleOrderClicked( orderView );
+        }
+
+    };
+
     private final Context context;
+    private final FrameMonitor frameMonitor = new FrameMonitor( "Orders" );
     private final LayoutInflater inflater;
-    private final Order[] orders;
     private RecyclerView recyclerView;
+    private List< OrderRow > rows;
 
+    /**
+     * @param c    a context for use within this adapter (cannot be <code>null</code>)
+     * @param rows the order rows (cannot be <code>null</code>)
+     */
     public OrderAdapter( final Context c,
-                         final Order[] orders ) {
+                         final List< OrderRow > rows ) {
         this.context = c;
         this.inflater = LayoutInflater.from( this.context );
-        this.orders = orders;
+        this.rows = rows;
+        setHasStableIds( true );
     }
 
     @Override
     public int getItemCount() {
-        return this.orders.length;
+        return this.rows.size();
     }
 
     @Override
     public long getItemId( final int position ) {
-        return position;
+        return this.rows.get( position ).getOrder().getId();
+    }
+
+    @Override
+    public int getItemViewType( final int position ) {
+        return layout.order;
     }
 
     private void handleOrderClicked( final View orderView ) {
         final int index = this.recyclerView.getChildLayoutPosition( orderView );
-        final Order order = this.orders[ index ];
+        final Order order = this.rows.get( index ).getOrder();
         Toast.makeText( this.context, "Order: " + order.getId(), Toast.LENGTH_SHORT ).show();
     }
 
@@ -62,42 +81,37 @@ class OrderAdapter extends Adapter {
     public void onAttachedToRecyclerView( final RecyclerView recyclerView ) {
         super.onAttachedToRecyclerView( recyclerView );
         this.recyclerView = recyclerView;
+        this.recyclerView.addOnScrollListener( this.frameMonitor );
     }
 
     @Override
     public void onBindViewHolder( final ViewHolder viewHolder,
                                   final int position ) {
         final OrderViewHolder holder = ( OrderViewHolder )viewHolder;
-        final Order order = this.orders[ position ];
+        final OrderRow row = this.rows.get( position );
+        final Order order = row.getOrder();
+        this.frameMonitor.recordBind();
+        holder.itemView.setOnClickListener( this.clickListener );
 
         // set order ID
         holder.tvId.setText( this.context.getString( string.order_id, order.getId() ) );
 
         // set order date
-        final Calendar calendar = order.getOrderDate();
-        IotConstants.DATE_FORMATTER.setCalendar( calendar );
-        final String formatted = IotConstants.DATE_FORMATTER.format( calendar.getTime() );
-        holder.tvDate.setText( formatted );
+        holder.tvDate.setText( DayFormatter.get().format( order.getOrderDate() ) );
 
         // details
         final OrderDetail[] details = order.getDetails();
 
-        if ( details.length == 0 ) {
-            Log.e( IotConstants.LOG_TAG,
-                   "Order " + order.getId() + " does not have any order details" );
+        // set order image and description based on first item
+        if ( row.getImageId() == 0 ) {
+            ImageLoader.get().clear( holder.ivOrder );
             holder.ivOrder.setImageResource( 0 );
-            holder.tvDescription.setText( "" );
         } else {
-            final int productId = details[ 0 ].getProductId();
-            DataProvider.get().findProduct( productId, new ProductCallback() {
-
-                @Override
-                public void onSuccess( final Product[] results ) {
-                    setDataOnBind( holder, results[ 0 ] );
-                }
-            } );
+            ImageLoader.get().load( row.getImageId(), holder.ivOrder );
         }
 
+        holder.tvDescription.setText( row.getDescription() );
+
         // set number of items in order
         if ( details.length > 1 ) {
             holder.tvNumItems.setText( this.context.getString( string.order_num_additional, ( details.length - 1 ) ) );
@@ -116,16 +130,30 @@ class OrderAdapter extends Adapter {
         return new OrderViewHolder( view );
     }
 
-    private void setDataOnBind( final OrderViewHolder holder,
-                                final Product firstProduct ) {
-        // set order image based on first item
-        holder.ivOrder.setImageResource( firstProduct.getImageId() );
+    @Override
+    public void onDetachedFromRecyclerView( final RecyclerView recyclerView ) {
+        recyclerView.removeOnScrollListener( this.frameMonitor );
+        this.frameMonitor.stop();
+        super.onDetachedFromRecyclerView( recyclerView );
+    }
+
+    @Override
+    public void onViewRecycled( final ViewHolder viewHolder ) {
+        ImageLoader.get().clear( ( ( OrderViewHolder )viewHolder ).ivOrder );
+        super.onViewRecycled( viewHolder );
+    }
 
-        // set order description based on first item
-        holder.tvDescription.setText( firstProduct.getDescription() );
+    /**
+     * Cards that are still displaying the same order are not rebound.
+     *
+     * @param newRows the order rows (cannot be <code>null</code>)
+     */
+    void setRows( final List< OrderRow > newRows ) {
+        this.rows = newRows;
+        notifyDataSetChanged();
     }
 
-    private class OrderViewHolder extends ViewHolder {
+    private static class OrderViewHolder extends ViewHolder {
 
         private final ImageView ivOrder;
         private final TextView tvDate;
@@ -143,15 +171,6 @@ class OrderAdapter extends Adapter {
             this.tvId = ( TextView )orderView.findViewById( id.orderId );
             this.tvNumItems = ( TextView )orderView.findViewById( id.orderNumItems );
             this.tvPrice = ( TextView )orderView.findViewById( id.orderPrice );
-
-            orderView.setOnClickListener( new OnClickListener() {
-
-                @Override
-                public void onClick( final View orderView ) {
-                    handleOrderClicked( orderView );
-                }
-
-            } );
         }
 
     }
@@ -3,7 +3,6 @@ package com.redhat.iot.order;
 import android.app.Activity;
 import android.app.Fragment;
 import android.os.Bundle;
-import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -12,11 +11,19 @@ import android.widget.TextView;
 
 import com.redhat.iot.DataProvider;
 import com.redhat.iot.IotApp;
+import com.redhat.iot.MainActivity;
 import com.redhat.iot.R.id;
 import com.redhat.iot.R.layout;
-import com.redhat.iot.concurrent.OrderCallback;
+import com.redhat.iot.R.string;
 import com.redhat.iot.domain.Customer;
 import com.redhat.iot.domain.Order;
+import com.redhat.iot.domain.OrderSummary;
+import com.redhat.iot.view.ListViews;
+import com.redhat.iot.view.OrderRow;
+import com.redhat.iot.view.RowCallback;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * A screen for displaying the {@link Order} history of the logged in {@link Customer}.
@@ -24,8 +31,10 @@ import com.redhat.iot.domain.Order;
 public class OrdersFragment extends Fragment {
 
     private Activity activity;
+    private OrderAdapter adapter;
     private TextView emptyView;
     private RecyclerView ordersView;
+    private TextView summaryView;
 
     /**
      * Constructs an {@link Order}s screen.
@@ -42,14 +51,15 @@ public class OrdersFragment extends Fragment {
         final int customerId = IotApp.getCustomerId();
 
         if ( customerId == Customer.UNKNOWN_USER ) {
-            setDataOnCreated( Order.NO_ORDERS );
+            setDataOnCreated( Collections.< OrderRow >emptyList() );
         } else {
             // obtain customer orders and create adapter
-            DataProvider.get().getOrders( customerId, new OrderCallback() {
+            DataProvider.get().getOrderRows( customerId, new RowCallback< OrderRow >() {
 
                 @Override
-                public void onSuccess( final Order[] results ) {
-                    setDataOnCreated( results );
+                public void onSuccess( final List< OrderRow > rows ) {
+                    setDataOnCreated( rows );
+                    setSummary( DataProvider.get().getOrderSummary( customerId ) );
                 }
             } );
         }
@@ -64,22 +74,31 @@ public class OrdersFragment extends Fragment {
         final View view = inflater.inflate( layout.orders, parent, false );
         this.emptyView = ( TextView )view.findViewById( id.tv_no_orders );
         this.ordersView = ( RecyclerView )view.findViewById( id.orderHistory );
+        this.summaryView = ( TextView )view.findViewById( id.tv_order_summary );
 
-        final OrderAdapter adapter = new OrderAdapter( this.activity, Order.NO_ORDERS );
-        this.ordersView.setAdapter( adapter );
-        this.ordersView.setLayoutManager( new GridLayoutManager( this.activity, 1 ) );
+        this.adapter = new OrderAdapter( this.activity, Collections.< OrderRow >emptyList() );
+        ListViews.setUp( this.ordersView, this.adapter, ( ( MainActivity )this.activity ).getViewPool(), layout.order );
 
         return view;
     }
 
-    private void setDataOnCreated( final Order[] orders ) {
-        final boolean noOrders = ( orders.length == 0 );
+    private void setDataOnCreated( final List< OrderRow > orders ) {
+        final boolean noOrders = orders.isEmpty();
         this.ordersView.setVisibility( noOrders ? View.GONE : View.VISIBLE );
         this.emptyView.setVisibility( noOrders ? View.VISIBLE : View.GONE );
 
-        final OrderAdapter adapter = new OrderAdapter( this.activity, orders );
-        this.ordersView.setAdapter( adapter );
-        adapter.notifyDataSetChanged();
+        this.adapter.setRows( orders );
+    }
+
+    private void setSummary( final OrderSummary summary ) {
+        if ( summary.getOrderCount() == 0 ) {
+            this.summaryView.setVisibility( View.GONE );
+        } else {
+            this.summaryView.setText( getString( string.order_summary,
+                                                 summary.getOrderCount(),
+                                                 ( summary.getLifetimeSpendCents() / 100.0 ) ) );
+            this.summaryView.setVisibility( View.VISIBLE );
+        }
     }
 
 }
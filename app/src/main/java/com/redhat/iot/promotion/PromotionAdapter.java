@@ -5,7 +5,6 @@ import android.support.v7.widget.CardView;
 import android.support.v7.widget.RecyclerView;
 import android.support.v7.widget.RecyclerView.Adapter;
 import android.support.v7.widget.RecyclerView.ViewHolder;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.View.OnClickListener;
@@ -15,28 +14,37 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import com.redhat.iot.DataProvider;
-import com.redhat.iot.IotConstants;
 import com.redhat.iot.R.id;
 import com.redhat.iot.R.layout;
 import com.redhat.iot.R.string;
-import com.redhat.iot.concurrent.DepartmentCallback;
-import com.redhat.iot.concurrent.ProductCallback;
-import com.redhat.iot.concurrent.PromotionCallback;
-import com.redhat.iot.domain.Department;
-import com.redhat.iot.domain.Product;
 import com.redhat.iot.domain.Promotion;
+import com.redhat.iot.image.FrameMonitor;
+import com.redhat.iot.image.ImageLoader;
+import com.redhat.iot.view.PromotionRow;
+import com.redhat.iot.view.RowCallback;
 
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * An adapter for displaying collections of {@link Promotion}s.
  */
 class PromotionAdapter extends Adapter {
 
+    private final OnClickListener clickListener = new OnClickListener() {
+
+        @Override
+        public void onClick( final View promotionView ) {
+            handlePromotionClicked( promotionView );
+        }
+
+    };
+
     private final Context context;
+    private final FrameMonitor frameMonitor = new FrameMonitor( "Promotions" );
     private final LayoutInflater inflater;
-    private Promotion[] promotions;
     private RecyclerView recyclerView;
+    private List< PromotionRow > rows; // sorted by department name
 
     /**
      * @param c a context for use within this adapter (cannot be <code>null</code>)
@@ -44,26 +52,28 @@ class PromotionAdapter extends Adapter {
     public PromotionAdapter( final Context c ) {
         this.context = c;
         this.inflater = LayoutInflater.from( this.context );
-        this.promotions = Promotion.NO_PROMOTIONS;
+        this.rows = Collections.emptyList();
+        setHasStableIds( true );
     }
 
     @Override
     public int getItemCount() {
-        return this.promotions.length;
+        return this.rows.size();
     }
 
     @Override
     public long getItemId( final int position ) {
-        return position;
+        return this.rows.get( position ).getPromotion().getId();
     }
 
-    private Promotion getPromotion( final int index ) {
-        return this.promotions[ index ];
+    @Override
+    public int getItemViewType( final int position ) {
+        return layout.promotion;
     }
 
     private void handlePromotionClicked( final View promotionView ) {
         final int index = this.recyclerView.getChildLayoutPosition( promotionView );
-        final Promotion promotion = getPromotion( index );
+        final Promotion promotion = this.rows.get( index ).getPromotion();
         Toast.makeText( this.context, "Promotion: " + promotion.getId(), Toast.LENGTH_SHORT ).show();
     }
 
@@ -71,21 +81,25 @@ class PromotionAdapter extends Adapter {
     public void onAttachedToRecyclerView( final RecyclerView recyclerView ) {
         super.onAttachedToRecyclerView( recyclerView );
         this.recyclerView = recyclerView;
+        this.recyclerView.addOnScrollListener( this.frameMonitor );
     }
 
     @Override
     public void onBindViewHolder( final ViewHolder promotionHolder,
                                   final int position ) {
         final PromotionViewHolder holder = ( PromotionViewHolder )promotionHolder;
-        final Promotion promotion = getPromotion( position );
-        DataProvider.get().findProduct( promotion.getProductId(), new ProductCallback() {
-
-            @Override
-            public void onSuccess( final Product[] results ) {
-                final Product product = ( ( ( results == null ) || results.length != 1 ) ? null : results[ 0 ] );
-                setDataOnBind( holder, product, promotion );
-            }
-        } );
+        final PromotionRow row = this.rows.get( position );
+        this.frameMonitor.recordBind();
+        holder.itemView.setOnClickListener( this.clickListener );
+
+        // set card background color for the product department
+        holder.view.setCardBackgroundColor( row.getDeptColor() );
+
+        ImageLoader.get().load( row.getImageId(), holder.ivItem );
+        holder.tvDept.setText( row.getDeptName() );
+        holder.tvSalePrice.setText( this.context.getString( string.deal_sale_price, row.getSalePrice() ) );
+        holder.tvOriginalPrice.setText( this.context.getString( string.deal_original_price, row.getMsrp() ) );
+        holder.tvDescription.setText( row.getProductDescription() );
     }
 
     @Override
@@ -95,66 +109,38 @@ class PromotionAdapter extends Adapter {
         return new PromotionViewHolder( promotionView );
     }
 
-    private void refreshPromotions( final Promotion[] newPromotions ) {
-        this.promotions = ( ( newPromotions == null ) ? Promotion.NO_PROMOTIONS : newPromotions );
-        Arrays.sort( this.promotions, Promotion.DEPT__NAME_SORTER );
-        notifyDataSetChanged();
+    @Override
+    public void onDetachedFromRecyclerView( final RecyclerView recyclerView ) {
+        recyclerView.removeOnScrollListener( this.frameMonitor );
+        this.frameMonitor.stop();
+        super.onDetachedFromRecyclerView( recyclerView );
     }
 
-    private void setDataOnBind( final PromotionViewHolder holder,
-                                final Department department ) {
-        holder.tvDept.setText( department.getName() );
+    @Override
+    public void onViewRecycled( final ViewHolder viewHolder ) {
+        ImageLoader.get().clear( ( ( PromotionViewHolder )viewHolder ).ivItem );
+        super.onViewRecycled( viewHolder );
     }
 
-    private void setDataOnBind( final PromotionViewHolder holder,
-                                final Product product,
-                                final Promotion promotion ) {
-        if ( product == null ) {
-            Log.e( IotConstants.LOG_TAG,
-                   "Product " + promotion.getProductId() + " was not found for promotion " + promotion.getId() );
-        } else {
-            // set card background color for the product department
-            holder.view.setCardBackgroundColor( DataProvider.get().getDepartmentColor( product.getDepartmentId() ) );
-
-            // set product image
-            holder.ivItem.setImageResource( product.getImageId() );
-
-            // set product department
-            DataProvider.get().findDepartment( product.getDepartmentId(), new DepartmentCallback() {
-
-                @Override
-                public void onSuccess( final Department[] results ) {
-                    setDataOnBind( holder, results[ 0 ] );
-                }
-            } );
-
-            // set product sale price
-            final double discount = ( product.getMsrp() * ( promotion.getDiscount() / 100 ) );
-            final double salePrice = ( product.getMsrp() - discount );
-            holder.tvSalePrice.setText( this.context.getString( string.deal_sale_price, salePrice ) );
-
-            // set product original price
-            holder.tvOriginalPrice.setText( this.context.getString( string.deal_original_price, product.getMsrp() ) );
-
-            // set product description
-            holder.tvDescription.setText( product.getDescription() );
-        }
+    private void refreshPromotions( final List< PromotionRow > newRows ) {
+        this.rows = newRows;
+        notifyDataSetChanged();
     }
 
     /**
      * @param departmentIds the IDs of the departments whose promotions should be shown (can be <code>null</code>)
      */
     void setFilter( final Long... departmentIds ) {
-        DataProvider.get().findPromotions( new PromotionCallback() {
+        DataProvider.get().getPromotionRows( new RowCallback< PromotionRow >() {
 
             @Override
-            public void onSuccess( final Promotion[] results ) {
-                refreshPromotions( results );
+            public void onSuccess( final List< PromotionRow > rows ) {
+                refreshPromotions( rows );
             }
         }, departmentIds );
     }
 
-    private class PromotionViewHolder extends ViewHolder {
+    private static class PromotionViewHolder extends ViewHolder {
 
         private final ImageView ivItem;
         private final TextView tvDept;
@@ -172,15 +158,6 @@ class PromotionAdapter extends Adapter {
             this.tvDescription = ( TextView )promotionlView.findViewById( id.dealDescription );
             this.tvSalePrice = ( TextView )promotionlView.findViewById( id.dealSalePrice );
             this.tvOriginalPrice = ( TextView )promotionlView.findViewById( id.dealOriginalPrice );
-
-            promotionlView.setOnClickListener( new OnClickListener() {
-
-                @Override
-                public void onClick( final View promotionView ) {
-                    handlePromotionClicked( promotionView );
-                }
-
-            } );
         }
 
     }
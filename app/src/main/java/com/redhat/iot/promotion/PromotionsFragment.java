@@ -7,7 +7,6 @@ import android.content.SharedPreferences.Editor;
 import android.content.res.ColorStateList;
 import android.graphics.PorterDuff.Mode;
 import android.os.Bundle;
-import android.support.v7.widget.GridLayoutManager;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -21,10 +20,12 @@ import android.widget.TableRow.LayoutParams;
 import com.redhat.iot.DataProvider;
 import com.redhat.iot.IotApp;
 import com.redhat.iot.IotConstants.Prefs;
+import com.redhat.iot.MainActivity;
 import com.redhat.iot.R.id;
 import com.redhat.iot.R.layout;
 import com.redhat.iot.concurrent.DepartmentCallback;
 import com.redhat.iot.domain.Department;
+import com.redhat.iot.view.ListViews;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -106,8 +107,7 @@ public class PromotionsFragment extends Fragment implements OnClickListener {
         this.adapter = new PromotionAdapter( this.activity );
         this.adapter.setFilter( filter.toArray( new Long[ filter.size() ] ) );
         final RecyclerView rview = ( RecyclerView )promotionsView.findViewById( id.gridDeals );
-        rview.setAdapter( this.adapter );
-        rview.setLayoutManager( new GridLayoutManager( this.activity, 1 ) );
+        ListViews.setUp( rview, this.adapter, ( ( MainActivity )this.activity ).getViewPool(), layout.promotion );
     }
 
     @Override
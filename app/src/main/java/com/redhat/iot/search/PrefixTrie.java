@@ -0,0 +1,184 @@
+package com.redhat.iot.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A case-folded prefix trie of search terms used to suggest completions as the user types. Each term is reachable from the start
+ * of every word it contains, so "sling" suggests "Beach sling". Suggestions are ordered by how many times a term was added and
+ * the ranked suggestions of a prefix are cached until another term is added below it.
+ */
+public class PrefixTrie {
+
+    /**
+     * An empty collection of suggestions.
+     */
+    public static final String[] NO_SUGGESTIONS = new String[ 0 ];
+
+    /**
+     * Sorts {@link Term terms} by highest weight and then by text.
+     */
+    private static final Comparator< Term > RANK_SORTER = new Comparator< Term >() {
+
+        @Override
+        public int compare( final Term thisTerm,
+                            final Term thatTerm ) {
+            final int result = Integer.compare( thatTerm.weight, thisTerm.weight );
+
+            if ( result == 0 ) {
+                return thisTerm.text.compareTo( thatTerm.text );
+            }
+
+            return result;
+        }
+    };
+
+    private final Node root = new Node();
+    private final Map< String, Term > terms = new HashMap<>(); // key=case-folded text
+
+    /**
+     * Adding the same term again (ignoring case) increases its rank.
+     *
+     * @param text the term being added (can be <code>null</code> or empty)
+     */
+    public void add( final String text ) {
+        if ( ( text == null ) || text.trim().isEmpty() ) {
+            return;
+        }
+
+        final String trimmed = text.trim();
+        final String folded = trimmed.toLowerCase( Locale.ROOT );
+        Term term = this.terms.get( folded );
+
+        if ( term == null ) {
+            term = new Term( trimmed );
+            this.terms.put( folded, term );
+        }
+
+        ++term.weight;
+
+        // index from the start of each word
+        for ( int i = 0;
+              i < folded.length();
+              ++i ) {
+            final boolean wordStart = ( ( i == 0 ) || !Character.isLetterOrDigit( folded.charAt( i - 1 ) ) );
+
+            if ( wordStart && Character.isLetterOrDigit( folded.charAt( i ) ) ) {
+                insert( folded, i, term );
+            }
+        }
+    }
+
+    /**
+     * Removes all terms.
+     */
+    public void clear() {
+        this.root.children.clear();
+        this.root.terms.clear();
+        this.root.ranked = null;
+        this.terms.clear();
+    }
+
+    private void insert( final String key,
+                         final int start,
+                         final Term term ) {
+        Node node = this.root;
+
+        for ( int i = start;
+              i < key.length();
+              ++i ) {
+            final char c = key.charAt( i );
+            Node child = node.children.get( c );
+
+            if ( child == null ) {
+                child = new Node();
+                node.children.put( c, child );
+            }
+
+            child.terms.add( term );
+            child.ranked = null; // rank again on next lookup
+            node = child;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if no terms have been added
+     */
+    public boolean isEmpty() {
+        return this.terms.isEmpty();
+    }
+
+    /**
+     * @param prefix the text typed so far (can be <code>null</code> or empty)
+     * @param limit  the maximum number of suggestions
+     * @return the best matching terms (never <code>null</code> but can be empty)
+     */
+    public String[] suggest( final String prefix,
+                             final int limit ) {
+        if ( ( prefix == null ) || ( limit <= 0 ) ) {
+            return NO_SUGGESTIONS;
+        }
+
+        final String folded = prefix.trim().toLowerCase( Locale.ROOT );
+
+        if ( folded.isEmpty() ) {
+            return NO_SUGGESTIONS;
+        }
+
+        Node node = this.root;
+
+        for ( int i = 0;
+              ( node != null ) && ( i < folded.length() );
+              ++i ) {
+            node = node.children.get( folded.charAt( i ) );
+        }
+
+        if ( node == null ) {
+            return NO_SUGGESTIONS;
+        }
+
+        if ( node.ranked == null ) {
+            final List< Term > ranked = new ArrayList<>( node.terms );
+            Collections.sort( ranked, RANK_SORTER );
+            node.ranked = ranked;
+        }
+
+        final int size = Math.min( limit, node.ranked.size() );
+        final String[] result = new String[ size ];
+
+        for ( int i = 0;
+              i < size;
+              ++i ) {
+            result[ i ] = node.ranked.get( i ).text;
+        }
+
+        return result;
+    }
+
+    private static class Node {
+
+        private final Map< Character, Node > children = new HashMap<>();
+        private List< Term > ranked; // null when terms have changed since last lookup
+        private final Set< Term > terms = new HashSet<>(); // all terms at or below this node
+
+    }
+
+    private static class Term {
+
+        private final String text;
+        private int weight;
+
+        Term( final String text ) {
+            this.text = text;
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.redhat.iot.search;
+
+import com.redhat.iot.domain.Product;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * An inverted index of the words found in the name, description, vendor, and department name of {@link Product}s. Words are
+ * case-folded when indexed and a query keyword matches every indexed word it is a prefix of.
+ */
+public class ProductIndex {
+
+    /**
+     * Indicates how the results of multiple query keywords are combined.
+     */
+    public enum Match {
+
+        /**
+         * A product must match every keyword.
+         */
+        ALL,
+
+        /**
+         * A product must match at least one keyword.
+         */
+        ANY
+
+    }
+
+    /**
+     * @param text the text being split into case-folded words (can be <code>null</code> or empty)
+     * @return the words (never <code>null</code> but can be empty)
+     */
+    static List< String > tokenize( final String text ) {
+        if ( ( text == null ) || text.isEmpty() ) {
+            return Collections.emptyList();
+        }
+
+        final List< String > words = new ArrayList<>();
+        final String folded = text.toLowerCase( Locale.ROOT );
+        int start = -1;
+
+        for ( int i = 0;
+              i < folded.length();
+              ++i ) {
+            if ( Character.isLetterOrDigit( folded.charAt( i ) ) ) {
+                if ( start == -1 ) {
+                    start = i;
+                }
+            } else if ( start != -1 ) {
+                words.add( folded.substring( start, i ) );
+                start = -1;
+            }
+        }
+
+        if ( start != -1 ) {
+            words.add( folded.substring( start ) );
+        }
+
+        return words;
+    }
+
+    private final NavigableMap< String, Set< Integer > > postings = new TreeMap<>(); // key=word, value=product IDs
+
+    /**
+     * @param product  the product being indexed (cannot be <code>null</code>)
+     * @param deptName the name of the product's department (can be <code>null</code> or empty)
+     */
+    public void add( final Product product,
+                     final String deptName ) {
+        final int productId = product.getId();
+        index( product.getName(), productId );
+        index( product.getDescription(), productId );
+        index( product.getVendor(), productId );
+        index( deptName, productId );
+    }
+
+    /**
+     * Removes all indexed words.
+     */
+    public void clear() {
+        this.postings.clear();
+    }
+
+    private void index( final String text,
+                        final int productId ) {
+        for ( final String word : tokenize( text ) ) {
+            Set< Integer > productIds = this.postings.get( word );
+
+            if ( productIds == null ) {
+                productIds = new TreeSet<>();
+                this.postings.put( word, productIds );
+            }
+
+            productIds.add( productId );
+        }
+    }
+
+    /**
+     * @return <code>true</code> if nothing has been indexed
+     */
+    public boolean isEmpty() {
+        return this.postings.isEmpty();
+    }
+
+    private Set< Integer > prefixMatches( final String prefix ) {
+        final Set< Integer > result = new TreeSet<>();
+        final Collection< Set< Integer > > matches =
+            this.postings.subMap( prefix, true, ( prefix + Character.MAX_VALUE ), false ).values();
+
+        for ( final Set< Integer > productIds : matches ) {
+            result.addAll( productIds );
+        }
+
+        return result;
+    }
+
+    /**
+     * @param match    indicates if a product must match all or any of the keywords (cannot be <code>null</code>)
+     * @param keywords the query keywords (can be <code>null</code> or empty)
+     * @return the IDs of the matching products in ascending order (never <code>null</code> but can be empty)
+     */
+    public Set< Integer > search( final Match match,
+                                  final String... keywords ) {
+        final Set< Integer > result = new TreeSet<>();
+
+        if ( keywords == null ) {
+            return result;
+        }
+
+        boolean first = true;
+
+        for ( final String keyword : keywords ) {
+            for ( final String word : tokenize( keyword ) ) {
+                final Set< Integer > matches = prefixMatches( word );
+
+                if ( match == Match.ANY ) {
+                    result.addAll( matches );
+                } else if ( first ) {
+                    result.addAll( matches );
+                } else {
+                    result.retainAll( matches );
+                }
+
+                first = false;
+
+                // no need to look at remaining keywords
+                if ( ( match == Match.ALL ) && result.isEmpty() ) {
+                    return result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+}
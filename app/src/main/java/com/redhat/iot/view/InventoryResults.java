@@ -0,0 +1,116 @@
+package com.redhat.iot.view;
+
+import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.domain.Product;
+
+import java.util.Arrays;
+
+/**
+ * The {@link Inventory inventory} found by a search. Only the IDs of the matching {@link Product products} and the number of
+ * inventory rows each has are kept, so that the rows of a page are looked up in the inventory cache when they are displayed.
+ * Rows are ordered by product and then by store.
+ */
+public final class InventoryResults {
+
+    /**
+     * Receives the results of an inventory search.
+     */
+    public interface Callback {
+
+        /**
+         * Called on the main thread.
+         *
+         * @param results the results (never <code>null</code> but can be empty)
+         */
+        void onSuccess( final InventoryResults results );
+
+    }
+
+    /**
+     * Results with no inventory.
+     */
+    public static final InventoryResults NONE = new InventoryResults( new int[ 0 ], new int[ 0 ] );
+
+    private final int[] productIds; // sorted
+    private final int[] starts; // position of the first row of each product followed by the number of rows
+
+    /**
+     * @param productIds the IDs of the products with inventory sorted from lowest to highest (cannot be <code>null</code>)
+     * @param counts     the number of inventory rows of each product (cannot be <code>null</code>, must be the same length as
+     *                   the product IDs, and each count must be positive)
+     */
+    public InventoryResults( final int[] productIds,
+                             final int[] counts ) {
+        this.productIds = productIds;
+        this.starts = new int[ productIds.length + 1 ];
+
+        for ( int i = 0;
+              i < counts.length;
+              ++i ) {
+            this.starts[ i + 1 ] = ( this.starts[ i ] + counts[ i ] );
+        }
+    }
+
+    /**
+     * @param index the index of the product
+     * @return the number of inventory rows of the product
+     */
+    public int getCount( final int index ) {
+        return ( this.starts[ index + 1 ] - this.starts[ index ] );
+    }
+
+    /**
+     * @param position the position of an inventory row (must be less than the {@link #size() size})
+     * @return the index of the product the row belongs to
+     */
+    public int getIndex( final int position ) {
+        final int index = Arrays.binarySearch( this.starts, 0, this.productIds.length, position );
+
+        if ( index >= 0 ) {
+            return index; // first row of the product
+        }
+
+        return ( -( index + 1 ) - 1 );
+    }
+
+    /**
+     * @param index the index of the product
+     * @return the product ID
+     */
+    public int getProductId( final int index ) {
+        return this.productIds[ index ];
+    }
+
+    /**
+     * @return the number of products with inventory
+     */
+    public int getProductCount() {
+        return this.productIds.length;
+    }
+
+    /**
+     * @param index the index of the product
+     * @return the position of the first inventory row of the product
+     */
+    public int getStart( final int index ) {
+        return this.starts[ index ];
+    }
+
+    /**
+     * @param position the position of an inventory row (must be less than the {@link #size() size})
+     * @return an ID made from the product ID and the index of the row within the product's rows that is known whether or not
+     * the row's inventory has been looked up
+     */
+    public long getRowId( final int position ) {
+        final int index = getIndex( position );
+        return ( ( ( long )this.productIds[ index ] << 32 ) | ( position - this.starts[ index ] ) );
+    }
+
+    /**
+     * @return the number of inventory rows
+     */
+    public int size() {
+        return this.starts[ this.productIds.length ];
+    }
+
+}
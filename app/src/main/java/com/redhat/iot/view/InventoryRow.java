@@ -0,0 +1,111 @@
+package com.redhat.iot.view;
+
+import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.domain.Product;
+
+import java.util.Objects;
+
+/**
+ * An {@link Inventory inventory} joined with what is needed to display it.
+ */
+public class InventoryRow {
+
+    private final int deptColor;
+    private final int imageId;
+    private final Inventory inventory;
+    private final String productDescription;
+    private final String productName;
+
+    /**
+     * @param inventory the inventory (cannot be <code>null</code>)
+     * @param product   the inventory product (can be <code>null</code> if not found)
+     * @param deptColor the color of the product department
+     */
+    public InventoryRow( final Inventory inventory,
+                         final Product product,
+                         final int deptColor ) {
+        this.inventory = inventory;
+        this.deptColor = deptColor;
+
+        if ( product == null ) {
+            this.imageId = 0;
+            this.productDescription = null;
+            this.productName = null;
+        } else {
+            this.imageId = product.getImageId();
+            this.productDescription = product.getDescription();
+            this.productName = product.getName();
+        }
+    }
+
+    @Override
+    public boolean equals( final Object o ) {
+        if ( this == o ) {
+            return true;
+        }
+
+        if ( ( o == null ) || ( getClass() != o.getClass() ) ) {
+            return false;
+        }
+
+        final InventoryRow that = ( InventoryRow )o;
+        return ( ( this.deptColor == that.deptColor )
+            && ( this.imageId == that.imageId )
+            && this.inventory.equals( that.inventory )
+            && Objects.equals( this.productDescription, that.productDescription )
+            && Objects.equals( this.productName, that.productName ) );
+    }
+
+    /**
+     * @return the color of the product department
+     */
+    public int getDeptColor() {
+        return this.deptColor;
+    }
+
+    /**
+     * @return the product image resource ID or zero if the product was not found
+     */
+    public int getImageId() {
+        return this.imageId;
+    }
+
+    /**
+     * @return the inventory (never <code>null</code>)
+     */
+    public Inventory getInventory() {
+        return this.inventory;
+    }
+
+    /**
+     * @return the product description or <code>null</code> if the product was not found
+     */
+    public String getProductDescription() {
+        return this.productDescription;
+    }
+
+    /**
+     * @return the product name or <code>null</code> if the product was not found
+     */
+    public String getProductName() {
+        return this.productName;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash( this.deptColor, this.imageId, this.inventory, this.productDescription, this.productName );
+    }
+
+    /**
+     * @return <code>true</code> if the inventory product was found
+     */
+    public boolean isProductFound() {
+        return ( this.productName != null );
+    }
+
+    @Override
+    public String toString() {
+        return ( "InventoryRow: " + this.inventory + ", productName = " + this.productName );
+    }
+
+}
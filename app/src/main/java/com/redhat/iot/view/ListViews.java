@@ -0,0 +1,70 @@
+package com.redhat.iot.view;
+
+import android.content.Context;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.RecyclerView.Adapter;
+import android.support.v7.widget.RecyclerView.RecycledViewPool;
+import android.support.v7.widget.RecyclerView.State;
+
+/**
+ * Sets up the card lists so that their view holders are reused as much as possible. Lists share a view pool for the life of the
+ * activity so a list being shown again does not inflate new cards. Rows are laid out before being scrolled into view so their
+ * images have started loading by the time they are visible.
+ */
+public final class ListViews {
+
+    /**
+     * The number of cards scrolled off screen that are kept bound and can be shown again without rebinding.
+     */
+    static final int ITEM_VIEW_CACHE_SIZE = 4;
+
+    /**
+     * The number of cards of each view type kept in the shared pool.
+     */
+    static final int MAX_RECYCLED_VIEWS = 12;
+
+    /**
+     * The adapter's view types must identify the layout of its cards so that cards of different lists are never mixed in the
+     * shared pool. The adapter must not hold state in its view holders other than views.
+     *
+     * @param view     the list being set up (cannot be <code>null</code>)
+     * @param adapter  the adapter of the list (cannot be <code>null</code>)
+     * @param pool     the pool shared by the lists of the activity (cannot be <code>null</code>)
+     * @param viewType the view type of the adapter's cards
+     */
+    public static void setUp( final RecyclerView view,
+                              final Adapter adapter,
+                              final RecycledViewPool pool,
+                              final int viewType ) {
+        pool.setMaxRecycledViews( viewType, MAX_RECYCLED_VIEWS );
+        view.setRecycledViewPool( pool );
+        view.setItemViewCacheSize( ITEM_VIEW_CACHE_SIZE );
+        view.setLayoutManager( new PrefetchLayoutManager( view.getContext() ) );
+        view.setAdapter( adapter );
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private ListViews() {
+        // nothing to do
+    }
+
+    /**
+     * A vertical list that lays out half a screen of rows beyond the visible rows.
+     */
+    private static class PrefetchLayoutManager extends LinearLayoutManager {
+
+        PrefetchLayoutManager( final Context context ) {
+            super( context );
+        }
+
+        @Override
+        protected int getExtraLayoutSpace( final State state ) {
+            return ( getHeight() / 2 );
+        }
+
+    }
+
+}
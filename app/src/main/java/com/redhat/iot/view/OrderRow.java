@@ -0,0 +1,60 @@
+package com.redhat.iot.view;
+
+import com.redhat.iot.domain.Order;
+import com.redhat.iot.domain.Product;
+
+/**
+ * An {@link Order order} joined with what is needed to display it. The order image and description come from the product of
+ * the first order detail.
+ */
+public class OrderRow {
+
+    private final String description;
+    private final int imageId;
+    private final Order order;
+
+    /**
+     * @param order        the order (cannot be <code>null</code>)
+     * @param firstProduct the product of the first order detail (can be <code>null</code> if the order has no details or the
+     *                     product was not found)
+     */
+    public OrderRow( final Order order,
+                     final Product firstProduct ) {
+        this.order = order;
+
+        if ( firstProduct == null ) {
+            this.description = "";
+            this.imageId = 0;
+        } else {
+            this.description = firstProduct.getDescription();
+            this.imageId = firstProduct.getImageId();
+        }
+    }
+
+    /**
+     * @return the description of the first product (never <code>null</code> but can be empty)
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * @return the image resource ID of the first product or zero if there isn't one
+     */
+    public int getImageId() {
+        return this.imageId;
+    }
+
+    /**
+     * @return the order (never <code>null</code>)
+     */
+    public Order getOrder() {
+        return this.order;
+    }
+
+    @Override
+    public String toString() {
+        return ( "OrderRow: " + this.order );
+    }
+
+}
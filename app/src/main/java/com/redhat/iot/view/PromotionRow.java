@@ -0,0 +1,109 @@
+package com.redhat.iot.view;
+
+import com.redhat.iot.domain.Department;
+import com.redhat.iot.domain.Product;
+import com.redhat.iot.domain.Promotion;
+
+/**
+ * A {@link Promotion promotion} joined with what is needed to display it.
+ */
+public class PromotionRow {
+
+    /**
+     * The department color of a row that is not displayed in a list, such as the row of a notification. Value is {@value}.
+     */
+    public static final int NO_COLOR = -1;
+
+    private final int deptColor;
+    private final String deptName;
+    private final int imageId;
+    private final double msrp;
+    private final String productDescription;
+    private final String productName;
+    private final Promotion promotion;
+    private final double salePrice;
+
+    /**
+     * @param promotion  the promotion (cannot be <code>null</code>)
+     * @param product    the product on sale (cannot be <code>null</code>)
+     * @param department the product department (can be <code>null</code> if not found)
+     * @param deptColor  the color of the product department
+     */
+    public PromotionRow( final Promotion promotion,
+                         final Product product,
+                         final Department department,
+                         final int deptColor ) {
+        this.promotion = promotion;
+        this.deptColor = deptColor;
+        this.deptName = ( ( department == null ) ? "" : department.getName() );
+        this.imageId = product.getImageId();
+        this.msrp = product.getMsrp();
+        this.productDescription = product.getDescription();
+        this.productName = product.getName();
+
+        final double discount = ( this.msrp * ( promotion.getDiscount() / 100 ) );
+        this.salePrice = ( this.msrp - discount );
+    }
+
+    /**
+     * @return the color of the product department
+     */
+    public int getDeptColor() {
+        return this.deptColor;
+    }
+
+    /**
+     * @return the name of the product department (never <code>null</code> but can be empty)
+     */
+    public String getDeptName() {
+        return this.deptName;
+    }
+
+    /**
+     * @return the product image resource ID
+     */
+    public int getImageId() {
+        return this.imageId;
+    }
+
+    /**
+     * @return the product msrp
+     */
+    public double getMsrp() {
+        return this.msrp;
+    }
+
+    /**
+     * @return the product description
+     */
+    public String getProductDescription() {
+        return this.productDescription;
+    }
+
+    /**
+     * @return the product name
+     */
+    public String getProductName() {
+        return this.productName;
+    }
+
+    /**
+     * @return the promotion (never <code>null</code>)
+     */
+    public Promotion getPromotion() {
+        return this.promotion;
+    }
+
+    /**
+     * @return the discounted product price
+     */
+    public double getSalePrice() {
+        return this.salePrice;
+    }
+
+    @Override
+    public String toString() {
+        return ( "PromotionRow: " + this.promotion + ", deptName = " + this.deptName );
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.redhat.iot.view;
+
+import java.util.List;
+
+/**
+ * Callback for rows that are ready to be displayed.
+ *
+ * @param <R> the row type
+ */
+public interface RowCallback< R > {
+
+    /**
+     * Called on the main thread.
+     *
+     * @param rows the rows (never <code>null</code> but can be empty)
+     */
+    void onSuccess( final List< R > rows );
+
+}
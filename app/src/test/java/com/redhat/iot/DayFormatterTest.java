@@ -0,0 +1,60 @@
+package com.redhat.iot;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.TimeZone;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link DayFormatter} class.
+ */
+public final class DayFormatterTest {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long MAY_16_2016 = 1463360426000L; // 01:00:26 UTC
+
+    private static DayFormatter get( final String timeZoneId ) {
+        return new DayFormatter( Locale.US, TimeZone.getTimeZone( timeZoneId ) );
+    }
+
+    @Test
+    public void shouldCacheFormattedDay() {
+        final DayFormatter formatter = get( "UTC" );
+        final String formatted = formatter.format( MAY_16_2016 );
+        assertThat( formatter.format( MAY_16_2016 + 1000 ), is( sameInstance( formatted ) ) );
+    }
+
+    @Test
+    public void shouldFormatDay() {
+        assertThat( get( "UTC" ).format( MAY_16_2016 ), is( "May 16, 2016" ) );
+    }
+
+    @Test
+    public void shouldFormatDayInTimeZone() {
+        assertThat( get( "America/Chicago" ).format( MAY_16_2016 ), is( "May 15, 2016" ) );
+    }
+
+    @Test
+    public void shouldFormatDaysThatShareCacheEntry() {
+        final DayFormatter formatter = get( "UTC" );
+        final long later = ( MAY_16_2016 + ( DayFormatter.CACHE_SIZE * DAY_MILLIS ) );
+        final String formatted = formatter.format( MAY_16_2016 );
+
+        assertThat( formatter.format( later ), is( not( formatted ) ) );
+        assertThat( formatter.format( MAY_16_2016 ), is( formatted ) );
+    }
+
+    @Test
+    public void shouldRoundDownEpochDayBeforeEpoch() {
+        final DayFormatter formatter = get( "UTC" );
+        assertThat( formatter.getEpochDay( -1 ), is( -1L ) );
+        assertThat( formatter.getEpochDay( 0 ), is( 0L ) );
+        assertThat( formatter.format( -1 ), is( "Dec 31, 1969" ) );
+    }
+
+}
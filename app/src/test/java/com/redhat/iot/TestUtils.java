@@ -2,19 +2,17 @@ package com.redhat.iot;
 
 import com.redhat.iot.json.JsonUtils;
 
-import java.util.Calendar;
-
 /**
  * Utilities used by IoT test classes.
  */
 public final class TestUtils {
 
     /**
-     * @param calendar the date being surrounded by double quotes (cannot be empty)
+     * @param millis the date being surrounded by double quotes in milliseconds since the epoch
      * @return the quoted string (never empty)
      */
-    public static String quote( final Calendar calendar ) {
-        return quote( JsonUtils.toJson( calendar ) );
+    public static String quote( final long millis ) {
+        return quote( JsonUtils.toJson( millis ) );
     }
 
     /**
@@ -0,0 +1,65 @@
+package com.redhat.iot.concurrent;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link EventStreamParser} class.
+ */
+public final class EventStreamParserTest {
+
+    private static final int RETRY = 1000;
+
+    @Test
+    public void shouldDiscardPartialEventWhenReset() {
+        final EventStreamParser parser = new EventStreamParser( RETRY );
+        parser.feed( "data: lost" );
+        parser.reset();
+        parser.feed( "data: kept" );
+        assertThat( parser.feed( "" ), is( "kept" ) );
+    }
+
+    @Test
+    public void shouldIgnoreBlankLinesWithoutData() {
+        final EventStreamParser parser = new EventStreamParser( RETRY );
+        assertThat( parser.feed( "" ), is( nullValue() ) );
+        assertThat( parser.feed( "id: 1" ), is( nullValue() ) );
+        assertThat( parser.feed( "" ), is( nullValue() ) );
+    }
+
+    @Test
+    public void shouldIgnoreComments() {
+        final EventStreamParser parser = new EventStreamParser( RETRY );
+        assertThat( parser.feed( ": keep alive" ), is( nullValue() ) );
+        assertThat( parser.feed( "" ), is( nullValue() ) );
+    }
+
+    @Test
+    public void shouldIgnoreInvalidRetry() {
+        final EventStreamParser parser = new EventStreamParser( RETRY );
+        parser.feed( "retry: soon" );
+        parser.feed( "retry: -5" );
+        assertThat( parser.getRetryMillis(), is( RETRY ) );
+    }
+
+    @Test
+    public void shouldJoinDataLines() {
+        final EventStreamParser parser = new EventStreamParser( RETRY );
+        assertThat( parser.feed( "data: { \"d\" :" ), is( nullValue() ) );
+        assertThat( parser.feed( "data:[] }" ), is( nullValue() ) );
+        assertThat( parser.feed( "" ), is( "{ \"d\" :\n[] }" ) );
+    }
+
+    @Test
+    public void shouldParseIdAndRetry() {
+        final EventStreamParser parser = new EventStreamParser( RETRY );
+        parser.feed( "id: 42" );
+        parser.feed( "retry: 250" );
+        assertThat( parser.getLastEventId(), is( "42" ) );
+        assertThat( parser.getRetryMillis(), is( 250 ) );
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.domain.Product;
+import com.redhat.iot.domain.Store;
+import com.redhat.iot.json.BinaryResults;
+import com.redhat.iot.json.InventoryMarshaller;
+import com.redhat.iot.json.ProductMarshaller;
+import com.redhat.iot.json.StoreMarshaller;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the format negotiation of the {@link GetData} class. A local server stands in for the server.
+ */
+public final class GetDataTest {
+
+    private static final String AUTHORIZATION = "Basic dGVzdDp0ZXN0"; // so android.util.Base64 is never reached
+    private static final Inventory[] INVENTORY = { new Inventory( 9001, 100, 5 ), new Inventory( 9002, 100, 0 ) };
+    private static final String PATH = "/results";
+    private static final Product[] PRODUCTS = {
+        new Product( 100, 1000, "A warm hat", 19.99, 8.5, "M", "Hat", "Hats Inc" ),
+        new Product( 101, 1000, "", -1, -1, "", "Scarf", "" ) };
+    private static final Store[] STORES = { new Store( 9001, "1 Lennon Lane", "", "Lennon", "Michigan", "48449", "US", "" ) };
+
+    private StandInServer server;
+
+    @After
+    public void after() {
+        if ( this.server != null ) {
+            this.server.stop();
+        }
+    }
+
+    @Test
+    public void shouldFallBackToJsonWhenServerCannotSendBinary() throws Exception {
+        this.server = new StandInServer( false );
+        this.server.serve( PATH, PRODUCTS, ProductMarshaller.get() );
+
+        final HttpURLConnection connection = GetData.openConnection( this.server.getUrl( PATH ),
+                                                                     AUTHORIZATION,
+                                                                     ProductMarshaller.get() );
+        assertThat( connection.getResponseCode(), is( HttpURLConnection.HTTP_OK ) );
+        assertThat( GetData.readResults( connection, ProductMarshaller.get() ), is( PRODUCTS ) );
+        assertThat( connection.getContentType().startsWith( BinaryResults.CONTENT_TYPE ), is( false ) );
+        assertThat( this.server.getLastAccept(), is( GetData.BINARY_ACCEPT ) );
+    }
+
+    @Test
+    public void shouldFilterByAllIds() {
+        assertThat( GetData.toIdFilter( "id", Arrays.asList( 1, 22, 333 ) ),
+                    is( "?$filter=id%20eq%201%20or%20id%20eq%2022%20or%20id%20eq%20333&$format=json" ) );
+    }
+
+    @Test
+    public void shouldNotAskForBinaryWhenMarshallerCannotReadIt() throws Exception {
+        this.server = new StandInServer( true );
+        this.server.serve( PATH, STORES, StoreMarshaller.get() );
+
+        final HttpURLConnection connection = GetData.openConnection( this.server.getUrl( PATH ),
+                                                                     AUTHORIZATION,
+                                                                     StoreMarshaller.get() );
+        assertThat( GetData.readResults( connection, StoreMarshaller.get() ), is( STORES ) );
+        assertThat( ( ( this.server.getLastAccept() == null )
+                      || !this.server.getLastAccept().contains( BinaryResults.CONTENT_TYPE ) ), is( true ) );
+    }
+
+    @Test
+    public void shouldReadBinaryWhenServerSendsIt() throws Exception {
+        this.server = new StandInServer( true );
+        this.server.serve( PATH, INVENTORY, InventoryMarshaller.get() );
+
+        final HttpURLConnection connection = GetData.openConnection( this.server.getUrl( PATH ),
+                                                                     AUTHORIZATION,
+                                                                     InventoryMarshaller.get() );
+        assertThat( GetData.readResults( connection, InventoryMarshaller.get() ), is( INVENTORY ) );
+        assertThat( connection.getContentType(), is( BinaryResults.CONTENT_TYPE ) );
+    }
+
+    @Test
+    public void shouldReadEmptyBinaryResults() throws Exception {
+        this.server = new StandInServer( true );
+        this.server.serve( PATH, Product.NO_PRODUCTS, ProductMarshaller.get() );
+
+        final HttpURLConnection connection = GetData.openConnection( this.server.getUrl( PATH ),
+                                                                     AUTHORIZATION,
+                                                                     ProductMarshaller.get() );
+        assertThat( GetData.readResults( connection, ProductMarshaller.get() ).length, is( 0 ) );
+        assertThat( connection.getErrorStream(), is( nullValue() ) );
+    }
+
+}
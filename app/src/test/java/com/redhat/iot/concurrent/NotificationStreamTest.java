@@ -0,0 +1,174 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.domain.IotNotification;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link NotificationStream} class. A local server stands in for the notification stream of the server.
+ */
+public final class NotificationStreamTest {
+
+    private static final Executor DIRECT = new Executor() {
+
+        @Override
+        public void execute( final Runnable task ) {
+            task.run();
+        }
+    };
+
+    private static final String EVENT = "data: { \"d\" : [ { \"id\" : 1 }, { \"id\" : 2 } ] }\n\n";
+    private static final String PATH = "/stream";
+    private static final int RETRY = 10;
+    private static final long WAIT = 5;
+
+    private static void respond( final HttpExchange exchange,
+                                 final String body ) throws IOException {
+        exchange.getResponseHeaders().set( "Content-Type", NotificationStream.CONTENT_TYPE );
+        exchange.sendResponseHeaders( 200, 0 );
+
+        try ( final OutputStream out = exchange.getResponseBody() ) {
+            out.write( body.getBytes( "UTF-8" ) );
+        }
+    }
+
+    private final BlockingQueue< Exception > errors = new LinkedBlockingQueue<>();
+    private final BlockingQueue< IotNotification[] > received = new LinkedBlockingQueue<>();
+    private HttpServer server;
+    private NotificationStream stream;
+
+    private final NotificationStream.Listener listener = new NotificationStream.Listener() {
+
+        @Override
+        public void onNotifications( final IotNotification[] notifications ) {
+            NotificationStreamTest.this.received.add( notifications );
+        }
+
+        @Override
+        public void onUnavailable( final Exception error ) {
+            NotificationStreamTest.this.errors.add( error );
+        }
+    };
+
+    @After
+    public void after() {
+        if ( this.stream != null ) {
+            this.stream.stop();
+        }
+
+        this.server.stop( 0 );
+    }
+
+    @Before
+    public void before() throws Exception {
+        this.server = HttpServer.create( new InetSocketAddress( "127.0.0.1", 0 ), 0 );
+        this.server.start();
+    }
+
+    private NotificationStream start() throws Exception {
+        final URL url = new URL( "http://127.0.0.1:" + this.server.getAddress().getPort() + PATH );
+        this.stream = new NotificationStream( url, null, DIRECT, this.listener, RETRY );
+        this.stream.start();
+        return this.stream;
+    }
+
+    @Test
+    public void shouldDeliverPushedNotifications() throws Exception {
+        this.server.createContext( PATH, new HttpHandler() {
+
+            @Override
+            public void handle( final HttpExchange exchange ) throws IOException {
+                respond( exchange, ( ": connected\n\n" + EVENT ) );
+            }
+        } );
+
+        start();
+        final IotNotification[] notifications = this.received.poll( WAIT, TimeUnit.SECONDS );
+
+        assertThat( notifications, is( notNullValue() ) );
+        assertThat( notifications.length, is( 2 ) );
+        assertThat( notifications[ 0 ].getPromoId(), is( 1 ) );
+        assertThat( notifications[ 1 ].getPromoId(), is( 2 ) );
+    }
+
+    @Test
+    public void shouldNotDeliverAfterStopped() throws Exception {
+        this.server.createContext( PATH, new HttpHandler() {
+
+            @Override
+            public void handle( final HttpExchange exchange ) throws IOException {
+                exchange.sendResponseHeaders( 404, -1 );
+                exchange.close();
+            }
+        } );
+
+        start().stop();
+        assertThat( this.errors.poll( ( RETRY * NotificationStream.MAX_FAILURES * 5 ), TimeUnit.MILLISECONDS ),
+                    is( nullValue() ) );
+    }
+
+    @Test
+    public void shouldReconnectWithLastEventId() throws Exception {
+        final BlockingQueue< String > lastEventIds = new LinkedBlockingQueue<>();
+        final AtomicInteger connections = new AtomicInteger();
+
+        this.server.createContext( PATH, new HttpHandler() {
+
+            @Override
+            public void handle( final HttpExchange exchange ) throws IOException {
+                if ( connections.getAndIncrement() == 0 ) {
+                    respond( exchange, ( "id: 7\n" + EVENT ) ); // connection closes after the event
+                } else {
+                    final String lastEventId = exchange.getRequestHeaders().getFirst( "Last-Event-ID" );
+                    lastEventIds.add( ( lastEventId == null ) ? "" : lastEventId );
+                    respond( exchange, "" );
+                }
+            }
+        } );
+
+        start();
+        assertThat( lastEventIds.poll( WAIT, TimeUnit.SECONDS ), is( "7" ) );
+        assertThat( this.received.size(), is( 1 ) );
+    }
+
+    @Test
+    public void shouldReportUnavailableWhenServerCannotPush() throws Exception {
+        final AtomicInteger connections = new AtomicInteger();
+
+        this.server.createContext( PATH, new HttpHandler() {
+
+            @Override
+            public void handle( final HttpExchange exchange ) throws IOException {
+                connections.incrementAndGet();
+                exchange.sendResponseHeaders( 404, -1 );
+                exchange.close();
+            }
+        } );
+
+        start();
+
+        assertThat( this.errors.poll( WAIT, TimeUnit.SECONDS ), is( notNullValue() ) );
+        assertThat( connections.get(), is( NotificationStream.MAX_FAILURES ) );
+    }
+
+}
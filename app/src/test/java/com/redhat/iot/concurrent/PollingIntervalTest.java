@@ -0,0 +1,83 @@
+package com.redhat.iot.concurrent;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link PollingInterval} class.
+ */
+public final class PollingIntervalTest {
+
+    private static final long MAX = 64000;
+
+    @Test
+    public void shouldBackOffAfterEmptyCheck() {
+        final PollingInterval interval = new PollingInterval( MAX );
+        interval.onNotifications( 1 );
+        interval.onNotifications( 1 );
+        assertThat( interval.onNotifications( 0 ), is( MAX / 2 ) );
+        assertThat( interval.onNotifications( 0 ), is( MAX ) );
+    }
+
+    @Test
+    public void shouldBackOffAfterError() {
+        final PollingInterval interval = new PollingInterval( MAX );
+        interval.onNotifications( 1 );
+        assertThat( interval.onError(), is( MAX ) );
+        assertThat( interval.getErrorCount(), is( 1 ) );
+    }
+
+    @Test
+    public void shouldCountPollsPerNotification() {
+        final PollingInterval interval = new PollingInterval( MAX );
+        assertThat( interval.getPollsPerNotification(), is( 0.0 ) );
+
+        interval.onNotifications( 0 );
+        assertThat( interval.getPollsPerNotification(), is( Double.POSITIVE_INFINITY ) );
+
+        interval.onError();
+        interval.onNotifications( 3 );
+        interval.onNotifications( 1 );
+        assertThat( interval.getPollCount(), is( 4 ) );
+        assertThat( interval.getHitCount(), is( 2 ) );
+        assertThat( interval.getNotificationCount(), is( 4 ) );
+        assertThat( interval.getPollsPerNotification(), is( 1.0 ) );
+    }
+
+    @Test
+    public void shouldNotExceedBound() {
+        final PollingInterval interval = new PollingInterval( MAX );
+        assertThat( interval.getMillis(), is( MAX ) );
+        assertThat( interval.onError(), is( MAX ) );
+        assertThat( interval.onNotifications( 0 ), is( MAX ) );
+    }
+
+    @Test
+    public void shouldNotShortenBelowMinimum() {
+        final PollingInterval interval = new PollingInterval( MAX );
+
+        for ( int i = 0;
+              i < 10;
+              ++i ) {
+            interval.onNotifications( 1 );
+        }
+
+        assertThat( interval.getMillis(), is( MAX / PollingInterval.MIN_DIVISOR ) );
+    }
+
+    @Test
+    public void shouldShortenAfterHit() {
+        final PollingInterval interval = new PollingInterval( MAX );
+        assertThat( interval.onNotifications( 2 ), is( MAX / 2 ) );
+    }
+
+    @Test
+    public void shouldUseBoundWhenShorterThanMinimum() {
+        final long max = ( PollingInterval.MIN_MILLIS / 2 );
+        final PollingInterval interval = new PollingInterval( max );
+        assertThat( interval.onNotifications( 1 ), is( max ) );
+    }
+
+}
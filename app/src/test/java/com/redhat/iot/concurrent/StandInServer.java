@@ -0,0 +1,126 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.IotException;
+import com.redhat.iot.domain.IotObject;
+import com.redhat.iot.json.BinaryMarshaller;
+import com.redhat.iot.json.BinaryResults;
+import com.redhat.iot.json.IotMarshaller;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A local server that stands in for a server that can send results as OData JSON or, when asked by the <code>Accept</code>
+ * header, in the binary format. Each path serves a fixed collection of results. Used by tests and benchmarks.
+ */
+final class StandInServer {
+
+    private static final String JSON_CONTENT_TYPE = "application/json";
+
+    private final boolean binary;
+    private volatile String lastAccept;
+    private volatile int lastBytes;
+    private final HttpServer server;
+
+    /**
+     * @param binary <code>true</code> if the server can send the binary format
+     * @throws IOException if the server cannot be started
+     */
+    StandInServer( final boolean binary ) throws IOException {
+        this.binary = binary;
+        this.server = HttpServer.create( new InetSocketAddress( "127.0.0.1", 0 ), 0 );
+        this.server.start();
+    }
+
+    /**
+     * @return the <code>Accept</code> header of the last request (can be <code>null</code>)
+     */
+    String getLastAccept() {
+        return this.lastAccept;
+    }
+
+    /**
+     * @return the number of bytes in the body of the last response
+     */
+    int getLastBytes() {
+        return this.lastBytes;
+    }
+
+    /**
+     * @param path the path being requested (cannot be empty)
+     * @return the URL of the path (never <code>null</code>)
+     * @throws IOException if the URL is not valid
+     */
+    URL getUrl( final String path ) throws IOException {
+        return new URL( "http://127.0.0.1:" + this.server.getAddress().getPort() + path );
+    }
+
+    /**
+     * @param path       the path the results are served at (cannot be empty)
+     * @param results    the results (cannot be <code>null</code>)
+     * @param marshaller the marshaller of the results (cannot be <code>null</code>)
+     * @param <T>        the {@link IotObject} type
+     * @throws IotException if the results cannot be encoded
+     */
+    @SuppressWarnings( "unchecked" )
+    < T extends IotObject > void serve( final String path,
+                                        final T[] results,
+                                        final IotMarshaller< T > marshaller ) throws IotException {
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+
+        try ( final Writer writer = new OutputStreamWriter( json, StandardCharsets.UTF_8 ) ) {
+            writer.write( "{ \"d\" : { \"results\" : " );
+            marshaller.toJsonArray( results, writer );
+            writer.write( " } }" );
+        } catch ( final IOException e ) {
+            throw new IotException( e );
+        }
+
+        final ByteArrayOutputStream binaryBody = new ByteArrayOutputStream();
+
+        if ( marshaller instanceof BinaryMarshaller ) {
+            BinaryResults.write( results, binaryBody, ( BinaryMarshaller< T > )marshaller );
+        }
+
+        this.server.createContext( path, new HttpHandler() {
+
+            @Override
+            public void handle( final HttpExchange exchange ) throws IOException {
+                final String accept = exchange.getRequestHeaders().getFirst( "Accept" );
+                StandInServer.this.lastAccept = accept;
+
+                final boolean sendBinary = ( StandInServer.this.binary
+                                             && ( binaryBody.size() != 0 )
+                                             && ( accept != null )
+                                             && accept.contains( BinaryResults.CONTENT_TYPE ) );
+                final byte[] body = ( sendBinary ? binaryBody : json ).toByteArray();
+                StandInServer.this.lastBytes = body.length;
+
+                exchange.getResponseHeaders().set( "Content-Type",
+                                                   ( sendBinary ? BinaryResults.CONTENT_TYPE : JSON_CONTENT_TYPE ) );
+                exchange.sendResponseHeaders( 200, body.length );
+
+                try ( final OutputStream out = exchange.getResponseBody() ) {
+                    out.write( body );
+                }
+            }
+        } );
+    }
+
+    /**
+     * Stops the server.
+     */
+    void stop() {
+        this.server.stop( 0 );
+    }
+
+}
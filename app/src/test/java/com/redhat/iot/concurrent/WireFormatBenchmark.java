@@ -0,0 +1,171 @@
+package com.redhat.iot.concurrent;
+
+import com.redhat.iot.IotConstants.TestData;
+import com.redhat.iot.domain.Customer;
+import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.domain.IotObject;
+import com.redhat.iot.domain.Product;
+import com.redhat.iot.json.BinaryMarshaller;
+import com.redhat.iot.json.BinaryResults;
+import com.redhat.iot.json.CustomerMarshaller;
+import com.redhat.iot.json.InventoryMarshaller;
+import com.redhat.iot.json.JsonUtils;
+import com.redhat.iot.json.ProductMarshaller;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Compares the bytes sent and the time to decode products, customers, and inventory as OData JSON and in the binary format.
+ * The responses come from a {@link StandInServer} so they are negotiated the way {@link GetData} negotiates them. Run the
+ * <code>main</code> method from the <code>app</code> directory, or pass the path of <code>customer.json</code>, to see the
+ * results.
+ */
+public final class WireFormatBenchmark {
+
+    private static final String CUSTOMERS_PATH = "src/main/res/raw/customer.json";
+    private static final int NUM_ITERATIONS = 200;
+    private static final int NUM_PRODUCTS = 2000; // per store in the generated inventory
+    private static final int NUM_RUNS = 10;
+    private static final int NUM_STORES = 5;
+    private static final int NUM_WARMUPS = 5;
+
+    private static < T extends IotObject > void benchmark( final String label,
+                                                          final T[] results,
+                                                          final BinaryMarshaller< T > marshaller ) throws Exception {
+        final StandInServer server = new StandInServer( true );
+        final byte[] json;
+        final byte[] binary;
+
+        try {
+            server.serve( "/" + label, results, marshaller );
+            json = fetch( server, label, false );
+            binary = fetch( server, label, true );
+        } finally {
+            server.stop();
+        }
+
+        long sum = 0; // keeps the results from being optimized away
+
+        for ( int i = 0;
+              i < NUM_WARMUPS;
+              ++i ) {
+            sum += decodeJson( json, marshaller );
+            sum += decodeBinary( binary, marshaller );
+        }
+
+        long jsonNanos = 0;
+        long binaryNanos = 0;
+
+        for ( int i = 0;
+              i < NUM_RUNS;
+              ++i ) {
+            long start = System.nanoTime();
+            sum += decodeJson( json, marshaller );
+            jsonNanos += ( System.nanoTime() - start );
+
+            start = System.nanoTime();
+            sum += decodeBinary( binary, marshaller );
+            binaryNanos += ( System.nanoTime() - start );
+        }
+
+        System.out.println( "Decoding " + results.length + ' ' + label + ' ' + NUM_ITERATIONS + " times (average of " + NUM_RUNS
+                            + " runs, checksum " + sum + "):" );
+        System.out.println( "  JSON:   " + json.length + " bytes, " + ( jsonNanos / NUM_RUNS / 1000000 ) + " ms" );
+        System.out.println( "  binary: " + binary.length + " bytes, " + ( binaryNanos / NUM_RUNS / 1000000 ) + " ms" );
+    }
+
+    private static Inventory[] createInventory() {
+        final Inventory[] inventory = new Inventory[ NUM_STORES * NUM_PRODUCTS ];
+
+        for ( int i = 0;
+              i < inventory.length;
+              ++i ) {
+            inventory[ i ] = new Inventory( ( 9001 + ( i / NUM_PRODUCTS ) ), ( 100 + ( i % NUM_PRODUCTS ) ), ( ( i * 7 ) % 50 ) );
+        }
+
+        return inventory;
+    }
+
+    private static < T extends IotObject > long decodeBinary( final byte[] body,
+                                                             final BinaryMarshaller< T > marshaller ) throws Exception {
+        long sum = 0;
+
+        for ( int i = 0;
+              i < NUM_ITERATIONS;
+              ++i ) {
+            sum += BinaryResults.read( new ByteArrayInputStream( body ), marshaller ).length;
+        }
+
+        return sum;
+    }
+
+    private static < T extends IotObject > long decodeJson( final byte[] body,
+                                                           final BinaryMarshaller< T > marshaller ) throws Exception {
+        long sum = 0;
+
+        for ( int i = 0;
+              i < NUM_ITERATIONS;
+              ++i ) {
+            sum += JsonUtils.readResults( new String( body, StandardCharsets.UTF_8 ), marshaller ).length;
+        }
+
+        return sum;
+    }
+
+    private static byte[] fetch( final StandInServer server,
+                                 final String label,
+                                 final boolean binary ) throws Exception {
+        final HttpURLConnection connection = ( HttpURLConnection )server.getUrl( "/" + label ).openConnection();
+
+        if ( binary ) {
+            connection.setRequestProperty( "Accept", GetData.BINARY_ACCEPT );
+        }
+
+        try ( final InputStream in = connection.getInputStream() ) {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[ 8192 ];
+            int count;
+
+            while ( ( count = in.read( buffer ) ) != -1 ) {
+                body.write( buffer, 0, count );
+            }
+
+            return body.toByteArray();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * @param args the path of <code>customer.json</code> (optional)
+     * @throws Exception if an error occurs
+     */
+    public static void main( final String[] args ) throws Exception {
+        final File file = new File( ( args.length == 0 ) ? CUSTOMERS_PATH : args[ 0 ] );
+        final String customers = new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+
+        final Product[] products = JsonUtils.readResults( TestData.PRODUCTS_JSON, ProductMarshaller.get() );
+        benchmark( "products", products, ProductMarshaller.get() );
+
+        final Customer[] customerResults = JsonUtils.readResults( customers, CustomerMarshaller.get() );
+        benchmark( "customers", customerResults, CustomerMarshaller.get() );
+
+        final Inventory[] inventory = JsonUtils.readResults( TestData.INVENTORY_JSON, InventoryMarshaller.get() );
+        benchmark( "inventory", inventory, InventoryMarshaller.get() );
+        benchmark( "generated-inventory", createInventory(), InventoryMarshaller.get() );
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private WireFormatBenchmark() {
+        // nothing to do
+    }
+
+}
@@ -58,6 +58,29 @@ public final class CustomerTest {
         assertThat( thisCustomer.hashCode(), is( thatCustomer.hashCode() ) );
     }
 
+    @Test
+    public void shouldLoadFieldsWhenFirstRequested() {
+        final int[] loads = { 0 };
+        final Customer customer = new Customer( ID, NAME, new FieldLoader< Customer >() {
+
+            @Override
+            public Customer load() {
+                ++loads[ 0 ];
+                return get();
+            }
+        } );
+
+        assertThat( customer.getId(), is( ID ) );
+        assertThat( customer.getName(), is( NAME ) );
+        assertThat( loads[ 0 ], is( 0 ) );
+
+        assertThat( customer.getCity(), is( CITY ) );
+        assertThat( customer.getCreditLimit(), is( CREDIT_LIMIT ) );
+        assertThat( customer, is( get() ) );
+        assertThat( customer.hashCode(), is( get().hashCode() ) );
+        assertThat( loads[ 0 ], is( 1 ) );
+    }
+
     @Test
     public void shouldNotBeEqualIfAddressLine1IsDifferent() {
         final Customer thisCustomer = get();
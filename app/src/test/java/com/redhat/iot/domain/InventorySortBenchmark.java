@@ -0,0 +1,137 @@
+package com.redhat.iot.domain;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compares the cost of building the product inventory index when the store sorter reads the preferred store from the
+ * preferences in each comparison (the way {@link Inventory#STORE_SORTER} used to work) against a sorter that captures the
+ * preferred store once. Run the <code>main</code> method to see the results.
+ */
+public final class InventorySortBenchmark {
+
+    private static final int NUM_INVENTORIES = 100000;
+    private static final int NUM_PRODUCTS = 2000;
+    private static final int NUM_RUNS = 20;
+    private static final int NUM_STORES = 50;
+    private static final int NUM_WARMUPS = 10;
+    private static final int PREFERRED_STORE_ID = 7;
+    private static final String STORE_ID_PREF = "store_id";
+
+    /**
+     * Stands in for the app preferences. Android's implementation also synchronizes and does a map lookup on each read.
+     */
+    private static final Map< String, Object > PREFS = new HashMap<>();
+
+    /**
+     * Mimics the original sorter which read the preferred store from the preferences in each comparison.
+     */
+    private static final Comparator< Inventory > PREFS_SORTER = new Comparator< Inventory >() {
+
+        @Override
+        public int compare( final Inventory thisInventory,
+                            final Inventory thatInventory ) {
+            final int result = Integer.compare( thisInventory.getStoreId(), thatInventory.getStoreId() );
+
+            if ( result == 0 ) {
+                return Integer.compare( thisInventory.getProductId(), thatInventory.getProductId() );
+            }
+
+            // the chosen store should sort first
+            final int storeId = getStoreId();
+
+            if ( storeId != Store.NOT_IDENTIFIED ) {
+                if ( thisInventory.getStoreId() == storeId ) {
+                    return -1;
+                }
+
+                if ( thatInventory.getStoreId() == storeId ) {
+                    return 1;
+                }
+            }
+
+            return result;
+        }
+    };
+
+    private static Inventory[] createInventories() {
+        final Random random = new Random( 42 );
+        final Inventory[] inventories = new Inventory[ NUM_INVENTORIES ];
+
+        for ( int i = 0;
+              i < NUM_INVENTORIES;
+              ++i ) {
+            inventories[ i ] = new Inventory( ( i % NUM_STORES ), random.nextInt( NUM_PRODUCTS ), random.nextInt( 100 ) );
+        }
+
+        return inventories;
+    }
+
+    private static int getStoreId() {
+        synchronized ( PREFS ) {
+            final Object value = PREFS.get( STORE_ID_PREF );
+            return ( ( value == null ) ? Store.NOT_IDENTIFIED : ( Integer )value );
+        }
+    }
+
+    /**
+     * @param args the arguments (not used)
+     */
+    public static void main( final String[] args ) {
+        PREFS.put( STORE_ID_PREF, PREFERRED_STORE_ID );
+        final Inventory[] inventories = createInventories();
+
+        for ( int i = 0;
+              i < NUM_WARMUPS;
+              ++i ) {
+            time( inventories, PREFS_SORTER );
+            time( inventories, Inventory.createStoreSorter( getStoreId() ) );
+        }
+
+        long prefs = 0;
+        long captured = 0;
+
+        for ( int i = 0;
+              i < NUM_RUNS;
+              ++i ) {
+            prefs += time( inventories, PREFS_SORTER );
+            captured += time( inventories, Inventory.createStoreSorter( getStoreId() ) );
+        }
+
+        System.out.println( "Indexing " + NUM_INVENTORIES + " inventories by product (average of " + NUM_RUNS + " runs):" );
+        System.out.println( "  preferences read per comparison: " + ( prefs / NUM_RUNS / 1000 ) + " us" );
+        System.out.println( "  preferred store captured once:   " + ( captured / NUM_RUNS / 1000 ) + " us" );
+    }
+
+    private static long time( final Inventory[] inventories,
+                              final Comparator< Inventory > storeSorter ) {
+        final long start = System.nanoTime();
+        final Map< Integer, Set< Inventory > > productInventory = new TreeMap<>();
+
+        for ( final Inventory inventory : inventories ) {
+            Set< Inventory > items = productInventory.get( inventory.getProductId() );
+
+            if ( items == null ) {
+                items = new TreeSet<>( storeSorter );
+                productInventory.put( inventory.getProductId(), items );
+            }
+
+            items.add( inventory );
+        }
+
+        return ( System.nanoTime() - start );
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private InventorySortBenchmark() {
+        // nothing to do
+    }
+
+}
@@ -2,6 +2,8 @@ package com.redhat.iot.domain;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertThat;
@@ -59,4 +61,37 @@ public final class InventoryTest {
         assertThat( thisInventory.hashCode(), is( not( thatInventory.hashCode() ) ) );
     }
 
+    @Test
+    public void shouldSortPreferredStoreFirst() {
+        final Inventory store1 = new Inventory( 1, PRODUCT_ID, QUANTITY );
+        final Inventory store2 = new Inventory( 2, PRODUCT_ID, QUANTITY );
+        final Inventory store3 = new Inventory( 3, PRODUCT_ID, QUANTITY );
+
+        final Inventory[] inventories = new Inventory[]{ store3, store1, store2 };
+        Arrays.sort( inventories, Inventory.createStoreSorter( 2 ) );
+        assertThat( inventories, is( new Inventory[]{ store2, store1, store3 } ) );
+    }
+
+    @Test
+    public void shouldSortByStoreThenProduct() {
+        final Inventory first = new Inventory( 1, PRODUCT_ID, QUANTITY );
+        final Inventory second = new Inventory( 1, ( PRODUCT_ID + 1 ), QUANTITY );
+        final Inventory third = new Inventory( 2, PRODUCT_ID, QUANTITY );
+
+        final Inventory[] inventories = new Inventory[]{ third, second, first };
+        Arrays.sort( inventories, Inventory.STORE_SORTER );
+        assertThat( inventories, is( new Inventory[]{ first, second, third } ) );
+    }
+
+    @Test
+    public void shouldSortByProductWithPreferredStoreFirst() {
+        final Inventory first = new Inventory( 3, PRODUCT_ID, QUANTITY );
+        final Inventory second = new Inventory( 1, PRODUCT_ID, QUANTITY );
+        final Inventory third = new Inventory( 2, ( PRODUCT_ID + 1 ), QUANTITY );
+
+        final Inventory[] inventories = new Inventory[]{ third, second, first };
+        Arrays.sort( inventories, Inventory.createProductSorter( 3 ) );
+        assertThat( inventories, is( new Inventory[]{ first, second, third } ) );
+    }
+
 }
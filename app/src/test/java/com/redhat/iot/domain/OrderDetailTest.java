@@ -12,13 +12,13 @@ import static org.junit.Assert.assertThat;
 public final class OrderDetailTest {
 
     private static final int DISCOUNT = 10;
-    private static final double MSRP = 5.99;
+    private static final long MSRP_CENTS = 599;
     private static final int ORDER_ID = 1;
     private static final int PRODUCT_ID = 1000;
     private static final int QUANTITY = 3;
 
     static OrderDetail get() {
-        return new OrderDetail( ORDER_ID, PRODUCT_ID, QUANTITY, MSRP, DISCOUNT );
+        return new OrderDetail( ORDER_ID, PRODUCT_ID, QUANTITY, MSRP_CENTS, DISCOUNT );
     }
 
     @Test
@@ -27,19 +27,26 @@ public final class OrderDetailTest {
         final OrderDetail thatOrderDetail = new OrderDetail( thisOrderDetail.getOrderId(),
                                                              thisOrderDetail.getProductId(),
                                                              thisOrderDetail.getQuantity(),
-                                                             thisOrderDetail.getMsrp(),
+                                                             thisOrderDetail.getMsrpCents(),
                                                              thisOrderDetail.getDiscount() );
         assertThat( thisOrderDetail, is( thatOrderDetail ) );
         assertThat( thisOrderDetail.hashCode(), is( thatOrderDetail.hashCode() ) );
     }
 
+    @Test
+    public void shouldCalculateTotalInCents() {
+        // 3 x 5.99 = 17.97 less 10% = 16.173
+        assertThat( get().getTotalCents(), is( 1617L ) );
+        assertThat( new OrderDetail( ORDER_ID, PRODUCT_ID, 1, 5, 10 ).getTotalCents(), is( 5L ) ); // 4.5 rounds up
+    }
+
     @Test
     public void shouldNotBeEqualIfDiscountIsDifferent() {
         final OrderDetail thisOrderDetail = get();
         final OrderDetail thatOrderDetail = new OrderDetail( thisOrderDetail.getOrderId(),
                                                              thisOrderDetail.getProductId(),
                                                              thisOrderDetail.getQuantity(),
-                                                             thisOrderDetail.getMsrp(),
+                                                             thisOrderDetail.getMsrpCents(),
                                                              ( thisOrderDetail.getDiscount() + 1 ) );
         assertThat( thisOrderDetail, is( not( thatOrderDetail ) ) );
         assertThat( thisOrderDetail.hashCode(), is( not( thatOrderDetail.hashCode() ) ) );
@@ -51,7 +58,7 @@ public final class OrderDetailTest {
         final OrderDetail thatOrderDetail = new OrderDetail( thisOrderDetail.getOrderId(),
                                                              thisOrderDetail.getProductId(),
                                                              thisOrderDetail.getQuantity(),
-                                                             ( thisOrderDetail.getMsrp() + 1 ),
+                                                             ( thisOrderDetail.getMsrpCents() + 1 ),
                                                              thisOrderDetail.getDiscount() );
         assertThat( thisOrderDetail, is( not( thatOrderDetail ) ) );
         assertThat( thisOrderDetail.hashCode(), is( not( thatOrderDetail.hashCode() ) ) );
@@ -63,7 +70,7 @@ public final class OrderDetailTest {
         final OrderDetail thatOrderDetail = new OrderDetail( ( thisOrderDetail.getOrderId() + 1 ),
                                                              thisOrderDetail.getProductId(),
                                                              thisOrderDetail.getQuantity(),
-                                                             thisOrderDetail.getMsrp(),
+                                                             thisOrderDetail.getMsrpCents(),
                                                              thisOrderDetail.getDiscount() );
         assertThat( thisOrderDetail, is( not( thatOrderDetail ) ) );
         assertThat( thisOrderDetail.hashCode(), is( not( thatOrderDetail.hashCode() ) ) );
@@ -75,7 +82,7 @@ public final class OrderDetailTest {
         final OrderDetail thatOrderDetail = new OrderDetail( thisOrderDetail.getOrderId(),
                                                              ( thisOrderDetail.getProductId() + 1 ),
                                                              thisOrderDetail.getQuantity(),
-                                                             thisOrderDetail.getMsrp(),
+                                                             thisOrderDetail.getMsrpCents(),
                                                              thisOrderDetail.getDiscount() );
         assertThat( thisOrderDetail, is( not( thatOrderDetail ) ) );
         assertThat( thisOrderDetail.hashCode(), is( not( thatOrderDetail.hashCode() ) ) );
@@ -87,7 +94,7 @@ public final class OrderDetailTest {
         final OrderDetail thatOrderDetail = new OrderDetail( thisOrderDetail.getOrderId(),
                                                              thisOrderDetail.getProductId(),
                                                              ( thisOrderDetail.getQuantity() + 1 ),
-                                                             thisOrderDetail.getMsrp(),
+                                                             thisOrderDetail.getMsrpCents(),
                                                              thisOrderDetail.getDiscount() );
         assertThat( thisOrderDetail, is( not( thatOrderDetail ) ) );
         assertThat( thisOrderDetail.hashCode(), is( not( thatOrderDetail.hashCode() ) ) );
@@ -0,0 +1,42 @@
+package com.redhat.iot.domain;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link OrderSummary} class.
+ */
+public final class OrderSummaryTest {
+
+    private static final int CUSTOMER_ID = 1000;
+
+    private static Order createOrder( final int id,
+                                      final long msrpCents ) {
+        final Order order = new Order( id, "", CUSTOMER_ID, 0, Order.NO_DATE, Order.NO_DATE, "" );
+        order.setDetails( new OrderDetail[]{ new OrderDetail( id, 1, 1, msrpCents, 0 ) } );
+        return order;
+    }
+
+    @Test
+    public void shouldAddOrders() {
+        final OrderSummary summary = new OrderSummary( CUSTOMER_ID );
+        summary.add( createOrder( 1, 1000 ) );
+        summary.add( createOrder( 2, 250 ) );
+
+        assertThat( summary.getOrderCount(), is( 2 ) );
+        assertThat( summary.getLifetimeSpendCents(), is( 1250L ) );
+    }
+
+    @Test
+    public void shouldNotCountReloadedOrderTwice() {
+        final OrderSummary summary = new OrderSummary( CUSTOMER_ID );
+        summary.add( createOrder( 1, 1000 ) );
+        summary.add( createOrder( 1, 1200 ) );
+
+        assertThat( summary.getOrderCount(), is( 1 ) );
+        assertThat( summary.getLifetimeSpendCents(), is( 1200L ) );
+    }
+
+}
@@ -2,8 +2,6 @@ package com.redhat.iot.domain;
 
 import org.junit.Test;
 
-import java.util.Calendar;
-
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNot.not;
 import static org.junit.Assert.assertThat;
@@ -16,9 +14,10 @@ public final class OrderTest {
     private static final String COMMENTS = "comments";
     private static final int CUSTOMER_ID = 1000;
     private static final int ID = 1;
-    private static final Calendar ORDER_DATE = Calendar.getInstance();
-    private static final Calendar REQUIRED_DATE = Calendar.getInstance();
-    private static final Calendar SHIPPED_DATE = Calendar.getInstance();
+    private static final long ORDER_DATE = 1463360426000L;
+    private static final long REQUIRED_DATE = 1463960426000L;
+    private static final long SHIPPED_DATE = 1463560426000L;
+    private static final long YEAR_MILLIS = 365L * 24 * 60 * 60 * 1000;
     private static final String STATUS = "status";
 
     private Order get() {
@@ -103,8 +102,7 @@ public final class OrderTest {
     public void shouldNotBeEqualIfOrderDateIsDifferent() {
         final Order thisOrder = get();
 
-        final Calendar orderDate = thisOrder.getOrderDate();
-        orderDate.add( Calendar.YEAR, 1 );
+        final long orderDate = ( thisOrder.getOrderDate() + YEAR_MILLIS );
 
         final Order thatOrder = new Order( thisOrder.getId(),
                                            thisOrder.getComments(),
@@ -136,8 +134,7 @@ public final class OrderTest {
     public void shouldNotBeEqualIfRequiredDateIsDifferent() {
         final Order thisOrder = get();
 
-        final Calendar requiredDate = thisOrder.getOrderDate();
-        requiredDate.add( Calendar.YEAR, 1 );
+        final long requiredDate = ( thisOrder.getRequiredDate() + YEAR_MILLIS );
 
         final Order thatOrder = new Order( thisOrder.getId(),
                                            thisOrder.getComments(),
@@ -154,8 +151,7 @@ public final class OrderTest {
     public void shouldNotBeEqualIfShippedDateIsDifferent() {
         final Order thisOrder = get();
 
-        final Calendar shippedDate = thisOrder.getOrderDate();
-        shippedDate.add( Calendar.YEAR, 1 );
+        final long shippedDate = ( thisOrder.getShippedDate() + YEAR_MILLIS );
 
         final Order thatOrder = new Order( thisOrder.getId(),
                                            thisOrder.getComments(),
@@ -168,6 +164,13 @@ public final class OrderTest {
         assertThat( thisOrder.hashCode(), is( not( thatOrder.hashCode() ) ) );
     }
 
+    @Test
+    public void shouldSumDetailTotals() {
+        final Order order = get();
+        order.setDetails( new OrderDetail[]{ new OrderDetail( ID, 1, 2, 1999, 0 ), new OrderDetail( ID, 2, 1, 1000, 25 ) } );
+        assertThat( order.getTotalCents(), is( 4748L ) );
+    }
+
     @Test
     public void shouldNotBeEqualIfStatusIsDifferent() {
         final Order thisOrder = get();
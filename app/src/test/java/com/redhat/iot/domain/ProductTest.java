@@ -46,6 +46,30 @@ public final class ProductTest {
         assertThat( thisProduct.hashCode(), is( thatProduct.hashCode() ) );
     }
 
+    @Test
+    public void shouldLoadFieldsWhenFirstRequested() {
+        final int[] loads = { 0 };
+        final Product product = new Product( ID, DEPARTMENT_ID, NAME, new FieldLoader< Product >() {
+
+            @Override
+            public Product load() {
+                ++loads[ 0 ];
+                return get();
+            }
+        } );
+
+        assertThat( product.getId(), is( ID ) );
+        assertThat( product.getDepartmentId(), is( DEPARTMENT_ID ) );
+        assertThat( product.getName(), is( NAME ) );
+        assertThat( loads[ 0 ], is( 0 ) );
+
+        assertThat( product.getVendor(), is( VENDOR ) );
+        assertThat( product.getMsrp(), is( MSRP ) );
+        assertThat( product, is( get() ) );
+        assertThat( product.hashCode(), is( get().hashCode() ) );
+        assertThat( loads[ 0 ], is( 1 ) );
+    }
+
     @Test
     public void shouldNotBeEqualIfBuyPriceIsDifferent() {
         final Product thisProduct = get();
@@ -0,0 +1,170 @@
+package com.redhat.iot.domain;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Compares the cost of sorting {@link Promotion}s by {@link Department department} name using cache lookups in each
+ * comparison (the way the department name sorter used to work) against looking up each promotion's department sort order once
+ * and sorting those primitive keys. The time to look up the keys is included. Run the <code>main</code> method to see the
+ * results.
+ */
+public final class PromotionSortBenchmark {
+
+    private static final int NUM_DEPTS = 20;
+    private static final int NUM_PRODUCTS = 1000;
+    private static final int NUM_PROMOTIONS = 10000;
+    private static final int NUM_RUNS = 50;
+    private static final int NUM_WARMUPS = 20;
+
+    private static final Map< Long, Department > DEPARTMENTS = new HashMap<>();
+    private static final Map< Long, Integer > DEPT_ORDERS = new HashMap<>(); // key=dept ID, value=position in name order
+    private static final Map< Integer, Product > PRODUCTS = new HashMap<>();
+
+    /**
+     * Mimics the cache lookups done by the original comparator for each promotion being compared.
+     */
+    private static final Comparator< Promotion > LOOKUP_SORTER = new Comparator< Promotion >() {
+
+        @Override
+        public int compare( final Promotion thisPromo,
+                            final Promotion thatPromo ) {
+            final String thisDeptName = getDepartmentName( thisPromo.getProductId() );
+            final String thatDeptName = getDepartmentName( thatPromo.getProductId() );
+
+            if ( Objects.equals( thisDeptName, thatDeptName ) ) {
+                return 0;
+            }
+
+            if ( thisDeptName == null ) {
+                return -1;
+            }
+
+            if ( thatDeptName == null ) {
+                return 1;
+            }
+
+            return thisDeptName.compareTo( thatDeptName );
+        }
+    };
+
+    private static String getDepartmentName( final int productId ) {
+        final Product product = PRODUCTS.get( productId );
+        final Product[] products = ( ( product == null ) ? Product.NO_PRODUCTS : new Product[]{ product } );
+
+        if ( products.length == 1 ) {
+            final Department dept = DEPARTMENTS.get( products[ 0 ].getDepartmentId() );
+            final Department[] departments = ( ( dept == null ) ? Department.NO_DEPARTMENTS : new Department[]{ dept } );
+
+            if ( departments.length == 1 ) {
+                return departments[ 0 ].getName();
+            }
+        }
+
+        return null;
+    }
+
+    private static Promotion[] createPromotions() {
+        final Random random = new Random( 42 );
+
+        for ( long i = 0;
+              i < NUM_DEPTS;
+              ++i ) {
+            DEPARTMENTS.put( i, new Department( i, "Department " + random.nextInt( 1000 ), null ) );
+        }
+
+        for ( int i = 0;
+              i < NUM_PRODUCTS;
+              ++i ) {
+            PRODUCTS.put( i, new Product( i, random.nextInt( NUM_DEPTS ), "", 1.0, 1.0, "", "Product " + i, "" ) );
+        }
+
+        // department sort order as computed when the cache is built
+        final Department[] sorted = DEPARTMENTS.values().toArray( new Department[ NUM_DEPTS ] );
+        Arrays.sort( sorted, Department.NAME_SORTER );
+        for ( int i = 0;
+              i < sorted.length;
+              ++i ) {
+            DEPT_ORDERS.put( sorted[ i ].getId(), i );
+        }
+
+        final Promotion[] promotions = new Promotion[ NUM_PROMOTIONS ];
+
+        for ( int i = 0;
+              i < NUM_PROMOTIONS;
+              ++i ) {
+            final int productId = random.nextInt( NUM_PRODUCTS );
+            promotions[ i ] = new Promotion( i, productId, random.nextInt( 50 ) );
+        }
+
+        return promotions;
+    }
+
+    /**
+     * @param args the arguments (not used)
+     */
+    public static void main( final String[] args ) {
+        final Promotion[] promotions = createPromotions();
+
+        for ( int i = 0;
+              i < NUM_WARMUPS;
+              ++i ) {
+            time( promotions, LOOKUP_SORTER );
+            timePrecomputed( promotions );
+        }
+
+        long lookup = 0;
+        long precomputed = 0;
+
+        for ( int i = 0;
+              i < NUM_RUNS;
+              ++i ) {
+            lookup += time( promotions, LOOKUP_SORTER );
+            precomputed += timePrecomputed( promotions );
+        }
+
+        System.out.println( "Sorting " + NUM_PROMOTIONS + " promotions (average of " + NUM_RUNS + " runs):" );
+        System.out.println( "  lookup comparator:      " + ( lookup / NUM_RUNS / 1000 ) + " us" );
+        System.out.println( "  precomputed keys:       " + ( precomputed / NUM_RUNS / 1000 ) + " us" );
+    }
+
+    private static long time( final Promotion[] promotions,
+                              final Comparator< Promotion > sorter ) {
+        final Promotion[] copy = Arrays.copyOf( promotions, promotions.length );
+        final long start = System.nanoTime();
+        Arrays.sort( copy, sorter );
+        return ( System.nanoTime() - start );
+    }
+
+    /**
+     * Mimics how the provider looks up the department sort order of each promotion before sorting.
+     */
+    private static long timePrecomputed( final Promotion[] promotions ) {
+        final Promotion[] copy = Arrays.copyOf( promotions, promotions.length );
+        final long start = System.nanoTime();
+        final int[] orders = new int[ copy.length ];
+
+        for ( int i = 0;
+              i < copy.length;
+              ++i ) {
+            final Product product = PRODUCTS.get( copy[ i ].getProductId() );
+            final Integer deptOrder = ( ( product == null ) ? null : DEPT_ORDERS.get( product.getDepartmentId() ) );
+            orders[ i ] = ( ( deptOrder == null ) ? Promotion.NO_DEPT_ORDER : deptOrder );
+        }
+
+        Promotion.sortByDeptOrder( copy, orders );
+        return ( System.nanoTime() - start );
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private PromotionSortBenchmark() {
+        // nothing to do
+    }
+
+}
@@ -39,6 +39,17 @@ public final class PromotionTest {
         assertThat( thisPromotion.hashCode(), is( not( thatPromotion.hashCode() ) ) );
     }
 
+    @Test
+    public void shouldNotBeEqualIfEndDateIsDifferent() {
+        final Promotion thisPromotion = get();
+        final Promotion thatPromotion = new Promotion( thisPromotion.getId(),
+                                                       thisPromotion.getProductId(),
+                                                       thisPromotion.getDiscount(),
+                                                       1463360426000L );
+        assertThat( thisPromotion, is( not( thatPromotion ) ) );
+        assertThat( thisPromotion.hashCode(), is( not( thatPromotion.hashCode() ) ) );
+    }
+
     @Test
     public void shouldNotBeEqualIfIdIsDifferent() {
         final Promotion thisPromotion = get();
@@ -59,4 +70,16 @@ public final class PromotionTest {
         assertThat( thisPromotion.hashCode(), is( not( thatPromotion.hashCode() ) ) );
     }
 
+    @Test
+    public void shouldSortByDeptOrder() {
+        final Promotion first = new Promotion( 3, 10, DISCOUNT ); // department not known
+        final Promotion second = new Promotion( 1, 20, DISCOUNT );
+        final Promotion third = new Promotion( 4, 30, DISCOUNT );
+        final Promotion fourth = new Promotion( 2, 40, DISCOUNT );
+
+        final Promotion[] promotions = new Promotion[]{ fourth, first, second, third };
+        Promotion.sortByDeptOrder( promotions, new int[]{ 4, Promotion.NO_DEPT_ORDER, 0, 4 } );
+        assertThat( promotions, is( new Promotion[]{ first, second, fourth, third } ) ); // same department keeps order
+    }
+
 }
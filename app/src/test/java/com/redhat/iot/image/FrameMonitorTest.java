@@ -0,0 +1,56 @@
+package com.redhat.iot.image;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link FrameMonitor} class.
+ */
+public final class FrameMonitorTest {
+
+    @Test
+    public void shouldCountBinds() {
+        final FrameMonitor monitor = new FrameMonitor( "test" );
+        monitor.recordBind();
+        monitor.recordBind();
+
+        assertThat( monitor.getBindCount(), is( 2L ) );
+    }
+
+    @Test
+    public void shouldCountJankyFrames() {
+        final FrameMonitor monitor = new FrameMonitor( "test" );
+        monitor.record( FrameMonitor.JANK_NANOS );
+        monitor.record( FrameMonitor.JANK_NANOS + 1 );
+        monitor.record( 3 * FrameMonitor.JANK_NANOS );
+
+        assertThat( monitor.getFrameCount(), is( 3L ) );
+        assertThat( monitor.getJankyFrameCount(), is( 2L ) );
+    }
+
+    @Test
+    public void shouldTrackAverageAndMaxFrameTimes() {
+        final FrameMonitor monitor = new FrameMonitor( "test" );
+        monitor.record( 10000000L );
+        monitor.record( 20000000L );
+
+        assertThat( monitor.getAverageFrameMicros(), is( 15000L ) );
+        assertThat( monitor.getMaxFrameMicros(), is( 20000L ) );
+    }
+
+    @Test
+    public void shouldReset() {
+        final FrameMonitor monitor = new FrameMonitor( "test" );
+        monitor.record( 20000000L );
+        monitor.recordBind();
+        monitor.reset();
+
+        assertThat( monitor.getBindCount(), is( 0L ) );
+        assertThat( monitor.getFrameCount(), is( 0L ) );
+        assertThat( monitor.getJankyFrameCount(), is( 0L ) );
+        assertThat( monitor.getMaxFrameMicros(), is( 0L ) );
+    }
+
+}
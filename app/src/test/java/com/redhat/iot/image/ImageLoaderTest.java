@@ -0,0 +1,48 @@
+package com.redhat.iot.image;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link ImageLoader} class.
+ */
+public final class ImageLoaderTest {
+
+    @Test
+    public void shouldDownsampleByPowerOfTwo() {
+        assertThat( ImageLoader.calculateSampleSize( 400, 400, 100, 100 ), is( 4 ) );
+        assertThat( ImageLoader.calculateSampleSize( 399, 399, 100, 100 ), is( 2 ) );
+    }
+
+    @Test
+    public void shouldKeepBothDimensionsAtLeastTargetSize() {
+        assertThat( ImageLoader.calculateSampleSize( 800, 200, 100, 100 ), is( 2 ) );
+        assertThat( ImageLoader.calculateSampleSize( 200, 800, 100, 100 ), is( 2 ) );
+    }
+
+    @Test
+    public void shouldNotDownsampleWhenSmallerThanTarget() {
+        assertThat( ImageLoader.calculateSampleSize( 48, 48, 144, 144 ), is( 1 ) );
+    }
+
+    @Test
+    public void shouldNotDownsampleWhenTargetIsUnknown() {
+        assertThat( ImageLoader.calculateSampleSize( 400, 400, 0, 0 ), is( 1 ) );
+    }
+
+    @Test
+    public void shouldReuseBitmapThatIsBigEnough() {
+        assertThat( ImageLoader.canReuse( ( 48 * 48 * 4 ), 48, 48, 1, 4 ), is( true ) );
+        assertThat( ImageLoader.canReuse( ( 48 * 48 * 4 ), 96, 96, 2, 4 ), is( true ) );
+        assertThat( ImageLoader.canReuse( ( 48 * 48 * 4 ), 48, 48, 1, 2 ), is( true ) );
+    }
+
+    @Test
+    public void shouldNotReuseBitmapThatIsTooSmall() {
+        assertThat( ImageLoader.canReuse( ( 48 * 48 * 4 ), 49, 48, 1, 4 ), is( false ) );
+        assertThat( ImageLoader.canReuse( ( 48 * 48 * 4 ), 97, 96, 2, 4 ), is( false ) );
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.redhat.iot.image;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link ImageMetrics} class.
+ */
+public final class ImageMetricsTest {
+
+    @Test
+    public void shouldCountDecodes() {
+        final ImageMetrics metrics = new ImageMetrics();
+        metrics.recordDecode( 2000, false );
+        metrics.recordDecode( 4000, true );
+
+        assertThat( metrics.getDecodeCount(), is( 2L ) );
+        assertThat( metrics.getReuseCount(), is( 1L ) );
+        assertThat( metrics.getAverageDecodeMicros(), is( 3L ) );
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        final ImageMetrics metrics = new ImageMetrics();
+        metrics.recordHit();
+        metrics.recordHit();
+        metrics.recordMiss();
+
+        assertThat( metrics.getCacheHits(), is( 2L ) );
+        assertThat( metrics.getCacheMisses(), is( 1L ) );
+    }
+
+    @Test
+    public void shouldHaveZeroAverageWhenNothingDecoded() {
+        assertThat( new ImageMetrics().getAverageDecodeMicros(), is( 0L ) );
+    }
+
+    @Test
+    public void shouldReset() {
+        final ImageMetrics metrics = new ImageMetrics();
+        metrics.recordDecode( 2000, true );
+        metrics.recordHit();
+        metrics.recordMiss();
+        metrics.reset();
+
+        assertThat( metrics.getDecodeCount(), is( 0L ) );
+        assertThat( metrics.getReuseCount(), is( 0L ) );
+        assertThat( metrics.getCacheHits(), is( 0L ) );
+        assertThat( metrics.getCacheMisses(), is( 0L ) );
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.redhat.iot.inventory;
+
+import com.redhat.iot.view.InventoryResults;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link InventoryDiff} class.
+ */
+public final class InventoryDiffTest {
+
+    /**
+     * Applies the changes to a copy of the old items and records each change.
+     */
+    private static final class Recorder implements InventoryDiff.Callback {
+
+        private final List< String > items;
+        private final List< String > newItems;
+        private final List< String > ops = new ArrayList<>();
+
+        Recorder( final List< String > oldItems,
+                  final List< String > newItems ) {
+            this.items = new ArrayList<>( oldItems );
+            this.newItems = newItems;
+        }
+
+        @Override
+        public void onChanged( final int position,
+                               final int count ) {
+            for ( int i = position;
+                  i < ( position + count );
+                  ++i ) {
+                this.items.set( i, this.newItems.get( i ) );
+            }
+
+            this.ops.add( "change " + position + ' ' + count );
+        }
+
+        @Override
+        public void onInserted( final int position,
+                                final int count ) {
+            for ( int i = position;
+                  i < ( position + count );
+                  ++i ) {
+                this.items.add( i, this.newItems.get( i ) );
+            }
+
+            this.ops.add( "insert " + position + ' ' + count );
+        }
+
+        @Override
+        public void onRemoved( final int position,
+                               final int count ) {
+            for ( int i = 0;
+                  i < count;
+                  ++i ) {
+                this.items.remove( position );
+            }
+
+            this.ops.add( "remove " + position + ' ' + count );
+        }
+
+    }
+
+    /**
+     * @param productIdsAndCounts pairs of a product ID and the number of rows of the product
+     * @return the results (never <code>null</code>)
+     */
+    private static InventoryResults results( final int... productIdsAndCounts ) {
+        final int[] productIds = new int[ productIdsAndCounts.length / 2 ];
+        final int[] counts = new int[ productIds.length ];
+
+        for ( int i = 0;
+              i < productIds.length;
+              ++i ) {
+            productIds[ i ] = productIdsAndCounts[ 2 * i ];
+            counts[ i ] = productIdsAndCounts[ ( 2 * i ) + 1 ];
+        }
+
+        return new InventoryResults( productIds, counts );
+    }
+
+    /**
+     * @param results the results whose rows are being requested (cannot be <code>null</code>)
+     * @return a name for each row made from the product ID and the row of the product (never <code>null</code>)
+     */
+    private static List< String > rows( final InventoryResults results ) {
+        final List< String > rows = new ArrayList<>();
+
+        for ( int index = 0;
+              index < results.getProductCount();
+              ++index ) {
+            for ( int row = 0;
+                  row < results.getCount( index );
+                  ++row ) {
+                rows.add( results.getProductId( index ) + "-" + row );
+            }
+        }
+
+        return rows;
+    }
+
+    private Recorder diff( final InventoryResults oldResults,
+                           final InventoryResults newResults ) {
+        final Recorder recorder = new Recorder( rows( oldResults ), rows( newResults ) );
+        InventoryDiff.calculate( oldResults, newResults ).dispatch( recorder );
+        assertThat( recorder.items, is( rows( newResults ) ) );
+        return recorder;
+    }
+
+    @Test
+    public void shouldBeEmptyWhenResultsAreEqual() {
+        assertThat( InventoryDiff.calculate( results( 1, 1, 2, 3 ), results( 1, 1, 2, 3 ) ).isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void shouldChangeRowsOfProductWhoseCountChanged() {
+        final Recorder recorder = diff( results( 1, 1, 2, 2 ), results( 1, 1, 2, 3 ) );
+        assertThat( recorder.ops, is( Arrays.asList( "change 1 2", "insert 3 1" ) ) );
+    }
+
+    @Test
+    public void shouldCombineConsecutiveInserts() {
+        final Recorder recorder = diff( results( 1, 1 ), results( 1, 1, 2, 2, 3, 1 ) );
+        assertThat( recorder.ops, is( Arrays.asList( "insert 1 3" ) ) );
+    }
+
+    @Test
+    public void shouldCombineConsecutiveRemoves() {
+        final Recorder recorder = diff( results( 1, 2, 2, 1, 3, 1 ), results( 3, 1 ) );
+        assertThat( recorder.ops, is( Arrays.asList( "remove 0 3" ) ) );
+    }
+
+    @Test
+    public void shouldHandleMixedChanges() {
+        final Recorder recorder = diff( results( 1, 1, 3, 2, 5, 1 ), results( 2, 1, 3, 1, 4, 2 ) );
+        assertThat( recorder.ops,
+                    is( Arrays.asList( "remove 0 1", "insert 0 1", "change 1 1", "remove 2 1", "insert 2 2", "remove 4 1" ) ) );
+    }
+
+    @Test
+    public void shouldInsertEverythingIntoEmptyResults() {
+        final Recorder recorder = diff( InventoryResults.NONE, results( 1, 1, 2, 1 ) );
+        assertThat( recorder.ops, is( Arrays.asList( "insert 0 2" ) ) );
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.redhat.iot.inventory;
+
+import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.view.InventoryResults;
+import com.redhat.iot.view.InventoryRow;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link InventoryRows} class.
+ */
+public final class InventoryRowsTest {
+
+    /**
+     * Records each change.
+     */
+    private static final class Recorder implements InventoryDiff.Callback {
+
+        private final List< String > ops = new ArrayList<>();
+
+        @Override
+        public void onChanged( final int position,
+                               final int count ) {
+            this.ops.add( "change " + position + ' ' + count );
+        }
+
+        @Override
+        public void onInserted( final int position,
+                                final int count ) {
+            this.ops.add( "insert " + position + ' ' + count );
+        }
+
+        @Override
+        public void onRemoved( final int position,
+                               final int count ) {
+            this.ops.add( "remove " + position + ' ' + count );
+        }
+
+    }
+
+    private static final List< InventoryRow > PAGE =
+        Collections.singletonList( new InventoryRow( new Inventory( 1, 100, 5 ), null, -1 ) );
+
+    @Test
+    public void shouldIgnorePageLoadedForPreviousSearch() {
+        final InventoryRows rows = new InventoryRows( 10, 2 );
+        rows.setResults( new InventoryResults( new int[]{ 100 }, new int[]{ 1 } ), new Recorder() );
+        assertThat( rows.startLoading( 0 ), is( true ) );
+        final int generation = rows.getGeneration();
+
+        rows.setResults( new InventoryResults( new int[]{ 100, 200 }, new int[]{ 1, 1 } ), new Recorder() );
+        assertThat( rows.put( 0, generation, PAGE ), is( false ) );
+        assertThat( rows.get( 0 ), is( nullValue() ) );
+    }
+
+    @Test
+    public void shouldKeepLoadedPagesWhenSearchFindsSameResults() {
+        final InventoryRows rows = new InventoryRows( 10, 2 );
+        rows.setResults( new InventoryResults( new int[]{ 100 }, new int[]{ 1 } ), new Recorder() );
+        assertThat( rows.startLoading( 0 ), is( true ) );
+        assertThat( rows.put( 0, rows.getGeneration(), PAGE ), is( true ) );
+
+        final Recorder recorder = new Recorder();
+        rows.setResults( new InventoryResults( new int[]{ 100 }, new int[]{ 1 } ), recorder );
+        assertThat( recorder.ops.isEmpty(), is( true ) );
+        assertThat( rows.get( 0 ), is( PAGE.get( 0 ) ) );
+        assertThat( rows.startLoading( 0 ), is( false ) );
+    }
+
+    @Test
+    public void shouldOnlyNotifyChangedRowsOnSecondSearch() {
+        final InventoryRows rows = new InventoryRows( 10, 2 );
+
+        final Recorder first = new Recorder();
+        rows.setResults( new InventoryResults( new int[]{ 100, 200, 300 }, new int[]{ 2, 3, 1 } ), first );
+        assertThat( first.ops, is( Arrays.asList( "insert 0 6" ) ) );
+
+        final Recorder second = new Recorder();
+        rows.setResults( new InventoryResults( new int[]{ 100, 300, 400 }, new int[]{ 2, 1, 2 } ), second );
+        assertThat( second.ops, is( Arrays.asList( "remove 2 3", "insert 3 2" ) ) );
+        assertThat( rows.getResults().size(), is( 5 ) );
+    }
+
+}
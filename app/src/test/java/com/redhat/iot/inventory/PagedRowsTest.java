@@ -0,0 +1,59 @@
+package com.redhat.iot.inventory;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link PagedRows} class.
+ */
+public final class PagedRowsTest {
+
+    @Test
+    public void shouldCalculatePageSizeOfLastPage() {
+        final PagedRows< String > rows = new PagedRows<>( 10, 2 );
+        assertThat( rows.getPageSize( 0, 25 ), is( 10 ) );
+        assertThat( rows.getPageSize( 2, 25 ), is( 5 ) );
+        assertThat( rows.getPageSize( 3, 25 ), is( 0 ) );
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPage() {
+        final PagedRows< String > rows = new PagedRows<>( 2, 2 );
+        rows.put( 0, Arrays.asList( "a", "b" ) );
+        rows.put( 1, Arrays.asList( "c", "d" ) );
+        rows.get( 0 ); // page 1 is now least recently used
+        rows.put( 2, Arrays.asList( "e", "f" ) );
+
+        assertThat( rows.size(), is( 2 ) );
+        assertThat( rows.isLoaded( 0 ), is( true ) );
+        assertThat( rows.isLoaded( 1 ), is( false ) );
+        assertThat( rows.isLoaded( 2 ), is( true ) );
+    }
+
+    @Test
+    public void shouldFindRowInPage() {
+        final PagedRows< String > rows = new PagedRows<>( 3, 2 );
+        rows.put( 1, Arrays.asList( "d", "e", "f" ) );
+
+        assertThat( rows.getPage( 4 ), is( 1 ) );
+        assertThat( rows.getPageStart( 1 ), is( 3 ) );
+        assertThat( rows.get( 4 ), is( "e" ) );
+    }
+
+    @Test
+    public void shouldReturnPlaceholderWhenPageNotLoaded() {
+        final PagedRows< String > rows = new PagedRows<>( 3, 2 );
+        rows.put( 0, Arrays.asList( "a", "b", "c" ) );
+
+        assertThat( rows.get( 3 ), is( nullValue() ) );
+
+        rows.clear();
+        assertThat( rows.get( 0 ), is( nullValue() ) );
+    }
+
+}
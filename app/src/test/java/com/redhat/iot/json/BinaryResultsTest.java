@@ -0,0 +1,70 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.IotException;
+import com.redhat.iot.domain.Customer;
+import com.redhat.iot.domain.Inventory;
+import com.redhat.iot.domain.IotObject;
+import com.redhat.iot.domain.Product;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link BinaryResults} class.
+ */
+public final class BinaryResultsTest {
+
+    private static < T extends IotObject > T[] roundTrip( final T[] results,
+                                                         final BinaryMarshaller< T > marshaller ) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryResults.write( results, out, marshaller );
+        return BinaryResults.read( new ByteArrayInputStream( out.toByteArray() ), marshaller );
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotReadOtherVersion() throws Exception {
+        final byte[] bytes = { ( byte )( BinaryResults.VERSION + 1 ), 0, 0, 0, 0 };
+        BinaryResults.read( new ByteArrayInputStream( bytes ), InventoryMarshaller.get() );
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotReadTruncatedResults() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryResults.write( new Inventory[] { new Inventory( 9001, 100, 5 ) }, out, InventoryMarshaller.get() );
+
+        final byte[] bytes = Arrays.copyOf( out.toByteArray(), ( out.size() - 1 ) );
+        BinaryResults.read( new ByteArrayInputStream( bytes ), InventoryMarshaller.get() );
+    }
+
+    @Test
+    public void shouldRoundTripCustomers() throws Exception {
+        final Customer[] customers = {
+            new Customer( 10000, "a@b.com", "pswd", "Alvera Ondricka", "5 Thackeray Way", "", "Columbus", "Ohio", "43231", "US",
+                          "(614)613-7123", 6282 ),
+            new Customer( 10001, "", "", "Ünïcode Näme", "", "", "", "", "", "", "", -1 ) };
+        assertThat( roundTrip( customers, CustomerMarshaller.get() ), is( customers ) );
+    }
+
+    @Test
+    public void shouldRoundTripEmptyResults() throws Exception {
+        assertThat( roundTrip( Product.NO_PRODUCTS, ProductMarshaller.get() ).length, is( 0 ) );
+    }
+
+    @Test
+    public void shouldRoundTripProducts() throws Exception {
+        final Product[] products = {
+            new Product( 100, 1000, "A warm hat", 19.99, 8.5, "M", "Hat", "Hats Inc" ),
+            new Product( 101, 1001, null, -1, -1, null, "Scarf", null ) };
+        final Product[] actual = roundTrip( products, ProductMarshaller.get() );
+        assertThat( actual[ 0 ], is( products[ 0 ] ) );
+        assertThat( actual[ 1 ].getName(), is( "Scarf" ) );
+        assertThat( actual[ 1 ].getDescription(), is( "" ) ); // written like a missing JSON value
+    }
+
+}
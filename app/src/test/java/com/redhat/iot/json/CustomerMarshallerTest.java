@@ -1,5 +1,6 @@
 package com.redhat.iot.json;
 
+import com.redhat.iot.IotException;
 import com.redhat.iot.domain.Customer;
 import com.redhat.iot.TestUtils;
 import com.redhat.iot.json.CustomerMarshaller.Name;
@@ -108,6 +109,16 @@ public final class CustomerMarshallerTest {
         assertThat( jCust.getString( Name.STATE ), is( STATE ) );
     }
 
+    @Test( expected = IotException.class )
+    public void shouldNotConvertInvalidNumberNotDecodedUpFront() throws Exception {
+        MARSHALLER.toIot( "{ id: 1, name: \"Ann\", creditLimit: 99999999999 }" ); // not an int
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotConvertInvalidStringNotDecodedUpFront() throws Exception {
+        MARSHALLER.toIot( "{ id: 1, name: \"Ann\", city: { name: \"Columbus\" } }" );
+    }
+
     @Test
     public void shouldRoundTripIot() throws Exception {
         assertThat( MARSHALLER.toIot( MARSHALLER.toJson( IOT ) ), is( IOT ) );
@@ -0,0 +1,95 @@
+package com.redhat.iot.json;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * Compares parsing OData dates the way {@link JsonUtils#parseDate(CharSequence)} used to (a substring, {@link Long#parseLong},
+ * and a {@link Calendar}) against parsing the milliseconds directly from the characters. Run the <code>main</code> method to
+ * see the results.
+ */
+public final class DateParseBenchmark {
+
+    private static final int NUM_DATES = 1000000;
+    private static final int NUM_RUNS = 10;
+    private static final int NUM_WARMUPS = 5;
+
+    private static String[] createDates() {
+        final Random random = new Random( 42 );
+        final String[] dates = new String[ NUM_DATES ];
+
+        for ( int i = 0;
+              i < NUM_DATES;
+              ++i ) {
+            dates[ i ] = JsonUtils.toJson( 1400000000000L + ( random.nextInt( Integer.MAX_VALUE ) * 1000L ) );
+        }
+
+        return dates;
+    }
+
+    /**
+     * @param args the arguments (not used)
+     */
+    public static void main( final String[] args ) {
+        final String[] dates = createDates();
+        long sum = 0; // keeps the results from being optimized away
+
+        for ( int i = 0;
+              i < NUM_WARMUPS;
+              ++i ) {
+            sum += parseLegacy( dates );
+            sum += parse( dates );
+        }
+
+        long legacy = 0;
+        long direct = 0;
+
+        for ( int i = 0;
+              i < NUM_RUNS;
+              ++i ) {
+            long start = System.nanoTime();
+            sum += parseLegacy( dates );
+            legacy += ( System.nanoTime() - start );
+
+            start = System.nanoTime();
+            sum += parse( dates );
+            direct += ( System.nanoTime() - start );
+        }
+
+        System.out.println( "Parsing " + NUM_DATES + " dates (average of " + NUM_RUNS + " runs, checksum " + sum + "):" );
+        System.out.println( "  substring and calendar: " + ( legacy / NUM_RUNS / 1000000 ) + " ms" );
+        System.out.println( "  direct from characters: " + ( direct / NUM_RUNS / 1000000 ) + " ms" );
+    }
+
+    private static long parse( final String[] dates ) {
+        long sum = 0;
+
+        for ( final String date : dates ) {
+            sum += JsonUtils.parseDate( date );
+        }
+
+        return sum;
+    }
+
+    private static long parseLegacy( final String[] dates ) {
+        long sum = 0;
+
+        for ( final String date : dates ) {
+            final String temp = date.substring( 6, date.length() - 2 );
+            final Calendar cal = Calendar.getInstance();
+            cal.setTime( new Date( Long.parseLong( temp ) ) );
+            sum += cal.getTimeInMillis();
+        }
+
+        return sum;
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private DateParseBenchmark() {
+        // nothing to do
+    }
+
+}
@@ -4,9 +4,12 @@ import com.redhat.iot.domain.Inventory;
 import com.redhat.iot.TestUtils;
 import com.redhat.iot.json.InventoryMarshaller.Name;
 
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.junit.Test;
 
+import java.io.StringWriter;
+
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.junit.Assert.assertThat;
@@ -53,6 +56,18 @@ public final class InventoryMarshallerTest {
         assertThat( jInventory.getInt( Name.QUANTITY ), is( QUANTITY ) );
     }
 
+    @Test
+    public void shouldConvertToJsonArray() throws Exception {
+        final Inventory other = new Inventory( STORE_ID, ( PRODUCT_ID + 1 ), 0 );
+        final StringWriter writer = new StringWriter();
+        MARSHALLER.toJsonArray( new Inventory[] { IOT, other }, writer );
+
+        final JSONArray jarray = new JSONArray( writer.toString() );
+        assertThat( jarray.length(), is( 2 ) );
+        assertThat( MARSHALLER.toIot( jarray.getJSONObject( 0 ).toString() ), is( IOT ) );
+        assertThat( MARSHALLER.toIot( jarray.getJSONObject( 1 ).toString() ), is( other ) );
+    }
+
     @Test
     public void shouldRoundTripIot() throws Exception {
         assertThat( MARSHALLER.toIot( MARSHALLER.toJson( IOT ) ), is( IOT ) );
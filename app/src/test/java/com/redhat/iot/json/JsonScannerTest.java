@@ -0,0 +1,128 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.IotException;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link JsonScanner} class.
+ */
+public final class JsonScannerTest {
+
+    @Test
+    public void shouldAcceptUnquotedAndSingleQuotedNames() throws Exception {
+        final JsonScanner scanner = new JsonScanner( "{ a: 1, 'b' : 2 }" );
+        scanner.beginObject();
+        assertThat( scanner.nextName(), is( "a" ) );
+        assertThat( scanner.nextInt(), is( 1 ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextName(), is( "b" ) );
+        assertThat( scanner.nextInt(), is( 2 ) );
+        assertThat( scanner.hasNext(), is( false ) );
+        scanner.endObject();
+    }
+
+    @Test
+    public void shouldConsumeNull() throws Exception {
+        final JsonScanner scanner = new JsonScanner( "[ null, nullable ]" );
+        scanner.beginArray();
+        assertThat( scanner.nextNull(), is( true ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextNull(), is( false ) );
+        assertThat( scanner.nextString(), is( "nullable" ) );
+        scanner.endArray();
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotReadIntOutOfRange() throws Exception {
+        new JsonScanner( "2147483648" ).nextInt();
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotSkipInvalidEscapeInString() throws Exception {
+        new JsonScanner( "\"a\\u00g9\"" ).skipString();
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotSkipObjectAsString() throws Exception {
+        new JsonScanner( "{ a: 1 }" ).skipString();
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotReadUnterminatedString() throws Exception {
+        new JsonScanner( "\"abc" ).nextString();
+    }
+
+    @Test
+    public void shouldReadNumbers() throws Exception {
+        final JsonScanner scanner = new JsonScanner( "[ -42, 12.5, \"7\", '19.99', 1e3, 123456789012345678901 ]" );
+        scanner.beginArray();
+        assertThat( scanner.nextInt(), is( -42 ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextDouble(), is( 12.5 ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextLong(), is( 7L ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextDouble(), is( 19.99 ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextInt(), is( 1000 ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextLong(), is( Long.MAX_VALUE ) );
+        assertThat( scanner.hasNext(), is( false ) );
+        scanner.endArray();
+    }
+
+    @Test
+    public void shouldReadStringEscapes() throws Exception {
+        final JsonScanner scanner = new JsonScanner( "\"a\\\"b\\\\c\\/d\\n\\u00e9\"" );
+        assertThat( scanner.nextString(), is( "a\"b\\c/d\né" ) );
+    }
+
+    @Test
+    public void shouldShareRepeatedStrings() throws Exception {
+        final JsonScanner scanner = new JsonScanner( "[ \"Columbus\", 'Columbus', \"Col\\u0075mbus\", \"Columbus\" ]" );
+        scanner.beginArray();
+        final String first = scanner.nextSharedString();
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextSharedString(), is( sameInstance( first ) ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextSharedString(), is( sameInstance( first ) ) );
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextString(), is( not( sameInstance( first ) ) ) );
+        scanner.endArray();
+        assertThat( first, is( "Columbus" ) );
+    }
+
+    @Test
+    public void shouldSkipStrings() throws Exception {
+        final JsonScanner scanner = new JsonScanner( "[ \"a\\\"b\\u00e9\", 'c', d, 5 ]" );
+        scanner.beginArray();
+        scanner.skipString();
+        assertThat( scanner.hasNext(), is( true ) );
+        scanner.skipString();
+        assertThat( scanner.hasNext(), is( true ) );
+        scanner.skipString();
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextInt(), is( 5 ) );
+        scanner.endArray();
+    }
+
+    @Test
+    public void shouldSkipNestedValues() throws Exception {
+        final JsonScanner scanner = new JsonScanner( "{ __metadata: { uri: \"x\", list: [ 1, { a: [] } ] }, id: 5 }" );
+        scanner.beginObject();
+        assertThat( scanner.nextName(), is( "__metadata" ) );
+        scanner.skipValue();
+        assertThat( scanner.hasNext(), is( true ) );
+        assertThat( scanner.nextName(), is( "id" ) );
+        assertThat( scanner.nextInt(), is( 5 ) );
+        assertThat( scanner.hasNext(), is( false ) );
+        scanner.endObject();
+    }
+
+}
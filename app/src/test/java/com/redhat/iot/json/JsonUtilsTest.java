@@ -0,0 +1,120 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.IotException;
+import com.redhat.iot.domain.IotNotification;
+import com.redhat.iot.domain.Product;
+import com.redhat.iot.domain.Store;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link JsonUtils} class.
+ */
+public final class JsonUtilsTest {
+
+    private static final long MILLIS = 1463360426000L;
+
+    @Test
+    public void shouldIgnoreTimeZoneOffset() {
+        assertThat( JsonUtils.parseDate( "/Date(1463360426000+0100)/" ), is( MILLIS ) );
+        assertThat( JsonUtils.parseDate( "/Date(1463360426000-0530)/" ), is( MILLIS ) );
+        assertThat( JsonUtils.parseDate( "/Date(1463360426000+60)/" ), is( MILLIS ) );
+    }
+
+    @Test
+    public void shouldParseDate() {
+        assertThat( JsonUtils.parseDate( "/Date(1463360426000)/" ), is( MILLIS ) );
+    }
+
+    @Test
+    public void shouldParseDateBeforeEpoch() {
+        assertThat( JsonUtils.parseDate( "/Date(-86400000)/" ), is( -86400000L ) );
+    }
+
+    @Test
+    public void shouldParseLimits() {
+        assertThat( JsonUtils.parseDate( JsonUtils.toJson( Long.MAX_VALUE ) ), is( Long.MAX_VALUE ) );
+        assertThat( JsonUtils.parseDate( JsonUtils.toJson( Long.MIN_VALUE ) ), is( Long.MIN_VALUE ) );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void shouldNotParseDateOutOfRange() {
+        JsonUtils.parseDate( "/Date(9223372036854775808)/" );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void shouldNotParseDateWithoutMillis() {
+        JsonUtils.parseDate( "/Date()/" );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void shouldNotParseDateWithInvalidOffset() {
+        JsonUtils.parseDate( "/Date(1463360426000+01:00)/" );
+    }
+
+    @Test( expected = NumberFormatException.class )
+    public void shouldNotParseDateWithoutSuffix() {
+        JsonUtils.parseDate( "/Date(1463360426000)" );
+    }
+
+    @Test
+    public void shouldReadEmptyResults() throws Exception {
+        final Store[] stores = JsonUtils.readResults( "{ d: { results: [] } }", StoreMarshaller.get() );
+        assertThat( stores.length, is( 0 ) );
+    }
+
+    @Test
+    public void shouldReadNotificationResults() throws Exception {
+        final IotNotification[] notifications =
+            JsonUtils.readResults( "{ \"d\" : [ { \"id\" : 1 }, { \"id\" : 2 } ] }", NotificationMarshaller.get() );
+        assertThat( notifications.length, is( 2 ) );
+        assertThat( notifications[ 1 ].getPromoId(), is( 2 ) );
+    }
+
+    @Test
+    public void shouldReadResults() throws Exception {
+        final String json = "{ d: { __count: \"2\", results: [ "
+            + "{ __metadata: { uri: \"p(1)\" }, id: 1, departmentCode: 10, productName: \"Hat\", msrp: \"19.99\", "
+            + "productSize: null }, "
+            + "{ id: 2, departmentCode: 20, productName: \"Scarf\" } ] } }";
+        final Product[] products = JsonUtils.readResults( json, ProductMarshaller.get() );
+        assertThat( products.length, is( 2 ) );
+        assertThat( products[ 0 ].getId(), is( 1 ) );
+        assertThat( products[ 0 ].getDepartmentId(), is( 10L ) );
+        assertThat( products[ 0 ].getName(), is( "Hat" ) );
+        assertThat( products[ 0 ].getMsrp(), is( 19.99 ) );
+        assertThat( products[ 0 ].getSize(), is( "" ) );
+        assertThat( products[ 1 ].getName(), is( "Scarf" ) );
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotReadResultsMissingRequiredValue() throws Exception {
+        JsonUtils.readResults( "{ d: { results: [ { id: 1 } ] } }", ProductMarshaller.get() );
+    }
+
+    @Test( expected = IotException.class )
+    public void shouldNotReadResultsWithoutResultArray() throws Exception {
+        JsonUtils.readResults( "{ d: { } }", ProductMarshaller.get() );
+    }
+
+    @Test
+    public void shouldShareRepeatedValuesAcrossResults() throws Exception {
+        final String json = "{ d: { results: [ { id: 1, city: \"Raleigh\", state: \"NC\", country: \"US\" }, "
+                            + "{ id: 2, city: \"Raleigh\", state: \"NC\", country: \"US\" } ] } }";
+        final Store[] stores = JsonUtils.readResults( json, StoreMarshaller.get() );
+        assertThat( stores.length, is( 2 ) );
+        assertThat( stores[ 1 ].getCity(), is( sameInstance( stores[ 0 ].getCity() ) ) );
+        assertThat( stores[ 1 ].getState(), is( sameInstance( stores[ 0 ].getState() ) ) );
+        assertThat( stores[ 1 ].getCountry(), is( sameInstance( stores[ 0 ].getCountry() ) ) );
+    }
+
+    @Test
+    public void shouldRoundTripDate() {
+        assertThat( JsonUtils.parseDate( JsonUtils.toJson( MILLIS ) ), is( MILLIS ) );
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.domain.Customer;
+import com.redhat.iot.json.CustomerMarshaller.Name;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compares writing customers the way the marshallers used to (a {@link HashMap} of the values wrapped in a {@link JSONObject})
+ * against writing them with a {@link JsonWriter}, both one customer at a time and as one array. Run the <code>main</code>
+ * method from the <code>app</code> directory, or pass the path of <code>customer.json</code>, to see the results.
+ */
+public final class JsonWriteBenchmark {
+
+    private static final String CUSTOMERS_PATH = "src/main/res/raw/customer.json";
+    private static final int NUM_ITERATIONS = 200;
+    private static final int NUM_RUNS = 10;
+    private static final int NUM_WARMUPS = 5;
+
+    private interface Encoder {
+
+        int encode( final Customer[] customers ) throws Exception;
+
+    }
+
+    private static void benchmark( final String label,
+                                   final Customer[] customers,
+                                   final Encoder legacy,
+                                   final Encoder streaming ) throws Exception {
+        long sum = 0; // keeps the results from being optimized away
+
+        for ( int i = 0;
+              i < NUM_WARMUPS;
+              ++i ) {
+            sum += run( legacy, customers );
+            sum += run( streaming, customers );
+        }
+
+        long legacyNanos = 0;
+        long streamingNanos = 0;
+
+        for ( int i = 0;
+              i < NUM_RUNS;
+              ++i ) {
+            long start = System.nanoTime();
+            sum += run( legacy, customers );
+            legacyNanos += ( System.nanoTime() - start );
+
+            start = System.nanoTime();
+            sum += run( streaming, customers );
+            streamingNanos += ( System.nanoTime() - start );
+        }
+
+        System.out.println( "Writing " + customers.length + ' ' + label + ' ' + NUM_ITERATIONS + " times (average of " + NUM_RUNS
+                            + " runs, checksum " + sum + "):" );
+        System.out.println( "  map and JSONObject: " + ( legacyNanos / NUM_RUNS / 1000000 ) + " ms" );
+        System.out.println( "  JSON writer:        " + ( streamingNanos / NUM_RUNS / 1000000 ) + " ms" );
+    }
+
+    /**
+     * @param args the path of <code>customer.json</code> (optional)
+     * @throws Exception if an error occurs
+     */
+    public static void main( final String[] args ) throws Exception {
+        final File file = new File( ( args.length == 0 ) ? CUSTOMERS_PATH : args[ 0 ] );
+        final String json = new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+        final Customer[] customers = JsonUtils.readResults( json, CustomerMarshaller.get() );
+
+        benchmark( "customers to strings", customers, new Encoder() {
+
+            @Override
+            public int encode( final Customer[] customers ) throws Exception {
+                int length = 0;
+
+                for ( final Customer customer : customers ) {
+                    length += toJsonObject( customer ).toString().length();
+                }
+
+                return length;
+            }
+        }, new Encoder() {
+
+            @Override
+            public int encode( final Customer[] customers ) throws Exception {
+                int length = 0;
+
+                for ( final Customer customer : customers ) {
+                    length += CustomerMarshaller.get().toJson( customer ).length();
+                }
+
+                return length;
+            }
+        } );
+
+        benchmark( "customers as an array", customers, new Encoder() {
+
+            @Override
+            public int encode( final Customer[] customers ) throws Exception {
+                final JSONArray jarray = new JSONArray();
+
+                for ( final Customer customer : customers ) {
+                    jarray.put( toJsonObject( customer ) );
+                }
+
+                final StringWriter writer = new StringWriter();
+                writer.write( jarray.toString() );
+                return writer.getBuffer().length();
+            }
+        }, new Encoder() {
+
+            @Override
+            public int encode( final Customer[] customers ) throws Exception {
+                final StringWriter writer = new StringWriter();
+                CustomerMarshaller.get().toJsonArray( customers, writer );
+                return writer.getBuffer().length();
+            }
+        } );
+    }
+
+    private static long run( final Encoder encoder,
+                             final Customer[] customers ) throws Exception {
+        long sum = 0;
+
+        for ( int i = 0;
+              i < NUM_ITERATIONS;
+              ++i ) {
+            sum += encoder.encode( customers );
+        }
+
+        return sum;
+    }
+
+    private static JSONObject toJsonObject( final Customer customer ) {
+        final Map< String, Object > map = new HashMap<>();
+        map.put( Name.ID, customer.getId() );
+        map.put( Name.NAME, customer.getName() );
+        map.put( Name.ADDRESS_LINE_1, customer.getAddressLine1() );
+        map.put( Name.ADDRESS_LINE_2, customer.getAddressLine2() );
+        map.put( Name.CITY, customer.getCity() );
+        map.put( Name.COUNTRY, customer.getCountry() );
+        map.put( Name.CREDIT_LIMIT, customer.getCreditLimit() );
+        map.put( Name.EMAIL, customer.getEmail() );
+        map.put( Name.PHONE, customer.getPhone() );
+        map.put( Name.POSTAL_CODE, customer.getPostalCode() );
+        map.put( Name.PASSWORD, customer.getPswd() );
+        map.put( Name.STATE, customer.getState() );
+        return new JSONObject( map );
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private JsonWriteBenchmark() {
+        // nothing to do
+    }
+
+}
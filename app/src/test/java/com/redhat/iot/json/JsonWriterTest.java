@@ -0,0 +1,53 @@
+package com.redhat.iot.json;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link JsonWriter} class.
+ */
+public final class JsonWriterTest {
+
+    @Test
+    public void shouldEscapeStrings() throws Exception {
+        final String value = "a\"b\\c/d\n\t\u0001\u2028é";
+        final StringWriter out = new StringWriter();
+        new JsonWriter( out ).value( value );
+
+        assertThat( out.toString(), is( "\"a\\\"b\\\\c/d\\n\\t\\u0001\\u2028é\"" ) );
+        assertThat( new JSONArray( '[' + out.toString() + ']' ).getString( 0 ), is( value ) );
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void shouldNotWriteNaN() throws Exception {
+        new JsonWriter( new StringWriter() ).value( Double.NaN );
+    }
+
+    @Test
+    public void shouldWriteNestedValues() throws Exception {
+        final StringWriter out = new StringWriter();
+        final JsonWriter writer = new JsonWriter( out );
+        writer.beginObject();
+        writer.name( "a" ).value( 1 );
+        writer.name( "b" ).beginArray().value( "x" ).beginObject().endObject().value( ( String )null ).endArray();
+        writer.name( "c" ).beginObject().name( "d" ).value( 2.5 ).endObject();
+        writer.endObject();
+
+        assertThat( out.toString(), is( "{\"a\":1,\"b\":[\"x\",{},null],\"c\":{\"d\":2.5}}" ) );
+        assertThat( new JSONObject( out.toString() ).getJSONObject( "c" ).getDouble( "d" ), is( 2.5 ) );
+    }
+
+    @Test
+    public void shouldWriteWholeNumbersWithoutFraction() throws Exception {
+        final StringWriter out = new StringWriter();
+        new JsonWriter( out ).beginArray().value( 100.0 ).value( -3 ).value( 0.25 ).endArray();
+        assertThat( out.toString(), is( "[100,-3,0.25]" ) );
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.IotConstants.TestData;
+import com.redhat.iot.domain.Customer;
+import com.redhat.iot.domain.IotObject;
+import com.redhat.iot.domain.Product;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares decoding result collections the way <code>GetData</code> used to (a tree of {@link JSONObject}s, each result
+ * converted back to a string and parsed again, <code>has</code>/<code>get</code> lookups for each name, and an array created
+ * by reflection) against {@link JsonUtils#readResults(String, IotMarshaller)}. Run the <code>main</code> method from the
+ * <code>app</code> directory, or pass the path of <code>customer.json</code>, to see the results.
+ */
+public final class MarshallerBenchmark {
+
+    private static final String CUSTOMERS_PATH = "src/main/res/raw/customer.json";
+    private static final int NUM_ITERATIONS = 200;
+    private static final int NUM_RUNS = 10;
+    private static final int NUM_WARMUPS = 5;
+
+    private interface Decoder {
+
+        int decode( final String json ) throws Exception;
+
+    }
+
+    private interface LegacyMarshaller< T extends IotObject > {
+
+        T toIot( final String json ) throws Exception;
+
+    }
+
+    private static void benchmark( final String label,
+                                   final String json,
+                                   final Decoder legacy,
+                                   final Decoder streaming ) throws Exception {
+        long sum = 0; // keeps the results from being optimized away
+
+        for ( int i = 0;
+              i < NUM_WARMUPS;
+              ++i ) {
+            sum += run( legacy, json );
+            sum += run( streaming, json );
+        }
+
+        long legacyNanos = 0;
+        long streamingNanos = 0;
+
+        for ( int i = 0;
+              i < NUM_RUNS;
+              ++i ) {
+            long start = System.nanoTime();
+            sum += run( legacy, json );
+            legacyNanos += ( System.nanoTime() - start );
+
+            start = System.nanoTime();
+            sum += run( streaming, json );
+            streamingNanos += ( System.nanoTime() - start );
+        }
+
+        System.out.println( "Decoding " + label + ' ' + NUM_ITERATIONS + " times (" + json.length() + " chars, average of "
+                            + NUM_RUNS + " runs, checksum " + sum + "):" );
+        System.out.println( "  JSONObject tree:   " + ( legacyNanos / NUM_RUNS / 1000000 ) + " ms" );
+        System.out.println( "  streaming scanner: " + ( streamingNanos / NUM_RUNS / 1000000 ) + " ms" );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private static < T extends IotObject > T[] decodeLegacy( final String json,
+                                                            final Class< T > clazz,
+                                                            final LegacyMarshaller< T > marshaller ) throws Exception {
+        final JSONArray jarray = new JSONObject( json ).getJSONObject( JsonUtils.RESULTS_ARRAY_PARENT )
+                                                       .getJSONArray( JsonUtils.RESULTS_ARRAY );
+        final List< T > result = new ArrayList<>( jarray.length() );
+
+        for ( int i = 0;
+              i < jarray.length();
+              ++i ) {
+            result.add( marshaller.toIot( jarray.getJSONObject( i ).toString() ) );
+        }
+
+        final T[] iotObjs = ( T[] )Array.newInstance( clazz, result.size() );
+
+        for ( int i = 0;
+              i < result.size();
+              ++i ) {
+            iotObjs[ i ] = result.get( i );
+        }
+
+        return iotObjs;
+    }
+
+    private static String getString( final JSONObject jobj,
+                                     final String name ) throws Exception {
+        return ( ( jobj.has( name ) && !jobj.isNull( name ) ) ? jobj.getString( name ) : "" );
+    }
+
+    /**
+     * @param args the path of <code>customer.json</code> (optional)
+     * @throws Exception if an error occurs
+     */
+    public static void main( final String[] args ) throws Exception {
+        final File file = new File( ( args.length == 0 ) ? CUSTOMERS_PATH : args[ 0 ] );
+        final String customers = new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+
+        benchmark( "customer.json", customers, new Decoder() {
+
+            @Override
+            public int decode( final String json ) throws Exception {
+                return decodeLegacy( json, Customer.class, new LegacyMarshaller< Customer >() {
+
+                    @Override
+                    public Customer toIot( final String obj ) throws Exception {
+                        return toCustomer( obj );
+                    }
+                } ).length;
+            }
+        }, new Decoder() {
+
+            @Override
+            public int decode( final String json ) throws Exception {
+                return JsonUtils.readResults( json, CustomerMarshaller.get() ).length;
+            }
+        } );
+
+        benchmark( "products", TestData.PRODUCTS_JSON, new Decoder() {
+
+            @Override
+            public int decode( final String json ) throws Exception {
+                return decodeLegacy( json, Product.class, new LegacyMarshaller< Product >() {
+
+                    @Override
+                    public Product toIot( final String obj ) throws Exception {
+                        return toProduct( obj );
+                    }
+                } ).length;
+            }
+        }, new Decoder() {
+
+            @Override
+            public int decode( final String json ) throws Exception {
+                return JsonUtils.readResults( json, ProductMarshaller.get() ).length;
+            }
+        } );
+    }
+
+    private static long run( final Decoder decoder,
+                             final String json ) throws Exception {
+        long sum = 0;
+
+        for ( int i = 0;
+              i < NUM_ITERATIONS;
+              ++i ) {
+            sum += decoder.decode( json );
+        }
+
+        return sum;
+    }
+
+    private static Customer toCustomer( final String json ) throws Exception {
+        final JSONObject cust = new JSONObject( json );
+        return new Customer( cust.getInt( CustomerMarshaller.Name.ID ),
+                             getString( cust, CustomerMarshaller.Name.EMAIL ),
+                             getString( cust, CustomerMarshaller.Name.PASSWORD ),
+                             cust.getString( CustomerMarshaller.Name.NAME ),
+                             getString( cust, CustomerMarshaller.Name.ADDRESS_LINE_1 ),
+                             getString( cust, CustomerMarshaller.Name.ADDRESS_LINE_2 ),
+                             getString( cust, CustomerMarshaller.Name.CITY ),
+                             getString( cust, CustomerMarshaller.Name.STATE ),
+                             getString( cust, CustomerMarshaller.Name.POSTAL_CODE ),
+                             getString( cust, CustomerMarshaller.Name.COUNTRY ),
+                             getString( cust, CustomerMarshaller.Name.PHONE ),
+                             ( cust.has( CustomerMarshaller.Name.CREDIT_LIMIT )
+                               ? cust.getInt( CustomerMarshaller.Name.CREDIT_LIMIT ) : -1 ) );
+    }
+
+    private static Product toProduct( final String json ) throws Exception {
+        final JSONObject product = new JSONObject( json );
+        return new Product( product.getInt( ProductMarshaller.Name.ID ),
+                            product.getInt( ProductMarshaller.Name.DEPARTMENT_ID ),
+                            getString( product, ProductMarshaller.Name.DESCRIPTION ),
+                            ( product.has( ProductMarshaller.Name.MSRP )
+                              ? product.getDouble( ProductMarshaller.Name.MSRP ) : -1 ),
+                            ( product.has( ProductMarshaller.Name.BUY_PRICE )
+                              ? product.getDouble( ProductMarshaller.Name.BUY_PRICE ) : -1 ),
+                            getString( product, ProductMarshaller.Name.SIZE ),
+                            getString( product, ProductMarshaller.Name.NAME ),
+                            getString( product, ProductMarshaller.Name.VENDOR ) );
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private MarshallerBenchmark() {
+        // nothing to do
+    }
+
+}
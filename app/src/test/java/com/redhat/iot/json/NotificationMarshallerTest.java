@@ -0,0 +1,56 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.TestUtils;
+import com.redhat.iot.domain.IotNotification;
+import com.redhat.iot.json.NotificationMarshaller.Name;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link NotificationMarshaller} class.
+ */
+public final class NotificationMarshallerTest {
+
+    private static final int PROMO_ID = 15;
+
+    private static final String JSON = "{ " + TestUtils.quote( Name.ID ) + " : " + PROMO_ID + " }";
+
+    private static final NotificationMarshaller MARSHALLER = NotificationMarshaller.get();
+
+    @Test
+    public void shouldConvertToIot() throws Exception {
+        assertThat( MARSHALLER.toIot( JSON ).getPromoId(), is( PROMO_ID ) );
+    }
+
+    @Test
+    public void shouldConvertToJson() throws Exception {
+        final JSONObject jNotification = new JSONObject( MARSHALLER.toJson( new IotNotification( PROMO_ID ) ) );
+        assertThat( jNotification.getInt( Name.ID ), is( PROMO_ID ) );
+    }
+
+    @Test
+    public void shouldConvertToJsonArray() throws Exception {
+        final IotNotification[] notifications = { new IotNotification( 1 ), new IotNotification( 2 ) };
+        final StringWriter writer = new StringWriter();
+        MARSHALLER.toJsonArray( notifications, writer );
+
+        final JSONArray jarray = new JSONArray( writer.toString() );
+        assertThat( jarray.length(), is( 2 ) );
+        assertThat( jarray.getJSONObject( 1 ).getInt( Name.ID ), is( 2 ) );
+    }
+
+    @Test
+    public void shouldWriteEmptyJsonArray() throws Exception {
+        final StringWriter writer = new StringWriter();
+        MARSHALLER.toJsonArray( IotNotification.NO_NOTIFICATIONS, writer );
+        assertThat( writer.toString(), is( "[]" ) );
+    }
+
+}
@@ -18,11 +18,12 @@ public final class OrderDetailMarshallerTest {
 
     private static final int DISCOUNT = 17;
     private static final double MSRP = 9.0;
+    private static final long MSRP_CENTS = 900;
     private static final int ORDER_ID = 1;
     private static final int PRODUCT_ID = 1959;
     private static final int QUANTITY = 1;
 
-    private static final OrderDetail IOT = new OrderDetail( ORDER_ID, PRODUCT_ID, QUANTITY, MSRP, DISCOUNT );
+    private static final OrderDetail IOT = new OrderDetail( ORDER_ID, PRODUCT_ID, QUANTITY, MSRP_CENTS, DISCOUNT );
     private static final String JSON = "{ "
         + TestUtils.quote( Name.ORDER_ID ) + " : " + ORDER_ID + ", "
         + TestUtils.quote( Name.PRODUCT_ID ) + " : " + PRODUCT_ID + ", "
@@ -41,6 +42,7 @@ public final class OrderDetailMarshallerTest {
         assertThat( inventory.getProductId(), is( PRODUCT_ID ) );
         assertThat( inventory.getDiscount(), is( DISCOUNT ) );
         assertThat( inventory.getMsrp(), is( MSRP ) );
+        assertThat( inventory.getMsrpCents(), is( MSRP_CENTS ) );
         assertThat( inventory.getQuantity(), is( QUANTITY ) );
     }
 
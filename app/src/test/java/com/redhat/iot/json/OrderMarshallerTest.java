@@ -7,8 +7,6 @@ import com.redhat.iot.json.OrderMarshaller.Name;
 import org.json.JSONObject;
 import org.junit.Test;
 
-import java.util.Calendar;
-
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.junit.Assert.assertThat;
@@ -21,22 +19,11 @@ public final class OrderMarshallerTest {
     private static final String COMMENTS = "comments";
     private static final int CUSTOMER_ID = 13107;
     private static final int ID = 999;
-    private static final Calendar ORDER_DATE;
-    private static final Calendar REQUIRED_DATE;
-    private static final Calendar SHIPPED_DATE;
+    private static final long ORDER_DATE = 1454288461000L;
+    private static final long REQUIRED_DATE = 1456884122000L;
+    private static final long SHIPPED_DATE = 1459652583000L;
     private static final String STATUS = "status";
 
-    static {
-        ORDER_DATE = Calendar.getInstance();
-        ORDER_DATE.set( 2016, 1, 1, 1, 1, 1 );
-
-        REQUIRED_DATE = Calendar.getInstance();
-        REQUIRED_DATE.set( 2016, 2, 2, 2, 2, 2 );
-
-        SHIPPED_DATE = Calendar.getInstance();
-        SHIPPED_DATE.set( 2016, 3, 3, 3, 3, 3 );
-    }
-
     private static final Order IOT = new Order( ID, COMMENTS, CUSTOMER_ID, ORDER_DATE, REQUIRED_DATE, SHIPPED_DATE, STATUS );
     private static final OrderMarshaller MARSHALLER = OrderMarshaller.get();
 
@@ -1,5 +1,6 @@
 package com.redhat.iot.json;
 
+import com.redhat.iot.IotException;
 import com.redhat.iot.TestUtils;
 import com.redhat.iot.domain.Product;
 import com.redhat.iot.json.ProductMarshaller.Name;
@@ -90,6 +91,11 @@ public final class ProductMarshallerTest {
         assertThat( jProduct.getString( Name.VENDOR ), is( VENDOR ) );
     }
 
+    @Test( expected = IotException.class )
+    public void shouldNotConvertInvalidNumberNotDecodedUpFront() throws Exception {
+        MARSHALLER.toIot( "{ id: 1, departmentCode: 1000, productName: \"Hat\", msrp: \"free\" }" );
+    }
+
     @Test
     public void shouldRoundTripIot() throws Exception {
         assertThat( MARSHALLER.toIot( MARSHALLER.toJson( IOT ) ), is( IOT ) );
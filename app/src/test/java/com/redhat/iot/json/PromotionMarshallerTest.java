@@ -29,6 +29,25 @@ public final class PromotionMarshallerTest {
 
     private static final PromotionMarshaller MARSHALLER = PromotionMarshaller.get();
 
+    @Test
+    public void shouldConvertEndDate() throws Exception {
+        final long endDate = 1463360426000L;
+        final String json = "{ "
+            + TestUtils.quote( Name.ID ) + " : " + ID + ", "
+            + TestUtils.quote( Name.PRODUCT_ID ) + " : " + PROD_ID + ", "
+            + TestUtils.quote( Name.DISCOUNT ) + " : " + DISCOUNT + ", "
+            + TestUtils.quote( Name.END_DATE ) + " : " + TestUtils.quote( endDate )
+            + " }";
+        final Promotion promo = MARSHALLER.toIot( json );
+        assertThat( promo.getEndDate(), is( endDate ) );
+        assertThat( MARSHALLER.toIot( MARSHALLER.toJson( promo ) ), is( promo ) );
+    }
+
+    @Test
+    public void shouldConvertMissingEndDate() throws Exception {
+        assertThat( MARSHALLER.toIot( JSON ).getEndDate(), is( Promotion.NO_END_DATE ) );
+    }
+
     @Test
     public void shouldConvertToIot() throws Exception {
         final Promotion promo = MARSHALLER.toIot( JSON );
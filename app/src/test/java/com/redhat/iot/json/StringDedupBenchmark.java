@@ -0,0 +1,99 @@
+package com.redhat.iot.json;
+
+import com.redhat.iot.domain.Customer;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Reports the heap kept by the strings of decoded customers now that repeated cities, states, and countries share one
+ * instance, against what the same values kept when every value was its own instance. Sizes assume a 64-bit JVM with
+ * compressed pointers and compact strings (a 24 byte {@link String} plus a 16 byte header and one byte per character for its
+ * array, each rounded up to 8 bytes). Run the <code>main</code> method from the <code>app</code> directory, or pass the path
+ * of <code>customer.json</code>, to see the results.
+ */
+public final class StringDedupBenchmark {
+
+    private static final String CUSTOMERS_PATH = "src/main/res/raw/customer.json";
+
+    private interface Field {
+
+        String get( final Customer customer );
+
+    }
+
+    private static long estimateSize( final String value ) {
+        return ( 24 + ( ( ( 16 + value.length() ) + 7 ) & ~7 ) );
+    }
+
+    /**
+     * @param args the path of <code>customer.json</code> (optional)
+     * @throws Exception if an error occurs
+     */
+    public static void main( final String[] args ) throws Exception {
+        final File file = new File( ( args.length == 0 ) ? CUSTOMERS_PATH : args[ 0 ] );
+        final String json = new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+        final Customer[] customers = JsonUtils.readResults( json, CustomerMarshaller.get() );
+
+        report( "city", customers, new Field() {
+
+            @Override
+            public String get( final Customer customer ) {
+                return customer.getCity();
+            }
+        } );
+        report( "state", customers, new Field() {
+
+            @Override
+            public String get( final Customer customer ) {
+                return customer.getState();
+            }
+        } );
+        report( "country", customers, new Field() {
+
+            @Override
+            public String get( final Customer customer ) {
+                return customer.getCountry();
+            }
+        } );
+    }
+
+    private static void report( final String label,
+                                final Customer[] customers,
+                                final Field field ) {
+        final Map< String, Boolean > instances = new IdentityHashMap<>();
+        long sharedBytes = 0;
+        long unsharedBytes = 0;
+        int count = 0;
+
+        for ( final Customer customer : customers ) {
+            final String value = field.get( customer );
+
+            if ( ( value == null ) || value.isEmpty() ) {
+                continue; // missing values are the shared empty string literal
+            }
+
+            ++count;
+            unsharedBytes += estimateSize( value );
+
+            if ( instances.put( value, Boolean.TRUE ) == null ) {
+                sharedBytes += estimateSize( value );
+            }
+        }
+
+        System.out.println( label + ": " + count + " values in " + instances.size() + " instances, " + sharedBytes
+                            + " bytes retained instead of " + unsharedBytes + " (" + ( unsharedBytes - sharedBytes )
+                            + " saved)" );
+    }
+
+    /**
+     * Don't allow construction outside of this class.
+     */
+    private StringDedupBenchmark() {
+        // nothing to do
+    }
+
+}
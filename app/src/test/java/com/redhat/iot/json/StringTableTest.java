@@ -0,0 +1,50 @@
+package com.redhat.iot.json;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link StringTable} class.
+ */
+public final class StringTableTest {
+
+    @Test
+    public void shouldNotShareLongValues() {
+        final StringBuilder builder = new StringBuilder();
+
+        for ( int i = 0;
+              i <= StringTable.MAX_LENGTH;
+              ++i ) {
+            builder.append( 'x' );
+        }
+
+        final String source = ( '[' + builder.toString() + ']' );
+        final StringTable table = new StringTable();
+        final String first = table.get( source, 1, ( source.length() - 1 ) );
+        assertThat( first, is( builder.toString() ) );
+        assertThat( table.get( source, 1, ( source.length() - 1 ) ), is( not( sameInstance( first ) ) ) );
+    }
+
+    @Test
+    public void shouldReplaceCollidingValue() {
+        final StringTable table = new StringTable();
+        final String first = table.get( "Aa" );
+        assertThat( table.get( "BB" ), is( "BB" ) ); // same hash code
+        assertThat( table.get( new String( "Aa" ) ), is( not( sameInstance( first ) ) ) );
+    }
+
+    @Test
+    public void shouldShareEqualValues() {
+        final StringTable table = new StringTable();
+        final String first = table.get( "{ city: \"Columbus\" }", 9, 17 );
+        assertThat( first, is( "Columbus" ) );
+        assertThat( table.get( "Columbus, Ohio", 0, 8 ), is( sameInstance( first ) ) );
+        assertThat( table.get( new String( "Columbus" ) ), is( sameInstance( first ) ) );
+        assertThat( table.get( "Columbia", 0, 8 ), is( "Columbia" ) );
+    }
+
+}
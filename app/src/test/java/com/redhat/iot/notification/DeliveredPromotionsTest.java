@@ -0,0 +1,168 @@
+package com.redhat.iot.notification;
+
+import com.redhat.iot.domain.Promotion;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link DeliveredPromotions} class.
+ */
+public final class DeliveredPromotionsTest {
+
+    private static final Executor DIRECT = new Executor() {
+
+        @Override
+        public void execute( final Runnable task ) {
+            task.run();
+        }
+    };
+
+    private static final long LATER = 2000;
+    private static final long NOW = 1000;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void before() throws Exception {
+        this.file = new File( this.folder.getRoot(), "delivered.log" );
+    }
+
+    @Test
+    public void shouldCompactWhenMostRecordsAreExpired() throws Exception {
+        final DeliveredPromotions delivered = new DeliveredPromotions( this.file, NOW, DIRECT );
+
+        for ( int i = 0;
+              i < DeliveredPromotions.COMPACT_THRESHOLD;
+              ++i ) {
+            delivered.add( i, ( NOW + 1 ), NOW );
+        }
+
+        delivered.add( -1, LATER, NOW );
+        assertThat( delivered.getRecordCount(), is( DeliveredPromotions.COMPACT_THRESHOLD + 1 ) );
+
+        // all but the last promotion expire
+        delivered.add( -2, LATER, ( NOW + 1 ) );
+        assertThat( delivered.getRecordCount(), is( 2 ) );
+        assertThat( this.file.length(), is( 2L * DeliveredPromotions.RECORD_SIZE ) );
+
+        final DeliveredPromotions reopened = new DeliveredPromotions( this.file, ( NOW + 1 ), DIRECT );
+        assertThat( reopened.size(), is( 2 ) );
+        assertThat( reopened.contains( -1, ( NOW + 1 ) ), is( true ) );
+        assertThat( reopened.contains( -2, ( NOW + 1 ) ), is( true ) );
+    }
+
+    @Test
+    public void shouldDropExpiredPromotionsWhenOpened() throws Exception {
+        final DeliveredPromotions delivered = new DeliveredPromotions( this.file, NOW, DIRECT );
+        delivered.add( 1, LATER, NOW );
+        delivered.add( 2, ( NOW + 1 ), NOW );
+
+        final DeliveredPromotions reopened = new DeliveredPromotions( this.file, LATER - 1, DIRECT );
+        assertThat( reopened.size(), is( 1 ) );
+        assertThat( reopened.contains( 1, ( LATER - 1 ) ), is( true ) );
+        assertThat( reopened.contains( 2, ( LATER - 1 ) ), is( false ) );
+    }
+
+    @Test
+    public void shouldExpireAtPromotionEndDate() {
+        assertThat( DeliveredPromotions.getExpiration( new Promotion( 1, 1, 10, LATER ), NOW ), is( LATER ) );
+        assertThat( DeliveredPromotions.getExpiration( new Promotion( 1, 1, 10 ), NOW ),
+                    is( NOW + DeliveredPromotions.DEFAULT_RETENTION ) );
+    }
+
+    @Test
+    public void shouldIgnorePartialRecord() throws Exception {
+        new DeliveredPromotions( this.file, NOW, DIRECT ).add( 1, LATER, NOW );
+
+        try ( final FileOutputStream out = new FileOutputStream( this.file, true ) ) {
+            out.write( new byte[]{ 0, 0, 0 } );
+        }
+
+        final DeliveredPromotions reopened = new DeliveredPromotions( this.file, NOW, DIRECT );
+        assertThat( this.file.length(), is( ( long )DeliveredPromotions.RECORD_SIZE ) );
+
+        reopened.add( 2, LATER, NOW );
+        final DeliveredPromotions again = new DeliveredPromotions( this.file, NOW, DIRECT );
+        assertThat( again.contains( 1, NOW ), is( true ) );
+        assertThat( again.contains( 2, NOW ), is( true ) );
+    }
+
+    @Test
+    public void shouldNotAddDeliveredPromotion() throws Exception {
+        final DeliveredPromotions delivered = new DeliveredPromotions( this.file, NOW, DIRECT );
+        assertThat( delivered.add( 1, LATER, NOW ), is( true ) );
+        assertThat( delivered.add( 1, LATER, NOW ), is( false ) );
+        assertThat( delivered.getRecordCount(), is( 1 ) );
+    }
+
+    @Test
+    public void shouldOpenInCustomerDirectory() throws Exception {
+        final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+        try {
+            final DeliveredPromotions delivered = DeliveredPromotions.open( this.folder.getRoot(), 7, NOW, writer );
+            delivered.add( 1, LATER, NOW );
+
+            // opening waits for the record to be written
+            assertThat( DeliveredPromotions.open( this.folder.getRoot(), 7, NOW, writer ).contains( 1, NOW ), is( true ) );
+            assertThat( DeliveredPromotions.open( this.folder.getRoot(), 8, NOW, writer ).contains( 1, NOW ), is( false ) );
+        } finally {
+            writer.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldOnlyWriteOnWriter() throws Exception {
+        final List< Runnable > writes = new ArrayList<>();
+        final DeliveredPromotions delivered = new DeliveredPromotions( this.file, NOW, new Executor() {
+
+            @Override
+            public void execute( final Runnable task ) {
+                writes.add( task );
+            }
+        } );
+        delivered.add( 1, LATER, NOW );
+        assertThat( delivered.contains( 1, NOW ), is( true ) );
+        assertThat( this.file.exists(), is( false ) );
+
+        writes.get( 0 ).run();
+        assertThat( this.file.length(), is( ( long )DeliveredPromotions.RECORD_SIZE ) );
+    }
+
+    @Test
+    public void shouldRememberDeliveredPromotionsWhenReopened() throws Exception {
+        final DeliveredPromotions delivered = new DeliveredPromotions( this.file, NOW, DIRECT );
+        delivered.add( 1, LATER, NOW );
+        delivered.add( 2, LATER, NOW );
+
+        final DeliveredPromotions reopened = new DeliveredPromotions( this.file, NOW, DIRECT );
+        assertThat( reopened.contains( 1, NOW ), is( true ) );
+        assertThat( reopened.contains( 2, NOW ), is( true ) );
+        assertThat( reopened.contains( 3, NOW ), is( false ) );
+    }
+
+    @Test
+    public void shouldRenotifyAfterExpiration() throws Exception {
+        final DeliveredPromotions delivered = new DeliveredPromotions( this.file, NOW, DIRECT );
+        delivered.add( 1, NOW, ( NOW - 1 ) );
+        assertThat( delivered.add( 1, LATER, NOW ), is( true ) );
+    }
+
+}
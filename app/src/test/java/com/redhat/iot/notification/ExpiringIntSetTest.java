@@ -0,0 +1,103 @@
+package com.redhat.iot.notification;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link ExpiringIntSet} class.
+ */
+public final class ExpiringIntSetTest {
+
+    private static final long LATER = 2000;
+    private static final long NOW = 1000;
+
+    @Test
+    public void shouldAddMember() {
+        final ExpiringIntSet set = new ExpiringIntSet();
+        assertThat( set.add( 5, LATER ), is( true ) );
+        assertThat( set.contains( 5, NOW ), is( true ) );
+        assertThat( set.contains( 6, NOW ), is( false ) );
+        assertThat( set.size(), is( 1 ) );
+    }
+
+    @Test
+    public void shouldGrow() {
+        final ExpiringIntSet set = new ExpiringIntSet();
+
+        for ( int i = -500;
+              i < 500;
+              ++i ) {
+            set.add( ( i * 16 ), LATER );
+        }
+
+        assertThat( set.size(), is( 1000 ) );
+
+        for ( int i = -500;
+              i < 500;
+              ++i ) {
+            assertThat( set.contains( ( i * 16 ), NOW ), is( true ) );
+            assertThat( set.contains( ( ( i * 16 ) + 1 ), NOW ), is( false ) );
+        }
+    }
+
+    @Test
+    public void shouldNotAddMemberTwice() {
+        final ExpiringIntSet set = new ExpiringIntSet();
+        set.add( 0, NOW );
+        assertThat( set.add( 0, LATER ), is( false ) );
+        assertThat( set.size(), is( 1 ) );
+        assertThat( set.contains( 0, NOW ), is( true ) ); // expiration was replaced
+    }
+
+    @Test
+    public void shouldNotFindExpiredMember() {
+        final ExpiringIntSet set = new ExpiringIntSet();
+        set.add( 5, NOW );
+        assertThat( set.contains( 5, ( NOW - 1 ) ), is( true ) );
+        assertThat( set.contains( 5, NOW ), is( false ) );
+        assertThat( set.size(), is( 1 ) );
+    }
+
+    @Test
+    public void shouldOnlyScanOnceEarliestExpirationHasPassed() {
+        final ExpiringIntSet set = new ExpiringIntSet();
+        set.add( 1, LATER );
+        set.add( 2, NOW );
+        assertThat( set.getNextExpiration(), is( NOW ) );
+        assertThat( set.removeExpired( NOW - 1 ), is( 0 ) );
+
+        // replacing the earliest expiration leaves it early until the next scan
+        set.add( 2, ( LATER + 1 ) );
+        assertThat( set.getNextExpiration(), is( NOW ) );
+        assertThat( set.removeExpired( NOW ), is( 0 ) );
+        assertThat( set.getNextExpiration(), is( LATER ) );
+
+        assertThat( set.removeExpired( LATER ), is( 1 ) );
+        assertThat( set.getNextExpiration(), is( LATER + 1 ) );
+        assertThat( set.removeExpired( LATER + 1 ), is( 1 ) );
+        assertThat( set.getNextExpiration(), is( Long.MAX_VALUE ) );
+    }
+
+    @Test
+    public void shouldRemoveExpiredMembers() {
+        final ExpiringIntSet set = new ExpiringIntSet();
+
+        for ( int i = 0;
+              i < 100;
+              ++i ) {
+            set.add( i, ( ( ( i % 2 ) == 0 ) ? NOW : LATER ) );
+        }
+
+        assertThat( set.removeExpired( NOW ), is( 50 ) );
+        assertThat( set.size(), is( 50 ) );
+
+        for ( int i = 0;
+              i < 100;
+              ++i ) {
+            assertThat( set.contains( i, ( NOW - 1 ) ), is( ( i % 2 ) != 0 ) );
+        }
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.redhat.iot.notification;
+
+import com.redhat.iot.domain.IotNotification;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link NotificationPoller} class.
+ */
+public final class NotificationPollerTest {
+
+    private static final long MAX = 64000;
+
+    private static final Runnable NO_OP = new Runnable() {
+
+        @Override
+        public void run() {
+            // nothing to do
+        }
+    };
+
+    private static final NotificationPoller.Check NO_CHECK = new NotificationPoller.Check() {
+
+        @Override
+        public void check() {
+            // nothing to do
+        }
+    };
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldBackOffWhenOnlyDeliveredPromotionsAreFound() throws Exception {
+        final long now = 1000;
+        final File log = new File( this.folder.getRoot(), "delivered.log" );
+        final DeliveredPromotions delivered = new DeliveredPromotions( log, now, new Executor() {
+
+            @Override
+            public void execute( final Runnable task ) {
+                task.run();
+            }
+        } );
+        final IotNotification[] found = { new IotNotification( 1 ), new IotNotification( 2 ) };
+        final NotificationPoller[] poller = new NotificationPoller[ 1 ];
+        final RecordingScheduler scheduler = new RecordingScheduler();
+        poller[ 0 ] = new NotificationPoller( new NotificationPoller.Check() {
+
+            @Override
+            public void check() {
+                poller[ 0 ].onChecked( delivered.getUndelivered( found, now ).size() );
+            }
+        }, scheduler );
+        poller[ 0 ].start( MAX );
+
+        poller[ 0 ].runCheck( NO_OP );
+        assertThat( scheduler.delays.get( 1 ), is( MAX / 2 ) );
+
+        // the server keeps finding the same promotions while they are active
+        delivered.add( 1, ( now + 1 ), now );
+        delivered.add( 2, ( now + 1 ), now );
+        poller[ 0 ].runCheck( NO_OP );
+        poller[ 0 ].runCheck( NO_OP );
+        assertThat( scheduler.delays.get( 2 ), is( MAX ) );
+        assertThat( scheduler.delays.get( 3 ), is( MAX ) );
+        assertThat( poller[ 0 ].getInterval().getNotificationCount(), is( 2 ) );
+    }
+
+    @Test
+    public void shouldCancelWhenStopped() {
+        final RecordingScheduler scheduler = new RecordingScheduler();
+        final NotificationPoller poller = new NotificationPoller( NO_CHECK, scheduler );
+        poller.start( MAX );
+        assertThat( poller.stop().getPollCount(), is( 0 ) );
+        assertThat( poller.isRunning(), is( false ) );
+        assertThat( scheduler.cancels, is( 1 ) );
+        assertThat( poller.runCheck( NO_OP ), is( false ) );
+    }
+
+    @Test
+    public void shouldCheckRightAwayWhenStarted() {
+        final RecordingScheduler scheduler = new RecordingScheduler();
+        final NotificationPoller poller = new NotificationPoller( NO_CHECK, scheduler );
+        poller.start( MAX );
+        assertThat( scheduler.delays.size(), is( 1 ) );
+        assertThat( scheduler.delays.get( 0 ), is( 0L ) );
+    }
+
+    @Test
+    public void shouldCoalesceChecksWhileChecking() {
+        final AtomicInteger checks = new AtomicInteger();
+        final NotificationPoller poller = new NotificationPoller( new NotificationPoller.Check() {
+
+            @Override
+            public void check() {
+                checks.incrementAndGet();
+            }
+        }, new RecordingScheduler() );
+        poller.start( MAX );
+
+        assertThat( poller.runCheck( NO_OP ), is( true ) );
+        assertThat( poller.runCheck( NO_OP ), is( false ) );
+        assertThat( checks.get(), is( 1 ) );
+
+        poller.onChecked( 0 );
+        assertThat( poller.runCheck( NO_OP ), is( true ) );
+        assertThat( checks.get(), is( 2 ) );
+    }
+
+    @Test
+    public void shouldFinishWakeupWhenCheckIsDone() {
+        final AtomicInteger finished = new AtomicInteger();
+        final Runnable whenFinished = new Runnable() {
+
+            @Override
+            public void run() {
+                finished.incrementAndGet();
+            }
+        };
+        final NotificationPoller poller = new NotificationPoller( NO_CHECK, new RecordingScheduler() );
+        poller.start( MAX );
+        poller.runCheck( whenFinished );
+        assertThat( finished.get(), is( 0 ) );
+
+        poller.onFailed();
+        assertThat( finished.get(), is( 1 ) );
+
+        // a late result is ignored
+        poller.onChecked( 1 );
+        assertThat( finished.get(), is( 1 ) );
+    }
+
+    @Test
+    public void shouldNotScheduleAfterStoppedCheckIsDone() {
+        final RecordingScheduler scheduler = new RecordingScheduler();
+        final NotificationPoller poller = new NotificationPoller( NO_CHECK, scheduler );
+        poller.start( MAX );
+        poller.runCheck( NO_OP );
+        poller.stop();
+        poller.onChecked( 1 );
+        assertThat( scheduler.delays.size(), is( 1 ) ); // just the one when started
+    }
+
+    @Test
+    public void shouldRunChecksUntilStopped() throws Exception {
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final ExecutorCheckScheduler scheduler = new ExecutorCheckScheduler( executor );
+        final CountDownLatch latch = new CountDownLatch( 3 );
+        final NotificationPoller[] poller = new NotificationPoller[ 1 ];
+        poller[ 0 ] = new NotificationPoller( new NotificationPoller.Check() {
+
+            @Override
+            public void check() {
+                latch.countDown();
+                poller[ 0 ].onChecked( 1 );
+            }
+        }, scheduler );
+        scheduler.setPoller( poller[ 0 ] );
+
+        try {
+            poller[ 0 ].start( 20 );
+            assertThat( latch.await( 5, TimeUnit.SECONDS ), is( true ) );
+            assertThat( ( poller[ 0 ].stop().getPollCount() >= 3 ), is( true ) );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldScheduleAtPollingInterval() {
+        final RecordingScheduler scheduler = new RecordingScheduler();
+        final NotificationPoller poller = new NotificationPoller( NO_CHECK, scheduler );
+        poller.start( MAX );
+
+        poller.runCheck( NO_OP );
+        poller.onChecked( 2 );
+        poller.runCheck( NO_OP );
+        poller.onChecked( 0 );
+        poller.runCheck( NO_OP );
+        poller.onFailed();
+
+        assertThat( scheduler.delays.size(), is( 4 ) );
+        assertThat( scheduler.delays.get( 1 ), is( MAX / 2 ) );
+        assertThat( scheduler.delays.get( 2 ), is( MAX ) );
+        assertThat( scheduler.delays.get( 3 ), is( MAX ) );
+    }
+
+    private static final class RecordingScheduler implements CheckScheduler {
+
+        private int cancels;
+        private final List< Long > delays = new ArrayList<>();
+
+        @Override
+        public void cancel() {
+            ++this.cancels;
+        }
+
+        @Override
+        public void schedule( final long delayMillis ) {
+            this.delays.add( delayMillis );
+        }
+
+    }
+
+}
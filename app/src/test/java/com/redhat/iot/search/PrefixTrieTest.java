@@ -0,0 +1,64 @@
+package com.redhat.iot.search;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link PrefixTrie} class.
+ */
+public final class PrefixTrieTest {
+
+    private PrefixTrie trie;
+
+    @Before
+    public void beforeEach() {
+        this.trie = new PrefixTrie();
+        this.trie.add( "Beach sling" );
+        this.trie.add( "Beach towel" );
+        this.trie.add( "Izod" );
+        this.trie.add( "izod" );
+        this.trie.add( "Winter coat" );
+    }
+
+    @Test
+    public void shouldBeCaseInsensitive() {
+        assertThat( this.trie.suggest( "BEA", 10 ), is( new String[]{ "Beach sling", "Beach towel" } ) );
+    }
+
+    @Test
+    public void shouldLimitSuggestions() {
+        assertThat( this.trie.suggest( "b", 1 ), is( new String[]{ "Beach sling" } ) );
+    }
+
+    @Test
+    public void shouldMatchStartOfInnerWords() {
+        assertThat( this.trie.suggest( "tow", 10 ), is( new String[]{ "Beach towel" } ) );
+        assertThat( this.trie.suggest( "each", 10 ), is( PrefixTrie.NO_SUGGESTIONS ) );
+    }
+
+    @Test
+    public void shouldNotSuggestWithoutPrefix() {
+        assertThat( this.trie.suggest( "", 10 ), is( PrefixTrie.NO_SUGGESTIONS ) );
+        assertThat( this.trie.suggest( null, 10 ), is( PrefixTrie.NO_SUGGESTIONS ) );
+        assertThat( this.trie.suggest( "zzz", 10 ), is( PrefixTrie.NO_SUGGESTIONS ) );
+    }
+
+    @Test
+    public void shouldRankByNumberOfTimesAdded() {
+        this.trie.add( "Wide brim hat" );
+        this.trie.add( "Wide brim hat" );
+        this.trie.add( "Winter coat" );
+        this.trie.add( "Winter coat" );
+        this.trie.add( "Winter coat" );
+        assertThat( this.trie.suggest( "wi", 10 ), is( new String[]{ "Winter coat", "Wide brim hat" } ) );
+    }
+
+    @Test
+    public void shouldSuggestOneTermForDifferentCase() {
+        assertThat( this.trie.suggest( "iz", 10 ), is( new String[]{ "Izod" } ) );
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.redhat.iot.search;
+
+import com.redhat.iot.domain.Product;
+import com.redhat.iot.search.ProductIndex.Match;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link ProductIndex} class.
+ */
+public final class ProductIndexTest {
+
+    private static final Product BEACH_SLING =
+        new Product( 100, 1000, "A Beach sling by manufacturer Izod", 18.00, 9.00, "X-Large", "Beach sling", "Izod" );
+    private static final Product BEACH_TOWEL =
+        new Product( 200, 1001, "A striped beach towel", 12.00, 6.00, "Large", "Beach Towel", "Towels-R-Us" );
+    private static final Product WINTER_COAT =
+        new Product( 300, 1002, "A down-filled winter coat", 120.00, 60.00, "Medium", "Winter coat", "Izod" );
+
+    private ProductIndex index;
+
+    private static Set< Integer > ids( final Integer... ids ) {
+        return new TreeSet<>( Arrays.asList( ids ) );
+    }
+
+    @Before
+    public void beforeEach() {
+        this.index = new ProductIndex();
+        this.index.add( BEACH_SLING, "Womans" );
+        this.index.add( BEACH_TOWEL, "Home" );
+        this.index.add( WINTER_COAT, "Mens" );
+    }
+
+    @Test
+    public void shouldBeCaseInsensitive() {
+        assertThat( this.index.search( Match.ANY, "BEACH" ), is( ids( 100, 200 ) ) );
+    }
+
+    @Test
+    public void shouldMatchAllKeywords() {
+        assertThat( this.index.search( Match.ALL, "beach", "izod" ), is( ids( 100 ) ) );
+    }
+
+    @Test
+    public void shouldMatchAnyKeyword() {
+        assertThat( this.index.search( Match.ANY, "sling", "coat" ), is( ids( 100, 300 ) ) );
+    }
+
+    @Test
+    public void shouldMatchDepartmentName() {
+        assertThat( this.index.search( Match.ANY, "mens" ), is( ids( 300 ) ) );
+    }
+
+    @Test
+    public void shouldMatchPrefix() {
+        assertThat( this.index.search( Match.ANY, "tow" ), is( ids( 200 ) ) );
+    }
+
+    @Test
+    public void shouldNotMatchWhenOneKeywordIsMissing() {
+        assertThat( this.index.search( Match.ALL, "beach", "coat" ), is( Collections.< Integer >emptySet() ) );
+    }
+
+    @Test
+    public void shouldNotMatchWithoutKeywords() {
+        assertThat( this.index.search( Match.ANY ).isEmpty(), is( true ) );
+        assertThat( this.index.search( Match.ANY, ( String[] )null ).isEmpty(), is( true ) );
+    }
+
+    @Test
+    public void shouldSplitOnPunctuation() {
+        assertThat( this.index.search( Match.ALL, "down", "filled" ), is( ids( 300 ) ) );
+        assertThat( this.index.search( Match.ANY, "towels-r-us" ), is( ids( 200 ) ) );
+    }
+
+    @Test
+    public void shouldTokenize() {
+        assertThat( ProductIndex.tokenize( "A Down-filled  coat!" ), is( Arrays.asList( "a", "down", "filled", "coat" ) ) );
+        assertThat( ProductIndex.tokenize( null ).isEmpty(), is( true ) );
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.redhat.iot.view;
+
+import org.junit.Test;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * A test class for the {@link InventoryResults} class.
+ */
+public final class InventoryResultsTest {
+
+    private final InventoryResults results = new InventoryResults( new int[]{ 100, 200, 300 }, new int[]{ 2, 1, 3 } );
+
+    @Test
+    public void shouldBeEmptyWhenNoProducts() {
+        assertThat( InventoryResults.NONE.size(), is( 0 ) );
+        assertThat( InventoryResults.NONE.getProductCount(), is( 0 ) );
+    }
+
+    @Test
+    public void shouldCalculateStartOfEachProduct() {
+        assertThat( this.results.getStart( 0 ), is( 0 ) );
+        assertThat( this.results.getStart( 1 ), is( 2 ) );
+        assertThat( this.results.getStart( 2 ), is( 3 ) );
+        assertThat( this.results.getCount( 2 ), is( 3 ) );
+    }
+
+    @Test
+    public void shouldCountAllRows() {
+        assertThat( this.results.size(), is( 6 ) );
+        assertThat( this.results.getProductCount(), is( 3 ) );
+    }
+
+    @Test
+    public void shouldFindProductOfEachRow() {
+        final int[] expected = { 0, 0, 1, 2, 2, 2 };
+
+        for ( int position = 0;
+              position < expected.length;
+              ++position ) {
+            assertThat( this.results.getIndex( position ), is( expected[ position ] ) );
+        }
+
+        assertThat( this.results.getProductId( this.results.getIndex( 4 ) ), is( 300 ) );
+    }
+
+    @Test
+    public void shouldMakeRowIdFromProductAndRowWithinProduct() {
+        assertThat( this.results.getRowId( 0 ), is( ( 100L << 32 ) ) );
+        assertThat( this.results.getRowId( 1 ), is( ( ( 100L << 32 ) | 1 ) ) );
+        assertThat( this.results.getRowId( 2 ), is( ( 200L << 32 ) ) );
+        assertThat( this.results.getRowId( 5 ), is( ( ( 300L << 32 ) | 2 ) ) );
+    }
+
+}